@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.net.exec;
+
+/**
+ * Measures the invocations per second of the persistent shell workers and of
+ * forking a new process for every command line.
+ *
+ * Usage: <code>ExecUtilWorkerBenchmark [invocations]</code>
+ *
+ * @since 1.14.0
+ */
+public class ExecUtilWorkerBenchmark {
+    private static final int TIMEOUT = 10000;
+
+    public static void main(String[] args) {
+        int invocations = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+
+        try {
+            ExecUtil.setWorkerCount(0);
+            double forked = measureInvocationsPerSecond(invocations);
+
+            ExecUtil.setWorkerCount(1);
+            double worker = measureInvocationsPerSecond(invocations);
+
+            System.out.println(String.format("%d invocations", invocations));
+            System.out.println(String.format("fork per call:     %.1f invocations/s", forked));
+            System.out.println(String.format("persistent worker: %.1f invocations/s", worker));
+        } finally {
+            ExecUtil.setWorkerCount(0);
+        }
+    }
+
+    private static double measureInvocationsPerSecond(int invocations) {
+        // warm up
+        ExecUtil.executeCommandLineAndWaitResponse("echo warmup", TIMEOUT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < invocations; i++) {
+            String response = ExecUtil.executeCommandLineAndWaitResponse("echo run " + i, TIMEOUT);
+            if (!("run " + i).equals(response)) {
+                throw new IllegalStateException("unexpected response '" + response + "' of run " + i);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return invocations / (elapsed / 1e9);
+    }
+}
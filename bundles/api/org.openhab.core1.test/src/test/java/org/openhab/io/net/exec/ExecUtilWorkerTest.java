@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.net.exec;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares the persistent shell workers with forking a new process for every
+ * command line: the responses, the isolation of the commands and the timeout
+ * handling.
+ *
+ * @since 1.14.0
+ */
+public class ExecUtilWorkerTest {
+
+    private static final String SHELL = "/bin/sh";
+    private static final int TIMEOUT = 10000;
+
+    @Before
+    public void init() {
+        Assume.assumeTrue(new File(SHELL).canExecute());
+    }
+
+    @After
+    public void cleanup() {
+        ExecUtil.setWorkerCount(0);
+    }
+
+    @Test
+    public void testWorkerResponseMatchesForkedResponse() {
+        String commandLine = "/bin/sh@@-c@@echo 'hello world'; exit 1";
+
+        ExecUtil.setWorkerCount(0);
+        String forked = ExecUtil.executeCommandLineAndWaitResponse(commandLine, TIMEOUT);
+
+        ExecUtil.setWorkerCount(1);
+        assertTrue(ExecUtil.isWorkerModeEnabled());
+        String worker = ExecUtil.executeCommandLineAndWaitResponse(commandLine, TIMEOUT);
+
+        assertEquals(forked, worker);
+    }
+
+    @Test
+    public void testBuiltinsDontChangeWorker() throws Exception {
+        ShellWorker worker = new ShellWorker(SHELL);
+        try {
+            String directory = worker.execute(new String[] { "pwd" }, TIMEOUT);
+
+            worker.execute(new String[] { "cd", "/" }, TIMEOUT);
+            worker.execute(new String[] { "umask", "777" }, TIMEOUT);
+            worker.execute(new String[] { "exit", "3" }, TIMEOUT);
+
+            assertTrue(worker.isAlive());
+            assertEquals(directory, worker.execute(new String[] { "pwd" }, TIMEOUT));
+            assertEquals("0022\n", worker.execute(new String[] { SHELL, "-c", "umask 0022; umask" }, TIMEOUT));
+        } finally {
+            worker.destroy();
+        }
+    }
+
+    @Test
+    public void testExitCode() throws Exception {
+        ShellWorker worker = new ShellWorker(SHELL);
+        try {
+            assertEquals("out\n", worker.execute(new String[] { SHELL, "-c", "echo out; exit 3" }, TIMEOUT));
+            assertEquals(3, worker.getLastExitCode());
+        } finally {
+            worker.destroy();
+        }
+    }
+
+    @Test
+    public void testWorkerTimeout() {
+        ExecUtil.setWorkerCount(1);
+
+        assertNull(ExecUtil.executeCommandLineAndWaitResponse("sleep 5", 200));
+        assertEquals("still alive", ExecUtil.executeCommandLineAndWaitResponse("echo still alive", TIMEOUT));
+    }
+
+    @Test
+    public void testTimeoutKillsCommand() throws Exception {
+        File pidFile = File.createTempFile("exec", ".pid");
+        ShellWorker worker = new ShellWorker(SHELL);
+        try {
+            worker.execute(new String[] { SHELL, "-c", "echo $$ > " + pidFile.getPath() + "; exec sleep 600" }, 500);
+            fail("the command should time out");
+        } catch (TimeoutException e) {
+            // expected
+        } finally {
+            worker.destroy();
+        }
+
+        String pid = FileUtils.readFileToString(pidFile).trim();
+        pidFile.delete();
+        assertFalse(worker.isAlive());
+
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (isRunning(pid) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse("command " + pid + " is still running", isRunning(pid));
+    }
+
+    private static boolean isRunning(String pid) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(SHELL, "-c", "kill -0 " + pid).redirectErrorStream(true).start();
+        process.getInputStream().close();
+        return process.waitFor() == 0;
+    }
+
+}
@@ -9,8 +9,10 @@
 package org.openhab.io.net.exec;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecuteResultHandler;
@@ -24,6 +26,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Some common methods to execute commands on command line.
+ * <p>
+ * By default every invocation forks a new process. On systems where this is
+ * expensive, command lines whose response is awaited can instead be executed
+ * by a pool of long-lived shell processes. This worker mode is enabled by
+ * setting the system property <code>openhab.exec.workers</code> to the number
+ * of shell processes to keep alive; <code>openhab.exec.shell</code> selects
+ * the shell to use (defaults to <code>/bin/sh</code>).
  *
  * @author Pauli Anttila - Initial contribution
  * @author Kai Kreuzer - added exception logging
@@ -34,6 +43,56 @@ public class ExecUtil {
 
     private static final String CMD_LINE_DELIMITER = "@@";
 
+    /** system property which defines the number of persistent shell workers (0 disables worker mode) */
+    public static final String WORKERS_PROPERTY = "openhab.exec.workers";
+
+    /** system property which defines the shell executable run by the persistent workers */
+    public static final String SHELL_PROPERTY = "openhab.exec.shell";
+
+    private static final String DEFAULT_SHELL = "/bin/sh";
+
+    private static ShellWorkerPool workerPool = createWorkerPool(Integer.getInteger(WORKERS_PROPERTY, 0));
+
+    private static ShellWorkerPool createWorkerPool(int workers) {
+        if (workers <= 0) {
+            return null;
+        }
+        String shell = System.getProperty(SHELL_PROPERTY, DEFAULT_SHELL);
+        if (!new File(shell).canExecute()) {
+            logger.warn("Shell '{}' is not executable, persistent exec workers are disabled", shell);
+            return null;
+        }
+        logger.debug("Executing command lines with {} persistent '{}' workers", workers, shell);
+        return new ShellWorkerPool(shell, workers);
+    }
+
+    /**
+     * Changes the number of persistent shell workers which execute command
+     * lines whose response is awaited. Any previously running workers are
+     * terminated.
+     *
+     * @param workers the number of shell processes to keep alive, <code>0</code>
+     *            to fork a new process for every invocation
+     */
+    public static synchronized void setWorkerCount(int workers) {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+        workerPool = createWorkerPool(workers);
+    }
+
+    /**
+     * @return <code>true</code> if command lines whose response is awaited are
+     *         executed by persistent shell workers
+     */
+    public static synchronized boolean isWorkerModeEnabled() {
+        return workerPool != null;
+    }
+
+    private static synchronized ShellWorkerPool getWorkerPool() {
+        return workerPool;
+    }
+
     /**
      * <p>
      * Executes <code>commandLine</code>. Sometimes (especially observed on
@@ -88,8 +147,6 @@ public class ExecUtil {
      * @return response data from executed command line
      */
     public static String executeCommandLineAndWaitResponse(String commandLine, int timeout) {
-        String retval = null;
-
         CommandLine cmdLine = null;
 
         if (commandLine.contains(CMD_LINE_DELIMITER)) {
@@ -103,6 +160,60 @@ public class ExecUtil {
             cmdLine = CommandLine.parse(commandLine);
         }
 
+        ShellWorkerPool pool = getWorkerPool();
+        if (pool != null) {
+            return executeInWorker(pool, commandLine, cmdLine.toStrings(), timeout);
+        }
+
+        return executeAndWaitResponse(commandLine, cmdLine, timeout);
+    }
+
+    /**
+     * Executes the command given as an array of the executable and its
+     * arguments and waits for its response. Every element is passed on as a
+     * single argument, exactly as {@link Runtime#exec(String[])} does.
+     *
+     * @param cmdArray
+     *            the executable and its arguments
+     * @param timeout
+     *            timeout for execution in milliseconds
+     * @return response data from executed command
+     */
+    public static String executeCommandAndWaitResponse(String[] cmdArray, int timeout) {
+        String commandLine = Arrays.asList(cmdArray).toString();
+
+        ShellWorkerPool pool = getWorkerPool();
+        if (pool != null) {
+            return executeInWorker(pool, commandLine, cmdArray, timeout);
+        }
+
+        CommandLine cmdLine = new CommandLine(cmdArray[0]);
+        for (int i = 1; i < cmdArray.length; i++) {
+            cmdLine.addArgument(cmdArray[i], false);
+        }
+        return executeAndWaitResponse(commandLine, cmdLine, timeout);
+    }
+
+    private static String executeInWorker(ShellWorkerPool pool, String commandLine, String[] cmdArray,
+            int timeout) {
+        try {
+            String retval = StringUtils.chomp(pool.execute(cmdArray, timeout));
+            logger.debug("executed commandLine '{}' in persistent worker, result '{}'", commandLine, retval);
+            return retval;
+        } catch (TimeoutException e) {
+            logger.warn("Timeout occurred when executing commandLine '{}': {}", commandLine, e.getMessage());
+        } catch (IOException e) {
+            logger.error("couldn't execute commandLine '{}'", commandLine, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while executing commandLine '{}'", commandLine, e);
+        }
+        return null;
+    }
+
+    private static String executeAndWaitResponse(String commandLine, CommandLine cmdLine, int timeout) {
+        String retval = null;
+
         DefaultExecuteResultHandler resultHandler = new DefaultExecuteResultHandler();
 
         ExecuteWatchdog watchdog = new ExecuteWatchdog(timeout);
@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.net.exec;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived shell process which executes command lines fed to it through
+ * its standard input. This saves forking a new shell from the JVM for every
+ * invocation.
+ * <p>
+ * Every command is started in the background as a subshell which replaces
+ * itself with the executable (<code>( exec ... ) &amp;</code>), so neither
+ * builtins like <code>cd</code> or <code>exit</code> nor the command itself can
+ * change the state of the shell. Its standard and error output are merged
+ * (just like the {@link org.apache.commons.exec.PumpStreamHandler} used by
+ * {@link ExecUtil} does) and followed by a marker line carrying the exit code.
+ * Everything read before that marker line is the response of the command.
+ * The shell reports the process id of the command on its own error stream.
+ * <p>
+ * A worker executes one command at a time. If a command does not finish within
+ * its timeout, the command is killed and the worker is destroyed and must not be
+ * used any longer.
+ *
+ * @since 1.14.0
+ */
+class ShellWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShellWorker.class);
+
+    /** marks the end of the reader thread's output */
+    private static final String END_OF_STREAM = new String("EOF");
+
+    private final String shell;
+    private final Process process;
+    private final OutputStream stdin;
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<String>();
+    private final String marker;
+
+    private volatile boolean alive = true;
+    private int lastExitCode = -1;
+    private int commandCount = 0;
+
+    /** the number and process id of the command reported last by the shell, guarded by <code>this</code> */
+    private int reportedCommand = 0;
+    private String reportedPid;
+
+    /**
+     * Starts a new shell process.
+     *
+     * @param shell the path of the shell executable, e.g. <code>/bin/sh</code>
+     * @throws IOException if the shell process couldn't be started
+     */
+    ShellWorker(String shell) throws IOException {
+        this.shell = shell;
+        process = new ProcessBuilder(shell).start();
+        stdin = process.getOutputStream();
+        marker = "__openhab_exec_" + UUID.randomUUID().toString().replace("-", "") + "__";
+
+        Thread readerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                readOutput();
+            }
+        }, "Exec Shell Worker Reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        Thread errorReaderThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                readErrors();
+            }
+        }, "Exec Shell Worker Error Reader");
+        errorReaderThread.setDaemon(true);
+        errorReaderThread.start();
+    }
+
+    /**
+     * Executes the given command on this worker and waits for its response.
+     *
+     * @param cmdArray the executable and its arguments; every element is passed
+     *            as a single argument, exactly as {@link Runtime#exec(String[])} does
+     * @param timeout the time in milliseconds to wait for the command to finish
+     * @return the combined standard and error output of the command
+     * @throws IOException if the shell process has terminated unexpectedly
+     * @throws TimeoutException if the command didn't finish within <code>timeout</code>
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    String execute(String[] cmdArray, long timeout) throws IOException, TimeoutException, InterruptedException {
+        if (!alive) {
+            throw new IOException("shell worker has terminated");
+        }
+
+        int command = ++commandCount;
+        StringBuilder statement = new StringBuilder("( exec");
+        for (String argument : cmdArray) {
+            statement.append(' ').append(quote(argument));
+        }
+        statement.append(" ) </dev/null 2>&1 &\n");
+        statement.append("printf '%d %d\\n' ").append(command).append(" \"$!\" >&2\n");
+        statement.append("wait \"$!\"\n");
+        statement.append("printf '\\n%s %d\\n' '").append(marker).append("' \"$?\"\n");
+
+        try {
+            stdin.write(statement.toString().getBytes());
+            stdin.flush();
+        } catch (IOException e) {
+            destroy();
+            throw e;
+        }
+
+        StringBuilder output = new StringBuilder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            String line = remaining > 0 ? lines.poll(remaining, TimeUnit.NANOSECONDS) : null;
+
+            if (line == null) {
+                try {
+                    killCommand(command);
+                } finally {
+                    destroy();
+                }
+                throw new TimeoutException("command didn't finish within " + timeout + " ms");
+            }
+            if (line == END_OF_STREAM) {
+                destroy();
+                throw new IOException("shell worker has terminated unexpectedly");
+            }
+            if (line.startsWith(marker)) {
+                lastExitCode = parseExitCode(line.substring(marker.length()).trim());
+                break;
+            }
+            output.append(line).append('\n');
+        }
+
+        // the marker is always preceded by a newline of its own, remove it
+        output.setLength(Math.max(0, output.length() - 1));
+        return output.toString();
+    }
+
+    /**
+     * @return the exit code of the last command executed by this worker
+     */
+    int getLastExitCode() {
+        return lastExitCode;
+    }
+
+    /**
+     * @return <code>true</code> if the shell process of this worker is still usable
+     */
+    boolean isAlive() {
+        return alive;
+    }
+
+    /**
+     * Terminates the shell process of this worker.
+     */
+    void destroy() {
+        alive = false;
+        process.destroy();
+    }
+
+    /**
+     * Kills the process of the given command, if the shell has reported it.
+     */
+    private void killCommand(int command) throws InterruptedException {
+        String pid;
+        synchronized (this) {
+            pid = reportedCommand == command ? reportedPid : null;
+        }
+        if (pid == null) {
+            logger.debug("process id of the timed out command is unknown, only the shell worker is terminated");
+            return;
+        }
+
+        try {
+            Process kill = new ProcessBuilder(shell, "-c", "kill -KILL " + pid).redirectErrorStream(true).start();
+            kill.getOutputStream().close();
+            kill.getInputStream().close();
+            kill.waitFor();
+        } catch (IOException e) {
+            logger.debug("killing the timed out command {} failed: {}", pid, e.getMessage());
+        }
+    }
+
+    private void readErrors() {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] report = line.split(" ");
+                if (report.length == 2 && StringUtils.isNumeric(report[0]) && StringUtils.isNumeric(report[1])) {
+                    synchronized (this) {
+                        reportedCommand = Integer.parseInt(report[0]);
+                        reportedPid = report[1];
+                    }
+                } else {
+                    logger.debug("shell worker: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("reading errors from shell worker failed: {}", e.getMessage());
+        } finally {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private void readOutput() {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            logger.debug("reading from shell worker failed: {}", e.getMessage());
+        } finally {
+            alive = false;
+            lines.add(END_OF_STREAM);
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private static int parseExitCode(String exitCode) {
+        try {
+            return Integer.parseInt(exitCode);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Quotes <code>argument</code> so that the shell passes it on unaltered.
+     */
+    static String quote(String argument) {
+        return "'" + argument.replace("'", "'\\''") + "'";
+    }
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.net.exec;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A fixed size pool of {@link ShellWorker}s. Workers are started lazily on
+ * first use and replaced transparently once they have been destroyed (e.g.
+ * because a command ran into its timeout).
+ *
+ * @since 1.14.0
+ */
+class ShellWorkerPool {
+
+    private final String shell;
+    private final int size;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<ShellWorker> idleWorkers = new ConcurrentLinkedQueue<ShellWorker>();
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * @param shell the path of the shell executable the workers run
+     * @param size the maximum number of shell processes kept alive
+     */
+    ShellWorkerPool(String shell, int size) {
+        this.shell = shell;
+        this.size = size;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Executes the given command on an idle worker, waiting at most
+     * <code>timeout</code> milliseconds for a worker to become available and
+     * for the command to finish.
+     *
+     * @param cmdArray the executable and its arguments
+     * @param timeout the overall timeout in milliseconds
+     * @return the combined standard and error output of the command
+     * @throws IOException if no shell process could be started or it terminated unexpectedly
+     * @throws TimeoutException if the command didn't finish within <code>timeout</code>
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    String execute(String[] cmdArray, long timeout) throws IOException, TimeoutException, InterruptedException {
+        long start = System.nanoTime();
+        if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("no shell worker became available within " + timeout + " ms");
+        }
+        try {
+            ShellWorker worker = idleWorkers.poll();
+            while (worker != null && !worker.isAlive()) {
+                worker = idleWorkers.poll();
+            }
+            if (worker == null) {
+                worker = new ShellWorker(shell);
+            }
+
+            long remaining = timeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            try {
+                return worker.execute(cmdArray, Math.max(1, remaining));
+            } finally {
+                if (worker.isAlive() && !shutdown) {
+                    idleWorkers.offer(worker);
+                } else {
+                    worker.destroy();
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return the maximum number of shell processes kept alive by this pool
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Terminates all idle shell processes. Workers which are currently
+     * executing a command are terminated as soon as the command has finished.
+     */
+    void shutdown() {
+        shutdown = true;
+        ShellWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.destroy();
+        }
+    }
+
+}
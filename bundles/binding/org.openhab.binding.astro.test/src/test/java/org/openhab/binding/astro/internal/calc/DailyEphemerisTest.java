@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import static org.junit.Assert.*;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.openhab.binding.astro.internal.model.Moon;
+import org.openhab.binding.astro.internal.model.Sun;
+
+/**
+ * Compares the interpolated positions of DailyEphemeris with the full
+ * calculation of SunCalc and MoonCalc.
+ *
+ * @since 1.14.0
+ */
+public class DailyEphemerisTest {
+    private static final double DEGREE_DELTA = 0.05;
+
+    // the azimuth changes fast when the sun passes near the zenith
+    private static final double AZIMUTH_DELTA = 0.1;
+
+    @Test
+    public void positionsMatchCalculation() {
+        // Vienna, a tropical location with the sun near the zenith and the arctic
+        assertPositions(48.2, 16.37, 2019, Calendar.MARCH, 15);
+        assertPositions(10.5, -66.9, 2019, Calendar.AUGUST, 20);
+        assertPositions(69.65, 18.96, 2019, Calendar.JUNE, 21);
+    }
+
+    @Test
+    public void validForDayAndLocation() {
+        Calendar calendar = calendar(2019, Calendar.MARCH, 15, 12, 0, 0);
+        DailyEphemeris ephemeris = new DailyEphemeris(calendar, 48.2, 16.37);
+
+        assertTrue(ephemeris.isValid(calendar, 48.2, 16.37));
+        assertTrue(ephemeris.isValid(calendar(2019, Calendar.MARCH, 15, 23, 59, 59), 48.2, 16.37));
+        assertFalse(ephemeris.isValid(calendar(2019, Calendar.MARCH, 16, 0, 0, 0), 48.2, 16.37));
+        assertFalse(ephemeris.isValid(calendar, 48.3, 16.37));
+    }
+
+    @Test
+    public void daylightSavingDay() {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Vienna"));
+            assertPositions(48.2, 16.37, 2019, Calendar.MARCH, 31);
+            assertPositions(48.2, 16.37, 2019, Calendar.OCTOBER, 27);
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    private void assertPositions(double latitude, double longitude, int year, int month, int day) {
+        DailyEphemeris ephemeris = new DailyEphemeris(calendar(year, month, day, 0, 0, 0), latitude, longitude);
+        SunCalc sunCalc = new SunCalc();
+        MoonCalc moonCalc = new MoonCalc();
+
+        Calendar calendar = calendar(year, month, day, 0, 0, 17);
+        while (calendar.get(Calendar.DAY_OF_MONTH) == day) {
+            assertTrue(ephemeris.isValid(calendar, latitude, longitude));
+
+            Sun expectedSun = new Sun();
+            sunCalc.setSunPosition(calendar, latitude, longitude, expectedSun);
+            Sun sun = new Sun();
+            ephemeris.setSunPosition(calendar, sun);
+
+            String time = calendar.getTime().toString();
+            assertAngle(time, expectedSun.getPosition().getAzimuth(), sun.getPosition().getAzimuth());
+            assertEquals(time, expectedSun.getPosition().getElevation(), sun.getPosition().getElevation(),
+                    DEGREE_DELTA);
+
+            Moon expectedMoon = new Moon();
+            moonCalc.setMoonPosition(calendar, latitude, longitude, expectedMoon);
+            Moon moon = new Moon();
+            ephemeris.setMoonPosition(calendar, moon);
+
+            assertAngle(time, expectedMoon.getPosition().getAzimuth(), moon.getPosition().getAzimuth());
+            assertEquals(time, expectedMoon.getPosition().getElevation(), moon.getPosition().getElevation(),
+                    DEGREE_DELTA);
+            assertEquals(time, expectedMoon.getPhase().getIllumination(), moon.getPhase().getIllumination(), 0.01);
+            assertEquals(time, expectedMoon.getDistance().getKilometer(), moon.getDistance().getKilometer(), 1);
+
+            calendar.add(Calendar.MINUTE, 7);
+        }
+    }
+
+    private static void assertAngle(String message, double expected, double actual) {
+        double delta = Math.abs(expected - actual) % 360;
+        assertEquals(message, 0, Math.min(delta, 360 - delta), AZIMUTH_DELTA);
+    }
+
+    private static Calendar calendar(int year, int month, int day, int hour, int minute, int second) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute, second);
+        return calendar;
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.job;
+
+import java.lang.reflect.Method;
+import java.util.Calendar;
+
+import org.apache.commons.lang.StringUtils;
+import org.openhab.binding.astro.internal.calc.DailyEphemeris;
+import org.openhab.binding.astro.internal.calc.MoonCalc;
+import org.openhab.binding.astro.internal.calc.SunCalc;
+import org.openhab.binding.astro.internal.model.Moon;
+import org.openhab.binding.astro.internal.model.Planet;
+import org.openhab.binding.astro.internal.model.Sun;
+import org.openhab.binding.astro.internal.util.PropertyUtils;
+
+/**
+ * Measures the work of one IntervalJob run: the sun and moon positions and
+ * reading the properties of all interval items. The full calculation with
+ * getter lookups per value is compared with the daily ephemeris and the
+ * cached property accessors.
+ *
+ * Usage: <code>IntervalJobBenchmark [items] [runs]</code>
+ *
+ * @since 1.14.0
+ */
+public class IntervalJobBenchmark {
+    private static final double LATITUDE = 48.2;
+    private static final double LONGITUDE = 16.37;
+
+    private static final String[] SUN_PROPERTIES = { "position.azimuth", "position.elevation" };
+    private static final String[] MOON_PROPERTIES = { "position.azimuth", "position.elevation",
+            "distance.kilometer", "distance.miles", "distance.date", "phase.illumination", "zodiac.sign" };
+
+    private Sun sun = new Sun();
+    private Moon moon = new Moon();
+
+    public static void main(String[] args) throws Exception {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        IntervalJobBenchmark benchmark = new IntervalJobBenchmark();
+
+        Calendar now = Calendar.getInstance();
+        long start = System.nanoTime();
+        DailyEphemeris ephemeris = new DailyEphemeris(now, LATITUDE, LONGITUDE);
+        System.out.println(String.format("ephemeris of one day: %.1f ms", (System.nanoTime() - start) / 1000000.0));
+
+        // warm up
+        benchmark.runCalculated(now, items, runs);
+        benchmark.runEphemeris(ephemeris, now, items, runs);
+
+        start = System.nanoTime();
+        benchmark.runCalculated(now, items, runs);
+        long calculated = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        benchmark.runEphemeris(ephemeris, now, items, runs);
+        long interpolated = System.nanoTime() - start;
+
+        System.out.println(String.format("%d items, %d runs", items, runs));
+        System.out.println(String.format("calculated:   %.2f us per run", calculated / 1000.0 / runs));
+        System.out.println(String.format("interpolated: %.2f us per run", interpolated / 1000.0 / runs));
+    }
+
+    private void runCalculated(Calendar now, int items, int runs) throws Exception {
+        SunCalc sunCalc = new SunCalc();
+        MoonCalc moonCalc = new MoonCalc();
+        for (int i = 0; i < runs; i++) {
+            sunCalc.setSunPosition(now, LATITUDE, LONGITUDE, sun);
+            moonCalc.setMoonPosition(now, LATITUDE, LONGITUDE, moon);
+            for (int item = 0; item < items; item++) {
+                if (item % 2 == 0) {
+                    getterValue(sun, SUN_PROPERTIES[item % SUN_PROPERTIES.length]);
+                } else {
+                    getterValue(moon, MOON_PROPERTIES[item % MOON_PROPERTIES.length]);
+                }
+            }
+        }
+    }
+
+    private void runEphemeris(DailyEphemeris ephemeris, Calendar now, int items, int runs) throws Exception {
+        for (int i = 0; i < runs; i++) {
+            ephemeris.setSunPosition(now, sun);
+            ephemeris.setMoonPosition(now, moon);
+            for (int item = 0; item < items; item++) {
+                if (item % 2 == 0) {
+                    PropertyUtils.getPropertyValue(sun, SUN_PROPERTIES[item % SUN_PROPERTIES.length]);
+                } else {
+                    PropertyUtils.getPropertyValue(moon, MOON_PROPERTIES[item % MOON_PROPERTIES.length]);
+                }
+            }
+        }
+    }
+
+    /**
+     * The getter lookup per value, like PropertyUtils did before the
+     * accessors were cached.
+     */
+    private static Object getterValue(Planet planet, String property) throws Exception {
+        Object result = planet;
+        for (String name : StringUtils.split(property, ".")) {
+            Method m = result.getClass().getMethod("get" + Character.toTitleCase(name.charAt(0)) + name.substring(1));
+            result = m.invoke(result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Calendar;
+
+import org.junit.Test;
+import org.openhab.binding.astro.internal.model.Moon;
+import org.openhab.binding.astro.internal.model.Range;
+import org.openhab.binding.astro.internal.model.Sun;
+
+/**
+ * PropertyUtils tests with the cached property accessors.
+ *
+ * @since 1.14.0
+ */
+public class PropertyUtilsTest {
+
+    @Test
+    public void nestedProperties() throws Exception {
+        Calendar start = Calendar.getInstance();
+        Sun sun = new Sun();
+        sun.setRise(new Range(start, start));
+        sun.getPosition().setElevation(12.5);
+
+        assertSame(start, PropertyUtils.getPropertyValue(sun, "rise.start"));
+        assertEquals(12.5, PropertyUtils.getPropertyValue(sun, "position.elevation"));
+
+        // the cached accessor reads the current value
+        sun.getPosition().setElevation(13.0);
+        assertEquals(13.0, PropertyUtils.getPropertyValue(sun, "position.elevation"));
+    }
+
+    @Test
+    public void accessorsPerClass() throws Exception {
+        Moon moon = new Moon();
+        moon.getDistance().setKilometer(384400);
+
+        assertEquals(384400.0, PropertyUtils.getPropertyValue(moon, "distance.kilometer"));
+        assertTrue(PropertyUtils.hasProperty(moon, "distance.kilometer"));
+        assertFalse(PropertyUtils.hasProperty(new Sun(), "distance.kilometer"));
+        assertFalse(PropertyUtils.hasProperty(moon, "distance.unknown"));
+    }
+}
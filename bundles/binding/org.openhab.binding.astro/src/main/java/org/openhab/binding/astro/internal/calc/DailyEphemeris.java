@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.util.Calendar;
+
+import org.openhab.binding.astro.internal.model.Moon;
+import org.openhab.binding.astro.internal.model.Position;
+import org.openhab.binding.astro.internal.model.Sun;
+import org.openhab.binding.astro.internal.model.Zodiac;
+import org.openhab.binding.astro.internal.model.ZodiacSign;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
+
+/**
+ * Sun and moon positions of one day at one location, calculated once in
+ * steps of one minute. The positions in between are interpolated, so the
+ * interval updates don't need the full calculation.
+ *
+ * @since 1.14.0
+ */
+public class DailyEphemeris {
+    private static final long STEP = 60 * 1000;
+
+    private long start;
+    private long end;
+    private double latitude;
+    private double longitude;
+
+    private double[] sunAzimuth;
+    private double[] sunElevation;
+    private double[] moonAzimuth;
+    private double[] moonElevation;
+    private double[] moonIllumination;
+    private double[] moonDistance;
+    private ZodiacSign[] moonZodiac;
+
+    private MoonCalc moonCalc = new MoonCalc();
+
+    /**
+     * Calculates the positions of the day of the calendar.
+     */
+    public DailyEphemeris(Calendar calendar, double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+
+        Calendar cal = DateTimeUtils.truncateToMidnight(calendar);
+        start = cal.getTimeInMillis();
+        cal.add(Calendar.DAY_OF_MONTH, 1);
+        end = cal.getTimeInMillis();
+
+        // the day may have 23 or 25 hours, the last step ends at midnight
+        int size = (int) ((end - start + STEP - 1) / STEP) + 1;
+        sunAzimuth = new double[size];
+        sunElevation = new double[size];
+        moonAzimuth = new double[size];
+        moonElevation = new double[size];
+        moonIllumination = new double[size];
+        moonDistance = new double[size];
+        moonZodiac = new ZodiacSign[size];
+
+        SunCalc sunCalc = new SunCalc();
+        Sun sun = new Sun();
+        Moon moon = new Moon();
+
+        // the refraction is not continuous near the horizon, it's added after
+        // the interpolation
+        moonCalc.setRefraction(false);
+
+        for (int i = 0; i < size; i++) {
+            cal.setTimeInMillis(Math.min(start + i * STEP, end));
+            sunCalc.setSunPosition(cal, latitude, longitude, sun);
+            moonCalc.setMoonPosition(cal, latitude, longitude, moon);
+
+            sunAzimuth[i] = sun.getPosition().getAzimuth();
+            sunElevation[i] = sun.getPosition().getElevation();
+            moonAzimuth[i] = moon.getPosition().getAzimuth();
+            moonElevation[i] = moon.getPosition().getElevation();
+            moonIllumination[i] = moon.getPhase().getIllumination();
+            moonDistance[i] = moon.getDistance().getKilometer();
+            moonZodiac[i] = moon.getZodiac() == null ? null : moon.getZodiac().getSign();
+        }
+    }
+
+    /**
+     * Returns true, if the positions are calculated for the time and
+     * location.
+     */
+    public boolean isValid(Calendar calendar, double latitude, double longitude) {
+        long time = calendar.getTimeInMillis();
+        return time >= start && time < end && this.latitude == latitude && this.longitude == longitude;
+    }
+
+    /**
+     * Sets the interpolated sun position (azimuth and elevation).
+     */
+    public void setSunPosition(Calendar calendar, Sun sun) {
+        int index = getIndex(calendar);
+        double fraction = getFraction(calendar, index);
+
+        Position position = sun.getPosition();
+        position.setAzimuth(interpolateAngle(sunAzimuth, index, fraction));
+        position.setElevation(interpolate(sunElevation, index, fraction));
+    }
+
+    /**
+     * Sets the interpolated moon illumination, distance, position and zodiac.
+     */
+    public void setMoonPosition(Calendar calendar, Moon moon) {
+        int index = getIndex(calendar);
+        double fraction = getFraction(calendar, index);
+
+        moon.getPhase().setIllumination(interpolate(moonIllumination, index, fraction));
+        moon.getDistance().setDate((Calendar) calendar.clone());
+        moon.getDistance().setKilometer(interpolate(moonDistance, index, fraction));
+
+        Position position = moon.getPosition();
+        position.setAzimuth(interpolateAngle(moonAzimuth, index, fraction));
+        position.setElevation(moonCalc.getRefractedElevation(interpolate(moonElevation, index, fraction)));
+
+        ZodiacSign sign = moonZodiac[fraction < 0.5 ? index : index + 1];
+        if (sign != null) {
+            moon.setZodiac(new Zodiac(sign));
+        }
+    }
+
+    private int getIndex(Calendar calendar) {
+        long offset = calendar.getTimeInMillis() - start;
+        return (int) Math.max(0, Math.min(offset / STEP, sunAzimuth.length - 2));
+    }
+
+    private double getFraction(Calendar calendar, int index) {
+        double fraction = (calendar.getTimeInMillis() - start - index * STEP) / (double) STEP;
+        return Math.max(0, Math.min(fraction, 1));
+    }
+
+    private static double interpolate(double[] values, int index, double fraction) {
+        return values[index] + (values[index + 1] - values[index]) * fraction;
+    }
+
+    /**
+     * Interpolates an angle in degrees on the shorter way, over 360 if
+     * necessary.
+     */
+    private static double interpolateAngle(double[] values, int index, double fraction) {
+        double delta = values[index + 1] - values[index];
+        if (delta > 180) {
+            delta -= 360;
+        } else if (delta < -180) {
+            delta += 360;
+        }
+
+        double angle = values[index] + delta * fraction;
+        if (angle < 0) {
+            angle += 360;
+        } else if (angle >= 360) {
+            angle -= 360;
+        }
+        return angle;
+    }
+}
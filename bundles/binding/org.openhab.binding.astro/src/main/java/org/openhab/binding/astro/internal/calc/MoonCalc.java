@@ -45,6 +45,23 @@ public class MoonCalc {
     protected static final int ECLIPSE_MODE_TOTAL = 1;
     protected static final int ECLIPSE_MODE_RING = 2;
 
+    private boolean refraction = true;
+
+    /**
+     * Enables or disables the refraction in the moon elevation, the
+     * DailyEphemeris interpolates the elevation without refraction.
+     */
+    void setRefraction(boolean refraction) {
+        this.refraction = refraction;
+    }
+
+    /**
+     * Returns the moon elevation in degrees including the refraction.
+     */
+    double getRefractedElevation(double elevation) {
+        return elevation + refraction(elevation * SunCalc.DEG2RAD);
+    }
+
     /**
      * Calculates all moon data at the specified coordinates
      */
@@ -693,7 +710,11 @@ public class MoonCalc {
 
         Position position = moon.getPosition();
         position.setAzimuth(azAlt[0] * SunCalc.RAD2DEG);
-        position.setElevation(azAlt[1] * SunCalc.RAD2DEG + refraction(azAlt[1]));
+        if (refraction) {
+            position.setElevation(azAlt[1] * SunCalc.RAD2DEG + refraction(azAlt[1]));
+        } else {
+            position.setElevation(azAlt[1] * SunCalc.RAD2DEG);
+        }
 
         // zodiac
         double idxd = Math.floor(moonLon * SunCalc.RAD2DEG / 30);
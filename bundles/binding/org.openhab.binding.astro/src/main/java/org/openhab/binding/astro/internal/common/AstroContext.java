@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.openhab.binding.astro.AstroBindingProvider;
+import org.openhab.binding.astro.internal.calc.DailyEphemeris;
 import org.openhab.binding.astro.internal.job.JobScheduler;
 import org.openhab.binding.astro.internal.model.Moon;
 import org.openhab.binding.astro.internal.model.Planet;
@@ -33,6 +34,7 @@ public class AstroContext {
     private JobScheduler jobScheduler = new JobScheduler(this);
 
     private Map<PlanetName, Planet> planets = new HashMap<PlanetName, Planet>();
+    private DailyEphemeris ephemeris;
 
     private static AstroContext instance;
 
@@ -106,4 +108,18 @@ public class AstroContext {
     public void setPlanet(PlanetName planetName, Planet planet) {
         planets.put(planetName, planet);
     }
+
+    /**
+     * Returns the sun and moon positions of the current day.
+     */
+    public DailyEphemeris getEphemeris() {
+        return ephemeris;
+    }
+
+    /**
+     * Sets the sun and moon positions of the current day.
+     */
+    public void setEphemeris(DailyEphemeris ephemeris) {
+        this.ephemeris = ephemeris;
+    }
 }
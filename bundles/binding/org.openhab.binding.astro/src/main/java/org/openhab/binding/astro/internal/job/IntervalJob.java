@@ -10,8 +10,7 @@ package org.openhab.binding.astro.internal.job;
 
 import java.util.Calendar;
 
-import org.openhab.binding.astro.internal.calc.MoonCalc;
-import org.openhab.binding.astro.internal.calc.SunCalc;
+import org.openhab.binding.astro.internal.calc.DailyEphemeris;
 import org.openhab.binding.astro.internal.model.Moon;
 import org.openhab.binding.astro.internal.model.PlanetName;
 import org.openhab.binding.astro.internal.model.Sun;
@@ -29,17 +28,24 @@ public class IntervalJob extends AbstractBaseJob {
     @Override
     protected void executeJob(JobDataMap jobDataMap) {
         Calendar now = Calendar.getInstance();
+        double latitude = context.getConfig().getLatitude();
+        double longitude = context.getConfig().getLongitude();
+
+        // the positions are calculated once a day and interpolated
+        DailyEphemeris ephemeris = context.getEphemeris();
+        if (ephemeris == null || !ephemeris.isValid(now, latitude, longitude)) {
+            ephemeris = new DailyEphemeris(now, latitude, longitude);
+            context.setEphemeris(ephemeris);
+        }
 
         // sun
-        SunCalc sunCalc = new SunCalc();
         Sun sun = (Sun) context.getPlanet(PlanetName.SUN);
-        sunCalc.setSunPosition(now, context.getConfig().getLatitude(), context.getConfig().getLongitude(), sun);
+        ephemeris.setSunPosition(now, sun);
         planetPublisher.publish(PlanetName.SUN);
 
         // moon
-        MoonCalc moonCalc = new MoonCalc();
         Moon moon = (Moon) context.getPlanet(PlanetName.MOON);
-        moonCalc.setMoonPosition(now, context.getConfig().getLatitude(), context.getConfig().getLongitude(), moon);
+        ephemeris.setMoonPosition(now, moon);
         planetPublisher.publish(PlanetName.MOON);
     }
 }
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.util;
+
+import java.lang.reflect.Method;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * The getter methods of a (nested) property, resolved once for a class.
+ *
+ * @since 1.14.0
+ */
+public class PropertyAccessor {
+    private Method[] getters;
+
+    /**
+     * Resolves the getters of the property, for example getRise() and
+     * getStart() for rise.start.
+     */
+    public PropertyAccessor(Class<?> clazz, String property) throws NoSuchMethodException {
+        String[] properties = StringUtils.split(property, ".");
+        getters = new Method[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            getters[i] = clazz.getMethod(toGetterString(properties[i]));
+            clazz = getters[i].getReturnType();
+        }
+    }
+
+    /**
+     * Returns the property value from the object instance.
+     */
+    public Object getValue(Object instance) throws Exception {
+        Object result = instance;
+        for (Method getter : getters) {
+            result = getter.invoke(result);
+        }
+        return result;
+    }
+
+    /**
+     * Converts the string to a getter property.
+     */
+    private static String toGetterString(String str) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("get");
+        sb.append(Character.toTitleCase(str.charAt(0)));
+        sb.append(str.substring(1));
+        return sb.toString();
+    }
+}
@@ -8,9 +8,8 @@
  */
 package org.openhab.binding.astro.internal.util;
 
-import java.lang.reflect.Method;
-
-import org.apache.commons.lang.StringUtils;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Methods to get the value from a property of an object.
@@ -19,6 +18,7 @@ import org.apache.commons.lang.StringUtils;
  * @since 1.6.0
  */
 public class PropertyUtils {
+    private static Map<Class<?>, Map<String, PropertyAccessor>> accessors = new ConcurrentHashMap<Class<?>, Map<String, PropertyAccessor>>();
 
     /**
      * Returns the property value from the object instance, nested properties
@@ -26,8 +26,25 @@ public class PropertyUtils {
      * getRise().getStart() are called.
      */
     public static Object getPropertyValue(Object instance, String property) throws Exception {
-        String[] properties = StringUtils.split(property, ".");
-        return getPropertyValue(instance, properties, 0);
+        return getAccessor(instance.getClass(), property).getValue(instance);
+    }
+
+    /**
+     * Returns the cached accessor for the property of the class.
+     */
+    private static PropertyAccessor getAccessor(Class<?> clazz, String property) throws NoSuchMethodException {
+        Map<String, PropertyAccessor> classAccessors = accessors.get(clazz);
+        if (classAccessors == null) {
+            classAccessors = new ConcurrentHashMap<String, PropertyAccessor>();
+            accessors.put(clazz, classAccessors);
+        }
+
+        PropertyAccessor accessor = classAccessors.get(property);
+        if (accessor == null) {
+            accessor = new PropertyAccessor(clazz, property);
+            classAccessors.put(property, accessor);
+        }
+        return accessor;
     }
 
     /**
@@ -42,29 +59,4 @@ public class PropertyUtils {
         }
     }
 
-    /**
-     * Iterates through the nested properties and returns the getter value.
-     */
-    @SuppressWarnings("all")
-    private static Object getPropertyValue(Object instance, String[] properties, int nestedIndex) throws Exception {
-        String propertyName = properties[nestedIndex];
-        Method m = instance.getClass().getMethod(toGetterString(propertyName), null);
-        Object result = m.invoke(instance, (Object[]) null);
-        if (++nestedIndex < properties.length) {
-            return getPropertyValue(result, properties, nestedIndex);
-        }
-        return result;
-    }
-
-    /**
-     * Converts the string to a getter property.
-     */
-    private static String toGetterString(String str) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("get");
-        sb.append(Character.toTitleCase(str.charAt(0)));
-        sb.append(str.substring(1));
-        return sb.toString();
-    }
-
 }
@@ -12,7 +12,7 @@ import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.openhab.binding.dmx.DmxConnection;
+import org.openhab.binding.dmx.DmxUniverseConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,7 +27,7 @@ import artnet4j.packets.ArtDmxPacket;
  * @author Rainer Ostendorf
  * @since 1.4.0
  */
-public class ArtnetConnection implements DmxConnection {
+public class ArtnetConnection implements DmxUniverseConnection {
 
     private static final Logger logger = LoggerFactory.getLogger(ArtnetConnection.class);
 
@@ -89,6 +89,18 @@ public class ArtnetConnection implements DmxConnection {
         return isConnectionClosed;
     }
 
+    /**
+     * Send the DMX data to universe 0.
+     *
+     * {@inheritDoc}
+     *
+     * @see org.openhab.binding.dmx.DmxConnection#sendDmx(byte[])
+     */
+    @Override
+    public void sendDmx(byte[] buffer) throws Exception {
+        sendDmx(0, buffer);
+    }
+
     /**
      * This function gets called each time DMX data to be submitted it iterates
      * through the list of receivers, and sends out the data to them. when no
@@ -96,18 +108,17 @@ public class ArtnetConnection implements DmxConnection {
      * 
      * {@inheritDoc}
      * 
-     * @see org.openhab.binding.dmx.DmxConnection#sendDmx(byte[])
+     * @see org.openhab.binding.dmx.DmxUniverseConnection#sendDmx(int, byte[])
      */
     @Override
-    public void sendDmx(byte[] buffer) throws Exception {
+    public void sendDmx(int universe, byte[] buffer) throws Exception {
 
         if (!isConnectionClosed) {
 
             ArtDmxPacket dmx = new ArtDmxPacket();
 
-            // Default to universe 0. May need to be changed later to support
-            // multiple universes.
-            dmx.setUniverse(0, 0);
+            // universes are numbered within subnet 0
+            dmx.setUniverse(0, universe);
             dmx.setSequenceID(sequenceID % 255);
             dmx.setDMX(buffer, buffer.length);
 
@@ -11,7 +11,7 @@ package org.openhab.binding.dmx.ola;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
-import org.openhab.binding.dmx.DmxConnection;
+import org.openhab.binding.dmx.DmxUniverseConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,8 +23,9 @@ import ola.proto.Ola.PatchAction;
 /**
  * DMX Connection Implementation using OLA as the DMX target. This class wraps
  * the OLA Client. It defaults to universe 0 and autobinds to all devices.
+ * Further universes need to be patched in OLA.
  */
-public class OlaConnection implements DmxConnection {
+public class OlaConnection implements DmxUniverseConnection {
 
     private static final Logger logger = LoggerFactory.getLogger(OlaConnection.class);
 
@@ -74,6 +75,11 @@ public class OlaConnection implements DmxConnection {
         client.streamDmx(0, arg0);
     }
 
+    @Override
+    public void sendDmx(int universe, byte[] buffer) throws Exception {
+        client.streamDmx(universe, buffer);
+    }
+
     /**
      * Auto bind to all available devices unless autobind is disabled.
      */
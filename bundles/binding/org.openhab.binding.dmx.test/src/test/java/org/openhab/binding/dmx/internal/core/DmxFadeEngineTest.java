@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx.internal.core;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.openhab.binding.dmx.DmxService;
+import org.openhab.binding.dmx.internal.action.BaseAction;
+import org.openhab.binding.dmx.internal.action.FadeAction;
+import org.openhab.core.library.types.PercentType;
+
+/**
+ * DmxFadeEngine tests. Fades calculated by the engine of a universe must give
+ * the same values as fades calculated by the channel's fade action.
+ *
+ * @since 1.14.0
+ */
+public class DmxFadeEngineTest {
+
+    private static final long START = 1000000L;
+
+    @Test
+    public void fadeUpMatchesFadeAction() {
+        assertSameFade(0, new FadeAction(1000, 255, 500), new FadeAction(1000, 255, 500), 100);
+    }
+
+    @Test
+    public void fadeDownMatchesFadeAction() {
+        assertSameFade(200, new FadeAction(700, 10, 0), new FadeAction(700, 10, 0), 100);
+    }
+
+    @Test
+    public void fadeWithReducedOutputLevelMatchesFadeAction() {
+        assertSameFade(0, new FadeAction(1000, 200, 300), new FadeAction(1000, 200, 300), 60);
+        assertSameFade(255, new FadeAction(500, 0, 300), new FadeAction(500, 0, 300), 35);
+    }
+
+    @Test
+    public void fadeChainMatchesFadeActions() {
+        DmxUniverse universe = new DmxUniverse();
+        DmxChannel batched = universe.getChannel(5);
+        DmxChannel reference = new DmxChannel(5);
+        batched.setValue(0);
+        reference.setValue(0);
+        batched.setChannelAction(new FadeAction(300, 255, 100));
+        batched.addChannelAction(new FadeAction(300, 0, 100));
+        reference.setChannelAction(new FadeAction(300, 255, 100));
+        reference.addChannelAction(new FadeAction(300, 0, 100));
+
+        for (long t = START; t < START + 2000; t += 10) {
+            byte[] buffer = universe.calculateBuffer(t);
+            assertEquals("time " + (t - START), reference.getNextValue(t).intValue(), buffer[4] & 0xFF);
+        }
+    }
+
+    @Test
+    public void runningFadesAreCalculatedByTheEngine() {
+        DmxUniverse universe = new DmxUniverse();
+        for (int i = 1; i <= DmxService.CHANNELS_PER_UNIVERSE; i++) {
+            universe.getChannel(i).setChannelAction(new FadeAction(1000, 255, -1));
+        }
+
+        universe.calculateBuffer(START);
+        universe.calculateBuffer(START + 10);
+
+        assertTrue(universe.getFadeEngine().isActive());
+        for (int i = 1; i <= DmxService.CHANNELS_PER_UNIVERSE; i++) {
+            assertTrue(universe.getChannel(i).isBatched());
+        }
+
+        // target reached, channels hold their value on their own
+        universe.calculateBuffer(START + 1000);
+        assertFalse(universe.getFadeEngine().isActive());
+        assertEquals(255, universe.getChannel(DmxService.CHANNELS_PER_UNIVERSE).getValue());
+        assertTrue(universe.isChanged());
+    }
+
+    @Test
+    public void setValueStopsBatchedFade() {
+        DmxUniverse universe = new DmxUniverse();
+        DmxChannel channel = universe.getChannel(1);
+        channel.setValue(0);
+        channel.setChannelAction(new FadeAction(1000, 255, -1));
+        universe.calculateBuffer(START);
+        universe.calculateBuffer(START + 200);
+        assertTrue(channel.isBatched());
+        // one step every 1000 / 255 = 3 ms
+        assertEquals(66, channel.getValue());
+
+        channel.setValue(20);
+
+        assertFalse(channel.isBatched());
+        assertFalse(universe.getFadeEngine().isActive());
+        assertEquals(20, universe.calculateBuffer(START + 400)[0]);
+    }
+
+    @Test
+    public void outputLevelChangeAppliesToBatchedFade() {
+        DmxUniverse universe = new DmxUniverse();
+        DmxChannel batched = universe.getChannel(1);
+        DmxChannel reference = new DmxChannel(1);
+        batched.setValue(0);
+        reference.setValue(0);
+        batched.setChannelAction(new FadeAction(1000, 255, -1));
+        reference.setChannelAction(new FadeAction(1000, 255, -1));
+        universe.calculateBuffer(START);
+        reference.getNextValue(START);
+        universe.calculateBuffer(START + 400);
+        reference.getNextValue(START + 400);
+        assertTrue(batched.isBatched());
+
+        batched.setValue(new PercentType(50));
+        reference.setValue(new PercentType(50));
+        assertFalse(batched.isBatched());
+
+        for (long t = START + 410; t < START + 1500; t += 10) {
+            byte[] buffer = universe.calculateBuffer(t);
+            assertEquals("time " + (t - START), reference.getNextValue(t).intValue(), buffer[0] & 0xFF);
+        }
+    }
+
+    @Test
+    public void outputValueMatchesDecimalCalculation() {
+        for (int input = -255; input <= 255; input++) {
+            for (int level = BaseAction.MIN_OUTPUT_LEVEL; level <= BaseAction.MAX_OUTPUT_LEVEL; level++) {
+                int expected = BigDecimal.valueOf(input).multiply(BigDecimal.valueOf(level))
+                        .divide(BigDecimal.valueOf(100), 0, BigDecimal.ROUND_UP).intValue();
+                assertEquals(input + " at " + level, expected, DmxUtil.getOutputValue(input, level));
+            }
+        }
+    }
+
+    private void assertSameFade(int startValue, FadeAction batchedAction, FadeAction referenceAction,
+            int outputLevel) {
+        DmxUniverse universe = new DmxUniverse();
+        DmxChannel batched = universe.getChannel(DmxService.CHANNELS_PER_UNIVERSE);
+        DmxChannel reference = new DmxChannel(DmxService.CHANNELS_PER_UNIVERSE);
+        batched.setValue(startValue);
+        reference.setValue(startValue);
+        batchedAction.setOutputLevel(outputLevel);
+        referenceAction.setOutputLevel(outputLevel);
+        batched.setChannelAction(batchedAction);
+        reference.setChannelAction(referenceAction);
+
+        boolean wasBatched = false;
+        for (long t = START; t < START + 2000; t += 7) {
+            byte[] buffer = universe.calculateBuffer(t);
+            wasBatched |= batched.isBatched();
+            assertEquals("time " + (t - START), reference.getNextValue(t).intValue(),
+                    buffer[DmxService.CHANNELS_PER_UNIVERSE - 1] & 0xFF);
+        }
+        assertTrue(wasBatched);
+    }
+}
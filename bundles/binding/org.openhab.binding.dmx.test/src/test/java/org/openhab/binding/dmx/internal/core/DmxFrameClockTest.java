@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx.internal.core;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * DmxFrameClock timing tests. The clock runs in the test thread on a fake
+ * clock, which only advances while waiting and running frames.
+ *
+ * @since 1.14.0
+ */
+public class DmxFrameClockTest {
+
+    private static final long PERIOD_MILLIS = 10;
+
+    @After
+    public void clearInterrupt() {
+        // the frame task interrupts the test thread to stop the clock
+        Thread.interrupted();
+    }
+
+    @Test
+    public void framesDoNotDrift() {
+        DmxFrameStatistics statistics = new DmxFrameStatistics();
+        FakeClock clock = new FakeClock(3, 100, statistics);
+
+        clock.run();
+
+        // 3 ms per frame would add up to 30% with a fixed delay between frames
+        assertEquals(100, statistics.getFrames());
+        assertEquals(0, statistics.getMissedFrames());
+        for (int i = 0; i < clock.frameStarts.size(); i++) {
+            assertEquals(i * PERIOD_MILLIS, (long) clock.frameStarts.get(i));
+        }
+    }
+
+    @Test
+    public void longFramesSkipMissedFrames() {
+        DmxFrameStatistics statistics = new DmxFrameStatistics();
+        FakeClock clock = new FakeClock(25, 10, statistics);
+
+        clock.run();
+
+        // the frames start right after each other, the 25 periods in between are skipped
+        assertEquals(10, statistics.getFrames());
+        assertEquals(15, statistics.getMissedFrames());
+        for (int i = 0; i < clock.frameStarts.size(); i++) {
+            assertEquals(i * 25, (long) clock.frameStarts.get(i));
+        }
+        assertEquals(25000, statistics.getMaxDurationMicros());
+        assertEquals(5000, statistics.getMaxLatenessMicros());
+    }
+
+    @Test
+    public void waitsForTheNextFrame() {
+        DmxFrameStatistics statistics = new DmxFrameStatistics();
+        FakeClock clock = new FakeClock(4, 3, statistics);
+
+        clock.run();
+
+        assertEquals(2, clock.sleeps.size());
+        assertEquals(6, (long) clock.sleeps.get(0));
+        assertEquals(6, (long) clock.sleeps.get(1));
+    }
+
+    /**
+     * Frame clock on a fake clock, whose frames take a fixed time and which
+     * stops after a number of frames.
+     */
+    private static class FakeClock extends DmxFrameClock {
+
+        private final List<Long> frameStarts = new ArrayList<Long>();
+        private final List<Long> sleeps = new ArrayList<Long>();
+        private long now = 0;
+
+        FakeClock(long frameMillis, int frames, DmxFrameStatistics statistics) {
+            this(new Frame(frameMillis, frames), statistics);
+        }
+
+        private FakeClock(Frame frame, DmxFrameStatistics statistics) {
+            super(frame, PERIOD_MILLIS, statistics);
+            frame.clock = this;
+        }
+
+        @Override
+        protected long nanoTime() {
+            return now;
+        }
+
+        @Override
+        protected void sleepNanos(long nanos) {
+            sleeps.add(TimeUnit.NANOSECONDS.toMillis(nanos));
+            now += nanos;
+        }
+    }
+
+    private static class Frame implements Runnable {
+
+        private final long frameMillis;
+        private final int frames;
+        private FakeClock clock;
+
+        Frame(long frameMillis, int frames) {
+            this.frameMillis = frameMillis;
+            this.frames = frames;
+        }
+
+        @Override
+        public void run() {
+            clock.frameStarts.add(TimeUnit.NANOSECONDS.toMillis(clock.now));
+            clock.now += TimeUnit.MILLISECONDS.toNanos(frameMillis);
+            if (clock.frameStarts.size() == frames) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx.internal.core;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.dmx.DmxConnection;
+import org.openhab.binding.dmx.DmxService;
+import org.openhab.binding.dmx.DmxUniverseConnection;
+import org.openhab.binding.dmx.internal.action.FadeAction;
+
+/**
+ * DmxTransmitter tests for sending multiple universes.
+ *
+ * @since 1.14.0
+ */
+public class DmxTransmitterTest {
+
+    private DmxService service;
+    private RecordingConnection connection;
+    private DmxTransmitter transmitter;
+
+    @Before
+    public void setUp() {
+        service = mock(DmxService.class);
+        connection = new RecordingConnection();
+        when(service.getConnection()).thenReturn(connection);
+        transmitter = new DmxTransmitter(service);
+        transmitter.setRepeatMode(DmxTransmitter.DmxRepeatMode.NEVER);
+    }
+
+    @Test
+    public void channelsAboveUniverseSizeAreInNextUniverse() {
+        DmxChannel channel = transmitter.getChannel(DmxService.CHANNELS_PER_UNIVERSE + 3);
+
+        assertEquals(3, channel.getChannelId());
+        assertSame(channel, transmitter.getUniverse(1).getChannel(3));
+        assertSame(transmitter.getChannel(DmxService.CHANNELS_PER_UNIVERSE),
+                transmitter.getUniverse(0).getChannel(DmxService.CHANNELS_PER_UNIVERSE));
+    }
+
+    @Test
+    public void onlyChangedUniversesAreSent() {
+        transmitter.getChannel(1).setValue(10);
+        transmitter.getChannel(DmxService.CHANNELS_PER_UNIVERSE + 3).setValue(20);
+        transmitter.run();
+
+        assertEquals(2, connection.universes.size());
+        assertEquals(10, connection.buffers.get(0)[0]);
+        assertEquals(20, connection.buffers.get(1)[2]);
+
+        connection.clear();
+        transmitter.run();
+        assertTrue(connection.universes.isEmpty());
+
+        transmitter.getChannel(DmxService.CHANNELS_PER_UNIVERSE + 3).setValue(30);
+        transmitter.run();
+        assertEquals(1, connection.universes.size());
+        assertEquals(Integer.valueOf(1), connection.universes.get(0));
+        assertEquals(30, connection.buffers.get(0)[2]);
+    }
+
+    @Test
+    public void unchangedUniversesAreNotRecalculated() {
+        transmitter.getChannel(1).setValue(10);
+        transmitter.getChannel(DmxService.CHANNELS_PER_UNIVERSE + 1).setValue(10);
+        transmitter.run();
+        long calculated = transmitter.getStatistics().getUniversesCalculated();
+
+        transmitter.run();
+        transmitter.run();
+        assertEquals(calculated, transmitter.getStatistics().getUniversesCalculated());
+    }
+
+    @Test
+    public void universesWithRunningFadesAreRecalculated() {
+        transmitter.getChannel(1).setValue(10);
+        transmitter.getChannel(DmxService.CHANNELS_PER_UNIVERSE + 1).setChannelAction(new FadeAction(10000, 255, -1));
+        transmitter.run();
+        long calculated = transmitter.getStatistics().getUniversesCalculated();
+
+        transmitter.run();
+        transmitter.run();
+        assertEquals(calculated + 2, transmitter.getStatistics().getUniversesCalculated());
+    }
+
+    @Test
+    public void unchangedUniversesAreRepeatedInRepeatModeAlways() {
+        transmitter.setRepeatMode(DmxTransmitter.DmxRepeatMode.ALWAYS);
+        transmitter.getChannel(1).setValue(10);
+        transmitter.getChannel(DmxService.CHANNELS_PER_UNIVERSE + 1).setValue(10);
+        transmitter.run();
+        connection.clear();
+
+        transmitter.run();
+        assertEquals(2, connection.universes.size());
+    }
+
+    @Test
+    public void singleUniverseConnectionOnlyReceivesUniverseZero() throws Exception {
+        DmxConnection conn = mock(DmxConnection.class);
+        when(service.getConnection()).thenReturn(conn);
+        transmitter.getChannel(1).setValue(10);
+        transmitter.getChannel(DmxService.CHANNELS_PER_UNIVERSE + 1).setValue(10);
+
+        transmitter.run();
+
+        verify(conn, times(1)).sendDmx(any(byte[].class));
+        assertEquals(1, transmitter.getStatistics().getUniversesSent());
+    }
+
+    private static class RecordingConnection implements DmxUniverseConnection {
+
+        private final List<Integer> universes = new ArrayList<Integer>();
+        private final List<byte[]> buffers = new ArrayList<byte[]>();
+
+        @Override
+        public void sendDmx(byte[] buffer) throws Exception {
+            sendDmx(0, buffer);
+        }
+
+        @Override
+        public void sendDmx(int universe, byte[] buffer) throws Exception {
+            universes.add(universe);
+            buffers.add(buffer.clone());
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public void open(String connectionString) throws Exception {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        void clear() {
+            universes.clear();
+            buffers.clear();
+        }
+    }
+}
@@ -13,6 +13,9 @@ import org.openhab.core.library.types.PercentType;
 /**
  * DMX Service to send DMX values.
  *
+ * Channel ids are numbered across universes: channels 1-512 are in universe
+ * 0, channels 513-1024 in universe 1 and so on.
+ *
  * @author Davy Vanherbergen
  * @since 1.2.0
  */
@@ -26,6 +29,12 @@ public interface DmxService {
 
     public static final int CHANNEL_MIN_VALUE = 0;
 
+    public static final int CHANNELS_PER_UNIVERSE = 512;
+
+    public static final int MAX_UNIVERSES = 16;
+
+    public static final int MAX_CHANNEL = CHANNELS_PER_UNIVERSE * MAX_UNIVERSES;
+
     /**
      * Start DMX Transmission
      * 
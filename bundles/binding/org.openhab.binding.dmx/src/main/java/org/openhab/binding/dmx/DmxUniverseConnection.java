@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx;
+
+/**
+ * DmxConnection which can send to more than one DMX universe. Connections
+ * implementing only {@link DmxConnection} receive universe 0.
+ *
+ * @since 1.14.0
+ */
+public interface DmxUniverseConnection extends DmxConnection {
+
+    /**
+     * Send the given buffer to a universe of the DMX device.
+     *
+     * @param universe
+     *            universe id, starting at 0
+     * @param buffer
+     *            buffer containing max 512 DMX values
+     * @throws Exception
+     */
+    public void sendDmx(int universe, byte[] buffer) throws Exception;
+
+}
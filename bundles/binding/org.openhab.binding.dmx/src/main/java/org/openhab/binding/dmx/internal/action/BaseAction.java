@@ -106,4 +106,11 @@ public abstract class BaseAction {
         outputLevel = intValue;
     }
 
+    /**
+     * @return action fade output level 0-100
+     */
+    public final int getOutputLevel() {
+        return outputLevel;
+    }
+
 }
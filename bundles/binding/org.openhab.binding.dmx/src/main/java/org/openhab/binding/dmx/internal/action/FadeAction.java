@@ -9,6 +9,7 @@
 package org.openhab.binding.dmx.internal.action;
 
 import org.openhab.binding.dmx.internal.core.DmxChannel;
+import org.openhab.binding.dmx.internal.core.DmxFadeEngine;
 import org.openhab.binding.dmx.internal.core.DmxUtil;
 
 /**
@@ -131,6 +132,27 @@ public class FadeAction extends BaseAction {
         return newValue;
     }
 
+    /**
+     * Hand the running fade over to the fade engine of the channel's universe,
+     * which calculates the values until the target value is reached.
+     *
+     * @param engine
+     *            fade engine of the universe
+     * @param channel
+     *            channel running this action
+     * @return true if the engine calculates the fade, false if the fade has
+     *         not started, has no fade time or already reached its target
+     */
+    public boolean startFade(DmxFadeEngine engine, DmxChannel channel) {
+        int value = channel.getValue();
+        if (startTime == 0 || fadeTime == 0 || fadeDirection == null || value == targetValue || completed) {
+            return false;
+        }
+        engine.start(channel, startValue, targetValue, startTime, stepDuration,
+                fadeDirection == FadeDirection.up, getOutputLevel(), value);
+        return true;
+    }
+
 }
 
 enum FadeDirection {
@@ -46,7 +46,7 @@ public abstract class DmxItem implements BindingConfig, DmxStatusUpdateListener
     /** Minimum status update delay in ms */
     public static int MIN_UPDATE_DELAY = 100;
 
-    /** DMX channel numbers (512 max) */
+    /** DMX channel numbers (512 per universe) */
     protected int[] channels;
 
     /** Minimum number of ms between status updates */
@@ -197,14 +197,14 @@ public abstract class DmxItem implements BindingConfig, DmxStatusUpdateListener
     private int parseChannelNumber(String input) throws BindingConfigParseException {
         try {
             int channel = Integer.parseInt(input);
-            if (channel < 1 || channel > 512) {
-                throw new BindingConfigParseException(
-                        "DMX channel configuration : " + input + " is not a valid dmx channel (1-512)");
+            if (channel < 1 || channel > DmxService.MAX_CHANNEL) {
+                throw new BindingConfigParseException("DMX channel configuration : " + input
+                        + " is not a valid dmx channel (1-" + DmxService.MAX_CHANNEL + ")");
             }
             return channel;
         } catch (NumberFormatException e) {
-            throw new BindingConfigParseException(
-                    "DMX channel configuration : " + input + " is not a valid dmx channel (1-512)");
+            throw new BindingConfigParseException("DMX channel configuration : " + input
+                    + " is not a valid dmx channel (1-" + DmxService.MAX_CHANNEL + ")");
         }
     }
 
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.openhab.binding.dmx.internal.action.BaseAction;
+import org.openhab.binding.dmx.internal.action.FadeAction;
 import org.openhab.binding.dmx.internal.action.ResumeAction;
 import org.openhab.core.library.types.PercentType;
 import org.slf4j.Logger;
@@ -43,6 +44,15 @@ public class DmxChannel implements Comparable<DmxChannel> {
 
     private int suspendedValue;
 
+    /** Universe to notify about changes **/
+    private DmxUniverse universe;
+
+    /** Fade engine of the universe **/
+    private DmxFadeEngine fadeEngine;
+
+    /** true while the running fade is calculated by the fade engine **/
+    private volatile boolean batched = false;
+
     /** Maximum DMX output value **/
     public static int DMX_MAX_VALUE = 255;
 
@@ -59,6 +69,58 @@ public class DmxChannel implements Comparable<DmxChannel> {
         this.channelId = channelId;
     }
 
+    /**
+     * Set the universe which recalculates its buffer when this channel is
+     * changed.
+     *
+     * @param universe
+     *            universe containing this channel
+     */
+    void setUniverse(DmxUniverse universe) {
+        this.universe = universe;
+        this.fadeEngine = universe.getFadeEngine();
+    }
+
+    /**
+     * Notify the universe that the output of this channel may have changed.
+     */
+    private void markChanged() {
+        if (universe != null) {
+            universe.markChanged();
+        }
+    }
+
+    /**
+     * Take the running fade back from the fade engine, continuing with the
+     * last value calculated by the engine.
+     */
+    private void releaseFade() {
+        if (batched) {
+            value = fadeEngine.stop(channelId);
+            batched = false;
+        }
+    }
+
+    /**
+     * Called by the universe when the fade engine completed the fade of this
+     * channel. The fade action continues with the hold time and the next
+     * actions.
+     */
+    synchronized void fadeReleased() {
+        if (batched) {
+            value = fadeEngine.getValue(channelId);
+            batched = false;
+        }
+    }
+
+    /**
+     * @return true while the running fade is calculated by the fade engine of
+     *         the universe
+     */
+    public boolean isBatched() {
+        return batched;
+    }
+
     /**
      * Set the channel output to a fixed value. This will stop any active
      * actions on the channel.
@@ -68,6 +130,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
      */
     public synchronized void setValue(int value) {
 
+        releaseFade();
         switchedOn = true;
 
         // stop active/looping fades..
@@ -75,6 +138,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
 
         // set value
         this.value = DmxUtil.capDmxValue(value);
+        markChanged();
     }
 
     /**
@@ -87,6 +151,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
      */
     public synchronized void setValue(PercentType outputlevel) {
 
+        releaseFade();
         if (outputlevel.intValue() == 0) {
             switchOff();
             return;
@@ -114,6 +179,9 @@ public class DmxChannel implements Comparable<DmxChannel> {
         if (!switchedOn) {
             return DMX_MIN_VALUE;
         }
+        if (batched) {
+            return fadeEngine.getValue(channelId);
+        }
 
         return value;
     }
@@ -125,6 +193,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
      */
     public synchronized void switchOn() {
         switchedOn = true;
+        markChanged();
     }
 
     /**
@@ -132,8 +201,10 @@ public class DmxChannel implements Comparable<DmxChannel> {
      * actions) will be kept for later use.
      */
     public synchronized void switchOff() {
+        releaseFade();
         switchedOn = false;
         actions.clear();
+        markChanged();
     }
 
     /**
@@ -149,12 +220,18 @@ public class DmxChannel implements Comparable<DmxChannel> {
         if (!switchedOn) {
             return DMX_MIN_VALUE;
         }
+        if (batched) {
+            return fadeEngine.getValue(channelId);
+        }
 
         if (hasRunningActions()) {
             BaseAction action = actions.get(0);
             value = action.getNewValue(this, calculationTime);
             if (action.isCompleted()) {
                 switchToNextAction();
+            } else if (fadeEngine != null && action instanceof FadeAction) {
+                // let the fade engine calculate the rest of the fade
+                batched = ((FadeAction) action).startFade(fadeEngine, this);
             }
         }
 
@@ -170,11 +247,13 @@ public class DmxChannel implements Comparable<DmxChannel> {
     public synchronized void switchToNextAction() {
 
         logger.trace("Switching to next action on channel {}", getChannelId());
+        releaseFade();
         // push action to the back of the action list
         BaseAction action = actions.get(0);
         actions.remove(0);
         action.reset();
         actions.add(action);
+        markChanged();
     }
 
     /**
@@ -184,12 +263,14 @@ public class DmxChannel implements Comparable<DmxChannel> {
      *            action for this channel.
      */
     public synchronized void setChannelAction(BaseAction channelAction) {
+        releaseFade();
         if (!switchedOn) {
             value = 0;
         }
         switchedOn = true;
         actions.clear();
         actions.add(channelAction);
+        markChanged();
     }
 
     /**
@@ -200,6 +281,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
      */
     public synchronized void addChannelAction(BaseAction channelAction) {
         actions.add(channelAction);
+        markChanged();
     }
 
     /**
@@ -232,6 +314,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
         if (increment < 0) {
             return;
         }
+        releaseFade();
         switchedOn = true;
 
         if (!hasRunningActions()) {
@@ -243,6 +326,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
                 a.increase(increment);
             }
         }
+        markChanged();
     }
 
     /**
@@ -256,6 +340,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
         if (decrement < 0) {
             return;
         }
+        releaseFade();
 
         if (!hasRunningActions()) {
             // increase channel value
@@ -266,6 +351,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
                 a.decrease(decrement);
             }
         }
+        markChanged();
     }
 
     /**
@@ -279,7 +365,8 @@ public class DmxChannel implements Comparable<DmxChannel> {
      * Suspend the current actions and value. This will store the values for
      * later resume.
      */
-    public void suspend() {
+    public synchronized void suspend() {
+        releaseFade();
         suspendedValue = value;
         suspendedActions.clear();
         suspendedActions.addAll(actions);
@@ -289,7 +376,8 @@ public class DmxChannel implements Comparable<DmxChannel> {
      * Resume previously suspended actions. If no actions were suspended, the
      * suspended value will be restored.
      */
-    public void resume() {
+    public synchronized void resume() {
+        releaseFade();
         actions.clear();
         if (!suspendedActions.isEmpty()) {
             actions.addAll(suspendedActions);
@@ -297,6 +385,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
         } else {
             setValue(suspendedValue);
         }
+        markChanged();
     }
 
     /**
@@ -305,6 +394,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
      */
     public void addResumeAction() {
         actions.add(new ResumeAction());
+        markChanged();
     }
 
 }
\ No newline at end of file
@@ -9,7 +9,6 @@
 package org.openhab.binding.dmx.internal.core;
 
 import java.util.Dictionary;
-import java.util.Timer;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.dmx.DmxConnection;
@@ -38,8 +37,8 @@ public class DmxController implements DmxService, ManagedService {
     private DmxTransmitter.DmxRepeatMode repeatMode = DmxTransmitter.DmxRepeatMode.ALWAYS; // default is send every
                                                                                            // update
 
-    /** Thread in which the DMX transmitter is running **/
-    private Timer transmitterTimer;
+    /** Clock running the DMX transmitter in its own thread **/
+    private DmxFrameClock frameClock;
 
     private DmxTransmitter transmitter;
 
@@ -54,8 +53,9 @@ public class DmxController implements DmxService, ManagedService {
     public void start() throws Exception {
         logger.trace("Starting Dmx transmitter ...");
         transmitter = new DmxTransmitter(this);
-        transmitterTimer = new Timer(true);
-        transmitterTimer.schedule(transmitter, 0, TRANSMIT_FREQUENCY_MS);
+        transmitter.setRepeatMode(repeatMode);
+        frameClock = new DmxFrameClock(transmitter, TRANSMIT_FREQUENCY_MS, transmitter.getStatistics());
+        frameClock.start();
         logger.trace("Dmx transmitter started.");
 
     }
@@ -66,10 +66,11 @@ public class DmxController implements DmxService, ManagedService {
     @Override
     public void stop() {
 
-        if (transmitterTimer != null) {
-            transmitterTimer.cancel();
+        if (frameClock != null) {
+            frameClock.stop();
+            logger.debug("DMX frame statistics: {}", transmitter.getStatistics());
         }
-        transmitterTimer = null;
+        frameClock = null;
     }
 
     /**
@@ -115,7 +116,7 @@ public class DmxController implements DmxService, ManagedService {
     @Override
     public void registerStatusListener(DmxStatusUpdateListener listener) {
         logger.trace("Registering listener for channel {}", listener.getChannel());
-        transmitter.getUniverse().addStatusListener(listener);
+        transmitter.addStatusListener(listener);
     }
 
     /**
@@ -124,7 +125,7 @@ public class DmxController implements DmxService, ManagedService {
     @Override
     public void unregisterStatusListener(DmxStatusUpdateListener listener) {
         logger.trace("Unregistering listener for channel {}", listener.getChannel());
-        transmitter.getUniverse().removeStatusListener(listener);
+        transmitter.removeStatusListener(listener);
     }
 
     /**
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx.internal.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openhab.binding.dmx.DmxService;
+import org.openhab.binding.dmx.internal.action.BaseAction;
+
+/**
+ * Fade engine of a DMX universe. Calculates the values of all fading channels
+ * of the universe in one loop over primitive arrays, instead of evaluating the
+ * fade action of every channel on its own.
+ *
+ * A channel hands its running fade over to the engine once the fade has
+ * started (see {@link org.openhab.binding.dmx.internal.action.FadeAction}).
+ * The engine returns the channel once the fade reached its target value, so
+ * that the hold time and the next actions are handled by the channel again.
+ *
+ * @since 1.14.0
+ */
+public class DmxFadeEngine {
+
+    private final DmxChannel[] channels = new DmxChannel[DmxService.CHANNELS_PER_UNIVERSE];
+    private final boolean[] active = new boolean[DmxService.CHANNELS_PER_UNIVERSE];
+    private final boolean[] up = new boolean[DmxService.CHANNELS_PER_UNIVERSE];
+    private final int[] startValues = new int[DmxService.CHANNELS_PER_UNIVERSE];
+    private final int[] targetValues = new int[DmxService.CHANNELS_PER_UNIVERSE];
+    private final int[] outputLevels = new int[DmxService.CHANNELS_PER_UNIVERSE];
+    private final int[] values = new int[DmxService.CHANNELS_PER_UNIVERSE];
+    private final long[] startTimes = new long[DmxService.CHANNELS_PER_UNIVERSE];
+    private final long[] stepDurations = new long[DmxService.CHANNELS_PER_UNIVERSE];
+
+    /** number of active fades **/
+    private int activeCount = 0;
+
+    /** upper bound of the indexes of active fades **/
+    private int maxIndex = -1;
+
+    /**
+     * Start calculating the fade of a channel.
+     *
+     * @param channel
+     *            fading channel
+     * @param startValue
+     *            value at the start of the fade
+     * @param targetValue
+     *            value at the end of the fade
+     * @param startTime
+     *            start of the fade in ms
+     * @param stepDuration
+     *            time in ms per step of 1
+     * @param fadeUp
+     *            true if the target value is above the start value
+     * @param outputLevel
+     *            output level 0-100
+     * @param value
+     *            current output value of the channel
+     */
+    public synchronized void start(DmxChannel channel, int startValue, int targetValue, long startTime,
+            long stepDuration, boolean fadeUp, int outputLevel, int value) {
+        int i = channel.getChannelId() - 1;
+        if (!active[i]) {
+            active[i] = true;
+            activeCount++;
+            maxIndex = Math.max(maxIndex, i);
+        }
+        channels[i] = channel;
+        startValues[i] = startValue;
+        targetValues[i] = targetValue;
+        startTimes[i] = startTime;
+        stepDurations[i] = Math.max(stepDuration, 1);
+        up[i] = fadeUp;
+        outputLevels[i] = outputLevel;
+        values[i] = value;
+    }
+
+    /**
+     * Stop calculating the fade of a channel.
+     *
+     * @param channelId
+     *            channel id within the universe
+     * @return last output value of the channel
+     */
+    public synchronized int stop(int channelId) {
+        int i = channelId - 1;
+        deactivate(i);
+        return values[i];
+    }
+
+    /**
+     * @param channelId
+     *            channel id within the universe
+     * @return last output value calculated for the channel
+     */
+    public synchronized int getValue(int channelId) {
+        return values[channelId - 1];
+    }
+
+    /**
+     * @return true if there are channels fading
+     */
+    public synchronized boolean isActive() {
+        return activeCount > 0;
+    }
+
+    /**
+     * Calculate the values of all fading channels.
+     *
+     * @param currentTime
+     *            time in ms to calculate the values for
+     * @return the channels which reached their target value and are no longer
+     *         calculated by the engine
+     */
+    public synchronized List<DmxChannel> calculate(long currentTime) {
+        if (activeCount == 0) {
+            return Collections.emptyList();
+        }
+
+        List<DmxChannel> completed = null;
+        for (int i = 0; i <= maxIndex; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            int target = targetValues[i];
+            boolean done = true;
+            if (values[i] != target) {
+                int step = (int) ((currentTime - startTimes[i]) / stepDurations[i]);
+                int raw;
+                if (up[i]) {
+                    raw = startValues[i] + step;
+                    if (raw > target) {
+                        raw = target;
+                    }
+                } else {
+                    raw = startValues[i] - step;
+                    if (raw < target) {
+                        raw = target;
+                    }
+                }
+                values[i] = outputLevels[i] == BaseAction.MAX_OUTPUT_LEVEL ? raw
+                        : DmxUtil.getOutputValue(raw, outputLevels[i]);
+                done = raw == target;
+            }
+            if (done) {
+                if (completed == null) {
+                    completed = new ArrayList<DmxChannel>();
+                }
+                completed.add(channels[i]);
+                deactivate(i);
+            }
+        }
+        return completed == null ? Collections.<DmxChannel> emptyList() : completed;
+    }
+
+    private void deactivate(int i) {
+        if (active[i]) {
+            active[i] = false;
+            channels[i] = null;
+            activeCount--;
+            if (activeCount == 0) {
+                maxIndex = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx.internal.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Frame clock which runs the DMX transmitter at a fixed rate in its own
+ * thread.
+ *
+ * Frame start times are computed from the monotonic {@link System#nanoTime()}
+ * clock as absolute deadlines, so late wake-ups and long frames do not add up
+ * to drift. If the clock falls behind by more than a whole period, the missed
+ * frames are skipped instead of being sent in a burst.
+ *
+ * @since 1.14.0
+ */
+public class DmxFrameClock implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DmxFrameClock.class);
+
+    private static final long STATISTICS_LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Runnable frame;
+
+    private final long periodNanos;
+
+    private final DmxFrameStatistics statistics;
+
+    private Thread thread;
+
+    /**
+     * Create a new frame clock.
+     *
+     * @param frame
+     *            task to run once per frame
+     * @param periodMillis
+     *            time between the frame starts in ms
+     * @param statistics
+     *            statistics to record the frame timing in
+     */
+    public DmxFrameClock(Runnable frame, long periodMillis, DmxFrameStatistics statistics) {
+        this.frame = frame;
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Start running frames in a new daemon thread.
+     */
+    public synchronized void start() {
+        if (thread == null) {
+            thread = new Thread(this, "DMX frame clock");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stop running frames and wait for the current frame to complete.
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * @{inheritDoc
+     */
+    @Override
+    public void run() {
+        long nextFrame = nanoTime();
+        long nextLog = nextFrame + STATISTICS_LOG_INTERVAL_NANOS;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long wait = nextFrame - nanoTime();
+            if (wait > 0) {
+                try {
+                    sleepNanos(wait);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                continue;
+            }
+
+            long scheduled = nextFrame;
+            long start = nanoTime();
+            try {
+                frame.run();
+            } catch (RuntimeException e) {
+                logger.error("Error running DMX frame.", e);
+            }
+            long end = nanoTime();
+
+            nextFrame += periodNanos;
+            long missed = 0;
+            if (end - nextFrame > periodNanos) {
+                missed = (end - nextFrame) / periodNanos;
+                nextFrame += missed * periodNanos;
+                logger.trace("DMX frame clock fell behind, skipping {} frames", missed);
+            }
+            statistics.frameDone(start - scheduled, end - start, missed);
+
+            if (end - nextLog > 0) {
+                logger.debug("DMX frame statistics: {}", statistics);
+                nextLog = end + STATISTICS_LOG_INTERVAL_NANOS;
+            }
+        }
+    }
+
+    /**
+     * Returns the current value of the monotonic clock in ns.
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Waits for the next frame.
+     *
+     * @param nanos
+     *            time to wait in ns
+     */
+    protected void sleepNanos(long nanos) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(nanos);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx.internal.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing statistics of the DMX frames.
+ *
+ * - The lateness of a frame is the time between its scheduled and its actual
+ * start.
+ * - The duration of a frame is the time needed to calculate and send all
+ * universes.
+ * - A frame is missed when the previous frames took so long that its start
+ * time had already passed by more than a whole period.
+ *
+ * @since 1.14.0
+ */
+public class DmxFrameStatistics {
+
+    private long frames = 0;
+    private long missedFrames = 0;
+    private long latenessNanos = 0;
+    private long maxLatenessNanos = 0;
+    private long durationNanos = 0;
+    private long maxDurationNanos = 0;
+    private long universesCalculated = 0;
+    private long universesSent = 0;
+
+    synchronized void frameDone(long lateness, long duration, long missed) {
+        frames++;
+        missedFrames += missed;
+        latenessNanos += lateness;
+        maxLatenessNanos = Math.max(maxLatenessNanos, lateness);
+        durationNanos += duration;
+        maxDurationNanos = Math.max(maxDurationNanos, duration);
+    }
+
+    synchronized void universeCalculated() {
+        universesCalculated++;
+    }
+
+    synchronized void universeSent() {
+        universesSent++;
+    }
+
+    public synchronized long getFrames() {
+        return frames;
+    }
+
+    public synchronized long getMissedFrames() {
+        return missedFrames;
+    }
+
+    public synchronized long getAverageLatenessMicros() {
+        return frames == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(latenessNanos / frames);
+    }
+
+    public synchronized long getMaxLatenessMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLatenessNanos);
+    }
+
+    public synchronized long getAverageDurationMicros() {
+        return frames == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(durationNanos / frames);
+    }
+
+    public synchronized long getMaxDurationMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxDurationNanos);
+    }
+
+    public synchronized long getUniversesCalculated() {
+        return universesCalculated;
+    }
+
+    public synchronized long getUniversesSent() {
+        return universesSent;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "frames: %d missed: %d lateness: avg %d max %d us, duration: avg %d max %d us, universes calculated: %d sent: %d",
+                frames, missedFrames, getAverageLatenessMicros(), getMaxLatenessMicros(), getAverageDurationMicros(),
+                getMaxDurationMicros(), universesCalculated, universesSent);
+    }
+}
@@ -8,10 +8,15 @@
  */
 package org.openhab.binding.dmx.internal.core;
 
-import java.util.TimerTask;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.openhab.binding.dmx.DmxConnection;
 import org.openhab.binding.dmx.DmxService;
+import org.openhab.binding.dmx.DmxStatusUpdateListener;
+import org.openhab.binding.dmx.DmxUniverseConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,12 +25,12 @@ import org.slf4j.LoggerFactory;
  * changes to the DMX connection.
  *
  * This transmitter should always run in a separate thread to allow for smooth
- * transmissions.
+ * transmissions, see {@link DmxFrameClock}.
  *
  * @author Davy Vanherbergen
  * @since 1.2.0
  */
-public final class DmxTransmitter extends TimerTask {
+public final class DmxTransmitter implements Runnable {
 
     /* REPEAT_INTERVAL is 750 ms (results in 800-1000ms) repetition time */
     private static final int REPEAT_INTERVAL = 750;
@@ -61,27 +66,33 @@ public final class DmxTransmitter extends TimerTask {
 
     private static Logger logger = LoggerFactory.getLogger(DmxTransmitter.class);
 
-    private DmxUniverse universe = new DmxUniverse();
+    private final ConcurrentMap<Integer, DmxUniverse> universes = new ConcurrentSkipListMap<Integer, DmxUniverse>();
+
+    private final List<DmxStatusUpdateListener> updateListeners = new CopyOnWriteArrayList<DmxStatusUpdateListener>();
+
+    private final DmxFrameStatistics statistics = new DmxFrameStatistics();
 
     private DmxService service;
 
-    private boolean running;
+    private volatile boolean running;
     private DmxRepeatMode repeatMode = DmxRepeatMode.ALWAYS;
 
-    private boolean suspended;
+    private volatile boolean suspended;
 
-    private long lastTransmit = 0;
-    private int packetRepeatCount = 0;
+    private boolean universeWarningLogged = false;
 
     /**
      * Default constructor.
      */
     public DmxTransmitter(DmxService service) {
         this.service = service;
+        getUniverse(0);
     }
 
     /**
-     * @{inheritDoc
+     * Calculate and send one DMX frame. Only universes with changed channels
+     * or running actions are recalculated; unchanged universes are only
+     * repeated as configured by the repeat mode.
      */
     @Override
     public void run() {
@@ -92,30 +103,18 @@ public final class DmxTransmitter extends TimerTask {
 
         running = true;
         try {
-            long now = System.currentTimeMillis();
-            byte[] b = universe.calculateBuffer();
             DmxConnection conn = service.getConnection();
             if (conn != null) {
-                if (universe.getBufferChanged()) {
-                    logger.trace("DMX Buffer changed, also sending status updates");
-                    conn.sendDmx(b);
-                    universe.notifyStatusListeners();
-                    lastTransmit = now;
-                    packetRepeatCount = 0;
-                } else if (repeatMode == DmxRepeatMode.ALWAYS) {
-                    logger.trace("repeat mode always, sending DMX only");
-                    conn.sendDmx(b);
-                    lastTransmit = now;
-                } else if ((repeatMode == DmxRepeatMode.REDUCED)
-                        && ((packetRepeatCount < REPEAT_COUNT) || ((now - lastTransmit) > REPEAT_INTERVAL))) {
-                    logger.trace("output needs refresh, sending DMX only");
-                    conn.sendDmx(b);
-                    if (packetRepeatCount < REPEAT_COUNT) {
-                        packetRepeatCount++;
+                long now = System.currentTimeMillis();
+                boolean bufferChanged = false;
+                for (DmxUniverse universe : universes.values()) {
+                    if (transmitUniverse(conn, universe, now)) {
+                        bufferChanged = true;
                     }
-                    lastTransmit = now;
-                } else {
-                    logger.trace("DMX output suppressed");
+                }
+                if (bufferChanged) {
+                    logger.trace("DMX Buffer changed, also sending status updates");
+                    notifyStatusListeners();
                 }
             }
         } catch (Exception e) {
@@ -125,6 +124,63 @@ public final class DmxTransmitter extends TimerTask {
         }
     }
 
+    /**
+     * Recalculate the universe if needed and send it.
+     *
+     * @return true if the buffer of the universe changed
+     */
+    private boolean transmitUniverse(DmxConnection conn, DmxUniverse universe, long now) throws Exception {
+        byte[] b;
+        boolean bufferChanged = false;
+        if (universe.isChanged()) {
+            b = universe.calculateBuffer();
+            bufferChanged = universe.getBufferChanged();
+            statistics.universeCalculated();
+        } else {
+            b = universe.getBuffer();
+        }
+
+        if (bufferChanged) {
+            sendDmx(conn, universe, b);
+            universe.lastTransmit = now;
+            universe.packetRepeatCount = 0;
+        } else if (repeatMode == DmxRepeatMode.ALWAYS) {
+            logger.trace("repeat mode always, sending DMX only");
+            sendDmx(conn, universe, b);
+            universe.lastTransmit = now;
+        } else if ((repeatMode == DmxRepeatMode.REDUCED) && ((universe.packetRepeatCount < REPEAT_COUNT)
+                || ((now - universe.lastTransmit) > REPEAT_INTERVAL))) {
+            logger.trace("output needs refresh, sending DMX only");
+            sendDmx(conn, universe, b);
+            if (universe.packetRepeatCount < REPEAT_COUNT) {
+                universe.packetRepeatCount++;
+            }
+            universe.lastTransmit = now;
+        } else {
+            logger.trace("DMX output suppressed");
+        }
+        return bufferChanged;
+    }
+
+    private void sendDmx(DmxConnection conn, DmxUniverse universe, byte[] b) throws Exception {
+        if (b.length == 0) {
+            return;
+        }
+        if (conn instanceof DmxUniverseConnection) {
+            ((DmxUniverseConnection) conn).sendDmx(universe.getUniverseId(), b);
+        } else if (universe.getUniverseId() == 0) {
+            conn.sendDmx(b);
+        } else {
+            if (!universeWarningLogged) {
+                logger.warn("DMX connection supports universe 0 only, channels above {} are not sent.",
+                        DmxService.CHANNELS_PER_UNIVERSE);
+                universeWarningLogged = true;
+            }
+            return;
+        }
+        statistics.universeSent();
+    }
+
     /**
      * @return true if the transmitter is calculating values and transmitting
      */
@@ -153,20 +209,88 @@ public final class DmxTransmitter extends TimerTask {
     }
 
     /**
-     * Get the DMX channel in the current universe.
+     * Get a DMX channel. Channels above 512 are located in the following
+     * universes.
      *
      * @param channel
      *            number
      * @return DMX channel
      */
     public DmxChannel getChannel(int channel) {
-        return universe.getChannel(channel);
+        int universeId = (channel - 1) / DmxService.CHANNELS_PER_UNIVERSE;
+        return getUniverse(universeId).getChannel(channel - universeId * DmxService.CHANNELS_PER_UNIVERSE);
     }
 
     /**
-     * @return DMX universe
+     * @return DMX universe 0
      */
     public DmxUniverse getUniverse() {
+        return getUniverse(0);
+    }
+
+    /**
+     * Get a DMX universe. If it doesn't exist, it is created.
+     *
+     * @param universeId
+     *            universe id, starting at 0
+     * @return DMX universe
+     */
+    public DmxUniverse getUniverse(int universeId) {
+        DmxUniverse universe = universes.get(universeId);
+        if (universe == null) {
+            logger.debug("Adding universe {}", universeId);
+            DmxUniverse newUniverse = new DmxUniverse(universeId);
+            universe = universes.putIfAbsent(universeId, newUniverse);
+            if (universe == null) {
+                universe = newUniverse;
+            }
+        }
         return universe;
     }
+
+    /**
+     * @return timing statistics of the frames sent
+     */
+    public DmxFrameStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Add a new status update listener, which can receive values when a channel
+     * is changed.
+     *
+     * @param listener
+     *            status listener to add.
+     */
+    public void addStatusListener(DmxStatusUpdateListener listener) {
+        updateListeners.add(listener);
+    }
+
+    /**
+     * Stop a given status update listener from receiving updates.
+     *
+     * @param listener
+     *            status listener to remove.
+     */
+    public void removeStatusListener(DmxStatusUpdateListener listener) {
+        updateListeners.remove(listener);
+    }
+
+    /**
+     * Broadcast status update to all listeners.
+     */
+    public void notifyStatusListeners() {
+
+        for (DmxStatusUpdateListener listener : updateListeners) {
+
+            if (System.currentTimeMillis() > listener.getLastUpdateTime() + listener.getUpdateDelay()) {
+
+                int values[] = new int[listener.getFootPrint()];
+                for (int i = 0; i < listener.getFootPrint(); i++) {
+                    values[i] = getChannel(listener.getChannel() + i).getValue();
+                }
+                listener.processStatusUpdate(values);
+            }
+        }
+    }
 }
@@ -8,18 +8,21 @@
  */
 package org.openhab.binding.dmx.internal.core;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Vector;
 
-import org.openhab.binding.dmx.DmxStatusUpdateListener;
+import org.openhab.binding.dmx.DmxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * DMX Universe. Can contain up to 512 DMX channels.
  *
+ * The universe keeps track of changes to its channels, so that the buffer
+ * only needs to be recalculated when a channel was changed or has running
+ * actions.
+ *
  * @author Davy Vanherbergen
  * @since 1.2.0
  */
@@ -27,19 +30,48 @@ public class DmxUniverse {
 
     private static final Logger logger = LoggerFactory.getLogger(DmxUniverse.class);
 
+    private final int universeId;
+
     private Vector<DmxChannel> channels = new Vector<DmxChannel>();
 
-    private short[] buffer = new short[512];
+    private short[] buffer = new short[DmxService.CHANNELS_PER_UNIVERSE];
+
+    private byte[] output = new byte[0];
 
     private boolean bufferChanged = false;
 
+    /** true if a channel was changed or has running actions **/
+    private volatile boolean changed = true;
+
     private int minimumBufferSize = 32;
 
-    private List<DmxStatusUpdateListener> updateListeners = new ArrayList<DmxStatusUpdateListener>();
+    /** calculates the running fades of all channels in one loop **/
+    private final DmxFadeEngine fadeEngine = new DmxFadeEngine();
+
+    /** time of the last transmission and repetitions, used by the transmitter **/
+    long lastTransmit = 0;
+    int packetRepeatCount = 0;
+
+    /**
+     * Create universe 0.
+     */
+    public DmxUniverse() {
+        this(0);
+    }
+
+    /**
+     * Create a new DMX universe.
+     *
+     * @param universeId
+     *            universe id, starting at 0
+     */
+    public DmxUniverse(int universeId) {
+        this.universeId = universeId;
+    }
 
     /**
      * Change the buffer value at the given index.
-     * 
+     *
      * @param index
      * @param value
      */
@@ -55,40 +87,81 @@ public class DmxUniverse {
 
     /**
      * Calculate the current DMX buffer state.
-     * 
+     *
      * @return DMX buffer.
      */
     public byte[] calculateBuffer() {
+        return calculateBuffer(System.currentTimeMillis());
+    }
+
+    /**
+     * Calculate the DMX buffer state at the given time.
+     *
+     * @param calculationTime
+     *            time in ms to calculate the channel values for
+     * @return DMX buffer.
+     */
+    byte[] calculateBuffer(long calculationTime) {
 
         bufferChanged = false;
-        long calculationTime = System.currentTimeMillis();
+        changed = false;
+
+        // channels with completed fades continue with their actions below
+        List<DmxChannel> released = fadeEngine.calculate(calculationTime);
+        for (DmxChannel channel : released) {
+            channel.fadeReleased();
+        }
 
         for (DmxChannel channel : channels) {
-            setBufferValue(channel.getChannelId() - 1, channel.getNextValue(calculationTime).shortValue());
+            int index = channel.getChannelId() - 1;
+            if (channel.isBatched()) {
+                setBufferValue(index, (short) fadeEngine.getValue(channel.getChannelId()));
+                changed = true;
+                continue;
+            }
+            setBufferValue(index, channel.getNextValue(calculationTime).shortValue());
+            if (channel.hasRunningActions()) {
+                changed = true;
+            }
         }
 
-        byte[] b = new byte[minimumBufferSize];
-        for (int i = 0; i < minimumBufferSize; i++) {
-            b[i] = (byte) (buffer[i]);
+        if (bufferChanged || output.length != minimumBufferSize) {
+            byte[] b = new byte[minimumBufferSize];
+            for (int i = 0; i < minimumBufferSize; i++) {
+                b[i] = (byte) (buffer[i]);
+            }
+            output = b;
         }
-        return b;
+        return output;
+    }
+
+    /**
+     * Get the DMX buffer as calculated last, without recalculating it. The
+     * returned buffer must not be modified.
+     *
+     * @return DMX buffer.
+     */
+    public byte[] getBuffer() {
+        return output;
     }
 
     /**
      * Add a new DMX channel.
-     * 
+     *
      * @param channel
      *            to add.
      */
     private synchronized void addChannel(DmxChannel channel) {
 
         logger.trace("Adding channel {}", channel.getChannelId());
+        channel.setUniverse(this);
         channels.add(channel);
         Collections.sort(channels);
 
         if (channel.getChannelId() > minimumBufferSize) {
             minimumBufferSize = channel.getChannelId();
         }
+        changed = true;
     }
 
     /**
@@ -98,9 +171,38 @@ public class DmxUniverse {
         return bufferChanged;
     }
 
+    /**
+     * @return true if the buffer needs to be recalculated, because a channel
+     *         was changed or has running actions.
+     */
+    public boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Mark the buffer for recalculation.
+     */
+    void markChanged() {
+        changed = true;
+    }
+
+    /**
+     * @return fade engine calculating the running fades of the channels
+     */
+    DmxFadeEngine getFadeEngine() {
+        return fadeEngine;
+    }
+
+    /**
+     * @return universe id, starting at 0
+     */
+    public int getUniverseId() {
+        return universeId;
+    }
+
     /**
      * Find a channel by id. If it doesn't exist, it is created.
-     * 
+     *
      * @param channelId
      *            int
      * @return channel
@@ -126,43 +228,4 @@ public class DmxUniverse {
         }
     }
 
-    /**
-     * Add a new status update listener, which can receive values when a channel
-     * is changed.
-     * 
-     * @param listener
-     *            status listener to add.
-     */
-    public void addStatusListener(DmxStatusUpdateListener listener) {
-        updateListeners.add(listener);
-    }
-
-    /**
-     * Stop a given status update listener from receiving updates.
-     * 
-     * @param listener
-     *            status listener to remove.
-     */
-    public void removeStatusListener(DmxStatusUpdateListener listener) {
-        updateListeners.remove(listener);
-    }
-
-    /**
-     * Broadcast status update to all listeners.
-     */
-    public void notifyStatusListeners() {
-
-        for (DmxStatusUpdateListener listener : updateListeners) {
-
-            if (System.currentTimeMillis() > listener.getLastUpdateTime() + listener.getUpdateDelay()) {
-
-                int values[] = new int[listener.getFootPrint()];
-                for (int i = 0; i < listener.getFootPrint(); i++) {
-                    values[i] = getChannel(listener.getChannel() + i).getValue();
-                }
-                listener.processStatusUpdate(values);
-            }
-        }
-    }
-
 }
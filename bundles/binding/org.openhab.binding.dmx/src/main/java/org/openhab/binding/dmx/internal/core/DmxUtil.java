@@ -95,8 +95,8 @@ public class DmxUtil {
      * @return dimmed value
      */
     public static int getOutputValue(int input, int outputLevel) {
-        BigDecimal value = BigDecimal.valueOf(input);
-        return value.multiply(BigDecimal.valueOf(outputLevel))
-                .divide(PercentType.HUNDRED.toBigDecimal(), 0, BigDecimal.ROUND_UP).intValue();
+        // input * outputLevel / 100, rounded away from zero
+        int product = input * outputLevel;
+        return product >= 0 ? (product + 99) / 100 : -((99 - product) / 100);
     }
 }
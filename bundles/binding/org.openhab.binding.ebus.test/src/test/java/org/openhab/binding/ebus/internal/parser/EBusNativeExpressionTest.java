@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.ebus.internal.parser;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * EBusNativeExpression tests, the expected values are the results of the
+ * JavaScript engine.
+ *
+ * @since 1.14.0
+ */
+public class EBusNativeExpressionTest {
+
+    @Test
+    public void linearScaling() {
+        assertEquals(20, evaluate("(thisValue - 32) / 1.8", new BigDecimal("68")));
+        assertEquals(-4.5, evaluate("thisValue * 0.5 - 10", 11));
+        assertEquals(12.345, evaluate("(yield_h * 1000 + yield_l) / 1000", null, "yield_h", 12, "yield_l", 345));
+        assertEquals(7, evaluate("1 + 2 * 3", null));
+        assertEquals(9, evaluate("(1 + 2) * 3", null));
+        assertEquals(1, evaluate("10 - 4 - 5", null));
+        assertEquals(Double.POSITIVE_INFINITY, evaluate("thisValue / 0", 1));
+        assertEquals(-0.0, evaluate("-thisValue", 0));
+    }
+
+    @Test
+    public void bitMasks() {
+        assertEquals(10, evaluate("thisValue & 0x0F", 0xFA));
+        assertEquals(15, evaluate("thisValue >> 4 & 0x0F", 0xFA));
+        assertEquals(251, evaluate("thisValue | 1", 0xFA));
+        assertEquals(1, evaluate("(thisValue >> 1) % 2", 0xFA));
+        assertEquals(-2, evaluate("~thisValue", 1));
+        assertEquals(2147483648.0, evaluate("thisValue >>> 0", -2147483648));
+        assertEquals(-2147483648, evaluate("thisValue << 31", 1));
+        assertEquals(1, evaluate("thisValue & 1", 3.7));
+    }
+
+    @Test
+    public void unsupportedScriptsAreNotCompiled() {
+        assertNull(EBusNativeExpression.compile("time_hour + ':' + time_min"));
+        assertNull(EBusNativeExpression.compile("a && b ? a + (b / 100): 0"));
+        assertNull(EBusNativeExpression.compile("String.fromCharCode(a, b)"));
+        assertNull(EBusNativeExpression.compile("Math.round(thisValue)"));
+        assertNull(EBusNativeExpression.compile("thisValue > 10"));
+        assertNull(EBusNativeExpression.compile("thisValue = 1"));
+        assertNull(EBusNativeExpression.compile("thisValue--"));
+        assertNull(EBusNativeExpression.compile("(thisValue"));
+        assertNull(EBusNativeExpression.compile("010"));
+        assertNull(EBusNativeExpression.compile(""));
+    }
+
+    @Test
+    public void variablesMustBeNumbers() {
+        assertNull(evaluate("thisValue * 2", Boolean.TRUE));
+        assertNull(evaluate("thisValue * 2", "2"));
+        assertNull(evaluate("thisValue * unknown", 2));
+    }
+
+    private Object evaluate(String script, Object thisValue, Object... variables) {
+        EBusNativeExpression expression = EBusNativeExpression.compile(script);
+        assertNotNull(script, expression);
+
+        Map<String, Object> scope = new HashMap<String, Object>();
+        scope.put("thisValue", thisValue);
+        for (int i = 0; i < variables.length; i += 2) {
+            scope.put((String) variables[i], variables[i + 1]);
+        }
+        return expression.evaluate(scope);
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.ebus.internal.parser;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.ebus.internal.EBusTelegram;
+import org.openhab.binding.ebus.internal.configuration.TelegramConfiguration;
+import org.openhab.binding.ebus.internal.utils.EBusUtils;
+
+/**
+ * EBusTelegramParser tests for the command index and native expressions.
+ *
+ * @since 1.14.0
+ */
+public class EBusTelegramParserTest {
+
+    private static final String CONFIGURATION = "[" //
+            + "{\"comment\": \"yield\", \"class\": \"solar\", \"id\": \"yield\", \"command\": \"50 22\","
+            + " \"values\": {"
+            + "  \"_yield_h\": {\"type\": \"uchar\", \"pos\": 6},"
+            + "  \"_yield_l\": {\"type\": \"word\", \"pos\": 7},"
+            + "  \"temp\": {\"type\": \"uchar\", \"pos\": 9, \"script\": \"thisValue & 0x0F\"}},"
+            + " \"computed_values\": {"
+            + "  \"yield\": {\"type\": \"script\", \"script\": \"(_yield_h * 1000 + _yield_l) / 1000\"}}},"
+            + "{\"comment\": \"broadcast\", \"class\": \"any\", \"id\": \"broadcast\", \"filter\": \"?? FE .*\","
+            + " \"values\": {\"first\": {\"type\": \"uchar\", \"pos\": 6}}},"
+            + "{\"comment\": \"filter\", \"class\": \"time\", \"id\": \"filter\", \"filter\": \"?? FE 07 00 .*\","
+            + " \"values\": {\"second\": {\"type\": \"uchar\", \"pos\": 7}}},"
+            + "{\"comment\": \"other\", \"class\": \"other\", \"id\": \"other\", \"command\": \"B5 09\","
+            + " \"values\": {\"third\": {\"type\": \"uchar\", \"pos\": 6}}}" //
+            + "]";
+
+    private File configurationFile;
+
+    private EBusConfigurationProvider configurationProvider;
+
+    @Before
+    public void setUp() throws IOException {
+        configurationFile = File.createTempFile("ebus-test", "-configuration.json");
+        FileWriter writer = new FileWriter(configurationFile);
+        writer.write(CONFIGURATION);
+        writer.close();
+
+        configurationProvider = new EBusConfigurationProvider();
+        configurationProvider.loadConfigurationFile(configurationFile.toURI().toURL());
+    }
+
+    @After
+    public void tearDown() {
+        configurationFile.delete();
+    }
+
+    private static EBusTelegram telegram(String hexDump) {
+        byte[] data = EBusUtils.toByteArray(hexDump);
+        ByteBuffer buffer = ByteBuffer.allocate(data.length);
+        buffer.put(data);
+        return new EBusTelegram(buffer);
+    }
+
+    private static String comments(List<TelegramConfiguration> configurations) {
+        StringBuilder sb = new StringBuilder();
+        for (TelegramConfiguration configuration : configurations) {
+            sb.append(configuration.getComment()).append(' ');
+        }
+        return sb.toString().trim();
+    }
+
+    @Test
+    public void candidatesKeepRegistryOrder() {
+        assertEquals("yield broadcast",
+                comments(configurationProvider.getCommandsByFilter("10 FE 50 22 04 0C 39 30 F5 00 AA")));
+        assertEquals("broadcast filter",
+                comments(configurationProvider.getCommandsByFilter("10 FE 07 00 04 0C 39 30 F5 00 AA")));
+        assertEquals("yield",
+                comments(configurationProvider.getCommandsByFilter("10 08 50 22 04 0C 39 30 F5 00 AA")));
+        assertEquals("",
+                comments(configurationProvider.getCommandsByFilter("10 08 07 00 04 0C 39 30 F5 00 AA")));
+
+        // second lookup uses the index
+        assertEquals("yield broadcast",
+                comments(configurationProvider.getCommandsByFilter("30 FE 50 22 04 0C 39 30 F5 00 AA")));
+    }
+
+    @Test
+    public void clearRemovesIndexedConfigurations() {
+        assertFalse(configurationProvider.getCommandsByFilter("10 08 50 22 04 0C 39 30 F5 00 AA").isEmpty());
+
+        configurationProvider.clear();
+
+        assertTrue(configurationProvider.getCommandsByFilter("10 08 50 22 04 0C 39 30 F5 00 AA").isEmpty());
+    }
+
+    @Test
+    public void scriptsAreEvaluatedAsNativeExpressions() {
+        EBusTelegramParser parser = new EBusTelegramParser(configurationProvider);
+
+        // data: 12, word 0x0159 = 345, 0xF5
+        Map<String, Object> values = parser.parse(telegram("10 08 50 22 04 0C 59 01 F5 00 00"));
+
+        assertEquals(new BigDecimal("12.345"), values.get("solar.yield.yield"));
+        assertEquals(new BigDecimal("5"), values.get("solar.yield.temp"));
+    }
+}
@@ -14,8 +14,10 @@ import java.util.Map;
 import javax.script.CompiledScript;
 
 import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.codehaus.jackson.annotate.JsonIgnore;
 import org.codehaus.jackson.annotate.JsonIgnoreProperties;
 import org.codehaus.jackson.annotate.JsonProperty;
+import org.openhab.binding.ebus.internal.parser.EBusNativeExpression;
 
 /**
  * This class stores the values of an eBus bytes telegram.
@@ -29,6 +31,7 @@ public class TelegramValue {
     private Integer bit;
     private CompiledScript csript;
     private String debug;
+    private EBusNativeExpression expression;
     private BigDecimal factor;
     private String label;
     private Map<String, String> mapping;
@@ -68,6 +71,17 @@ public class TelegramValue {
         return debug;
     }
 
+    /**
+     * Returns the script compiled to a native expression, null if the script
+     * is only evaluated by JavaScript
+     * 
+     * @return
+     */
+    @JsonIgnore
+    public EBusNativeExpression getExpression() {
+        return expression;
+    }
+
     /**
      * Returns factor
      * 
@@ -188,6 +202,14 @@ public class TelegramValue {
         this.debug = debug;
     }
 
+    /**
+     * @param expression
+     */
+    @JsonIgnore
+    public void setExpression(EBusNativeExpression expression) {
+        this.expression = expression;
+    }
+
     /**
      * @param factor
      */
@@ -14,10 +14,12 @@ import java.net.URL;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,7 +41,8 @@ import org.slf4j.LoggerFactory;
  * The configuration provider reads the vendors specific ebus protocol
  * information from the json configuration files. All placeholders (regex)
  * and javascript snippets will be compiled after loading to improve
- * runtime performance.
+ * runtime performance. Simple arithmetic snippets are also compiled to
+ * native expressions, see {@link EBusNativeExpression}.
  *
  * @author Christian Sowada
  * @since 1.7.0
@@ -57,9 +60,18 @@ public class EBusConfigurationProvider {
     // filter: (|)
     private static Pattern P_BRACKETS_CLEAN = Pattern.compile("(\\(|\\))");
 
+    // command: B5 09
+    private static Pattern P_COMMAND = Pattern.compile("[0-9A-F]{2} [0-9A-F]{2}");
+
     // The registry with all loaded configuration entries
     private ArrayList<TelegramConfiguration> telegramRegistry = new ArrayList<TelegramConfiguration>();
 
+    // The command bytes of each configuration entry, null if the entry matches any command
+    private Map<TelegramConfiguration, String> commandKeys = new IdentityHashMap<TelegramConfiguration, String>();
+
+    // Candidate configuration entries by command bytes, built on first use
+    private Map<String, List<TelegramConfiguration>> commandIndex = new ConcurrentHashMap<String, List<TelegramConfiguration>>();
+
     private Map<String, String> loadedFilters = new HashMap<String, String>();
 
     // The script engine if available
@@ -101,6 +113,8 @@ public class EBusConfigurationProvider {
         if (telegramRegistry != null) {
             telegramRegistry.clear();
         }
+        commandKeys.clear();
+        commandIndex.clear();
     }
 
     /**
@@ -135,10 +149,41 @@ public class EBusConfigurationProvider {
         }
 
         if (loadedTelegramRegistry != null && !loadedTelegramRegistry.isEmpty()) {
+            for (TelegramConfiguration configurationEntry : loadedTelegramRegistry) {
+                commandKeys.put(configurationEntry, getCommandKey(configurationEntry));
+            }
             telegramRegistry.addAll(loadedTelegramRegistry);
+            commandIndex.clear();
         }
     }
 
+    /**
+     * Returns the command bytes a configuration entry is limited to.
+     *
+     * @param configurationEntry The configuration entry
+     * @return The command bytes like <code>B5 09</code> or null if the entry
+     *         can match any command
+     */
+    private String getCommandKey(TelegramConfiguration configurationEntry) {
+
+        String command = null;
+        if (StringUtils.isNotEmpty(configurationEntry.getFilter())) {
+            // filter starts with source and destination: ?? FE B5 16 .*
+            String[] parts = StringUtils.split(configurationEntry.getFilter());
+            if (parts.length > 3) {
+                command = parts[2] + " " + parts[3];
+            }
+        } else {
+            command = configurationEntry.getCommand();
+        }
+
+        if (command != null && P_COMMAND.matcher(command).matches()) {
+            return command;
+        }
+
+        return null;
+    }
+
     /**
      * @param configurationEntry
      */
@@ -189,6 +234,9 @@ public class EBusConfigurationProvider {
                 if (StringUtils.isNotEmpty(entry.getValue().getScript())) {
                     String script = entry.getValue().getScript();
 
+                    // simple arithmetic is evaluated without JavaScript
+                    entry.getValue().setExpression(EBusNativeExpression.compile(script));
+
                     // check if engine is available
                     if (StringUtils.isNotEmpty(script) && compEngine != null) {
                         try {
@@ -209,6 +257,9 @@ public class EBusConfigurationProvider {
                 if (StringUtils.isNotEmpty(entry.getValue().getScript())) {
                     String script = entry.getValue().getScript();
 
+                    // simple arithmetic is evaluated without JavaScript
+                    entry.getValue().setExpression(EBusNativeExpression.compile(script));
+
                     // check if engine is available
                     if (StringUtils.isNotEmpty(script) && compEngine != null) {
                         try {
@@ -235,7 +286,7 @@ public class EBusConfigurationProvider {
         final List<TelegramConfiguration> matchedTelegramRegistry = new ArrayList<TelegramConfiguration>();
 
         /** select matching telegram registry entries */
-        for (TelegramConfiguration registryEntry : telegramRegistry) {
+        for (TelegramConfiguration registryEntry : getCandidates(bufferString)) {
             Pattern pattern = registryEntry.getFilterPattern();
             Matcher matcher = pattern.matcher(bufferString);
             if (matcher.matches()) {
@@ -246,6 +297,38 @@ public class EBusConfigurationProvider {
         return matchedTelegramRegistry;
     }
 
+    /**
+     * Return all configurations which may match a telegram, in registry
+     * order. These are the configurations with the same command bytes and the
+     * configurations without fixed command bytes.
+     *
+     * @param bufferString The byte string of the telegram
+     * @return The configurations to check against the telegram
+     */
+    private List<TelegramConfiguration> getCandidates(String bufferString) {
+
+        // source, destination, primary and secondary command: FF 15 B5 09
+        if (bufferString.length() < 11) {
+            return telegramRegistry;
+        }
+
+        String command = bufferString.substring(6, 11);
+        List<TelegramConfiguration> candidates = commandIndex.get(command);
+
+        if (candidates == null) {
+            candidates = new ArrayList<TelegramConfiguration>();
+            for (TelegramConfiguration registryEntry : telegramRegistry) {
+                String commandKey = commandKeys.get(registryEntry);
+                if (commandKey == null || commandKey.equals(command)) {
+                    candidates.add(registryEntry);
+                }
+            }
+            commandIndex.put(command, candidates);
+        }
+
+        return candidates;
+    }
+
     /**
      * Return all configurations by command id and class
      * 
@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.ebus.internal.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled arithmetic expression, used instead of JavaScript for simple
+ * value scripts like linear scaling <code>(thisValue - 32) / 1.8</code> or
+ * bit masks <code>thisValue &amp; 0x0F</code>.
+ *
+ * Supported are number literals, variables, parentheses, the unary operators
+ * <code>- + ~</code> and the binary operators
+ * <code>* / % + - &lt;&lt; &gt;&gt; &gt;&gt;&gt; &amp; ^ |</code> with
+ * JavaScript precedence and semantics. All other scripts are evaluated by the
+ * JavaScript engine.
+ *
+ * @since 1.14.0
+ */
+public class EBusNativeExpression {
+
+    private final Node root;
+
+    private final String[] variables;
+
+    private EBusNativeExpression(Node root, List<String> variables) {
+        this.root = root;
+        this.variables = variables.toArray(new String[variables.size()]);
+    }
+
+    /**
+     * Compiles a script to a native expression.
+     *
+     * @param script The script source
+     * @return The compiled expression or null if the script is not a
+     *         supported arithmetic expression
+     */
+    public static EBusNativeExpression compile(String script) {
+        if (script == null) {
+            return null;
+        }
+
+        Parser parser = new Parser(script);
+        Node root = parser.parse();
+        if (root == null) {
+            return null;
+        }
+
+        return new EBusNativeExpression(root, parser.variables);
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param scopeValues All known values, by variable name
+     * @return The computed value, or null if a variable is not set or is not a
+     *         number. Like the JavaScript engine, integral results in the int
+     *         range (e.g. of bit operations) are returned as Integer, all
+     *         others as Double.
+     */
+    public Object evaluate(Map<String, Object> scopeValues) {
+        double[] values = new double[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            Object value = scopeValues.get(variables[i]);
+            if (!(value instanceof Number)) {
+                return null;
+            }
+            values[i] = ((Number) value).doubleValue();
+        }
+
+        return toNumber(root.evaluate(values));
+    }
+
+    private static Number toNumber(double value) {
+        int intValue = (int) value;
+        // -0 is no int
+        if (intValue == value && (intValue != 0 || Double.doubleToRawLongBits(value) == 0L)) {
+            return Integer.valueOf(intValue);
+        }
+        return Double.valueOf(value);
+    }
+
+    /**
+     * JavaScript ToInt32 conversion
+     */
+    private static int toInt32(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return 0;
+        }
+        double truncated = value < 0 ? Math.ceil(value) : Math.floor(value);
+        return (int) (long) (truncated % 4294967296.0);
+    }
+
+    private static abstract class Node {
+        abstract double evaluate(double[] values);
+    }
+
+    private static class Constant extends Node {
+        private final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double evaluate(double[] values) {
+            return value;
+        }
+    }
+
+    private static class Variable extends Node {
+        private final int index;
+
+        Variable(int index) {
+            this.index = index;
+        }
+
+        @Override
+        double evaluate(double[] values) {
+            return values[index];
+        }
+    }
+
+    private static class Unary extends Node {
+        private final char operator;
+        private final Node operand;
+
+        Unary(char operator, Node operand) {
+            this.operator = operator;
+            this.operand = operand;
+        }
+
+        @Override
+        double evaluate(double[] values) {
+            double value = operand.evaluate(values);
+            switch (operator) {
+                case '-':
+                    return -value;
+                case '~':
+                    return ~toInt32(value);
+                default:
+                    return value;
+            }
+        }
+    }
+
+    private static class Binary extends Node {
+        private final String operator;
+        private final Node left;
+        private final Node right;
+
+        Binary(String operator, Node left, Node right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double evaluate(double[] values) {
+            double l = left.evaluate(values);
+            double r = right.evaluate(values);
+            switch (operator.charAt(0)) {
+                case '*':
+                    return l * r;
+                case '/':
+                    return l / r;
+                case '%':
+                    return l % r;
+                case '+':
+                    return l + r;
+                case '-':
+                    return l - r;
+                case '&':
+                    return toInt32(l) & toInt32(r);
+                case '^':
+                    return toInt32(l) ^ toInt32(r);
+                case '|':
+                    return toInt32(l) | toInt32(r);
+                case '<':
+                    return toInt32(l) << (toInt32(r) & 0x1F);
+                default:
+                    if (operator.equals(">>>")) {
+                        return (toInt32(l) >>> (toInt32(r) & 0x1F)) & 0xFFFFFFFFL;
+                    }
+                    return toInt32(l) >> (toInt32(r) & 0x1F);
+            }
+        }
+    }
+
+    /**
+     * Recursive descent parser, returns null for unsupported scripts
+     */
+    private static class Parser {
+
+        private static final String[][] BINARY_OPERATORS = { { "|" }, { "^" }, { "&" }, { "<<", ">>>", ">>" },
+                { "+", "-" }, { "*", "/", "%" } };
+
+        private final String script;
+
+        private final List<String> variables = new ArrayList<String>();
+
+        private int pos = 0;
+
+        Parser(String script) {
+            this.script = script;
+        }
+
+        Node parse() {
+            Node node = parseBinary(0);
+            skipWhitespace();
+            if (node == null || pos != script.length()) {
+                return null;
+            }
+            return node;
+        }
+
+        private Node parseBinary(int level) {
+            if (level == BINARY_OPERATORS.length) {
+                return parseUnary();
+            }
+
+            Node left = parseBinary(level + 1);
+            while (left != null) {
+                String operator = nextOperator(BINARY_OPERATORS[level]);
+                if (operator == null) {
+                    break;
+                }
+                Node right = parseBinary(level + 1);
+                left = right == null ? null : new Binary(operator, left, right);
+            }
+            return left;
+        }
+
+        private String nextOperator(String[] operators) {
+            skipWhitespace();
+            for (String operator : operators) {
+                if (script.startsWith(operator, pos)) {
+                    int end = pos + operator.length();
+                    // don't take && as & or || as |, and no assignments
+                    if (end < script.length()) {
+                        char next = script.charAt(end);
+                        if (next == '=' || (operator.length() == 1 && next == operator.charAt(0))) {
+                            return null;
+                        }
+                    }
+                    pos = end;
+                    return operator;
+                }
+            }
+            return null;
+        }
+
+        private Node parseUnary() {
+            skipWhitespace();
+            if (pos == script.length()) {
+                return null;
+            }
+
+            char c = script.charAt(pos);
+            if (c == '-' || c == '+' || c == '~') {
+                pos++;
+                // no -- or ++
+                if (pos < script.length() && script.charAt(pos) == c) {
+                    return null;
+                }
+                Node operand = parseUnary();
+                return operand == null ? null : new Unary(c, operand);
+            }
+
+            if (c == '(') {
+                pos++;
+                Node node = parseBinary(0);
+                skipWhitespace();
+                if (node == null || pos == script.length() || script.charAt(pos) != ')') {
+                    return null;
+                }
+                pos++;
+                return node;
+            }
+
+            if (Character.isDigit(c) || c == '.') {
+                return parseNumber();
+            }
+
+            if (Character.isJavaIdentifierStart(c)) {
+                return parseVariable();
+            }
+
+            return null;
+        }
+
+        private Node parseNumber() {
+            int start = pos;
+            if (script.startsWith("0x", pos) || script.startsWith("0X", pos)) {
+                pos += 2;
+                while (pos < script.length() && Character.digit(script.charAt(pos), 16) != -1) {
+                    pos++;
+                }
+                if (pos == start + 2 || pos - start > 10) {
+                    return null;
+                }
+                return new Constant(Long.parseLong(script.substring(start + 2, pos), 16));
+            }
+
+            while (pos < script.length() && (Character.isDigit(script.charAt(pos)) || script.charAt(pos) == '.')) {
+                pos++;
+            }
+            // no exponents, octal literals or numbers followed by names
+            if (pos < script.length() && Character.isJavaIdentifierPart(script.charAt(pos))) {
+                return null;
+            }
+            String number = script.substring(start, pos);
+            if (number.length() > 1 && number.startsWith("0") && number.charAt(1) != '.') {
+                return null;
+            }
+            try {
+                return new Constant(Double.parseDouble(number));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private Node parseVariable() {
+            int start = pos;
+            while (pos < script.length() && Character.isJavaIdentifierPart(script.charAt(pos))) {
+                pos++;
+            }
+            String name = script.substring(start, pos);
+
+            // no property access, function calls or keywords
+            skipWhitespace();
+            if (pos < script.length() && (script.charAt(pos) == '.' || script.charAt(pos) == '(')) {
+                return null;
+            }
+            if (name.equals("true") || name.equals("false") || name.equals("null") || name.equals("undefined")
+                    || name.equals("NaN") || name.equals("Infinity") || name.equals("typeof")
+                    || name.equals("new") || name.equals("this") || name.equals("void")) {
+                return null;
+            }
+
+            int index = variables.indexOf(name);
+            if (index == -1) {
+                index = variables.size();
+                variables.add(name);
+            }
+            return new Variable(index);
+        }
+
+        private void skipWhitespace() {
+            while (pos < script.length() && Character.isWhitespace(script.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
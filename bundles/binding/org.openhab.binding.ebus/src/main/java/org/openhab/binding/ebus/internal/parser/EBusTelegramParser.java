@@ -146,7 +146,9 @@ public class EBusTelegramParser {
     }
 
     /**
-     * Evaluates the compiled script of a entry.
+     * Evaluates the compiled script of a entry. Scripts compiled to a native
+     * expression are evaluated without JavaScript if all their variables are
+     * numbers.
      * 
      * @param entry The configuration entry to evaluate
      * @param scopeValues All known values for script scope
@@ -158,8 +160,13 @@ public class EBusTelegramParser {
 
         Object value = null;
 
+        // executes native expression
+        if (entry.getValue().getExpression() != null) {
+            value = entry.getValue().getExpression().evaluate(scopeValues);
+        }
+
         // executes compiled script
-        if (entry.getValue().getCsript() != null) {
+        if (value == null && entry.getValue().getCsript() != null) {
             CompiledScript cscript = entry.getValue().getCsript();
 
             // Add global variables thisValue and keyName to JavaScript context
@@ -340,7 +347,7 @@ public class EBusTelegramParser {
                 }
 
                 // If compiled script available for this key, execute it now
-                if (settings.getCsript() != null) {
+                if (settings.getExpression() != null || settings.getCsript() != null) {
                     try {
 
                         // Add global variables thisValue and keyName to JavaScript context
@@ -359,24 +366,26 @@ public class EBusTelegramParser {
                 }
 
                 // debug
-                String label = StringUtils.defaultString(settings.getLabel());
-                String format = String.format("%-35s%-10s%s", uniqueKey, value, label);
-                String alias = null;
-
-                if (settings.getMapping() != null) {
-                    Map<String, String> mapping = settings.getMapping();
-                    alias = mapping.get(value.toString());
-                }
-
-                if (debugLevel >= 2) {
-                    loggerAnalyses.debug("    >>> " + format);
-                    if (alias != null) {
-                        loggerAnalyses.debug("      >>> " + alias);
+                if (debugLevel >= 2 ? loggerAnalyses.isDebugEnabled() : loggerAnalyses.isTraceEnabled()) {
+                    String label = StringUtils.defaultString(settings.getLabel());
+                    String format = String.format("%-35s%-10s%s", uniqueKey, value, label);
+                    String alias = null;
+
+                    if (settings.getMapping() != null) {
+                        Map<String, String> mapping = settings.getMapping();
+                        alias = mapping.get(value.toString());
                     }
-                } else {
-                    loggerAnalyses.trace("    >>> " + format);
-                    if (alias != null) {
-                        loggerAnalyses.trace("      >>> " + alias);
+
+                    if (debugLevel >= 2) {
+                        loggerAnalyses.debug("    >>> " + format);
+                        if (alias != null) {
+                            loggerAnalyses.debug("      >>> " + alias);
+                        }
+                    } else {
+                        loggerAnalyses.trace("    >>> " + format);
+                        if (alias != null) {
+                            loggerAnalyses.trace("      >>> " + alias);
+                        }
                     }
                 }
 
@@ -400,6 +409,11 @@ public class EBusTelegramParser {
                 continue;
             }
 
+            // Add all values to script scope
+            HashMap<String, Object> bindings = new HashMap<String, Object>();
+            bindings.putAll(valueRegistryShortKeys);
+            bindings.putAll(valueRegistry);
+
             // post execute the computes_values block
             Map<String, TelegramValue> cvalues = registryEntry.getComputedValues();
             for (Entry<String, TelegramValue> entry : cvalues.entrySet()) {
@@ -407,18 +421,14 @@ public class EBusTelegramParser {
                 String uniqueKey = (classKey != "" ? classKey + "." : "") + (idKey != "" ? idKey + "." : "")
                         + entry.getKey();
 
-                // Add all values to script scope
-                HashMap<String, Object> bindings = new HashMap<String, Object>();
-                bindings.putAll(valueRegistryShortKeys);
-                bindings.putAll(valueRegistry);
-
                 Object value;
                 try {
                     // Evaluates script
                     value = evaluateScript(entry, bindings);
 
-                    // Add result to registry
+                    // Add result to registry and script scope
                     valueRegistry.put(uniqueKey, value);
+                    bindings.put(uniqueKey, value);
 
                     if (debugLevel >= 2) {
                         String label = StringUtils.defaultString(settings.getLabel());
@@ -28,6 +28,9 @@ public class EBusUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(EBusUtils.class);
 
+    /** upper case hex digits for the hex dumps */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
     /** calculated crc values */
     final static public byte CRC_TAB_8_VALUE[] = { (byte) 0x00, (byte) 0x9B, (byte) 0xAD, (byte) 0x36, (byte) 0xC1,
             (byte) 0x5A, (byte) 0x6C, (byte) 0xF7, (byte) 0x19, (byte) 0x82, (byte) 0xB4, (byte) 0x2F, (byte) 0xD8,
@@ -363,7 +366,7 @@ public class EBusUtils {
      * @return The hex string
      */
     static public String toHexDumpString(byte data) {
-        return String.format("%02X", (0xFF & data));
+        return new String(new char[] { HEX_DIGITS[(data >> 4) & 0x0F], HEX_DIGITS[data & 0x0F] });
     }
 
     /**
@@ -393,14 +396,14 @@ public class EBusUtils {
      * @return The StringBuilder with hex dump
      */
     static public StringBuilder toHexDumpString(byte[] data) {
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(data == null ? 0 : data.length * 3);
         if (data != null && data.length > 0) {
             for (int i = 0; i < data.length; i++) {
                 byte c = data[i];
                 if (i > 0) {
                     sb.append(' ');
                 }
-                sb.append(toHexDumpString(c));
+                sb.append(HEX_DIGITS[(c >> 4) & 0x0F]).append(HEX_DIGITS[c & 0x0F]);
             }
         }
 
@@ -414,13 +417,13 @@ public class EBusUtils {
      * @return The StringBuilder with hex dump
      */
     static public StringBuilder toHexDumpString(ByteBuffer data) {
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(data.position() * 3);
         for (int i = 0; i < data.position(); i++) {
             byte c = data.get(i);
             if (i > 0) {
                 sb.append(' ');
             }
-            sb.append(toHexDumpString(c));
+            sb.append(HEX_DIGITS[(c >> 4) & 0x0F]).append(HEX_DIGITS[c & 0x0F]);
         }
         return sb;
     }
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.ebus.tools;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openhab.binding.ebus.internal.EBusTelegram;
+import org.openhab.binding.ebus.internal.parser.EBusConfigurationProvider;
+import org.openhab.binding.ebus.internal.parser.EBusTelegramParser;
+import org.openhab.binding.ebus.internal.utils.EBusUtils;
+
+/**
+ * eBUS Helper Script to measure the telegram parser with a captured eBUS log.
+ *
+ * The log contains one telegram per line as hex dump, like it is logged by
+ * the <code>org.openhab.binding.ebus.internal.parser.Analyses</code> logger
+ * on debug level. Lines without hex dump are skipped.
+ *
+ * Usage: <code>EBusReplayTool &lt;log file&gt; [rounds]</code>, all
+ * configuration files from <code>src/main/resources/</code> are loaded.
+ *
+ * @since 1.14.0
+ */
+public class EBusReplayTool {
+
+    private static final Pattern P_HEX_DUMP = Pattern.compile("([0-9A-F]{2}(?: [0-9A-F]{2}){4,})\\s*$");
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) {
+
+        if (args.length < 1) {
+            System.err.println("Usage: EBusReplayTool <log file> [rounds]");
+            return;
+        }
+
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        EBusReplayTool m = new EBusReplayTool();
+        try {
+            m.run(new File(args[0]), rounds);
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private List<EBusTelegram> readTelegrams(File logFile) throws IOException {
+
+        List<EBusTelegram> telegrams = new ArrayList<EBusTelegram>();
+        BufferedReader reader = new BufferedReader(new FileReader(logFile));
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = P_HEX_DUMP.matcher(line);
+                if (matcher.find()) {
+                    byte[] data = EBusUtils.toByteArray(matcher.group(1));
+
+                    // the parser reads the telegram up to the buffer position
+                    ByteBuffer buffer = ByteBuffer.allocate(data.length);
+                    buffer.put(data);
+                    telegrams.add(new EBusTelegram(buffer));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        return telegrams;
+    }
+
+    public void run(File logFile, int rounds) throws IOException {
+
+        final File currentDir = new File("").getAbsoluteFile();
+        EBusConfigurationProvider configurationProvider = new EBusConfigurationProvider();
+
+        File folder = new File(currentDir, "src/main/resources/");
+        for (File file : folder.listFiles()) {
+            if (file.getName().endsWith("configuration.json")) {
+                configurationProvider.loadConfigurationFile(file.toURI().toURL());
+            }
+        }
+
+        List<EBusTelegram> telegrams = readTelegrams(logFile);
+        if (telegrams.isEmpty()) {
+            System.err.println("No telegrams found in " + logFile);
+            return;
+        }
+
+        EBusTelegramParser parser = new EBusTelegramParser(configurationProvider);
+
+        // warm up
+        int known = 0;
+        for (EBusTelegram telegram : telegrams) {
+            if (parser.parse(telegram) != null) {
+                known++;
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (EBusTelegram telegram : telegrams) {
+                parser.parse(telegram);
+            }
+        }
+        long duration = System.nanoTime() - start;
+
+        long parsed = (long) rounds * telegrams.size();
+        System.out.println(String.format("%d telegrams (%d known), %d rounds", telegrams.size(), known, rounds));
+        System.out.println(String.format("%.1f us per telegram, %.0f telegrams/s", duration / 1000.0 / parsed,
+                parsed * 1000000000.0 / duration));
+    }
+}
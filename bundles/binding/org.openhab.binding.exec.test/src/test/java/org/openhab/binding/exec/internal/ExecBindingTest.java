@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.exec.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.core.events.EventPublisher;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
+import org.openhab.model.item.binding.BindingConfigParseException;
+
+/**
+ * Tests the scheduling of the in-binding command lines on the worker pool. The
+ * command lines are not executed, every invocation blocks until the test
+ * releases it.
+ *
+ * @since 1.14.0
+ */
+public class ExecBindingTest {
+
+    private static final long TIMEOUT = 5000;
+
+    private ExecGenericBindingProvider provider;
+    private TestBinding binding;
+    private BlockingQueue<String> updates = new LinkedBlockingQueue<String>();
+
+    @Before
+    public void init() throws Exception {
+        provider = new ExecGenericBindingProvider();
+        binding = new TestBinding();
+        binding.setEventPublisher(new EventPublisher() {
+            @Override
+            public void sendCommand(String itemName, Command command) {
+            }
+
+            @Override
+            public void postCommand(String itemName, Command command) {
+            }
+
+            @Override
+            public void postUpdate(String itemName, State newState) {
+                updates.add(itemName + "=" + newState);
+            }
+        });
+
+        Hashtable<String, String> config = new Hashtable<String, String>();
+        config.put("maxThreads", "2");
+        binding.updated(config);
+        binding.activate();
+        binding.addProvider(provider);
+    }
+
+    @After
+    public void cleanup() {
+        binding.release.release(100);
+        binding.deactivate();
+    }
+
+    private void bind(String itemName, String commandLine, int refreshInterval) throws BindingConfigParseException {
+        provider.processBindingConfiguration("test", new StringItem(itemName),
+                "<[" + commandLine + ":" + refreshInterval + ":]");
+    }
+
+    @Test
+    public void itemsWithSameCommandLineShareOneInvocation() throws Exception {
+        bind("First", "echo shared", 60000);
+        bind("Second", "echo shared", 60000);
+
+        binding.execute();
+        binding.release.release();
+
+        assertEquals("echo shared", binding.invocations.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNotNull(updates.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNotNull(updates.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(binding.invocations.isEmpty());
+    }
+
+    @Test
+    public void poolLimitsConcurrentInvocations() throws Exception {
+        bind("One", "echo one", 60000);
+        bind("Two", "echo two", 60000);
+        bind("Three", "echo three", 60000);
+
+        binding.execute();
+
+        assertNotNull(binding.invocations.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNotNull(binding.invocations.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNull(binding.invocations.poll(200, TimeUnit.MILLISECONDS));
+
+        binding.release.release();
+        assertNotNull(binding.invocations.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void runningCommandLineIsNotStartedAgain() throws Exception {
+        bind("Fast", "echo running", 0);
+
+        binding.execute();
+        assertEquals("echo running", binding.invocations.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        // another item with the same command line comes due while it is still running
+        bind("Slow", "echo running", 60000);
+        binding.execute();
+        binding.execute();
+        assertNull(binding.invocations.poll(200, TimeUnit.MILLISECONDS));
+
+        binding.release.release();
+        assertEquals("Fast=running", updates.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        // once it has finished, both items are refreshed by a single invocation
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        String invocation = null;
+        while (invocation == null && System.currentTimeMillis() < deadline) {
+            binding.execute();
+            invocation = binding.invocations.poll(10, TimeUnit.MILLISECONDS);
+        }
+        assertEquals("echo running", invocation);
+
+        binding.release.release();
+        Set<String> refreshed = new HashSet<String>();
+        refreshed.add(updates.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        refreshed.add(updates.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(new HashSet<String>(Arrays.asList("Fast=running", "Slow=running")), refreshed);
+    }
+
+    /**
+     * Records the invocations instead of executing the command lines.
+     */
+    private static class TestBinding extends ExecBinding {
+
+        private final BlockingQueue<String> invocations = new LinkedBlockingQueue<String>();
+        private final Semaphore release = new Semaphore(0);
+
+        void addProvider(ExecGenericBindingProvider provider) {
+            providers.add(provider);
+        }
+
+        @Override
+        protected String executeCommandAndWaitResponse(String commandLine) {
+            invocations.add(commandLine);
+            try {
+                release.acquire();
+            } catch (InterruptedException e) {
+                return null;
+            }
+            return commandLine.substring("echo ".length());
+        }
+    }
+}
@@ -10,12 +10,21 @@ package org.openhab.binding.exec.internal;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Dictionary;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,6 +45,7 @@ import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.io.net.exec.ExecUtil;
 import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
 import org.slf4j.Logger;
@@ -69,7 +79,25 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
     /** the interval to find new refresh candidates (defaults to 1000 milliseconds) */
     private int granularity = 1000;
 
-    private Map<String, Long> lastUpdateMap = new HashMap<String, Long>();
+    /** the maximum number of command lines executed concurrently (defaults to 5) */
+    private int maxThreads = 5;
+
+    private Map<String, Long> lastUpdateMap = new ConcurrentHashMap<String, Long>();
+
+    /**
+     * the items whose in-binding command line is currently executing; such items
+     * are not scheduled again until the running invocation has finished
+     */
+    private Set<String> pendingItems = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * the command lines which are currently executing; they are not started again
+     * for other items until the running invocation has finished
+     */
+    private Set<String> runningCommandLines = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /** the worker pool which executes the in-binding command lines */
+    private ExecutorService executorService;
 
     /** RegEx to extract a parse a function String <code>'(.*?)\((.*)\)'</code> */
     private static final Pattern EXTRACT_FUNCTION_PATTERN = Pattern.compile("(.*?)\\((.*)\\)");
@@ -87,18 +115,42 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
     @Override
     public void activate() {
         super.activate();
+        startExecutorService();
         setProperlyConfigured(true);
     }
 
+    @Override
+    public void deactivate() {
+        stopExecutorService();
+        super.deactivate();
+    }
+
+    /**
+     * Collects all in-binding items which are due for a refresh and hands them
+     * over to the worker pool. Items sharing the very same command line share
+     * one process invocation, and items whose previous invocation or whose
+     * command line is still running are skipped until it has finished.
+     */
     @Override
     public void execute() {
+        ExecutorService executor = executorService;
+        if (executor == null) {
+            return;
+        }
+
+        Map<String, List<ExecItem>> dueItemsByCommandLine = new LinkedHashMap<String, List<ExecItem>>();
+
         for (ExecBindingProvider provider : providers) {
             for (String itemName : provider.getInBindingItemNames()) {
 
+                if (pendingItems.contains(itemName)) {
+                    logger.trace("item '{}' is still being refreshed, skipping", itemName);
+                    continue;
+                }
+
                 String commandLine = provider.getCommandLine(itemName);
 
                 int refreshInterval = provider.getRefreshInterval(itemName);
-                String transformation = provider.getTransformation(itemName);
 
                 Long lastUpdateTimeStamp = lastUpdateMap.get(itemName);
                 if (lastUpdateTimeStamp == null) {
@@ -114,37 +166,93 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
 
                     commandLine = String.format(commandLine, Calendar.getInstance().getTime(), "", itemName);
 
-                    String response = executeCommandAndWaitResponse(commandLine);
-
-                    if (response == null) {
-                        logger.error("No response received from command '{}'", commandLine);
-                        lastUpdateMap.put(itemName, System.currentTimeMillis());
+                    if (runningCommandLines.contains(commandLine)) {
+                        logger.trace("commandLine '{}' of item '{}' is still running, skipping", commandLine,
+                                itemName);
                         continue;
                     }
 
-                    String transformedResponse = response;
-                    // If transformation is needed
-                    if (transformation.length() > 0) {
-                        transformedResponse = transformResponse(response, transformation);
-                    }
-
-                    List<Class<? extends State>> acceptedDataTypes = provider.getAcceptedDataTypes(itemName);
-                    State state = null;
-                    if (acceptedDataTypes != null) {
-                        state = TypeParser.parseState(acceptedDataTypes, transformedResponse);
-                    }
-                    if (state != null) {
-                        eventPublisher.postUpdate(itemName, state);
-                    } else {
-                        logger.debug("Couldn't create state for value '{}'", transformedResponse);
+                    List<ExecItem> items = dueItemsByCommandLine.get(commandLine);
+                    if (items == null) {
+                        items = new ArrayList<ExecItem>();
+                        dueItemsByCommandLine.put(commandLine, items);
                     }
+                    items.add(new ExecItem(provider, itemName));
+                    pendingItems.add(itemName);
+                }
+            }
+        }
 
-                    lastUpdateMap.put(itemName, System.currentTimeMillis());
+        for (Map.Entry<String, List<ExecItem>> entry : dueItemsByCommandLine.entrySet()) {
+            runningCommandLines.add(entry.getKey());
+            try {
+                executor.execute(new ExecTask(entry.getKey(), entry.getValue()));
+            } catch (RejectedExecutionException e) {
+                logger.debug("couldn't schedule commandLine '{}' because the binding is shutting down",
+                        entry.getKey());
+                runningCommandLines.remove(entry.getKey());
+                for (ExecItem item : entry.getValue()) {
+                    pendingItems.remove(item.itemName);
                 }
             }
         }
     }
 
+    /**
+     * Executes the given <code>commandLine</code> once and updates the state of
+     * all <code>items</code> which are bound to it.
+     *
+     * @param commandLine the command line to execute
+     * @param items the items to update with the response of the command line
+     */
+    private void refreshItems(String commandLine, List<ExecItem> items) {
+        String response = executeCommandAndWaitResponse(commandLine);
+
+        if (response == null) {
+            logger.error("No response received from command '{}'", commandLine);
+            return;
+        }
+
+        for (ExecItem item : items) {
+            String transformation = item.provider.getTransformation(item.itemName);
+
+            String transformedResponse = response;
+            // If transformation is needed
+            if (transformation != null && transformation.length() > 0) {
+                transformedResponse = transformResponse(response, transformation);
+            }
+
+            List<Class<? extends State>> acceptedDataTypes = item.provider.getAcceptedDataTypes(item.itemName);
+            State state = null;
+            if (acceptedDataTypes != null) {
+                state = TypeParser.parseState(acceptedDataTypes, transformedResponse);
+            }
+            if (state != null) {
+                eventPublisher.postUpdate(item.itemName, state);
+            } else {
+                logger.debug("Couldn't create state for value '{}'", transformedResponse);
+            }
+        }
+    }
+
+    private void startExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(maxThreads, new ExecThreadFactory());
+        }
+    }
+
+    /**
+     * Stops the worker pool without waiting for the running command lines. They
+     * are interrupted and release their items and command lines themselves.
+     */
+    private void stopExecutorService() {
+        ExecutorService executor = executorService;
+        executorService = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     protected String transformResponse(String response, String transformation) {
         String transformedResponse;
 
@@ -315,7 +423,11 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
      * @param commandLine the command line to execute
      * @return response data from executed command line
      */
-    private String executeCommandAndWaitResponse(String commandLine) {
+    protected String executeCommandAndWaitResponse(String commandLine) {
+        if (ExecUtil.isWorkerModeEnabled()) {
+            return ExecUtil.executeCommandLineAndWaitResponse(commandLine, timeout);
+        }
+
         String retval = null;
 
         CommandLine cmdLine = null;
@@ -381,6 +493,21 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
             if (StringUtils.isNotBlank(granularityString)) {
                 granularity = Integer.parseInt(granularityString);
             }
+
+            String maxThreadsString = (String) config.get("maxThreads");
+            if (StringUtils.isNotBlank(maxThreadsString)) {
+                int newMaxThreads = Integer.parseInt(maxThreadsString);
+                if (newMaxThreads < 1) {
+                    throw new ConfigurationException("maxThreads", "maxThreads must be at least 1");
+                }
+                if (newMaxThreads != maxThreads) {
+                    maxThreads = newMaxThreads;
+                    if (executorService != null) {
+                        stopExecutorService();
+                        startExecutorService();
+                    }
+                }
+            }
         }
 
     }
@@ -395,4 +522,64 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
         super.removeBindingProvider(bindingProvider);
     }
 
+    /**
+     * An in-binding item together with the provider it has been configured by.
+     */
+    private static class ExecItem {
+
+        final ExecBindingProvider provider;
+        final String itemName;
+
+        ExecItem(ExecBindingProvider provider, String itemName) {
+            this.provider = provider;
+            this.itemName = itemName;
+        }
+    }
+
+    /**
+     * Executes one command line on a worker thread and distributes its response
+     * to all items bound to it.
+     */
+    private class ExecTask implements Runnable {
+
+        private final String commandLine;
+        private final List<ExecItem> items;
+
+        ExecTask(String commandLine, List<ExecItem> items) {
+            this.commandLine = commandLine;
+            this.items = items;
+        }
+
+        @Override
+        public void run() {
+            try {
+                refreshItems(commandLine, items);
+            } catch (RuntimeException e) {
+                logger.error("error while refreshing items for commandLine '" + commandLine + "'", e);
+            } finally {
+                long now = System.currentTimeMillis();
+                for (ExecItem item : items) {
+                    lastUpdateMap.put(item.itemName, now);
+                    pendingItems.remove(item.itemName);
+                }
+                runningCommandLines.remove(commandLine);
+            }
+        }
+    }
+
+    /**
+     * Creates named daemon threads for the exec worker pool.
+     */
+    private static class ExecThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Exec Worker " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
@@ -0,0 +1,353 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.test.communicator;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.binrpc.BinRpcRequest;
+import org.openhab.binding.homematic.internal.binrpc.BinRpcResponse;
+import org.openhab.binding.homematic.internal.common.HomematicContext;
+import org.openhab.binding.homematic.internal.communicator.client.BinRpcClient;
+import org.openhab.binding.homematic.internal.communicator.client.HomematicClientException;
+import org.openhab.binding.homematic.internal.config.binding.DatapointConfig;
+import org.openhab.binding.homematic.internal.model.HmInterface;
+
+/**
+ * Testcases for the BIN-RPC client against a local stand-in of the Homematic server.
+ *
+ * @since 1.14.0
+ */
+public class BinRpcClientTest {
+    private StandInServer server;
+    private BinRpcClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new StandInServer();
+        client = new BinRpcClient() {
+            @Override
+            protected int getPort(HmInterface hmInterface) {
+                return server.getPort();
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.shutdown();
+        server.close();
+    }
+
+    private void configure(boolean keepAlive) throws Exception {
+        configure(keepAlive, 15);
+    }
+
+    private void configure(boolean keepAlive, int timeout) throws Exception {
+        Hashtable<String, String> properties = new Hashtable<String, String>();
+        properties.put("host", "127.0.0.1");
+        properties.put("host.timeout", String.valueOf(timeout));
+        properties.put("callback.host", "127.0.0.1");
+        properties.put("binrpc.keepalive", String.valueOf(keepAlive));
+        HomematicContext.getInstance().getConfig().parse(properties);
+    }
+
+    @Test
+    public void testEncodedRequestIsDecodedUnchanged() throws Exception {
+        Map<String, Object> struct = new HashMap<String, Object>();
+        struct.put("INT", -70000);
+        struct.put("LIST", Arrays.<Object> asList("a", Boolean.FALSE));
+        BinRpcRequest request = new BinRpcRequest("setValue");
+        request.addArg("JEQ0123456:1");
+        request.addArg(Integer.MAX_VALUE);
+        request.addArg(Integer.MIN_VALUE);
+        request.addArg(-1);
+        request.addArg(21.5d);
+        request.addArg(Boolean.TRUE);
+        request.addArg(struct);
+
+        byte[] message = request.createMessage();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        request.writeTo(out);
+        assertArrayEquals(message, out.toByteArray());
+
+        BinRpcResponse decoded = new BinRpcResponse(new ByteArrayInputStream(message), true);
+        assertEquals("setValue", decoded.getMethodName());
+        Object[] data = decoded.getResponseData();
+        assertEquals("JEQ0123456:1", data[0]);
+        assertEquals(Integer.MAX_VALUE, data[1]);
+        assertEquals(Integer.MIN_VALUE, data[2]);
+        assertEquals(-1, data[3]);
+        assertEquals(21.5d, data[4]);
+        assertEquals(Boolean.TRUE, data[5]);
+        Map<?, ?> decodedStruct = (Map<?, ?>) data[6];
+        assertEquals(-70000, decodedStruct.get("INT"));
+        assertArrayEquals(new Object[] { "a", Boolean.FALSE }, (Object[]) decodedStruct.get("LIST"));
+    }
+
+    @Test
+    public void testLargeRequestGrowsBuffer() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("text");
+        }
+        BinRpcRequest request = new BinRpcRequest("setValue");
+        request.addArg(text.toString());
+
+        BinRpcResponse decoded = new BinRpcResponse(new ByteArrayInputStream(request.createMessage()), true);
+        assertEquals(text.toString(), decoded.getResponseData()[0]);
+
+        // the buffer of this thread is reused for the next, smaller request
+        request = new BinRpcRequest("getValue");
+        request.addArg("JEQ0123456:1");
+        decoded = new BinRpcResponse(new ByteArrayInputStream(request.createMessage()), true);
+        assertEquals(1, decoded.getResponseData().length);
+        assertEquals("JEQ0123456:1", decoded.getResponseData()[0]);
+    }
+
+    @Test
+    public void testKeepAliveReusesConnection() throws Exception {
+        configure(true);
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.TRUE);
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.FALSE);
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.TRUE);
+
+        assertEquals(3, server.getRequests().size());
+        assertEquals(1, server.getConnections());
+    }
+
+    @Test
+    public void testWithoutKeepAliveEveryRequestConnects() throws Exception {
+        configure(false);
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.TRUE);
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.FALSE);
+
+        assertEquals(2, server.getRequests().size());
+        assertEquals(2, server.getConnections());
+    }
+
+    @Test
+    public void testConnectionClosedByServerIsReopened() throws Exception {
+        configure(true);
+        server.closeAfterResponse = true;
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.TRUE);
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.FALSE);
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.TRUE);
+
+        assertEquals(3, server.getRequests().size());
+        assertEquals(3, server.getConnections());
+    }
+
+    @Test
+    public void testTimeoutIsNotRetried() throws Exception {
+        configure(true, 1);
+        client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.TRUE);
+
+        // the server received the request, sending it again would switch twice
+        server.responseDelay = 3000;
+        try {
+            client.setDatapointValue(HmInterface.RF, "JEQ0123456:1", "STATE", Boolean.FALSE);
+            fail("the request should time out");
+        } catch (HomematicClientException ex) {
+            assertTrue(ex.getCause() instanceof SocketTimeoutException);
+        }
+
+        assertEquals(2, server.getRequests().size());
+        assertEquals(1, server.getConnections());
+    }
+
+    @Test
+    public void testSetDatapointValuesSendsSingleMulticall() throws Exception {
+        configure(false);
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
+        values.put("TEXT", "Hello");
+        values.put("BEEP", 1);
+        values.put("SUBMIT", Boolean.TRUE);
+        client.setDatapointValues(HmInterface.RF, "JEQ0123456:18", values);
+
+        assertEquals(Arrays.asList("system.multicall"), server.getRequests());
+        assertEquals(Arrays.asList("setValue JEQ0123456:18 TEXT Hello", "setValue JEQ0123456:18 BEEP 1",
+                "setValue JEQ0123456:18 SUBMIT true"), server.getCalls());
+    }
+
+    @Test(expected = HomematicClientException.class)
+    public void testSetDatapointValuesFailsOnFault() throws Exception {
+        configure(false);
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
+        values.put("BEEP", 1);
+        values.put(StandInServer.UNKNOWN_DATAPOINT, Boolean.TRUE);
+        client.setDatapointValues(HmInterface.RF, "JEQ0123456:18", values);
+    }
+
+    @Test
+    public void testGetDatapointValuesInChunks() throws Exception {
+        configure(true);
+        List<DatapointConfig> datapoints = new ArrayList<DatapointConfig>();
+        for (int i = 0; i < 150; i++) {
+            datapoints.add(new DatapointConfig("JEQ0123456", String.valueOf(i), "LEVEL"));
+        }
+        datapoints.set(42, new DatapointConfig("JEQ0123456", "42", StandInServer.UNKNOWN_DATAPOINT));
+
+        Object[] values = client.getDatapointValues(HmInterface.RF, datapoints);
+
+        assertEquals(Arrays.asList("system.multicall", "system.multicall"), server.getRequests());
+        assertEquals(1, server.getConnections());
+        assertEquals(150, values.length);
+        assertEquals("JEQ0123456:0.LEVEL", values[0]);
+        assertNull(values[42]);
+        assertEquals("JEQ0123456:149.LEVEL", values[149]);
+    }
+
+    /**
+     * Minimal BIN-RPC server answering setValue, getValue and system.multicall on a local port.
+     */
+    private static class StandInServer implements Runnable {
+        static final String UNKNOWN_DATAPOINT = "UNKNOWN";
+
+        private final ServerSocket serverSocket;
+        private final List<Socket> sockets = Collections.synchronizedList(new ArrayList<Socket>());
+        private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+        private final AtomicInteger connections = new AtomicInteger();
+        private volatile boolean closeAfterResponse;
+        private volatile long responseDelay;
+
+        public StandInServer() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+            Thread acceptor = new Thread(this, "HomematicStandInServer");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        public int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        public int getConnections() {
+            return connections.get();
+        }
+
+        public List<String> getRequests() {
+            return requests;
+        }
+
+        public List<String> getCalls() {
+            return calls;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    final Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    sockets.add(socket);
+                    Thread handler = new Thread("HomematicStandInConnection") {
+                        @Override
+                        public void run() {
+                            handle(socket);
+                        }
+                    };
+                    handler.setDaemon(true);
+                    handler.start();
+                }
+            } catch (IOException ex) {
+                // server closed
+            }
+        }
+
+        private void handle(Socket socket) {
+            try {
+                InputStream in = socket.getInputStream();
+                OutputStream out = socket.getOutputStream();
+                while (!socket.isClosed()) {
+                    BinRpcResponse request = new BinRpcResponse(in, true);
+                    requests.add(request.getMethodName());
+                    if (responseDelay > 0) {
+                        Thread.sleep(responseDelay);
+                    }
+                    BinRpcRequest response = new BinRpcRequest(null);
+                    response.addArg(call(request.getMethodName(), request.getResponseData()));
+                    response.writeTo(out);
+                    if (closeAfterResponse) {
+                        socket.close();
+                    }
+                }
+            } catch (EOFException ex) {
+                // client closed the connection
+            } catch (Exception ex) {
+                // connection closed
+            } finally {
+                try {
+                    socket.close();
+                } catch (IOException ex) {
+                    // ignore
+                }
+            }
+        }
+
+        private Object call(String methodName, Object[] params) {
+            if ("system.multicall".equals(methodName)) {
+                List<Object> results = new ArrayList<Object>();
+                for (Object o : (Object[]) params[0]) {
+                    Map<?, ?> call = (Map<?, ?>) o;
+                    Object result = call(call.get("methodName").toString(), (Object[]) call.get("params"));
+                    results.add(result instanceof Map ? result : Arrays.asList(result));
+                }
+                return results;
+            }
+            StringBuilder call = new StringBuilder(methodName);
+            for (Object param : params) {
+                call.append(' ').append(param);
+            }
+            calls.add(call.toString());
+            if (UNKNOWN_DATAPOINT.equals(params[1])) {
+                Map<String, Object> fault = new HashMap<String, Object>();
+                fault.put("faultCode", -5);
+                fault.put("faultString", "Unknown Parameter value for value key: " + UNKNOWN_DATAPOINT);
+                return fault;
+            }
+            if ("getValue".equals(methodName)) {
+                return params[0] + "." + params[1];
+            }
+            return "";
+        }
+
+        public void close() throws IOException {
+            serverSocket.close();
+            synchronized (sockets) {
+                for (Socket socket : sockets) {
+                    socket.close();
+                }
+            }
+        }
+    }
+}
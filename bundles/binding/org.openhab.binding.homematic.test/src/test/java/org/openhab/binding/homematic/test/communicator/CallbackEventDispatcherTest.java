@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.test.communicator;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.communicator.HomematicCallbackReceiver;
+import org.openhab.binding.homematic.internal.communicator.server.CallbackEventDispatcher;
+import org.openhab.binding.homematic.internal.communicator.server.CallbackStatistics;
+
+/**
+ * Testcases for passing on and coalescing the events of the Homematic server.
+ *
+ * @since 1.14.0
+ */
+public class CallbackEventDispatcherTest {
+    private final CallbackStatistics statistics = new CallbackStatistics();
+    private final RecordingReceiver receiver = new RecordingReceiver();
+    private CallbackEventDispatcher dispatcher;
+
+    @After
+    public void tearDown() throws Exception {
+        receiver.release.countDown();
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testEventsWhileBusyAreCoalescedToLatestValue() throws Exception {
+        receiver.blocking = true;
+        dispatcher = new CallbackEventDispatcher(receiver, 0, statistics);
+        dispatcher.start();
+
+        dispatcher.event("BidCos-RF", "JEQ0000001:1", "LEVEL", 0.0d);
+        assertTrue(receiver.blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 100; i++) {
+            dispatcher.event("BidCos-RF", "JEQ0000001:1", "LEVEL", i / 100.0d);
+        }
+        dispatcher.event("BidCos-RF", "JEQ0000002:1", "STATE", Boolean.TRUE);
+        assertEquals(2, dispatcher.getPendingEvents());
+
+        receiver.release.countDown();
+        dispatcher.shutdown();
+
+        assertEquals(Arrays.asList("JEQ0000001:1.LEVEL=0.0", "JEQ0000001:1.LEVEL=1.0", "JEQ0000002:1.STATE=true"),
+                receiver.events);
+        assertEquals(3, statistics.getEvents());
+        assertEquals(99, statistics.getCoalescedEvents());
+    }
+
+    @Test
+    public void testEventsWithinWindowAreCoalesced() throws Exception {
+        dispatcher = new CallbackEventDispatcher(receiver, 200, statistics);
+        dispatcher.start();
+
+        dispatcher.event("BidCos-RF", "JEQ0000001:1", "LEVEL", 0.1d);
+        dispatcher.event("BidCos-RF", "JEQ0000001:1", "LEVEL", 0.2d);
+        dispatcher.event("BidCos-RF", "JEQ0000001:1", "LEVEL", 0.3d);
+        assertTrue(receiver.events.isEmpty());
+
+        receiver.awaitEvents(1);
+        assertEquals(Arrays.asList("JEQ0000001:1.LEVEL=0.3"), receiver.events);
+        assertTrue(statistics.getMaxEventMillis() >= 200);
+
+        // a value after the window is passed on again
+        dispatcher.event("BidCos-RF", "JEQ0000001:1", "LEVEL", 0.4d);
+        receiver.awaitEvents(2);
+        assertEquals("JEQ0000001:1.LEVEL=0.4", receiver.events.get(1));
+    }
+
+    @Test
+    public void testPressEventsAreNeverCoalesced() throws Exception {
+        receiver.blocking = true;
+        dispatcher = new CallbackEventDispatcher(receiver, 0, statistics);
+        dispatcher.start();
+
+        dispatcher.event("BidCos-RF", "JEQ0000001:1", "PRESS_SHORT", Boolean.TRUE);
+        assertTrue(receiver.blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.event("BidCos-RF", "JEQ0000001:1", "PRESS_SHORT", Boolean.TRUE);
+        dispatcher.event("BidCos-RF", "JEQ0000001:1", "PRESS_SHORT", Boolean.TRUE);
+
+        receiver.release.countDown();
+        dispatcher.shutdown();
+
+        assertEquals(3, receiver.events.size());
+        assertEquals(0, statistics.getCoalescedEvents());
+    }
+
+    /**
+     * Records the events, optionally blocking on the first one.
+     */
+    private static class RecordingReceiver implements HomematicCallbackReceiver {
+        private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blocking;
+
+        @Override
+        public void event(String interfaceId, String address, String parameterKey, Object value) {
+            events.add(address + "." + parameterKey + "=" + value);
+            if (blocking) {
+                blocking = false;
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void newDevices(String interfaceId, Object[] deviceDescriptions) {
+        }
+
+        private void awaitEvents(int count) throws InterruptedException {
+            long end = System.currentTimeMillis() + 5000;
+            while (events.size() < count && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, events.size());
+        }
+    }
+}
@@ -8,9 +8,11 @@
  */
 package org.openhab.binding.homematic.internal.binrpc;
 
-import java.io.UnsupportedEncodingException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -20,16 +22,32 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 
 /**
- * A BIN-RPC request for sending data to the Homematic server.
+ * A BIN-RPC request for sending data to the Homematic server. The message is encoded into a buffer reused by the
+ * sending thread.
  *
  * @author Gerhard Riegler
  * @since 1.5.0
  */
 public class BinRpcRequest {
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    /**
+     * Buffers kept per thread larger than this are dropped after use, so a single huge request doesn't hold its
+     * memory forever.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[INITIAL_BUFFER_SIZE];
+        }
+    };
+
     private byte data[];
     private int dataoffset;
     private String methodName;
-    private Collection<Object> args = new ArrayList<Object>();
+    private List<Object> args = new ArrayList<Object>();
 
     /**
      * Creates a new request with the specified methodName.
@@ -49,11 +67,44 @@ public class BinRpcRequest {
         return methodName;
     }
 
+    /**
+     * Returns the arguments of the method.
+     */
+    public List<Object> getArgs() {
+        return Collections.unmodifiableList(args);
+    }
+
     /**
      * Generates the binrpc data.
      */
     public byte[] createMessage() {
-        data = new byte[256];
+        encode();
+        try {
+            return Arrays.copyOf(data, dataoffset);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Generates the binrpc data and writes it to the stream, without copying the encoded message.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        encode();
+        try {
+            out.write(data, 0, dataoffset);
+            out.flush();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Encodes the message into the buffer of the current thread, reserving the first 8 bytes for the header.
+     */
+    private void encode() {
+        data = BUFFERS.get();
+        dataoffset = 8;
         if (methodName != null) {
             addInt(methodName.length());
             addString(methodName);
@@ -62,33 +113,48 @@ public class BinRpcRequest {
 
         addList(args);
 
-        byte fullreq[] = new byte[dataoffset + 8];
-        System.arraycopy(data, 0, fullreq, 8, dataoffset);
-        fullreq[0] = 'B';
-        fullreq[1] = 'i';
-        fullreq[2] = 'n';
-        addInt(dataoffset);
-        System.arraycopy(data, dataoffset - 4, fullreq, 4, 4);
-        return fullreq;
+        data[0] = 'B';
+        data[1] = 'i';
+        data[2] = 'n';
+        data[3] = 0;
+        putInt(4, dataoffset - 8);
     }
 
-    private void addByte(byte b) {
-        if (dataoffset == data.length) {
-            byte newdata[] = new byte[data.length * 2];
-            System.arraycopy(data, 0, newdata, 0, data.length);
-            data = newdata;
+    /**
+     * Hands a grown buffer back to the current thread.
+     */
+    private void release() {
+        if (data.length <= MAX_POOLED_BUFFER_SIZE) {
+            BUFFERS.set(data);
+        } else {
+            BUFFERS.remove();
+        }
+        data = null;
+        dataoffset = 0;
+    }
+
+    private void ensureCapacity(int length) {
+        if (dataoffset + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataoffset + length));
         }
+    }
+
+    private void addByte(byte b) {
+        ensureCapacity(1);
         data[dataoffset++] = b;
     }
 
     private void addInt(int n) {
-        byte d[] = BigInteger.valueOf(n).toByteArray();
-        for (int c = 0; c < 4 - d.length; c++) {
-            addByte(n < 0 ? (byte) 0xFF : (byte) 0);
-        }
-        for (byte s : d) {
-            addByte(s);
-        }
+        ensureCapacity(4);
+        putInt(dataoffset, n);
+        dataoffset += 4;
+    }
+
+    private void putInt(int offset, int n) {
+        data[offset] = (byte) (n >>> 24);
+        data[offset + 1] = (byte) (n >>> 16);
+        data[offset + 2] = (byte) (n >>> 8);
+        data[offset + 3] = (byte) n;
     }
 
     private void addDouble(double v) {
@@ -114,15 +180,12 @@ public class BinRpcRequest {
     }
 
     private void addString(String s) {
-        byte sd[];
-        try {
-            sd = s.getBytes("ISO-8859-1");
-        } catch (UnsupportedEncodingException use) {
-            // Really shouldn't happen, fall back silently to platform encoding
-            sd = s.getBytes();
-        }
-        for (byte ch : sd) {
-            addByte(ch);
+        // ISO-8859-1, characters outside of it are replaced like String.getBytes() does
+        int length = s.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            char ch = s.charAt(i);
+            data[dataoffset++] = ch < 256 ? (byte) ch : (byte) '?';
         }
     }
 
@@ -38,6 +38,13 @@ import org.osgi.service.cm.ConfigurationException;
  * # Port number for the callback server. (optional, default is 9123)
  * # homematic:callback.port=
  *
+ * # Number of threads handling the callbacks of the Homematic server (optional, default is 4)
+ * # homematic:callback.threads=
+ *
+ * # Time in milliseconds an event waits for a newer value of the same datapoint (optional, default is 0)
+ * # Only the newest value is passed on. Events are always coalesced while the binding is busy.
+ * # homematic:callback.coalesce=
+ *
  * # The interval in seconds to check if the communication with the Homematic server is still alive.
  * # If no message receives from the Homematic server, the binding restarts. (optional, default is 300)
  * # homematic:alive.interval=
@@ -48,6 +55,10 @@ import org.osgi.service.cm.ConfigurationException;
  * # The reconnect.interval disables the alive.interval and reconnects after a fixed period in time.
  * # Think in hours when configuring (one hour = 3600)
  * # homematic:reconnect.interval=
+ *
+ * # Keeps the BIN-RPC connections to the Homematic server open between requests (optional, default is false)
+ * # Saves a TCP connect per request, enable it if your Homematic server supports keep-alive connections.
+ * # homematic:binrpc.keepalive=
  * </pre>
  *
  * @author Gerhard Riegler
@@ -58,20 +69,28 @@ public class HomematicConfig {
     private static final String CONFIG_KEY_HOMEMATIC_HOST_TIMEOUT = "host.timeout";
     private static final String CONFIG_KEY_CALLBACK_HOST = "callback.host";
     private static final String CONFIG_KEY_CALLBACK_PORT = "callback.port";
+    private static final String CONFIG_KEY_CALLBACK_THREADS = "callback.threads";
+    private static final String CONFIG_KEY_CALLBACK_COALESCE = "callback.coalesce";
     private static final String CONFIG_KEY_ALIVE_INTERVAL = "alive.interval";
     private static final String CONFIG_KEY_RECONNECT_INTERVAL = "reconnect.interval";
+    private static final String CONFIG_KEY_BINRPC_KEEPALIVE = "binrpc.keepalive";
 
     private static final Integer DEFAULT_CALLBACK_PORT = 9123;
     private static final int DEFAULT_ALIVE_INTERVAL = 300;
     private static final int DEFAULT_HOST_TIMEOUT = 15;
+    private static final int DEFAULT_CALLBACK_THREADS = 4;
+    private static final int DEFAULT_CALLBACK_COALESCE = 0;
 
     private boolean valid;
     private String host;
     private Integer timeout;
     private String callbackHost;
     private Integer callbackPort;
+    private Integer callbackThreads;
+    private Integer callbackCoalesceWindow;
     private Integer aliveInterval;
     private Integer reconnectInterval;
+    private boolean binRpcKeepAlive;
 
     /**
      * Parses and validates the properties in the openhab.cfg.
@@ -93,8 +112,12 @@ public class HomematicConfig {
         }
 
         callbackPort = parseInt(properties, CONFIG_KEY_CALLBACK_PORT, DEFAULT_CALLBACK_PORT);
+        callbackThreads = Math.max(1, parseInt(properties, CONFIG_KEY_CALLBACK_THREADS, DEFAULT_CALLBACK_THREADS));
+        callbackCoalesceWindow = Math.max(0,
+                parseInt(properties, CONFIG_KEY_CALLBACK_COALESCE, DEFAULT_CALLBACK_COALESCE));
         aliveInterval = parseInt(properties, CONFIG_KEY_ALIVE_INTERVAL, DEFAULT_ALIVE_INTERVAL);
         reconnectInterval = parseInt(properties, CONFIG_KEY_RECONNECT_INTERVAL, null);
+        binRpcKeepAlive = Boolean.parseBoolean((String) properties.get(CONFIG_KEY_BINRPC_KEEPALIVE));
         valid = true;
     }
 
@@ -145,6 +168,20 @@ public class HomematicConfig {
         return callbackPort;
     }
 
+    /**
+     * Returns the number of threads handling callbacks.
+     */
+    public Integer getCallbackThreads() {
+        return callbackThreads;
+    }
+
+    /**
+     * Returns the time in milliseconds an event waits for a newer value.
+     */
+    public Integer getCallbackCoalesceWindow() {
+        return callbackCoalesceWindow;
+    }
+
     /**
      * Returns the alive interval.
      */
@@ -159,6 +196,13 @@ public class HomematicConfig {
         return reconnectInterval;
     }
 
+    /**
+     * Returns true if BIN-RPC connections are kept open between requests.
+     */
+    public boolean isBinRpcKeepAlive() {
+        return binRpcKeepAlive;
+    }
+
     /**
      * Returns true if this config is valid.
      */
@@ -184,7 +228,9 @@ public class HomematicConfig {
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("host", host)
                 .append("timeout", timeout).append("callbackHost", callbackHost).append("callbackPort", callbackPort)
+                .append("callbackThreads", callbackThreads).append("callbackCoalesceWindow", callbackCoalesceWindow)
                 .append("aliveInterval", reconnectInterval == null ? aliveInterval : "disabled")
-                .append("reconnectInterval", reconnectInterval == null ? "disabled" : reconnectInterval).toString();
+                .append("reconnectInterval", reconnectInterval == null ? "disabled" : reconnectInterval)
+                .append("binRpcKeepAlive", binRpcKeepAlive).toString();
     }
 }
@@ -9,15 +9,23 @@
 package org.openhab.binding.homematic.internal.communicator.client;
 
 import java.io.IOException;
+import java.io.PushbackInputStream;
 import java.net.ConnectException;
 import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openhab.binding.homematic.internal.binrpc.BinRpcRequest;
 import org.openhab.binding.homematic.internal.binrpc.BinRpcResponse;
 import org.openhab.binding.homematic.internal.common.HomematicContext;
 import org.openhab.binding.homematic.internal.communicator.client.interfaces.RpcClient;
+import org.openhab.binding.homematic.internal.config.binding.DatapointConfig;
 import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 import org.slf4j.Logger;
@@ -25,7 +33,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Client implementation for sending messages via BIN-RPC to the Homematic
- * server.
+ * server. If keep-alive is enabled, the connection to each interface is kept
+ * open and reused by the next request. Multiple calls can be sent at once with
+ * system.multicall.
  *
  * @author Gerhard Riegler
  * @since 1.5.0
@@ -34,7 +44,13 @@ public class BinRpcClient implements RpcClient {
     private final static Logger logger = LoggerFactory.getLogger(BinRpcClient.class);
     private final static boolean TRACE_ENABLED = logger.isTraceEnabled();
 
+    /**
+     * Maximum number of calls sent with a single system.multicall request.
+     */
+    private static final int MAX_MULTICALL_SIZE = 100;
+
     private HomematicContext context = HomematicContext.getInstance();
+    private Map<HmInterface, Socket> idleConnections = new EnumMap<HmInterface, Socket>(HmInterface.class);
 
     /**
      * {@inheritDoc}
@@ -48,8 +64,11 @@ public class BinRpcClient implements RpcClient {
      * {@inheritDoc}
      */
     @Override
-    public void shutdown() throws HomematicClientException {
-        // nothing todo
+    public synchronized void shutdown() throws HomematicClientException {
+        for (Socket socket : idleConnections.values()) {
+            closeQuietly(socket);
+        }
+        idleConnections.clear();
     }
 
     /**
@@ -160,6 +179,98 @@ public class BinRpcClient implements RpcClient {
         sendMessage(hmInterface, request);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDatapointValues(HmInterface hmInterface, String address, Map<String, Object> values)
+            throws HomematicClientException {
+        List<BinRpcRequest> requests = new ArrayList<BinRpcRequest>(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            BinRpcRequest request = new BinRpcRequest("setValue");
+            request.addArg(address);
+            request.addArg(entry.getKey());
+            request.addArg(entry.getValue());
+            requests.add(request);
+        }
+        Object[] results = multicall(hmInterface, requests);
+        for (int i = 0; i < results.length; i++) {
+            String fault = getFault(results[i]);
+            if (fault != null) {
+                throw new HomematicClientException(fault + " (sending " + requests.get(i) + ")");
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] getDatapointValues(HmInterface hmInterface, List<DatapointConfig> datapoints)
+            throws HomematicClientException {
+        List<BinRpcRequest> requests = new ArrayList<BinRpcRequest>(datapoints.size());
+        for (DatapointConfig datapoint : datapoints) {
+            BinRpcRequest request = new BinRpcRequest("getValue");
+            request.addArg(datapoint.getAddress() + ":" + datapoint.getChannel());
+            request.addArg(datapoint.getParameter());
+            requests.add(request);
+        }
+        Object[] results = multicall(hmInterface, requests);
+        Object[] values = new Object[results.length];
+        for (int i = 0; i < results.length; i++) {
+            String fault = getFault(results[i]);
+            if (fault != null) {
+                logger.debug("Can't read datapoint {}: {}", datapoints.get(i), fault);
+            } else if (results[i] instanceof Object[] && ((Object[]) results[i]).length > 0) {
+                values[i] = ((Object[]) results[i])[0];
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Sends the requests with system.multicall, in chunks of at most {@link #MAX_MULTICALL_SIZE} calls. Returns the
+     * result of every call in order, either a one element array with the return value or a fault struct.
+     */
+    private Object[] multicall(HmInterface hmInterface, List<BinRpcRequest> requests) throws HomematicClientException {
+        Object[] results = new Object[requests.size()];
+        for (int from = 0; from < requests.size(); from += MAX_MULTICALL_SIZE) {
+            List<BinRpcRequest> chunk = requests.subList(from, Math.min(from + MAX_MULTICALL_SIZE, requests.size()));
+            List<Object> calls = new ArrayList<Object>(chunk.size());
+            for (BinRpcRequest call : chunk) {
+                Map<String, Object> struct = new HashMap<String, Object>();
+                struct.put("methodName", call.getMethodName());
+                struct.put("params", new ArrayList<Object>(call.getArgs()));
+                calls.add(struct);
+            }
+            BinRpcRequest request = new BinRpcRequest("system.multicall");
+            request.addArg(calls);
+            Object[] response = sendMessage(hmInterface, request);
+            if (response == null) {
+                // interface not available
+                return results;
+            }
+            if (!(response[0] instanceof Object[]) || ((Object[]) response[0]).length != chunk.size()) {
+                throw new HomematicClientException("Unknown Result: " + response[0] + " (sending " + request + ")");
+            }
+            System.arraycopy(response[0], 0, results, from, chunk.size());
+        }
+        return results;
+    }
+
+    /**
+     * Returns the fault of a call, or null if the call succeeded.
+     */
+    private String getFault(Object result) {
+        if (result instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) result;
+            if (map.containsKey("faultCode")) {
+                return map.get("faultCode") + " " + map.get("faultString");
+            }
+        }
+        return null;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -187,30 +298,40 @@ public class BinRpcClient implements RpcClient {
      */
     private synchronized Object[] sendMessage(HmInterface hmInterface, BinRpcRequest request)
             throws HomematicClientException {
-        Socket socket = null;
         try {
             if (TRACE_ENABLED) {
                 logger.trace("Client BinRpcRequest {}", request);
             }
-            socket = new Socket(context.getConfig().getHost(), hmInterface.getPort());
-            socket.setSoTimeout(context.getConfig().getTimeout() * 1000);
-            socket.getOutputStream().write(request.createMessage());
-            BinRpcResponse resp = new BinRpcResponse(socket.getInputStream(), false);
+            BinRpcResponse resp;
+            Socket socket = idleConnections.remove(hmInterface);
+            if (socket != null) {
+                try {
+                    resp = exchange(socket, request);
+                } catch (ConnectionClosedException ex) {
+                    // the server closed the connection while it was idle, the request was not processed
+                    logger.debug("Kept-alive connection to interface {} failed ({}), reconnecting", hmInterface,
+                            ex.getMessage());
+                    socket = openConnection(hmInterface);
+                    resp = exchange(socket, request);
+                }
+            } else {
+                socket = openConnection(hmInterface);
+                resp = exchange(socket, request);
+            }
+            if (context.getConfig().isBinRpcKeepAlive()) {
+                idleConnections.put(hmInterface, socket);
+            } else {
+                closeQuietly(socket);
+            }
 
             if (TRACE_ENABLED) {
                 logger.trace("Client BinRpcResponse: {}", resp.toString());
             }
             Object[] data = resp.getResponseData();
             if (data != null && data.length > 0) {
-                Object responseData = data[0];
-                if (responseData instanceof Map) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> map = (Map<String, Object>) responseData;
-                    if (map.containsKey("faultCode")) {
-                        Object faultCode = map.get("faultCode");
-                        Object faultString = map.get("faultString");
-                        throw new IOException(faultCode + " " + faultString);
-                    }
+                String fault = getFault(data[0]);
+                if (fault != null) {
+                    throw new IOException(fault);
                 }
                 return data;
             }
@@ -224,14 +345,82 @@ public class BinRpcClient implements RpcClient {
                     cex);
         } catch (Exception ex) {
             throw new HomematicClientException(ex.getMessage() + " (sending " + request + ")", ex);
-        } finally {
+        }
+    }
+
+    /**
+     * Opens a new connection to the interface.
+     */
+    private Socket openConnection(HmInterface hmInterface) throws IOException {
+        Socket socket = new Socket(context.getConfig().getHost(), getPort(hmInterface));
+        socket.setSoTimeout(context.getConfig().getTimeout() * 1000);
+        socket.setTcpNoDelay(true);
+        return socket;
+    }
+
+    /**
+     * Returns the port of the interface on the Homematic server.
+     */
+    protected int getPort(HmInterface hmInterface) {
+        return hmInterface.getPort();
+    }
+
+    /**
+     * Sends the request and reads the response, closes the connection if that fails. Throws a
+     * {@link ConnectionClosedException} if the connection was closed by the server before any response arrived.
+     */
+    private BinRpcResponse exchange(Socket socket, BinRpcRequest request) throws IOException, ParseException {
+        boolean success = false;
+        try {
             try {
-                if (socket != null) {
-                    socket.close();
-                }
+                request.writeTo(socket.getOutputStream());
+            } catch (SocketTimeoutException ex) {
+                throw ex;
             } catch (IOException ex) {
-                // ignore
+                throw new ConnectionClosedException(ex.getMessage());
+            }
+
+            PushbackInputStream in = new PushbackInputStream(socket.getInputStream());
+            int first;
+            try {
+                first = in.read();
+            } catch (SocketTimeoutException ex) {
+                // the server received the request but did not respond in time
+                throw ex;
+            } catch (SocketException ex) {
+                throw new ConnectionClosedException(ex.getMessage());
             }
+            if (first == -1) {
+                throw new ConnectionClosedException("Connection closed by the server");
+            }
+            in.unread(first);
+
+            BinRpcResponse resp = new BinRpcResponse(in, false);
+            success = true;
+            return resp;
+        } finally {
+            if (!success) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    /**
+     * Signals that the server closed the connection before responding, so the request can be sent again.
+     */
+    private static class ConnectionClosedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public ConnectionClosedException(String message) {
+            super(message);
         }
     }
 
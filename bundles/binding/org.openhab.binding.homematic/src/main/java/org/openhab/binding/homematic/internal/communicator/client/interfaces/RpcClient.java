@@ -8,10 +8,12 @@
  */
 package org.openhab.binding.homematic.internal.communicator.client.interfaces;
 
+import java.util.List;
 import java.util.Map;
 
 import org.openhab.binding.homematic.internal.communicator.client.HomematicClientException;
 import org.openhab.binding.homematic.internal.communicator.client.ServerId;
+import org.openhab.binding.homematic.internal.config.binding.DatapointConfig;
 import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 
@@ -39,6 +41,21 @@ public interface RpcClient {
     public void setDatapointValue(HmInterface hmInterface, String address, String datapointName, Object value)
             throws HomematicClientException;
 
+    /**
+     * Set multiple values of a device specified by address with a single
+     * request, in the iteration order of the map.
+     */
+    public void setDatapointValues(HmInterface hmInterface, String address, Map<String, Object> values)
+            throws HomematicClientException;
+
+    /**
+     * Returns the values of the datapoints with as few requests as possible.
+     * The values are in the order of the datapoints, null if a value could
+     * not be read.
+     */
+    public Object[] getDatapointValues(HmInterface hmInterface, List<DatapointConfig> datapoints)
+            throws HomematicClientException;
+
     /**
      * Register a callback for the specified interface where the Homematic
      * server can send its events.
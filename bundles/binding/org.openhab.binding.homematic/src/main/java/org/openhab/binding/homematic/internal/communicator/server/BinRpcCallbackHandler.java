@@ -38,10 +38,14 @@ public class BinRpcCallbackHandler implements Runnable {
 
     private Socket socket;
     private HomematicCallbackReceiver callbackReceiver;
+    private CallbackStatistics statistics;
+    private long accepted = System.currentTimeMillis();
 
-    public BinRpcCallbackHandler(Socket socket, HomematicCallbackReceiver callbackReceiver) {
+    public BinRpcCallbackHandler(Socket socket, HomematicCallbackReceiver callbackReceiver,
+            CallbackStatistics statistics) {
         this.socket = socket;
         this.callbackReceiver = callbackReceiver;
+        this.statistics = statistics;
     }
 
     /**
@@ -68,6 +72,7 @@ public class BinRpcCallbackHandler implements Runnable {
             } catch (IOException ex) {
                 // ignore
             }
+            statistics.callbackHandled(System.currentTimeMillis() - accepted);
         }
     }
 
@@ -27,6 +27,8 @@ public class BinRpcCallbackServer implements HomematicCallbackServer {
 
     private Thread networkServiceThread;
     private BinRpcNetworkService networkService;
+    private CallbackEventDispatcher eventDispatcher;
+    private CallbackStatistics statistics = new CallbackStatistics();
     private HomematicCallbackReceiver callbackReceiver;
     private HomematicConfig config = HomematicContext.getInstance().getConfig();
 
@@ -44,7 +46,10 @@ public class BinRpcCallbackServer implements HomematicCallbackServer {
     public void start() throws Exception {
         logger.info("Starting {} at port {}", this.getClass().getSimpleName(), config.getCallbackPort());
 
-        networkService = new BinRpcNetworkService(callbackReceiver);
+        eventDispatcher = new CallbackEventDispatcher(callbackReceiver, config.getCallbackCoalesceWindow(),
+                statistics);
+        eventDispatcher.start();
+        networkService = new BinRpcNetworkService(eventDispatcher, statistics);
         networkServiceThread = new Thread(networkService);
         networkServiceThread.start();
     }
@@ -63,9 +68,34 @@ public class BinRpcCallbackServer implements HomematicCallbackServer {
                 networkServiceThread.interrupt();
                 networkServiceThread.join(5000);
             }
+            if (eventDispatcher != null) {
+                eventDispatcher.shutdown();
+            }
+            logger.debug("Callback statistics: {}", statistics);
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
         }
     }
 
+    /**
+     * Returns the statistics of the callbacks received.
+     */
+    public CallbackStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the number of callback connections waiting for a handler.
+     */
+    public int getQueueDepth() {
+        return networkService == null ? 0 : networkService.getQueueDepth();
+    }
+
+    /**
+     * Returns the number of events waiting to be passed on.
+     */
+    public int getPendingEvents() {
+        return eventDispatcher == null ? 0 : eventDispatcher.getPendingEvents();
+    }
+
 }
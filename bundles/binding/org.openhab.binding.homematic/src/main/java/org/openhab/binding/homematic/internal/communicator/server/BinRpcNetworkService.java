@@ -11,8 +11,12 @@ package org.openhab.binding.homematic.internal.communicator.server;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.common.HomematicContext;
@@ -22,7 +26,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Waits for a message from the Homematic server and starts the
- * BinRpcCallbackHandler to handle the message.
+ * BinRpcCallbackHandler to handle the message. The handlers run in a bounded
+ * pool, if all handlers are busy and the queue is full, the accepting thread
+ * handles the message itself and stops accepting new connections meanwhile.
  *
  * @author Gerhard Riegler
  * @since 1.5.0
@@ -30,18 +36,27 @@ import org.slf4j.LoggerFactory;
 public class BinRpcNetworkService implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
 
+    private static final int QUEUE_CAPACITY = 50;
+
     private ServerSocket serverSocket;
-    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final ThreadPoolExecutor pool;
     private boolean accept = true;
     private HomematicCallbackReceiver callbackReceiver;
+    private CallbackStatistics statistics;
 
     /**
      * Creates the socket for listening to events from the Homematic server.
      */
-    public BinRpcNetworkService(HomematicCallbackReceiver callbackReceiver) throws Exception {
+    public BinRpcNetworkService(HomematicCallbackReceiver callbackReceiver, CallbackStatistics statistics)
+            throws Exception {
         this.callbackReceiver = callbackReceiver;
+        this.statistics = statistics;
 
         HomematicConfig config = HomematicContext.getInstance().getConfig();
+        pool = new ThreadPoolExecutor(config.getCallbackThreads(), config.getCallbackThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new HandlerThreadFactory(),
+                new CallerRunsHandler());
+        pool.allowCoreThreadTimeOut(true);
         serverSocket = new ServerSocket(config.getCallbackPort());
         serverSocket.setReuseAddress(true);
     }
@@ -54,8 +69,9 @@ public class BinRpcNetworkService implements Runnable {
         while (accept) {
             try {
                 Socket cs = serverSocket.accept();
-                BinRpcCallbackHandler rpcHandler = new BinRpcCallbackHandler(cs, callbackReceiver);
+                BinRpcCallbackHandler rpcHandler = new BinRpcCallbackHandler(cs, callbackReceiver, statistics);
                 pool.execute(rpcHandler);
+                statistics.callbackQueued(pool.getQueue().size());
             } catch (IOException ex) {
                 // ignore
             }
@@ -76,4 +92,40 @@ public class BinRpcNetworkService implements Runnable {
         pool.shutdownNow();
     }
 
+    /**
+     * Returns the number of callback connections waiting for a handler.
+     */
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /**
+     * Handles the message in the accepting thread if the queue is full, so the
+     * Homematic server has to wait instead of more threads being started.
+     */
+    private class CallerRunsHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (!executor.isShutdown()) {
+                logger.debug("All callback handlers busy, handling callback in the accepting thread");
+                statistics.callerRun();
+                r.run();
+            }
+        }
+    }
+
+    /**
+     * Names the handler threads.
+     */
+    private static class HandlerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "Homematic callback handler " + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
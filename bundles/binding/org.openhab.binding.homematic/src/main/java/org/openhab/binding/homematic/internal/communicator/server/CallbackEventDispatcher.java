@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openhab.binding.homematic.internal.communicator.HomematicCallbackReceiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Passes the events received from the Homematic server on to the callback
+ * receiver in a single thread, so the callback handlers can answer the
+ * Homematic server right away. Events are passed on in the order they were
+ * received. A new value of a datapoint still waiting to be passed on replaces
+ * the waiting value, so the receiver only sees the latest value. With a
+ * coalesce window, every event waits at least that long for newer values.
+ * PRESS_* events are never replaced.
+ *
+ * @since 1.14.0
+ */
+public class CallbackEventDispatcher implements HomematicCallbackReceiver, Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(CallbackEventDispatcher.class);
+
+    private final HomematicCallbackReceiver callbackReceiver;
+    private final long coalesceWindow;
+    private final CallbackStatistics statistics;
+
+    private final LinkedHashMap<Object, PendingEvent> pendingEvents = new LinkedHashMap<Object, PendingEvent>();
+    private Thread thread;
+    private boolean running;
+
+    /**
+     * Creates the dispatcher.
+     *
+     * @param coalesceWindow the time in milliseconds every event waits for a
+     *            newer value of the same datapoint, 0 to pass on events as
+     *            fast as possible
+     */
+    public CallbackEventDispatcher(HomematicCallbackReceiver callbackReceiver, long coalesceWindow,
+            CallbackStatistics statistics) {
+        this.callbackReceiver = callbackReceiver;
+        this.coalesceWindow = coalesceWindow;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Starts the dispatcher thread.
+     */
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this, "Homematic event dispatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the dispatcher thread after passing on all waiting events.
+     */
+    public void shutdown() throws InterruptedException {
+        Thread dispatcherThread;
+        synchronized (this) {
+            running = false;
+            notifyAll();
+            dispatcherThread = thread;
+            thread = null;
+        }
+        if (dispatcherThread != null) {
+            dispatcherThread.join(5000);
+        }
+    }
+
+    /**
+     * Returns the number of events waiting to be passed on.
+     */
+    public synchronized int getPendingEvents() {
+        return pendingEvents.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void event(String interfaceId, String address, String parameterKey, Object value) {
+        PendingEvent event = new PendingEvent(interfaceId, address, parameterKey, value);
+        Object key = parameterKey.startsWith("PRESS_") ? event : interfaceId + "|" + address + "|" + parameterKey;
+        synchronized (this) {
+            PendingEvent waiting = pendingEvents.get(key);
+            if (waiting != null) {
+                waiting.value = value;
+                statistics.eventCoalesced();
+            } else {
+                pendingEvents.put(key, event);
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void newDevices(String interfaceId, Object[] deviceDescriptions) {
+        callbackReceiver.newDevices(interfaceId, deviceDescriptions);
+    }
+
+    /**
+     * Passes the waiting events on until the dispatcher is stopped and no
+     * events are left.
+     */
+    @Override
+    public void run() {
+        try {
+            PendingEvent event;
+            while ((event = next()) != null) {
+                try {
+                    callbackReceiver.event(event.interfaceId, event.address, event.parameterKey, event.value);
+                } catch (Exception ex) {
+                    logger.error(ex.getMessage(), ex);
+                }
+                statistics.eventDispatched(System.currentTimeMillis() - event.received);
+            }
+        } catch (InterruptedException ex) {
+            logger.debug("{} interrupted", Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Waits for the oldest event to leave the coalesce window and removes it,
+     * returns null if the dispatcher is stopped and no events are left.
+     */
+    private synchronized PendingEvent next() throws InterruptedException {
+        while (true) {
+            Iterator<Map.Entry<Object, PendingEvent>> it = pendingEvents.entrySet().iterator();
+            if (it.hasNext()) {
+                PendingEvent event = it.next().getValue();
+                long wait = event.received + coalesceWindow - System.currentTimeMillis();
+                if (wait <= 0 || !running) {
+                    it.remove();
+                    return event;
+                }
+                wait(wait);
+            } else if (running) {
+                wait();
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * An event waiting to be passed on.
+     */
+    private static class PendingEvent {
+        private final String interfaceId;
+        private final String address;
+        private final String parameterKey;
+        private final long received = System.currentTimeMillis();
+        private Object value;
+
+        public PendingEvent(String interfaceId, String address, String parameterKey, Object value) {
+            this.interfaceId = interfaceId;
+            this.address = address;
+            this.parameterKey = parameterKey;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+
+/**
+ * Counters and latencies of the callbacks received from the Homematic server.
+ *
+ * @since 1.14.0
+ */
+public class CallbackStatistics {
+    private long callbacks;
+    private long callbackMillis;
+    private long maxCallbackMillis;
+    private long maxQueueDepth;
+    private long callerRuns;
+
+    private long events;
+    private long coalescedEvents;
+    private long eventMillis;
+    private long maxEventMillis;
+
+    /**
+     * Records a callback connection handled, from accepting the connection to
+     * sending the response.
+     */
+    synchronized void callbackHandled(long millis) {
+        callbacks++;
+        callbackMillis += millis;
+        maxCallbackMillis = Math.max(maxCallbackMillis, millis);
+    }
+
+    /**
+     * Records the number of callback connections waiting for a handler after
+     * a connection was accepted.
+     */
+    synchronized void callbackQueued(int queueDepth) {
+        maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+    }
+
+    /**
+     * Records a callback handled by the accepting thread because the queue was
+     * full.
+     */
+    synchronized void callerRun() {
+        callerRuns++;
+    }
+
+    /**
+     * Records an event passed on to the callback receiver, with the time since
+     * it was received.
+     */
+    synchronized void eventDispatched(long millis) {
+        events++;
+        eventMillis += millis;
+        maxEventMillis = Math.max(maxEventMillis, millis);
+    }
+
+    /**
+     * Records an event replaced by a newer value of the same datapoint before
+     * it was passed on.
+     */
+    synchronized void eventCoalesced() {
+        coalescedEvents++;
+    }
+
+    /**
+     * Returns the number of callback connections handled.
+     */
+    public synchronized long getCallbacks() {
+        return callbacks;
+    }
+
+    /**
+     * Returns the average time in milliseconds from accepting a callback
+     * connection to sending the response.
+     */
+    public synchronized long getAverageCallbackMillis() {
+        return callbacks == 0 ? 0 : callbackMillis / callbacks;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds from accepting a callback
+     * connection to sending the response.
+     */
+    public synchronized long getMaxCallbackMillis() {
+        return maxCallbackMillis;
+    }
+
+    /**
+     * Returns the maximum number of callback connections waiting for a
+     * handler.
+     */
+    public synchronized long getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * Returns how often the accepting thread had to handle a callback itself.
+     */
+    public synchronized long getCallerRuns() {
+        return callerRuns;
+    }
+
+    /**
+     * Returns the number of events passed on to the callback receiver.
+     */
+    public synchronized long getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the number of events replaced by a newer value.
+     */
+    public synchronized long getCoalescedEvents() {
+        return coalescedEvents;
+    }
+
+    /**
+     * Returns the average time in milliseconds from receiving an event to
+     * passing it on.
+     */
+    public synchronized long getAverageEventMillis() {
+        return events == 0 ? 0 : eventMillis / events;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds from receiving an event to
+     * passing it on.
+     */
+    public synchronized long getMaxEventMillis() {
+        return maxEventMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("callbacks", callbacks)
+                .append("averageCallbackMillis", getAverageCallbackMillis())
+                .append("maxCallbackMillis", maxCallbackMillis).append("maxQueueDepth", maxQueueDepth)
+                .append("callerRuns", callerRuns).append("events", events).append("coalescedEvents", coalescedEvents)
+                .append("averageEventMillis", getAverageEventMillis()).append("maxEventMillis", maxEventMillis)
+                .toString();
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.ihc.ws;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.binding.ihc.ws.datatypes.WSBaseDataType;
+import org.openhab.binding.ihc.ws.datatypes.WSBooleanValue;
+import org.openhab.binding.ihc.ws.datatypes.WSFloatingPointValue;
+import org.openhab.binding.ihc.ws.datatypes.WSIntegerValue;
+import org.openhab.binding.ihc.ws.datatypes.WSResourceValue;
+
+/**
+ * Parsing tests for the batched getRuntimeValues response.
+ *
+ * @since 1.14.0
+ */
+public class IhcResourceInteractionServiceTest {
+
+    private static final String RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\""
+            + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">" //
+            + "<SOAP-ENV:Body>" //
+            + "<ns1:getRuntimeValues2 xmlns:ns1=\"utcs\">" //
+            + "<ns1:arrayItem>"
+            + "<ns1:value xsi:type=\"ns2:WSBooleanValue\" xmlns:ns2=\"utcs.values\"><ns2:value>true</ns2:value></ns1:value>"
+            + "<ns1:typeString/><ns1:resourceID>1001</ns1:resourceID><ns1:isValueRuntime>true</ns1:isValueRuntime>"
+            + "</ns1:arrayItem>" //
+            + "<ns1:arrayItem>"
+            + "<ns1:value xsi:type=\"ns3:WSFloatingPointValue\" xmlns:ns3=\"utcs.values\">"
+            + "<ns3:maximumValue>100.0</ns3:maximumValue><ns3:minimumValue>-100.0</ns3:minimumValue>"
+            + "<ns3:floatingPointValue>21.5</ns3:floatingPointValue></ns1:value>"
+            + "<ns1:typeString/><ns1:resourceID>1002</ns1:resourceID><ns1:isValueRuntime>true</ns1:isValueRuntime>"
+            + "</ns1:arrayItem>" //
+            + "<ns1:arrayItem>"
+            + "<ns1:value xsi:type=\"ns4:WSIntegerValue\" xmlns:ns4=\"utcs.values\">"
+            + "<ns4:maximumValue>255</ns4:maximumValue><ns4:minimumValue>0</ns4:minimumValue>"
+            + "<ns4:integer>42</ns4:integer></ns1:value>"
+            + "<ns1:typeString/><ns1:resourceID>1003</ns1:resourceID><ns1:isValueRuntime>true</ns1:isValueRuntime>"
+            + "</ns1:arrayItem>" //
+            + "</ns1:getRuntimeValues2>" //
+            + "</SOAP-ENV:Body>" //
+            + "</SOAP-ENV:Envelope>";
+
+    @Test
+    public void parseResourceValues() throws IhcExecption {
+        List<WSResourceValue> values = IhcResourceInteractionService.parseResourceValues(RESPONSE);
+
+        assertEquals(3, values.size());
+
+        WSBooleanValue booleanValue = (WSBooleanValue) values.get(0);
+        assertEquals(1001, booleanValue.getResourceID());
+        assertTrue(booleanValue.isValue());
+
+        WSFloatingPointValue floatingPointValue = (WSFloatingPointValue) values.get(1);
+        assertEquals(1002, floatingPointValue.getResourceID());
+        assertEquals(21.5, floatingPointValue.getFloatingPointValue(), 0.0);
+        assertEquals(-100.0, floatingPointValue.getMinimumValue(), 0.0);
+
+        WSIntegerValue integerValue = (WSIntegerValue) values.get(2);
+        assertEquals(1003, integerValue.getResourceID());
+        assertEquals(42, integerValue.getInteger());
+        assertEquals(255, integerValue.getMaximumValue());
+    }
+
+    @Test
+    public void parseEmptyResponse() throws IhcExecption {
+        String response = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<SOAP-ENV:Body><ns1:getRuntimeValues2 xmlns:ns1=\"utcs\"/></SOAP-ENV:Body>"
+                + "</SOAP-ENV:Envelope>";
+
+        assertTrue(IhcResourceInteractionService.parseResourceValues(response).isEmpty());
+    }
+
+    @Test
+    public void parseValue() throws IhcExecption {
+        String response = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<SOAP-ENV:Body><ns1:setResourceValue2 xmlns:ns1=\"utcs\">true</ns1:setResourceValue2>"
+                + "</SOAP-ENV:Body></SOAP-ENV:Envelope>";
+
+        // same compiled expression evaluated twice
+        for (int i = 0; i < 2; i++) {
+            assertEquals("true", WSBaseDataType.parseValue(response,
+                    "/SOAP-ENV:Envelope/SOAP-ENV:Body/ns1:setResourceValue2"));
+        }
+    }
+}
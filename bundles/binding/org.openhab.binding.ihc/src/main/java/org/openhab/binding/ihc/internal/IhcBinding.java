@@ -12,8 +12,11 @@ import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.EventObject;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -213,7 +216,11 @@ public class IhcBinding extends AbstractActiveBinding<IhcBindingProvider>
                 }
             }
 
-            // Poll all requested resources from controller
+            // Collect all resources which need refresh, all of them are
+            // queried from controller together
+            Map<String, IhcBindingProvider> refreshItems = new LinkedHashMap<String, IhcBindingProvider>();
+            Set<Integer> resourceIds = new LinkedHashSet<Integer>();
+
             for (IhcBindingProvider provider : providers) {
                 for (String itemName : provider.getItemNames()) {
 
@@ -232,45 +239,76 @@ public class IhcBinding extends AbstractActiveBinding<IhcBindingProvider>
 
                         if (needsUpdate) {
                             logger.debug("Item '{}' is about to be refreshed now", itemName);
-
-                            try {
-                                WSResourceValue resourceValue = null;
-
-                                try {
-                                    resourceValue = ihc.resourceQuery(resourceId);
-                                } catch (IhcExecption e) {
-                                    logger.warn("Value could not be read from controller - retrying one time.", e);
-
-                                    try {
-                                        resourceValue = ihc.resourceQuery(resourceId);
-                                    } catch (IhcExecption ex) {
-                                        logger.error("Communication error", ex);
-                                        logger.debug("Reconnection request");
-                                        setReconnectRequest(true);
-                                    }
-                                }
-
-                                if (resourceValue != null) {
-                                    Class<? extends Item> itemType = provider.getItemType(itemName);
-                                    State value = IhcDataConverter.convertResourceValueToState(itemType, resourceValue);
-                                    eventPublisher.postUpdate(itemName, value);
-                                }
-
-                            } catch (Exception e) {
-                                logger.error("Error occurred during resource query", e);
-                            }
-
-                            lastUpdateMap.put(itemName, System.currentTimeMillis());
+                            refreshItems.put(itemName, provider);
+                            resourceIds.add(resourceId);
                         }
                     }
                 }
             }
+
+            if (!refreshItems.isEmpty()) {
+                refreshResources(refreshItems, new ArrayList<Integer>(resourceIds));
+            }
         } else {
             logger.warn("Controller is not initialized => refresh cycle aborted!");
         }
 
     }
 
+    private void refreshResources(Map<String, IhcBindingProvider> refreshItems, List<Integer> resourceIds) {
+
+        try {
+            List<WSResourceValue> resourceValues = null;
+
+            try {
+                resourceValues = ihc.resourceQuery(resourceIds);
+            } catch (IhcExecption e) {
+                logger.warn("Values could not be read from controller - retrying one time.", e);
+
+                try {
+                    resourceValues = ihc.resourceQuery(resourceIds);
+                } catch (IhcExecption ex) {
+                    logger.error("Communication error", ex);
+                    logger.debug("Reconnection request");
+                    setReconnectRequest(true);
+                }
+            }
+
+            if (resourceValues != null) {
+                Map<Integer, WSResourceValue> resourceValueMap = new HashMap<Integer, WSResourceValue>();
+                for (WSResourceValue resourceValue : resourceValues) {
+                    resourceValueMap.put(resourceValue.getResourceID(), resourceValue);
+                }
+
+                for (Map.Entry<String, IhcBindingProvider> entry : refreshItems.entrySet()) {
+                    String itemName = entry.getKey();
+                    IhcBindingProvider provider = entry.getValue();
+
+                    WSResourceValue resourceValue = resourceValueMap
+                            .get(provider.getResourceIdForInBinding(itemName));
+
+                    if (resourceValue != null) {
+                        try {
+                            Class<? extends Item> itemType = provider.getItemType(itemName);
+                            State value = IhcDataConverter.convertResourceValueToState(itemType, resourceValue);
+                            eventPublisher.postUpdate(itemName, value);
+                        } catch (Exception e) {
+                            logger.error("Error occurred during resource query", e);
+                        }
+                    }
+                }
+            }
+
+        } catch (Exception e) {
+            logger.error("Error occurred during resource query", e);
+        }
+
+        long now = System.currentTimeMillis();
+        for (String itemName : refreshItems.keySet()) {
+            lastUpdateMap.put(itemName, now);
+        }
+    }
+
     protected void addBindingProvider(IhcBindingProvider bindingProvider) {
         super.addBindingProvider(bindingProvider);
     }
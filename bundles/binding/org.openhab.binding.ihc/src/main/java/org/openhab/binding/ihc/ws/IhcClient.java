@@ -410,6 +410,21 @@ public class IhcClient {
 
     }
 
+    /**
+     * Query several resource values from controller with as few requests as
+     * possible.
+     *
+     *
+     * @param resourceIds
+     *            Resource Identifiers.
+     * @return Resource values, unknown resources are left out.
+     */
+    public List<WSResourceValue> resourceQuery(List<? extends Integer> resourceIds) throws IhcExecption {
+
+        return resourceInteractionService.resourceQuery(resourceIds);
+
+    }
+
     /**
      * Get resource value information.
      *
@@ -54,6 +54,9 @@ public class IhcConnectionPool {
     private CookieStore cookieStore = null;
 
     private HttpClientBuilder httpClientBuilder = null;
+
+    /** Shared by all services, so that pooled connections are reused */
+    private HttpClient httpClient = null;
     private HttpClientContext localContext = null;
 
     protected IhcConnectionPool() {
@@ -153,8 +156,11 @@ public class IhcConnectionPool {
         httpClientBuilder.setConnectionManager(connMngr);
     }
 
-    public HttpClient getHttpClient() {
-        return httpClientBuilder.build();
+    public synchronized HttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = httpClientBuilder.build();
+        }
+        return httpClient;
     }
 
     public HttpClientContext getHttpContext() {
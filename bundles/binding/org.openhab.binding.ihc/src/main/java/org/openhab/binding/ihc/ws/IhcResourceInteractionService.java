@@ -8,20 +8,12 @@
  */
 package org.openhab.binding.ihc.ws;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.SocketTimeoutException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
-import javax.xml.namespace.NamespaceContext;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.ihc.ws.datatypes.WSBaseDataType;
@@ -36,7 +28,6 @@ import org.openhab.binding.ihc.ws.datatypes.WSTimerValue;
 import org.openhab.binding.ihc.ws.datatypes.WSWeekdayValue;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 
 /**
  * Class to handle IHC / ELKO LS Controller's resource interaction service.
@@ -48,6 +39,9 @@ import org.xml.sax.InputSource;
  */
 public class IhcResourceInteractionService extends IhcHttpsClient {
 
+    /** Maximum amount of resources in one getRuntimeValues request */
+    static final int MAX_RESOURCES_PER_QUERY = 200;
+
     private String url;
     private int timeout;
 
@@ -80,11 +74,11 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
         NodeList nodeList;
         try {
-            nodeList = parseList(response, "/SOAP-ENV:Envelope/SOAP-ENV:Body/ns1:getRuntimeValue2");
+            nodeList = IhcXPath.parseList(response, "/SOAP-ENV:Envelope/SOAP-ENV:Body/ns1:getRuntimeValue2");
 
             if (nodeList != null && nodeList.getLength() == 1) {
 
-                WSResourceValue val = parseResourceValue(nodeList.item(0), 2);
+                WSResourceValue val = parseResourceValue(nodeList.item(0));
 
                 if (val != null && val.getResourceID() == resoureId) {
                     return val;
@@ -103,46 +97,78 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
         }
     }
 
-    private NodeList parseList(String xml, String xpathExpression)
-            throws XPathExpressionException, UnsupportedEncodingException {
-        InputStream is = new ByteArrayInputStream(xml.getBytes("UTF8"));
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        InputSource inputSource = new InputSource(is);
-
-        xpath.setNamespaceContext(new NamespaceContext() {
-            @Override
-            public String getNamespaceURI(String prefix) {
-                if (prefix == null) {
-                    throw new NullPointerException("Null prefix");
-                } else if ("SOAP-ENV".equals(prefix)) {
-                    return "http://schemas.xmlsoap.org/soap/envelope/";
-                } else if ("ns1".equals(prefix)) {
-                    return "utcs";
-                } else if ("ns2".equals(prefix)) {
-                    return "utcs.values";
-                }
-                return null;
+    /**
+     * Query several resource values from controller.
+     *
+     * Resources are queried in batches of {@value #MAX_RESOURCES_PER_QUERY}
+     * resources, so a large amount of resources only needs few requests.
+     *
+     * @param resourceIds
+     *            Resource Identifiers.
+     * @return Resource values, unknown resources are left out.
+     */
+    public List<WSResourceValue> resourceQuery(List<? extends Integer> resourceIds) throws IhcExecption {
+
+        final String soapQueryPrefix = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<soap:Envelope xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<soap:Body>" + "<getRuntimeValues1 xmlns=\"utcs\">";
+
+        final String soapQuerySuffix = "</getRuntimeValues1>" + "</soap:Body>" + "</soap:Envelope>";
+
+        List<WSResourceValue> resourceValueList = new ArrayList<WSResourceValue>(resourceIds.size());
+
+        for (int start = 0; start < resourceIds.size(); start += MAX_RESOURCES_PER_QUERY) {
+            List<? extends Integer> batch = resourceIds.subList(start,
+                    Math.min(start + MAX_RESOURCES_PER_QUERY, resourceIds.size()));
+
+            StringBuilder query = new StringBuilder(soapQueryPrefix);
+            for (int i : batch) {
+                query.append("<xsd:arrayItem>").append(i).append("</xsd:arrayItem>");
             }
+            query.append(soapQuerySuffix);
+
+            openConnection(url);
+            String response = sendQuery(query.toString(), timeout);
+            closeConnection();
+
+            resourceValueList.addAll(parseResourceValues(response));
+        }
+
+        return resourceValueList;
+    }
+
+    static List<WSResourceValue> parseResourceValues(String response) throws IhcExecption {
+
+        List<WSResourceValue> resourceValueList = new ArrayList<WSResourceValue>();
+
+        try {
+            NodeList nodeList = IhcXPath.parseList(response,
+                    "/SOAP-ENV:Envelope/SOAP-ENV:Body/ns1:getRuntimeValues2/ns1:arrayItem");
 
-            @Override
-            public String getPrefix(String uri) {
-                return null;
+            if (nodeList == null) {
+                throw new IhcExecption("No resource values found");
             }
 
-            @Override
-            @SuppressWarnings("rawtypes")
-            public Iterator getPrefixes(String uri) {
-                throw new UnsupportedOperationException();
+            for (int i = 0; i < nodeList.getLength(); i++) {
+                WSResourceValue val = parseResourceValue(nodeList.item(i));
+                if (val != null) {
+                    resourceValueList.add(val);
+                }
             }
-        });
 
-        return (NodeList) xpath.evaluate(xpathExpression, inputSource, XPathConstants.NODESET);
+            return resourceValueList;
+
+        } catch (XPathExpressionException e) {
+            throw new IhcExecption(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IhcExecption(e);
+        }
     }
 
-    private WSResourceValue parseResourceValue(Node n, int index) throws XPathExpressionException {
+    static WSResourceValue parseResourceValue(Node n) throws XPathExpressionException {
 
         // parse resource id
-        String resourceId = getValue(n, "ns1:resourceID");
+        String resourceId = IhcXPath.getValue(n, "ns1:resourceID");
 
         if (StringUtils.isNotBlank(resourceId)) {
 
@@ -150,7 +176,7 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
             // Parse floating point value
 
-            String value = getValue(n, "ns1:value/ns" + index + ":floatingPointValue");
+            String value = IhcXPath.getValue(n, "ns1:value/ns2:floatingPointValue");
 
             if (StringUtils.isNotBlank(value)) {
 
@@ -158,12 +184,12 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
                 val.setResourceID(id);
                 val.setFloatingPointValue(Double.valueOf(value));
 
-                value = getValue(n, "ns1:value/ns" + index + ":maximumValue");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:maximumValue");
                 if (StringUtils.isNotBlank(value)) {
                     val.setMaximumValue(Double.valueOf(value));
                 }
 
-                value = getValue(n, "ns1:value/ns" + index + ":minimumValue");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:minimumValue");
                 if (StringUtils.isNotBlank(value)) {
                     val.setMinimumValue(Double.valueOf(value));
                 }
@@ -173,7 +199,7 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
             // Parse boolean value
 
-            value = getValue(n, "ns1:value/ns" + index + ":value");
+            value = IhcXPath.getValue(n, "ns1:value/ns2:value");
             if (StringUtils.isNotBlank(value)) {
                 WSBooleanValue val = new WSBooleanValue();
                 val.setResourceID(id);
@@ -183,19 +209,19 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
             // Parse integer value
 
-            value = getValue(n, "ns1:value/ns" + index + ":integer");
+            value = IhcXPath.getValue(n, "ns1:value/ns2:integer");
             if (StringUtils.isNotBlank(value)) {
 
                 WSIntegerValue val = new WSIntegerValue();
                 val.setResourceID(id);
                 val.setInteger(Integer.valueOf(value));
 
-                value = getValue(n, "ns1:value/ns" + index + ":maximumValue");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:maximumValue");
                 if (StringUtils.isNotBlank(value)) {
                     val.setMaximumValue(Integer.valueOf(value));
                 }
 
-                value = getValue(n, "ns1:value/ns" + index + ":minimumValue");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:minimumValue");
                 if (StringUtils.isNotBlank(value)) {
                     val.setMinimumValue(Integer.valueOf(value));
                 }
@@ -205,7 +231,7 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
             // Parse timer value
 
-            value = getValue(n, "ns1:value/ns" + index + ":milliseconds");
+            value = IhcXPath.getValue(n, "ns1:value/ns2:milliseconds");
             if (StringUtils.isNotBlank(value)) {
                 WSTimerValue val = new WSTimerValue();
                 val.setResourceID(id);
@@ -216,19 +242,19 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
             // Parse time value
 
-            value = getValue(n, "ns1:value/ns" + index + ":hours");
+            value = IhcXPath.getValue(n, "ns1:value/ns2:hours");
             if (StringUtils.isNotBlank(value)) {
 
                 WSTimeValue val = new WSTimeValue();
                 val.setResourceID(id);
                 val.setHours(Integer.valueOf(value));
 
-                value = getValue(n, "ns1:value/ns" + index + ":minutes");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:minutes");
                 if (StringUtils.isNotBlank(value)) {
                     val.setMinutes(Integer.valueOf(value));
                 }
 
-                value = getValue(n, "ns1:value/ns" + index + ":seconds");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:seconds");
                 if (StringUtils.isNotBlank(value)) {
                     val.setSeconds(Integer.valueOf(value));
                 }
@@ -238,19 +264,19 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
             // Parse date value
 
-            value = getValue(n, "ns1:value/ns" + index + ":day");
+            value = IhcXPath.getValue(n, "ns1:value/ns2:day");
             if (StringUtils.isNotBlank(value)) {
 
                 WSDateValue val = new WSDateValue();
                 val.setResourceID(id);
                 val.setDay(Byte.valueOf(value));
 
-                value = getValue(n, "ns1:value/ns" + index + ":month");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:month");
                 if (StringUtils.isNotBlank(value)) {
                     val.setMonth(Byte.valueOf(value));
                 }
 
-                value = getValue(n, "ns1:value/ns" + index + ":year");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:year");
                 if (StringUtils.isNotBlank(value)) {
                     val.setYear(Short.valueOf(value));
                 }
@@ -260,19 +286,19 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
             // Parse enum value
 
-            value = getValue(n, "ns1:value/ns" + index + ":definitionTypeID");
+            value = IhcXPath.getValue(n, "ns1:value/ns2:definitionTypeID");
             if (StringUtils.isNotBlank(value)) {
 
                 WSEnumValue val = new WSEnumValue();
                 val.setResourceID(id);
                 val.setDefinitionTypeID(Integer.valueOf(value));
 
-                value = getValue(n, "ns1:value/ns" + index + ":enumValueID");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:enumValueID");
                 if (StringUtils.isNotBlank(value)) {
                     val.setEnumValueID(Integer.valueOf(value));
                 }
 
-                value = getValue(n, "ns1:value/ns" + index + ":enumName");
+                value = IhcXPath.getValue(n, "ns1:value/ns2:enumName");
                 if (StringUtils.isNotBlank(value)) {
                     val.setEnumName(value);
                 }
@@ -282,7 +308,7 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
             // Parse week day value
 
-            value = getValue(n, "ns1:value/ns" + index + ":weekdayNumber");
+            value = IhcXPath.getValue(n, "ns1:value/ns2:weekdayNumber");
             if (StringUtils.isNotBlank(value)) {
                 WSWeekdayValue val = new WSWeekdayValue();
                 val.setResourceID(id);
@@ -298,42 +324,6 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
     }
 
-    private String getValue(Node n, String expr) throws XPathExpressionException {
-
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        xpath.setNamespaceContext(new NamespaceContext() {
-
-            @Override
-            public String getNamespaceURI(String prefix) {
-
-                if (prefix == null) {
-                    throw new NullPointerException("Null prefix");
-                } else if ("SOAP-ENV".equals(prefix)) {
-                    return "http://schemas.xmlsoap.org/soap/envelope/";
-                } else if ("ns1".equals(prefix)) {
-                    return "utcs";
-                }
-                // else if ("ns2".equals(prefix)) return "utcs.values";
-                return "utcs.values";
-                // return null;
-            }
-
-            @Override
-            public String getPrefix(String uri) {
-                return null;
-            }
-
-            @Override
-            @SuppressWarnings("rawtypes")
-            public Iterator getPrefixes(String uri) {
-                throw new UnsupportedOperationException();
-            }
-        });
-
-        XPathExpression pathExpr = xpath.compile(expr);
-        return (String) pathExpr.evaluate(n, XPathConstants.STRING);
-    }
-
     /**
      * Update resource value to controller.
      *
@@ -577,13 +567,13 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
         List<WSResourceValue> resourceValueList = new ArrayList<WSResourceValue>();
 
         try {
-            NodeList nodeList = parseList(response,
+            NodeList nodeList = IhcXPath.parseList(response,
                     "/SOAP-ENV:Envelope/SOAP-ENV:Body/ns1:waitForResourceValueChanges2/ns1:arrayItem");
 
             if (nodeList != null) {
 
                 if (nodeList.getLength() == 1) {
-                    String resourceId = getValue(nodeList.item(0), "ns1:resourceID");
+                    String resourceId = IhcXPath.getValue(nodeList.item(0), "ns1:resourceID");
                     if (resourceId == null || resourceId.isEmpty()) {
                         // IHC controller indicates timeout
                         throw new SocketTimeoutException();
@@ -592,9 +582,7 @@ public class IhcResourceInteractionService extends IhcHttpsClient {
 
                 for (int i = 0; i < nodeList.getLength(); i++) {
 
-                    int index = i + 2;
-
-                    WSResourceValue newVal = parseResourceValue(nodeList.item(i), index);
+                    WSResourceValue newVal = parseResourceValue(nodeList.item(i));
                     if (newVal != null) {
                         resourceValueList.add(newVal);
                     }
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.ihc.ws;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+/**
+ * XPath evaluation of IHC / ELKO LS Controller's SOAP responses.
+ *
+ * XPath objects are not thread-safe, therefore every thread compiles the
+ * expressions once and keeps them for later responses.
+ *
+ * Prefixes used in the expressions: SOAP-ENV for the SOAP envelope, ns1 for
+ * the controller services (utcs) and any other prefix for the controller
+ * values (utcs.values).
+ *
+ * @since 1.14.0
+ */
+public class IhcXPath {
+
+    private static final NamespaceContext NAMESPACES = new NamespaceContext() {
+
+        @Override
+        public String getNamespaceURI(String prefix) {
+            if (prefix == null) {
+                throw new NullPointerException("Null prefix");
+            } else if ("SOAP-ENV".equals(prefix)) {
+                return "http://schemas.xmlsoap.org/soap/envelope/";
+            } else if ("ns1".equals(prefix)) {
+                return "utcs";
+            }
+            return "utcs.values";
+        }
+
+        @Override
+        public String getPrefix(String uri) {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Iterator getPrefixes(String uri) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private static final ThreadLocal<Map<String, XPathExpression>> expressions = //
+            new ThreadLocal<Map<String, XPathExpression>>() {
+                @Override
+                protected Map<String, XPathExpression> initialValue() {
+                    return new HashMap<String, XPathExpression>();
+                }
+            };
+
+    private static final ThreadLocal<XPath> xpaths = new ThreadLocal<XPath>() {
+        @Override
+        protected XPath initialValue() {
+            XPath xpath = XPathFactory.newInstance().newXPath();
+            xpath.setNamespaceContext(NAMESPACES);
+            return xpath;
+        }
+    };
+
+    private IhcXPath() {
+    }
+
+    private static XPathExpression compile(String expression) throws XPathExpressionException {
+        Map<String, XPathExpression> compiled = expressions.get();
+        XPathExpression pathExpr = compiled.get(expression);
+        if (pathExpr == null) {
+            pathExpr = xpaths.get().compile(expression);
+            compiled.put(expression, pathExpr);
+        }
+        return pathExpr;
+    }
+
+    private static InputSource toInputSource(String xml) throws UnsupportedEncodingException {
+        return new InputSource(new ByteArrayInputStream(xml.getBytes("UTF8")));
+    }
+
+    /**
+     * Evaluate an expression to a node list.
+     *
+     * @param xml
+     *            XML document.
+     * @param expression
+     *            XPath expression.
+     * @return Matching nodes.
+     */
+    public static NodeList parseList(String xml, String expression)
+            throws XPathExpressionException, UnsupportedEncodingException {
+        return (NodeList) compile(expression).evaluate(toInputSource(xml), XPathConstants.NODESET);
+    }
+
+    /**
+     * Evaluate an expression to a string.
+     *
+     * @param xml
+     *            XML document.
+     * @param expression
+     *            XPath expression.
+     * @return Value of the expression.
+     */
+    public static String parseValue(String xml, String expression)
+            throws XPathExpressionException, UnsupportedEncodingException {
+        return (String) compile(expression).evaluate(toInputSource(xml), XPathConstants.STRING);
+    }
+
+    /**
+     * Evaluate an expression relative to a node to a string.
+     *
+     * @param n
+     *            Context node.
+     * @param expression
+     *            XPath expression.
+     * @return Value of the expression.
+     */
+    public static String getValue(Node n, String expression) throws XPathExpressionException {
+        return (String) compile(expression).evaluate(n, XPathConstants.STRING);
+    }
+}
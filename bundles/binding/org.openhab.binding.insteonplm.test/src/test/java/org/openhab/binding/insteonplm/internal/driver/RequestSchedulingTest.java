@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.insteonplm.internal.driver;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.insteonplm.internal.device.DeviceFeature;
+import org.openhab.binding.insteonplm.internal.device.DeviceFeatureListener;
+import org.openhab.binding.insteonplm.internal.device.DeviceTypeLoader;
+import org.openhab.binding.insteonplm.internal.device.InsteonAddress;
+import org.openhab.binding.insteonplm.internal.device.InsteonDevice;
+import org.openhab.binding.insteonplm.internal.device.RequestQueueManager;
+import org.openhab.binding.insteonplm.internal.message.Msg;
+
+/**
+ * Testcases for the scheduling of commands and polls, run against a
+ * {@link SimulatedModem}.
+ *
+ * @since 1.14.0
+ */
+public class RequestSchedulingTest {
+    private static final byte ON = 0x11;
+    private static final byte STATUS_REQUEST = 0x19;
+    // GetIMInfo and GetFirstALLLinkRecord
+    private static final int INIT_MESSAGES = 2;
+
+    private SimulatedModem m_modem;
+    private Driver m_driver;
+    private Port m_port;
+
+    @Before
+    public void setUp() throws Exception {
+        m_modem = new SimulatedModem();
+        m_driver = new Driver();
+        m_driver.setDriverListener(new DriverListener() {
+            @Override
+            public void driverCompletelyInitialized() {
+            }
+        });
+        m_port = new Port("sim", m_driver, m_modem);
+        m_driver.addPort(m_port);
+        m_port.start();
+        m_modem.awaitWritten(INIT_MESSAGES);
+    }
+
+    @After
+    public void tearDown() {
+        RequestQueueManager.s_destroyInstance();
+        m_port.stop();
+    }
+
+    @Test
+    public void testCommandsAreWrittenBeforeQueuedPolls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        m_modem.hold(release);
+        m_port.writeMessage(message(STATUS_REQUEST, 0, Msg.Priority.POLL));
+        m_modem.awaitWritten(INIT_MESSAGES + 1);
+
+        for (int i = 1; i <= 3; i++) {
+            m_port.writeMessage(message(STATUS_REQUEST, i, Msg.Priority.POLL));
+        }
+        m_port.writeMessage(message(ON, 0xff, Msg.Priority.COMMAND));
+        assertEquals(4, m_port.getWriteQueueDepth());
+        assertTrue(m_port.hasPendingCommands());
+        release.countDown();
+
+        List<byte[]> written = m_modem.awaitWritten(INIT_MESSAGES + 5);
+        assertMessage(STATUS_REQUEST, 0, written.get(INIT_MESSAGES));
+        assertMessage(ON, 0xff, written.get(INIT_MESSAGES + 1));
+        assertMessage(STATUS_REQUEST, 1, written.get(INIT_MESSAGES + 2));
+        assertMessage(STATUS_REQUEST, 2, written.get(INIT_MESSAGES + 3));
+        assertMessage(STATUS_REQUEST, 3, written.get(INIT_MESSAGES + 4));
+        assertFalse(m_port.hasPendingCommands());
+
+        awaitWrittenStatistics(INIT_MESSAGES + 5);
+        PortStatistics statistics = m_port.getStatistics();
+        assertEquals(4, statistics.getPolls());
+        assertEquals(INIT_MESSAGES + 1, statistics.getCommands());
+        assertTrue(statistics.getMaxQueueDepth() >= 4);
+    }
+
+    @Test
+    public void testNackedMessageIsRetransmitted() throws Exception {
+        m_modem.nack(1);
+        m_port.writeMessage(message(ON, 0xff, Msg.Priority.COMMAND));
+
+        List<byte[]> written = m_modem.awaitWritten(INIT_MESSAGES + 2);
+        assertMessage(ON, 0xff, written.get(INIT_MESSAGES));
+        assertMessage(ON, 0xff, written.get(INIT_MESSAGES + 1));
+
+        awaitWrittenStatistics(INIT_MESSAGES + 1);
+        assertEquals(1, m_port.getStatistics().getRetransmissions());
+        assertTrue(m_port.getStatistics().getMaxAckMillis() >= 200);
+    }
+
+    @Test
+    public void testDuplicatePollsAreCoalesced() throws Exception {
+        InsteonDevice dev = makeSwitch();
+        dev.doPoll(60000);
+        dev.doPoll(60000);
+        assertEquals(1, dev.getStatistics().getCoalescedPolls());
+    }
+
+    @Test
+    public void testDeviceSendsDueCommandBeforeDuePoll() throws Exception {
+        InsteonDevice dev = makeSwitch();
+        dev.doPoll(60000);
+        Msg on = dev.makeStandardMessage((byte) 0x0f, ON, (byte) 0xff);
+        dev.enqueueDelayedMessage(on, dev.getFeature("switch"), 61000);
+
+        // both are due two minutes from now, the poll since longer
+        dev.processRequestQueue(System.currentTimeMillis() + 120000);
+
+        List<byte[]> written = m_modem.awaitWritten(INIT_MESSAGES + 1);
+        assertMessage(ON, 0xff, written.get(INIT_MESSAGES));
+        assertEquals(1, dev.getStatistics().getQueries());
+    }
+
+    private InsteonDevice makeSwitch() {
+        InsteonDevice dev = InsteonDevice.s_makeDevice(DeviceTypeLoader.s_instance().getDeviceType("F00.00.12"));
+        dev.setAddress(new InsteonAddress("AA.BB.CC"));
+        dev.setDriver(m_driver);
+        dev.addPort("sim");
+        DeviceFeature f = dev.getFeature("switch");
+        f.addListener(new DeviceFeatureListener(null, "switch", null));
+        return dev;
+    }
+
+    private Msg message(byte cmd1, int cmd2, Msg.Priority priority) throws Exception {
+        Msg m = Msg.s_makeMessage("SendStandardMessage");
+        m.setAddress("toAddress", new InsteonAddress("AA.BB.CC"));
+        m.setByte("messageFlags", (byte) 0x0f);
+        m.setByte("command1", cmd1);
+        m.setByte("command2", (byte) cmd2);
+        m.setPriority(priority);
+        return m;
+    }
+
+    private void awaitWrittenStatistics(int count) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        PortStatistics statistics = m_port.getStatistics();
+        while (statistics.getCommands() + statistics.getPolls() < count && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void assertMessage(byte cmd1, int cmd2, byte[] data) {
+        assertEquals(0x62, data[1]);
+        assertEquals(cmd1, data[6]);
+        assertEquals((byte) cmd2, data[7]);
+    }
+}
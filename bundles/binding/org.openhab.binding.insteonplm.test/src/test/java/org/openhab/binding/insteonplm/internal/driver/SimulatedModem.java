@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.insteonplm.internal.driver;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A modem that answers every message written to it like a PLM with an empty
+ * link database: the IM info request and the link database query get their
+ * replies, everything else is echoed with an ACK.
+ *
+ * Echoes can be replaced by NACKs, and the echo of the next standard message
+ * can be held back to keep the port writer busy.
+ *
+ * @since 1.14.0
+ */
+public class SimulatedModem extends IOStream {
+    private static final byte[] IM_INFO = { 0x02, 0x60, 0x11, 0x22, 0x33, 0x03, 0x15, (byte) 0x9b, 0x06 };
+    private static final byte[] NO_LINK_RECORDS = { 0x02, 0x69, 0x15 };
+    private static final byte[] NACK = { 0x02, 0x15 };
+
+    private final BlockingQueue<byte[]> m_toHost = new LinkedBlockingQueue<byte[]>();
+    private final List<byte[]> m_written = new ArrayList<byte[]>();
+    private int m_nacks = 0;
+    private CountDownLatch m_hold = null;
+
+    @Override
+    public boolean open() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int readSize) throws InterruptedException {
+        byte[] data = m_toHost.take();
+        System.arraycopy(data, 0, b, offset, data.length);
+        return data.length;
+    }
+
+    @Override
+    public void write(byte[] b) {
+        CountDownLatch hold;
+        synchronized (this) {
+            m_written.add(b.clone());
+            notifyAll();
+            hold = (b[1] == 0x62) ? m_hold : null;
+            m_hold = null;
+        }
+        if (hold != null) {
+            try {
+                hold.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (b[1] == 0x60) {
+                m_toHost.add(IM_INFO);
+            } else if (b[1] == 0x69) {
+                m_toHost.add(NO_LINK_RECORDS);
+            } else if (m_nacks > 0) {
+                m_nacks--;
+                m_toHost.add(NACK);
+            } else {
+                byte[] echo = Arrays.copyOf(b, b.length + 1);
+                echo[b.length] = 0x06;
+                m_toHost.add(echo);
+            }
+        }
+    }
+
+    /**
+     * Answers the next messages with a NACK instead of an echo
+     *
+     * @param count number of messages to NACK
+     */
+    public synchronized void nack(int count) {
+        m_nacks = count;
+    }
+
+    /**
+     * Holds back the echo of the next standard message until the latch is
+     * counted down
+     *
+     * @param release the latch releasing the echo
+     */
+    public synchronized void hold(CountDownLatch release) {
+        m_hold = release;
+    }
+
+    /**
+     * Waits until the given number of messages has been written
+     *
+     * @param count number of messages
+     * @return all messages written so far
+     */
+    public synchronized List<byte[]> awaitWritten(int count) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (m_written.size() < count && System.currentTimeMillis() < end) {
+            wait(end - System.currentTimeMillis());
+        }
+        assertTrue("expected " + count + " messages, got " + m_written.size(), m_written.size() >= count);
+        return new ArrayList<byte[]>(m_written);
+    }
+}
@@ -32,6 +32,7 @@ import org.openhab.binding.insteonplm.internal.driver.Driver;
 import org.openhab.binding.insteonplm.internal.driver.DriverListener;
 import org.openhab.binding.insteonplm.internal.driver.ModemDBEntry;
 import org.openhab.binding.insteonplm.internal.driver.Poller;
+import org.openhab.binding.insteonplm.internal.driver.PortStatistics;
 import org.openhab.binding.insteonplm.internal.message.FieldException;
 import org.openhab.binding.insteonplm.internal.message.Msg;
 import org.openhab.binding.insteonplm.internal.message.MsgListener;
@@ -684,10 +685,15 @@ public class InsteonPLMActiveBinding extends AbstractActiveBinding<InsteonPLMBin
         logger.info(String.format("devices: %3d configured, %3d polling, msgs received: %5d", m_devices.size(),
                 Poller.s_instance().getSizeOfQueue(), m_messagesReceived));
         m_messagesReceived = 0;
+        for (Entry<String, PortStatistics> e : m_driver.getPortStatistics().entrySet()) {
+            logger.info("port {}: {} msgs queued, {}", e.getKey(), m_driver.getPort(e.getKey()).getWriteQueueDepth(),
+                    e.getValue());
+        }
         for (InsteonDevice dev : m_devices.values()) {
             if (dev.isModem()) {
                 continue;
             }
+            logger.debug("device {}: {}", dev.getAddress(), dev.getStatistics());
             if (m_deadDeviceTimeout > 0 && dev.getPollOverDueTime() > m_deadDeviceTimeout) {
                 logger.info("device {} has not responded to polls for {} sec", dev.toString(),
                         dev.getPollOverDueTime() / 3600);
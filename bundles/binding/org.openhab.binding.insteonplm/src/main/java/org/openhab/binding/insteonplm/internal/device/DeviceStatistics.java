@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.insteonplm.internal.device;
+
+/**
+ * Counters and latencies of the direct messages sent to a single device.
+ *
+ * - The reply time is the time from taking a direct message off the request
+ * queue until a feature handled the reply of the device.
+ * - A timeout is a direct message for which the request queue gave up
+ * waiting for a reply.
+ *
+ * @since 1.14.0
+ */
+public class DeviceStatistics {
+    private long m_queries = 0;
+    private long m_replies = 0;
+    private long m_timeouts = 0;
+    private long m_coalescedPolls = 0;
+    private long m_replyMillis = 0;
+    private long m_maxReplyMillis = 0;
+
+    synchronized void querySent() {
+        m_queries++;
+    }
+
+    synchronized void replyReceived(long millis) {
+        m_replies++;
+        m_replyMillis += millis;
+        m_maxReplyMillis = Math.max(m_maxReplyMillis, millis);
+    }
+
+    synchronized void queryTimedOut() {
+        m_timeouts++;
+    }
+
+    synchronized void pollCoalesced() {
+        m_coalescedPolls++;
+    }
+
+    public synchronized long getQueries() {
+        return m_queries;
+    }
+
+    public synchronized long getReplies() {
+        return m_replies;
+    }
+
+    public synchronized long getTimeouts() {
+        return m_timeouts;
+    }
+
+    public synchronized long getCoalescedPolls() {
+        return m_coalescedPolls;
+    }
+
+    public synchronized long getAverageReplyMillis() {
+        return m_replies == 0 ? 0 : m_replyMillis / m_replies;
+    }
+
+    public synchronized long getMaxReplyMillis() {
+        return m_maxReplyMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("queries: %d replies: %d timeouts: %d coalesced polls: %d reply: avg %d max %d msec",
+                m_queries, m_replies, m_timeouts, m_coalescedPolls, getAverageReplyMillis(), m_maxReplyMillis);
+    }
+}
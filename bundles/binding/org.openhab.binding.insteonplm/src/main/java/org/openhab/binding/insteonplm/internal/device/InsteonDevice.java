@@ -18,6 +18,7 @@ import java.util.PriorityQueue;
 import org.openhab.binding.insteonplm.InsteonPLMBindingConfig;
 import org.openhab.binding.insteonplm.internal.device.DeviceType.FeatureGroup;
 import org.openhab.binding.insteonplm.internal.driver.Driver;
+import org.openhab.binding.insteonplm.internal.driver.Port;
 import org.openhab.binding.insteonplm.internal.message.FieldException;
 import org.openhab.binding.insteonplm.internal.message.Msg;
 import org.openhab.core.types.Command;
@@ -61,6 +62,7 @@ public class InsteonDevice {
     private long m_lastQueryTime = 0L;
     private boolean m_hasModemDBEntry = false;
     private DeviceStatus m_status = DeviceStatus.INITIALIZED;
+    private DeviceStatistics m_statistics = new DeviceStatistics();
 
     /**
      * Constructor
@@ -135,6 +137,28 @@ public class InsteonDevice {
         return (m_lastTimePolled - m_lastMsgReceived);
     }
 
+    public DeviceStatistics getStatistics() {
+        return m_statistics;
+    }
+
+    /**
+     * Checks if commands are waiting to be written to the modem this device is reached on,
+     * in which case polls should be held back.
+     * 
+     * @return true if the port of this device has commands queued
+     */
+    public boolean isPortBusy() {
+        if (m_driver == null || m_ports.isEmpty()) {
+            return false;
+        }
+        try {
+            Port p = m_driver.getPort(getPort());
+            return p != null && p.hasPendingCommands();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     public String getPort() throws IOException {
         if (m_ports.isEmpty()) {
             throw new IOException("no ports configured for instrument " + getAddress());
@@ -251,7 +275,8 @@ public class InsteonDevice {
     /**
      * Execute poll on this device: create an array of messages,
      * add them to the request queue, and schedule the queue
-     * for processing.
+     * for processing. Features which still have a poll waiting
+     * in the request queue are not polled again.
      * 
      * @param delay scheduling delay (in milliseconds)
      */
@@ -262,8 +287,14 @@ public class InsteonDevice {
             int spacing = 0;
             for (DeviceFeature i : m_features.values()) {
                 if (i.hasListeners()) {
+                    if (hasPollQueued(i)) {
+                        logger.trace("poll of {} still queued, not polling again", i);
+                        m_statistics.pollCoalesced();
+                        continue;
+                    }
                     Msg m = i.makePollMsg();
                     if (m != null) {
+                        m.setPriority(Msg.Priority.POLL);
                         l.add(new QEntry(i, m, now + delay + spacing));
                         spacing += TIME_BETWEEN_POLL_MESSAGES;
                     }
@@ -308,7 +339,7 @@ public class InsteonDevice {
                         // handled a reply to a query,
                         // mark it as processed
                         logger.trace("handled reply of direct: {}", f);
-                        setFeatureQueried(null);
+                        queryAnswered();
                         break;
                     }
                 }
@@ -323,6 +354,56 @@ public class InsteonDevice {
         }
     }
 
+    /**
+     * Marks the pending query as answered
+     */
+    private void queryAnswered() {
+        synchronized (m_requestQueue) {
+            if (m_featureQueried != null) {
+                m_statistics.replyReceived(System.currentTimeMillis() - m_lastQueryTime);
+            }
+            m_featureQueried = null;
+        }
+    }
+
+    /**
+     * Checks if a poll of a feature is waiting in the request queue
+     * 
+     * @param f the feature to check
+     * @return true if a poll is queued for the feature
+     */
+    private boolean hasPollQueued(DeviceFeature f) {
+        synchronized (m_requestQueue) {
+            for (QEntry e : m_requestQueue) {
+                if (e.getFeature() == f && e.getMsg().getPriority() == Msg.Priority.POLL) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes the next entry off the request queue. Commands that are due
+     * are taken before polls that are due, otherwise the queue order is kept.
+     * 
+     * @param timeNow
+     * @return the entry to process
+     */
+    private QEntry takeNextEntry(long timeNow) {
+        QEntry command = null;
+        for (QEntry e : m_requestQueue) {
+            if (e.getMsg().getPriority() != Msg.Priority.POLL && e.getExpirationTime() <= timeNow
+                    && (command == null || e.compareTo(command) < 0)) {
+                command = e;
+            }
+        }
+        if (command != null && m_requestQueue.remove(command)) {
+            return command;
+        }
+        return m_requestQueue.poll();
+    }
+
     /**
      * Helper method to make standard message
      * 
@@ -453,11 +534,14 @@ public class InsteonDevice {
                     return (timeNow + 2000L); // retry soon
                 } else {
                     logger.debug("gave up waiting for query reply from device {}", m_address);
+                    m_statistics.queryTimedOut();
+                    m_featureQueried = null;
                 }
             }
-            QEntry qe = m_requestQueue.poll(); // take it off the queue!
+            QEntry qe = takeNextEntry(timeNow); // take it off the queue!
             if (!qe.getMsg().isBroadcast()) {
                 logger.debug("qe taken off direct: {} {}", qe.getFeature(), qe.getMsg());
+                m_statistics.querySent();
                 m_lastQueryTime = timeNow;
                 // mark feature as pending
                 qe.getFeature().setQueryStatus(DeviceFeature.QueryStatus.QUERY_PENDING);
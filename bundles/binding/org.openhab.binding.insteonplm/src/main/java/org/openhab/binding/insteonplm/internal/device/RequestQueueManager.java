@@ -137,8 +137,10 @@ public class RequestQueueManager {
                                 logger.debug("device queue for {} is empty!", dev.getAddress());
                             }
                         }
-                        logger.trace("waiting for request queues to fill");
-                        m_requestQueues.wait();
+                        if (m_keepRunning) {
+                            logger.trace("waiting for request queues to fill");
+                            m_requestQueues.wait();
+                        }
                     } catch (InterruptedException e) {
                         logger.error("request queue thread got interrupted, breaking..", e);
                         break;
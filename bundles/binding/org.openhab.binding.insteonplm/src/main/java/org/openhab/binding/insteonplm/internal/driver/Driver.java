@@ -84,6 +84,17 @@ public class Driver {
         }
     }
 
+    /**
+     * Add a port that has already been created, e.g. on a stream other than
+     * the ones IOStream creates from the port name
+     * 
+     * @param p the port to add
+     */
+    void addPort(Port p) {
+        p.setModemDBRetryTimeout(m_modemDBRetryTimeout);
+        m_ports.put(p.getDeviceName(), p);
+    }
+
     /**
      * Register a message listener with a port
      * 
@@ -126,6 +137,19 @@ public class Driver {
         p.writeMessage(m);
     }
 
+    /**
+     * Get the write statistics of all ports
+     * 
+     * @return map from device name of the port (e.g. /dev/ttyUSB0) to its statistics
+     */
+    public HashMap<String, PortStatistics> getPortStatistics() {
+        HashMap<String, PortStatistics> statistics = new HashMap<String, PortStatistics>();
+        for (Port p : m_ports.values()) {
+            statistics.put(p.getDeviceName(), p.getStatistics());
+        }
+        return statistics;
+    }
+
     public String getDefaultPort() {
         return (m_ports.isEmpty() ? null : m_ports.keySet().iterator().next());
     }
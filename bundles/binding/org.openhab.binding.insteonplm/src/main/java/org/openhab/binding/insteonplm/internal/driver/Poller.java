@@ -30,6 +30,8 @@ import org.slf4j.LoggerFactory;
  * puts an entry into that devices request queue. So the Poller class actually never
  * sends out messages directly. That is done by the device itself via its request
  * queue. The poller just reminds the device to poll.
+ * - While commands are waiting to be written to the modem of a device, its poll is
+ * postponed by MIN_MSEC_BETWEEN_POLLS, so that polls don't compete with commands.
  * 
  * @author Bernd Pfrommer
  * @since 1.5.0
@@ -234,6 +236,11 @@ public class Poller {
          */
         private void processQueue(long now) {
             PQEntry pqe = m_pollQueue.pollFirst();
+            if (pqe.getDevice().isPortBusy()) {
+                logger.trace("port busy with commands, postponing poll of {}", pqe);
+                addToPollQueue(pqe.getDevice(), now + MIN_MSEC_BETWEEN_POLLS);
+                return;
+            }
             pqe.getDevice().doPoll(0);
             addToPollQueue(pqe.getDevice(), now + pqe.getDevice().getPollInterval());
         }
@@ -12,7 +12,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Random;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.openhab.binding.insteonplm.internal.device.DeviceType;
 import org.openhab.binding.insteonplm.internal.device.DeviceTypeLoader;
@@ -37,7 +39,8 @@ import org.slf4j.LoggerFactory;
  * for further processing by the upper layers (MsgListeners).
  *
  * A write queue is maintained to pace the flow of outgoing messages. Sending messages back-to-back
- * can lead to dropped messages.
+ * can lead to dropped messages. Commands are written before polls waiting in the write queue,
+ * messages of the same priority in the order they were queued.
  *
  *
  * @author Bernd Pfrommer
@@ -72,7 +75,10 @@ public class Port {
     private Driver m_driver = null;
     private ModemDBBuilder m_mdbb = null;
     private ArrayList<MsgListener> m_listeners = new ArrayList<MsgListener>();
-    private LinkedBlockingQueue<Msg> m_writeQueue = new LinkedBlockingQueue<Msg>();
+    private PriorityBlockingQueue<WriteQueueEntry> m_writeQueue = new PriorityBlockingQueue<WriteQueueEntry>();
+    private AtomicLong m_writeSequence = new AtomicLong();
+    private AtomicInteger m_pendingCommands = new AtomicInteger();
+    private PortStatistics m_statistics = new PortStatistics();
 
     /**
      * Constructor
@@ -81,12 +87,23 @@ public class Port {
      * @param d The Driver object that manages this port
      */
     public Port(String devName, Driver d) {
+        this(devName, d, IOStream.s_create(devName));
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param devName the name of the port, i.e. '/dev/insteon'
+     * @param d The Driver object that manages this port
+     * @param ioStream the stream to the modem
+     */
+    Port(String devName, Driver d, IOStream ioStream) {
         m_devName = devName;
         m_driver = d;
         m_logName = devName;
         m_modem = new Modem();
         addListener(m_modem);
-        m_ioStream = IOStream.s_create(devName);
+        m_ioStream = ioStream;
         m_reader = new IOStreamReader();
         m_writer = new IOStreamWriter();
         m_mdbb = new ModemDBBuilder(this);
@@ -116,6 +133,24 @@ public class Port {
         m_mdbb.setRetryTimeout(timeout);
     }
 
+    public PortStatistics getStatistics() {
+        return m_statistics;
+    }
+
+    /**
+     * @return number of messages waiting in the write queue
+     */
+    public int getWriteQueueDepth() {
+        return m_writeQueue.size();
+    }
+
+    /**
+     * @return true if commands are waiting in the write queue
+     */
+    public boolean hasPendingCommands() {
+        return m_pendingCommands.get() > 0;
+    }
+
     public void addListener(MsgListener l) {
         synchronized (m_listeners) {
             if (!m_listeners.contains(l)) {
@@ -222,7 +257,11 @@ public class Port {
             throw new IOException("trying to write message without data!");
         }
         try {
-            m_writeQueue.add(m);
+            if (m.getPriority() != Msg.Priority.POLL) {
+                m_pendingCommands.incrementAndGet();
+            }
+            m_writeQueue.add(new WriteQueueEntry(m, m_writeSequence.incrementAndGet()));
+            m_statistics.messageQueued(m_writeQueue.size());
             logger.trace("enqueued msg: {}", m);
         } catch (IllegalStateException e) {
             logger.error("cannot write message {}, write queue is full!", m);
@@ -385,6 +424,7 @@ public class Port {
                         logger.trace("writer got ack: {}", (m_reply == ReplyType.GOT_ACK));
                     }
                 } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // let the writer exit, too
                     break; // done for the day...
                 }
             }
@@ -408,7 +448,11 @@ public class Port {
                 try {
                     // this call blocks until the lock on the queue is released
                     logger.trace("writer checking message queue");
-                    Msg msg = m_writeQueue.take();
+                    WriteQueueEntry entry = m_writeQueue.take();
+                    Msg msg = entry.getMsg();
+                    if (msg.getPriority() != Msg.Priority.POLL) {
+                        m_pendingCommands.decrementAndGet();
+                    }
                     if (msg.getData() == null) {
                         logger.error("found null message in write queue!");
                     } else {
@@ -417,15 +461,20 @@ public class Port {
                         // file definitions be available *before* the modem link records,
                         // slow down the modem traffic with the following statement:
                         // Thread.sleep(500);
+                        long writeTime = System.currentTimeMillis();
                         synchronized (m_reader.getRequestReplyLock()) {
                             m_ioStream.write(msg.getData());
                             while (m_reader.waitForReply()) {
                                 Thread.sleep(WAIT_TIME);
                                 logger.trace("retransmitting msg: {}", msg);
+                                m_statistics.messageRetransmitted();
                                 m_ioStream.write(msg.getData());
                             }
 
                         }
+                        long ackTime = System.currentTimeMillis();
+                        m_statistics.messageWritten(msg.getPriority(), writeTime - entry.getQueueTime(),
+                                ackTime - writeTime);
                         // if rate limited, need to sleep now.
                         if (msg.getQuietTime() > 0) {
                             Thread.sleep(msg.getQuietTime());
@@ -442,6 +491,36 @@ public class Port {
         }
     }
 
+    /**
+     * Write queue entry, ordered by priority first and by the order in which
+     * the messages were queued second.
+     */
+    static class WriteQueueEntry implements Comparable<WriteQueueEntry> {
+        private Msg m_msg = null;
+        private long m_sequence = 0L;
+        private long m_queueTime = 0L;
+
+        WriteQueueEntry(Msg m, long sequence) {
+            m_msg = m;
+            m_sequence = sequence;
+            m_queueTime = System.currentTimeMillis();
+        }
+
+        Msg getMsg() {
+            return m_msg;
+        }
+
+        long getQueueTime() {
+            return m_queueTime;
+        }
+
+        @Override
+        public int compareTo(WriteQueueEntry a) {
+            int c = m_msg.getPriority().compareTo(a.m_msg.getPriority());
+            return c != 0 ? c : (m_sequence < a.m_sequence ? -1 : (m_sequence == a.m_sequence ? 0 : 1));
+        }
+    }
+
     /**
      * Class to get info about the modem
      */
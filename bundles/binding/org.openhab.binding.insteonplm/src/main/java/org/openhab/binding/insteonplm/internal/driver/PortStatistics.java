@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.insteonplm.internal.driver;
+
+import org.openhab.binding.insteonplm.internal.message.Msg;
+
+/**
+ * Counters and latencies of the messages written to a modem port.
+ *
+ * - The queue time is the time a message waited in the write queue.
+ * - The ack time is the time from writing a message until the modem
+ * acknowledged it, including retransmissions.
+ *
+ * @since 1.14.0
+ */
+public class PortStatistics {
+    private long m_commands = 0;
+    private long m_polls = 0;
+    private long m_retransmissions = 0;
+    private long m_queueMillis = 0;
+    private long m_maxQueueMillis = 0;
+    private long m_ackMillis = 0;
+    private long m_maxAckMillis = 0;
+    private int m_maxQueueDepth = 0;
+
+    synchronized void messageQueued(int queueDepth) {
+        m_maxQueueDepth = Math.max(m_maxQueueDepth, queueDepth);
+    }
+
+    synchronized void messageWritten(Msg.Priority priority, long queueMillis, long ackMillis) {
+        if (priority == Msg.Priority.POLL) {
+            m_polls++;
+        } else {
+            m_commands++;
+        }
+        m_queueMillis += queueMillis;
+        m_maxQueueMillis = Math.max(m_maxQueueMillis, queueMillis);
+        m_ackMillis += ackMillis;
+        m_maxAckMillis = Math.max(m_maxAckMillis, ackMillis);
+    }
+
+    synchronized void messageRetransmitted() {
+        m_retransmissions++;
+    }
+
+    public synchronized long getCommands() {
+        return m_commands;
+    }
+
+    public synchronized long getPolls() {
+        return m_polls;
+    }
+
+    public synchronized long getRetransmissions() {
+        return m_retransmissions;
+    }
+
+    public synchronized long getAverageQueueMillis() {
+        long n = m_commands + m_polls;
+        return n == 0 ? 0 : m_queueMillis / n;
+    }
+
+    public synchronized long getMaxQueueMillis() {
+        return m_maxQueueMillis;
+    }
+
+    public synchronized long getAverageAckMillis() {
+        long n = m_commands + m_polls;
+        return n == 0 ? 0 : m_ackMillis / n;
+    }
+
+    public synchronized long getMaxAckMillis() {
+        return m_maxAckMillis;
+    }
+
+    public synchronized int getMaxQueueDepth() {
+        return m_maxQueueDepth;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "commands: %d polls: %d retransmissions: %d queue: avg %d max %d msec, depth max %d, ack: avg %d max %d msec",
+                m_commands, m_polls, m_retransmissions, getAverageQueueMillis(), m_maxQueueMillis, m_maxQueueDepth,
+                getAverageAckMillis(), m_maxAckMillis);
+    }
+}
@@ -64,6 +64,15 @@ public class Msg {
         }
     }
 
+    /**
+     * The priority with which a message is written to the modem. Commands
+     * are written before polls that are waiting in the write queue.
+     */
+    public enum Priority {
+        COMMAND,
+        POLL
+    }
+
     // has the structure of all known messages
     private static final HashMap<String, Msg> s_msgMap = new HashMap<String, Msg>();
     // maps between command number and the length of the header
@@ -76,6 +85,7 @@ public class Msg {
     private MsgDefinition m_definition = new MsgDefinition();
     private Direction m_direction = Direction.TO_MODEM;
     private long m_quietTime = 0;
+    private Priority m_priority = Priority.COMMAND;
 
     /**
      * Constructor
@@ -103,6 +113,7 @@ public class Msg {
         // the message definition usually doesn't change, but just to be sure...
         m_definition = new MsgDefinition(m.m_definition);
         m_direction = m.m_direction;
+        m_priority = m.m_priority;
     }
 
     static {
@@ -142,6 +153,10 @@ public class Msg {
         return m_quietTime;
     }
 
+    public Priority getPriority() {
+        return m_priority;
+    }
+
     public byte[] getData() {
         return m_data;
     }
@@ -247,6 +262,10 @@ public class Msg {
         m_quietTime = t;
     }
 
+    public void setPriority(Priority p) {
+        m_priority = p;
+    }
+
     public void addField(Field f) {
         if (m_definition == null) {
             return;
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.process.ProcessCommunicator;
+import tuwien.auto.calimero.process.ProcessEvent;
+
+/**
+ * @since 1.14.0
+ */
+public class KNXBindingTest {
+
+    private static final int GROUP_READ = 0x00;
+    private static final int GROUP_RESPONSE = 0x40;
+    private static final int GROUP_WRITE = 0x80;
+
+    private static ProcessEvent event(int serviceCode, byte[] asdu) {
+        ProcessCommunicator communicator = (ProcessCommunicator) Proxy.newProxyInstance(
+                ProcessCommunicator.class.getClassLoader(), new Class<?>[] { ProcessCommunicator.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return null;
+                    }
+                });
+        return new ProcessEvent(communicator, new IndividualAddress(1, 1, 1), new GroupAddress(1, 2, 3), serviceCode,
+                asdu, asdu.length == 1);
+    }
+
+    @Test
+    public void testValueTelegrams() {
+        assertTrue(KNXBinding.isValueTelegram(event(GROUP_WRITE, new byte[] { 1 })));
+        assertTrue(KNXBinding.isValueTelegram(event(GROUP_RESPONSE, new byte[] { 0, 42 })));
+    }
+
+    @Test
+    public void testReadIsNoValueTelegram() {
+        assertFalse(KNXBinding.isValueTelegram(event(GROUP_READ, new byte[0])));
+        assertFalse(KNXBinding.isValueTelegram(event(GROUP_WRITE, new byte[0])));
+    }
+
+}
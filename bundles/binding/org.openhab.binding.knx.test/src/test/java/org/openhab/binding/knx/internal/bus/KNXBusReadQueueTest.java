@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+import tuwien.auto.calimero.exception.KNXFormatException;
+
+/**
+ * @since 1.14.0
+ */
+public class KNXBusReadQueueTest {
+
+    private static Datapoint createDP(String address, String name) throws KNXFormatException {
+        return new CommandDP(new GroupAddress(address), name, 1, "1.001");
+    }
+
+    @Test
+    public void testRefreshOrder() throws Exception {
+        KNXBusReadQueue queue = new KNXBusReadQueue();
+        queue.add(createDP("1/1/1", "first"), false);
+        queue.add(createDP("1/1/2", "second"), false);
+
+        assertEquals("first", queue.poll(0).getName());
+        assertEquals("second", queue.poll(0).getName());
+        assertNull(queue.poll(0));
+    }
+
+    @Test
+    public void testReadOnceFirst() throws Exception {
+        KNXBusReadQueue queue = new KNXBusReadQueue();
+        queue.add(createDP("1/1/1", "refresh"), false);
+        queue.add(createDP("1/1/2", "once"), true);
+
+        assertEquals("once", queue.poll(0).getName());
+        assertEquals("refresh", queue.poll(0).getName());
+    }
+
+    @Test
+    public void testDuplicateAddressIsMerged() throws Exception {
+        KNXBusReadQueue queue = new KNXBusReadQueue();
+        assertTrue(queue.add(createDP("1/1/1", "first"), false));
+        assertTrue(queue.add(createDP("1/1/1", "second"), false));
+        assertTrue(queue.add(createDP("1/1/1", "third"), true));
+
+        assertEquals(1, queue.size());
+        assertEquals("first", queue.poll(0).getName());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testReadOncePromotesWaitingRefresh() throws Exception {
+        KNXBusReadQueue queue = new KNXBusReadQueue();
+        queue.add(createDP("1/1/1", "a"), false);
+        queue.add(createDP("1/1/2", "b"), false);
+        queue.add(createDP("1/1/2", "b"), true);
+
+        assertEquals("b", queue.poll(0).getName());
+        assertEquals("a", queue.poll(0).getName());
+    }
+
+    @Test
+    public void testPollWaits() throws Exception {
+        final KNXBusReadQueue queue = new KNXBusReadQueue();
+        final Datapoint datapoint = createDP("1/1/1", "late");
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.add(datapoint, false);
+            }
+        }.start();
+
+        assertSame(datapoint, queue.poll(5000));
+    }
+
+    @Test
+    public void testRateLimiter() throws Exception {
+        KNXBusRateLimiter limiter = new KNXBusRateLimiter(100);
+        long start = System.nanoTime();
+        for (int i = 0; i < 11; i++) {
+            limiter.acquire();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("10 intervals of 10ms took " + elapsed + "ms", elapsed >= 95);
+
+        limiter.setRate(0);
+        start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire();
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 95);
+    }
+
+}
@@ -57,6 +57,10 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
 
     private static final Logger logger = LoggerFactory.getLogger(KNXBinding.class);
 
+    /** APCI service codes of the group telegrams which carry a value */
+    private static final int GROUP_RESPONSE = 0x40;
+    private static final int GROUP_WRITE = 0x80;
+
     /** to keep track of all KNX type mappers */
     protected Collection<KNXTypeMapper> typeMappers = new HashSet<KNXTypeMapper>();
 
@@ -182,6 +186,10 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
     @Override
     public void groupWrite(ProcessEvent e) {
         logger.debug("Received groupWrite Event.");
+        // any telegram carrying the value answers a pending read of the group address
+        if (isValueTelegram(e)) {
+            mKNXBusReaderScheduler.readCompleted(e.getDestination());
+        }
         if (!(KNXConnection.getIgnoreLocalSourceEvents()
                 && e.getSourceAddr().toString().equalsIgnoreCase(KNXConnection.getLocalSourceAddr()))) {
             readFromKNX(e);
@@ -191,6 +199,18 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
         }
     }
 
+    /**
+     * Checks if the event is a GroupValueResponse or GroupValueWrite telegram with a value. The GroupValueRead
+     * telegrams of other devices are delivered as well, but carry no value.
+     *
+     * @param e the {@link ProcessEvent} to check.
+     * @return true if the event carries a value of its group address.
+     */
+    static boolean isValueTelegram(ProcessEvent e) {
+        int serviceCode = e.getServiceCode();
+        return (serviceCode == GROUP_RESPONSE || serviceCode == GROUP_WRITE) && e.getASDU().length > 0;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -11,36 +11,55 @@
  */
 package org.openhab.binding.knx.internal.bus;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 
 import org.openhab.binding.knx.internal.connection.KNXConnection;
 import org.openhab.binding.knx.internal.connection.KNXConnectionListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import tuwien.auto.calimero.DataUnitBuilder;
+import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.datapoint.Datapoint;
-import tuwien.auto.calimero.exception.KNXException;
-import tuwien.auto.calimero.exception.KNXFormatException;
 import tuwien.auto.calimero.exception.KNXIllegalArgumentException;
-import tuwien.auto.calimero.exception.KNXInvalidResponseException;
 import tuwien.auto.calimero.exception.KNXTimeoutException;
 import tuwien.auto.calimero.link.KNXLinkClosedException;
-import tuwien.auto.calimero.process.ProcessCommunicator;
+import tuwien.auto.calimero.link.KNXNetworkLink;
 
 /**
+ * Reads the datapoints of the {@link KNXBusReadQueue} from the KNX bus.
+ *
+ * The read requests are sent without waiting for the response, which reaches the binding like any other telegram
+ * and completes the read through {@link #readCompleted(GroupAddress)}. Up to
+ * {@link KNXConnection#getMaxInFlightReads()} reads may wait for their response at a time, and no more than
+ * {@link KNXConnection#getReadRate()} read requests are sent per second. A read that is not answered within the
+ * response timeout is retried.
+ *
  * @author vdaube
  *
  */
 public class KNXBindingDatapointReaderTask extends Thread implements KNXConnectionListener {
 
-    private final BlockingQueue<Datapoint> readQueue;
+    /** GroupValueRead service of the application layer */
+    private static final int GROUP_READ = 0x00;
+
+    /** the time in milliseconds between two checks for unanswered reads while the queue is empty */
+    private static final long IDLE_CHECK_INTERVAL = 1000;
+
+    private final KNXBusReadQueue readQueue;
+    private final KNXBusRateLimiter rateLimiter = new KNXBusRateLimiter(0);
     private final Map<Datapoint, Integer> dpReadRetries = new HashMap<Datapoint, Integer>();
+    /** the reads waiting for their response by group address, with the time the response is due */
+    private final Map<String, PendingRead> pendingReads = new LinkedHashMap<String, PendingRead>();
     private final static Logger sLogger = LoggerFactory.getLogger(KNXBindingDatapointReaderTask.class);
     private boolean mKNXConnected = true;
 
-    public KNXBindingDatapointReaderTask(BlockingQueue<Datapoint> queue) {
+    public KNXBindingDatapointReaderTask(KNXBusReadQueue queue) {
         super("KNXBinding/DatapointReaderTask");
         setDaemon(true);
         this.readQueue = queue;
@@ -57,69 +76,138 @@ public class KNXBindingDatapointReaderTask extends Thread implements KNXConnecti
         Datapoint dp = null;
         try {
             while (true) {
-                sLogger.debug("Autorefresh: Waiting for new item in reader queue");
-                dp = readQueue.take();
+                sLogger.trace("Autorefresh: Waiting for new item in reader queue");
+                dp = readQueue.poll(IDLE_CHECK_INTERVAL);
+                retryUnansweredReads();
+                if (dp == null) {
+                    continue;
+                }
                 sLogger.debug("Autorefresh: got new item {} in reader queue", dp.getName());
 
                 if (mKNXConnected) {
+                    awaitReadSlot();
+                    rateLimiter.setRate(KNXConnection.getReadRate());
+                    rateLimiter.acquire();
+
                     sLogger.debug("Autorefresh: Trying to read from KNX bus: {}", dp);
                     readFromKNXBus(dp);
-
-                    long readingPause = KNXConnection.getReadingPause();
-                    if (readingPause > 0) {
-                        try {
-                            sLogger.debug(
-                                    "Autorefresh: DatapointReaderTask Waiting {} msecs to prevent KNX bus overload",
-                                    readingPause);
-                            Thread.sleep(readingPause);
-                        } catch (InterruptedException e) {
-                            sLogger.debug("Autorefresh: DatapointReaderTask KNX reading pause has been interrupted: {}",
-                                    e.getMessage());
-                        }
-                    }
                 } else {
                     sLogger.debug("Autorefresh: Not connected. Skipping bus read.");
                 }
             }
         } catch (InterruptedException ex) {
-            sLogger.debug("Autorefresh: DatapointReaderTask wait on blockingqueue interrupted: {}", ex.getMessage());
+            sLogger.debug("Autorefresh: DatapointReaderTask wait on reader queue interrupted: {}", ex.getMessage());
         }
         sLogger.debug("Autorefresh: DatapointReaderTask interrupted.");
     }
 
+    /**
+     * Completes the pending read of a group address. Called for every telegram carrying the value of a group
+     * address, whether it answers a read request or not.
+     *
+     * @param groupAddress the group address
+     */
+    public void readCompleted(GroupAddress groupAddress) {
+        synchronized (pendingReads) {
+            PendingRead read = pendingReads.remove(groupAddress.toString());
+            if (read != null) {
+                sLogger.trace("Autorefresh: Read of '{}' completed", groupAddress);
+                dpReadRetries.remove(read.datapoint);
+                pendingReads.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return the number of reads waiting for their response
+     */
+    public int getPendingReads() {
+        synchronized (pendingReads) {
+            return pendingReads.size();
+        }
+    }
+
+    /**
+     * Waits until fewer than the permitted number of reads are waiting for their response.
+     */
+    private void awaitReadSlot() throws InterruptedException {
+        synchronized (pendingReads) {
+            while (pendingReads.size() >= KNXConnection.getMaxInFlightReads()) {
+                long now = System.currentTimeMillis();
+                long wait = pendingReads.values().iterator().next().deadline - now;
+                if (wait > 0) {
+                    pendingReads.wait(wait);
+                } else {
+                    retryUnansweredReads();
+                }
+            }
+        }
+    }
+
     private void readFromKNXBus(Datapoint datapoint) throws InterruptedException {
         try {
-            ProcessCommunicator pc = KNXConnection.getCommunicator();
-            if (pc != null) {
+            KNXNetworkLink link = KNXConnection.getNetworkLink();
+            if (link != null) {
                 sLogger.debug("Autorefresh: Sending read request to KNX for item '{}' DPT '{}'", datapoint.getName(),
                         datapoint.getDPT());
-                pc.read(datapoint);
+                synchronized (pendingReads) {
+                    // a read of an address that is still pending goes to the end, as it is due last
+                    pendingReads.remove(datapoint.getMainAddress().toString());
+                    pendingReads.put(datapoint.getMainAddress().toString(), new PendingRead(datapoint,
+                            System.currentTimeMillis() + KNXConnection.getResponseTimeout()));
+                }
+                link.sendRequestWait(datapoint.getMainAddress(), datapoint.getPriority(),
+                        DataUnitBuilder.createLengthOptimizedAPDU(GROUP_READ, null));
             } else {
                 sLogger.debug(
                         "Autorefresh: Couldn't sent read request to KNX for item '{}'. Connection to KNX bus not (yet) established.",
                         datapoint.getName());
             }
-        } catch (KNXFormatException e) {
-            sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: {}: invalid format",
-                    datapoint.getName(), e.getMessage());
-        } catch (KNXInvalidResponseException e) {
-            sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: {}: invalid response",
-                    datapoint.getName(), e.getMessage());
         } catch (KNXTimeoutException e) {
             sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: {}: timeout", datapoint.getName(),
                     e.getMessage());
+            removePendingRead(datapoint);
             addToReadQueue(datapoint);
         } catch (KNXLinkClosedException e) {
             sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: {}: link closed",
                     datapoint.getName(), e.getMessage());
-        } catch (KNXException e) {
-            sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: {}", datapoint.getName(),
-                    e.getMessage());
+            removePendingRead(datapoint);
         } catch (KNXIllegalArgumentException e) {
             sLogger.warn("Autorefresh: Error sending KNX read request for '{}': {}", datapoint.getName(),
                     e.getMessage());
+            removePendingRead(datapoint);
         }
+    }
 
+    private void removePendingRead(Datapoint datapoint) {
+        synchronized (pendingReads) {
+            pendingReads.remove(datapoint.getMainAddress().toString());
+            pendingReads.notifyAll();
+        }
+    }
+
+    /**
+     * Re-queues the reads that have not been answered within the response timeout.
+     */
+    private void retryUnansweredReads() throws InterruptedException {
+        List<Datapoint> unanswered = new ArrayList<Datapoint>();
+        synchronized (pendingReads) {
+            long now = System.currentTimeMillis();
+            for (Iterator<PendingRead> iterator = pendingReads.values().iterator(); iterator.hasNext();) {
+                PendingRead read = iterator.next();
+                if (read.deadline > now) {
+                    // the reads are kept in the order they were sent, so all further reads are due later
+                    break;
+                }
+                iterator.remove();
+                unanswered.add(read.datapoint);
+            }
+        }
+        for (Datapoint datapoint : unanswered) {
+            sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: no response",
+                    datapoint.getName());
+            addToReadQueue(datapoint);
+        }
     }
 
     /**
@@ -130,16 +218,18 @@ public class KNXBindingDatapointReaderTask extends Thread implements KNXConnecti
      * @param datapoint
      */
     private void addToReadQueue(Datapoint datapoint) throws InterruptedException {
-        Integer r = dpReadRetries.remove(datapoint);
-        int retries = (r != null ? r : KNXConnection.getReadRetriesLimit()) - 1;
-        if (retries >= 0) {
-            sLogger.warn("Autorefresh: Remaining retries for address '{}' = '{}'",
-                    datapoint.getMainAddress().toString(), retries);
-            readQueue.put(datapoint);
-            dpReadRetries.put(datapoint, retries);
-        } else if (retries == -1) {
-            sLogger.warn("Autorefresh: Give up, could not read address '{}' after '{}' retries.",
-                    datapoint.getMainAddress().toString(), KNXConnection.getReadRetriesLimit());
+        synchronized (pendingReads) {
+            Integer r = dpReadRetries.remove(datapoint);
+            int retries = (r != null ? r : KNXConnection.getReadRetriesLimit()) - 1;
+            if (retries >= 0) {
+                sLogger.warn("Autorefresh: Remaining retries for address '{}' = '{}'",
+                        datapoint.getMainAddress().toString(), retries);
+                readQueue.add(datapoint, false);
+                dpReadRetries.put(datapoint, retries);
+            } else if (retries == -1) {
+                sLogger.warn("Autorefresh: Give up, could not read address '{}' after '{}' retries.",
+                        datapoint.getMainAddress().toString(), KNXConnection.getReadRetriesLimit());
+            }
         }
     }
 
@@ -162,6 +252,20 @@ public class KNXBindingDatapointReaderTask extends Thread implements KNXConnecti
     public synchronized void connectionLost() {
         mKNXConnected = false;
         readQueue.clear();
+        synchronized (pendingReads) {
+            pendingReads.clear();
+            dpReadRetries.clear();
+            pendingReads.notifyAll();
+        }
     }
 
+    private static class PendingRead {
+        final Datapoint datapoint;
+        final long deadline;
+
+        PendingRead(Datapoint datapoint, long deadline) {
+            this.datapoint = datapoint;
+            this.deadline = deadline;
+        }
+    }
 }
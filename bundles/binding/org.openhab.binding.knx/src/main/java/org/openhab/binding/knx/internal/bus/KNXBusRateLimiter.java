@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces telegrams evenly so that no more than a given number of telegrams per second are sent to the KNX bus.
+ *
+ * @since 1.14.0
+ */
+public class KNXBusRateLimiter {
+
+    private long mIntervalNanos;
+    private long mNextSlot = System.nanoTime();
+
+    /**
+     * @param telegramsPerSecond the maximum rate, or 0 for no limit
+     */
+    public KNXBusRateLimiter(double telegramsPerSecond) {
+        setRate(telegramsPerSecond);
+    }
+
+    /**
+     * Sets the maximum rate.
+     *
+     * @param telegramsPerSecond the maximum rate, or 0 for no limit
+     */
+    public synchronized void setRate(double telegramsPerSecond) {
+        mIntervalNanos = telegramsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / telegramsPerSecond) : 0;
+    }
+
+    /**
+     * Waits until the next telegram may be sent.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized void acquire() throws InterruptedException {
+        long now = System.nanoTime();
+        if (mNextSlot - now > 0) {
+            TimeUnit.NANOSECONDS.sleep(mNextSlot - now);
+            now = mNextSlot;
+        }
+        mNextSlot = now + mIntervalNanos;
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openhab.binding.knx.internal.connection.KNXConnection;
+
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * The queue of datapoints waiting to be read from the KNX bus.
+ *
+ * The queue holds each group address at most once: a read of an address that is already waiting is dropped, as both
+ * reads would fetch the same value. One-time reads are taken before periodic refreshes, and a one-time read of an
+ * address that is already waiting for a refresh moves the waiting read ahead.
+ *
+ * @since 1.14.0
+ */
+public class KNXBusReadQueue {
+
+    private final Map<String, Datapoint> mReadOnceReads = new LinkedHashMap<String, Datapoint>();
+    private final Map<String, Datapoint> mRefreshReads = new LinkedHashMap<String, Datapoint>();
+
+    /**
+     * Queues a read of a datapoint.
+     *
+     * @param datapoint the datapoint to read
+     * @param readOnce true for a one-time read, which is taken before the periodic refreshes
+     * @return true if the datapoint is waiting to be read, false if the queue holds the maximum number of entries
+     */
+    public synchronized boolean add(Datapoint datapoint, boolean readOnce) {
+        String address = datapoint.getMainAddress().toString();
+        if (mReadOnceReads.containsKey(address)) {
+            return true;
+        }
+        if (mRefreshReads.containsKey(address)) {
+            if (readOnce) {
+                mReadOnceReads.put(address, mRefreshReads.remove(address));
+            }
+            return true;
+        }
+        if (size() >= KNXConnection.getMaxRefreshQueueEntries()) {
+            return false;
+        }
+
+        if (readOnce) {
+            mReadOnceReads.put(address, datapoint);
+        } else {
+            mRefreshReads.put(address, datapoint);
+        }
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Takes the next datapoint to read, waiting until there is one or the timeout has passed.
+     *
+     * @param timeout the time to wait in milliseconds
+     * @return the datapoint, or null if the queue is still empty after the timeout
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized Datapoint poll(long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            wait(remaining);
+        }
+        Iterator<Datapoint> iterator = (mReadOnceReads.isEmpty() ? mRefreshReads : mReadOnceReads).values()
+                .iterator();
+        Datapoint datapoint = iterator.next();
+        iterator.remove();
+        return datapoint;
+    }
+
+    /**
+     * @return the number of waiting reads
+     */
+    public synchronized int size() {
+        return mReadOnceReads.size() + mRefreshReads.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return mReadOnceReads.isEmpty() && mRefreshReads.isEmpty();
+    }
+
+    /**
+     * Drops all waiting reads.
+     */
+    public synchronized void clear() {
+        mReadOnceReads.clear();
+        mRefreshReads.clear();
+    }
+}
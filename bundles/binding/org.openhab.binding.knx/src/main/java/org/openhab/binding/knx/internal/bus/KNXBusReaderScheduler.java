@@ -12,10 +12,8 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -23,6 +21,7 @@ import org.openhab.binding.knx.internal.connection.KNXConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
@@ -35,7 +34,7 @@ import tuwien.auto.calimero.datapoint.Datapoint;
 public class KNXBusReaderScheduler {
     private static final Logger sLogger = LoggerFactory.getLogger(KNXBusReaderScheduler.class);
 
-    private final BlockingQueue<Datapoint> mReadQueue = new LinkedBlockingQueue<Datapoint>();
+    private final KNXBusReadQueue mReadQueue = new KNXBusReadQueue();
 
     private static Map<Integer, List<Datapoint>> mScheduleMap = new ConcurrentHashMap<Integer, List<Datapoint>>();
     private ScheduledExecutorService mScheduledExecutorService;
@@ -91,6 +90,18 @@ public class KNXBusReaderScheduler {
         return mIsRunning;
     }
 
+    /**
+     * Completes a pending read of a group address, so that the next read can be sent to the bus.
+     *
+     * @param groupAddress the group address whose value has been received
+     */
+    public void readCompleted(GroupAddress groupAddress) {
+        KNXBindingDatapointReaderTask readerTask = mDatapointReaderTask;
+        if (readerTask != null) {
+            readerTask.readCompleted(groupAddress);
+        }
+    }
+
     /**
      * Clears all datapoints from the scheduler
      */
@@ -130,10 +141,12 @@ public class KNXBusReaderScheduler {
     }
 
     /**
-     * Schedules immediate and one-time reading of a <code>Datapoint</code>.
+     * Schedules immediate and one-time reading of a <code>Datapoint</code>. One-time reads are sent to the bus
+     * before cyclic reads, and a read of a group address that is already waiting to be read is merged with the
+     * waiting read.
      * 
      * @param datapoint the <code>Datapoint</code> to read
-     * @return false if the datapoint is null.
+     * @return false if the datapoint is null or the reading queue is full.
      */
     public synchronized boolean readOnce(Datapoint datapoint) {
         if (datapoint == null) {
@@ -141,14 +154,14 @@ public class KNXBusReaderScheduler {
             return false;
         }
 
-        if (mReadQueue.size() > KNXConnection.getMaxRefreshQueueEntries()) {
+        if (!mReadQueue.add(datapoint, true)) {
             sLogger.error("Maximum number of permissible reading queue entries reached ('{}'). Ignoring new entries.",
                     KNXConnection.getMaxRefreshQueueEntries());
             return false;
         }
 
         sLogger.debug("Datapoint '{}':  one time reading scheduled.", datapoint.getName());
-        return mReadQueue.add(datapoint);
+        return true;
     }
 
     /**
@@ -180,7 +193,7 @@ public class KNXBusReaderScheduler {
             return readOnce(datapoint);
         }
 
-        if (mReadQueue.size() > KNXConnection.getMaxRefreshQueueEntries()) {
+        if (mReadQueue.size() >= KNXConnection.getMaxRefreshQueueEntries()) {
             sLogger.error("Maximum number of permissible reading queue entries reached ('{}'). Ignoring new entries.",
                     KNXConnection.getMaxRefreshQueueEntries());
             return false;
@@ -293,7 +306,14 @@ public class KNXBusReaderScheduler {
                     sLogger.debug("Autorefresh: Adding {} item(s) with refresh time {} to reader queue.", dpList.size(),
                             autoRefreshTimeInSecs);
                     synchronized (dpList) {
-                        mReadQueue.addAll(dpList);
+                        for (Datapoint datapoint : dpList) {
+                            if (!mReadQueue.add(datapoint, false)) {
+                                sLogger.warn(
+                                        "Autorefresh: Maximum number of permissible reading queue entries reached ('{}'). Ignoring new entries.",
+                                        KNXConnection.getMaxRefreshQueueEntries());
+                                break;
+                            }
+                        }
                     }
                 }
             }
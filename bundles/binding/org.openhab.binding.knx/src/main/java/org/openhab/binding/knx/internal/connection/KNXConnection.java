@@ -93,6 +93,18 @@ public class KNXConnection implements ManagedService {
      */
     private static long sReadingPause = 50;
 
+    /**
+     * maximum number of read requests per second sent to the bus by the auto refresh feature. Default value is
+     * <code>0</code>, which derives the rate from the reading pause.
+     */
+    private static double sReadRate = 0;
+
+    /**
+     * maximum number of read requests sent to the bus that are waiting for their response. Default value is
+     * <code>3</code>
+     */
+    private static int sMaxInFlightReads = 3;
+
     /** timeout in milliseconds to wait for a response from the KNX bus. Default value is <code>10000</code> */
     private static long sResponseTimeout = 10000;
 
@@ -141,6 +153,19 @@ public class KNXConnection implements ManagedService {
         return sPC;
     }
 
+    /**
+     * Returns the KNXNetworkLink for sending telegrams to the KNX bus without waiting for a response.
+     * The link can be null, if it has not (yet) been established successfully.
+     * 
+     * @return the KNX network link
+     */
+    public static synchronized KNXNetworkLink getNetworkLink() {
+        if (sLink != null && !sLink.isOpen()) {
+            connect();
+        }
+        return sPC != null ? sLink : null;
+    }
+
     public void setProcessListener(ProcessListener listener) {
         if (sPC != null) {
             sPC.removeProcessListener(KNXConnection.sProcessCommunicationListener);
@@ -372,6 +397,34 @@ public class KNXConnection implements ManagedService {
                 sReadingPause = Long.parseLong(readingPauseString);
             }
 
+            String readRateString = (String) config.get("readRate");
+            if (StringUtils.isNotBlank(readRateString)) {
+                try {
+                    double readRate = Double.parseDouble(readRateString);
+                    if (readRate >= 0) {
+                        sReadRate = readRate;
+                    }
+                } catch (NumberFormatException e) {
+                    sLogger.warn(
+                            "Error when trying to read parameter 'readRate' from configuration. '{}' is not a number: using default.",
+                            readRateString);
+                }
+            }
+
+            String maxInFlightReadsString = (String) config.get("maxInFlightReads");
+            if (StringUtils.isNotBlank(maxInFlightReadsString)) {
+                try {
+                    int maxInFlightReadsValue = Integer.parseInt(maxInFlightReadsString);
+                    if (maxInFlightReadsValue > 0) {
+                        sMaxInFlightReads = maxInFlightReadsValue;
+                    }
+                } catch (NumberFormatException e) {
+                    sLogger.warn(
+                            "Error when trying to read parameter 'maxInFlightReads' from configuration. '{}' is not a number: using default.",
+                            maxInFlightReadsString);
+                }
+            }
+
             String responseTimeoutString = (String) config.get("timeout");
             if (StringUtils.isNotBlank(responseTimeoutString)) {
                 long timeout = Long.parseLong(responseTimeoutString);
@@ -475,6 +528,33 @@ public class KNXConnection implements ManagedService {
         return sReadingPause;
     }
 
+    /**
+     * Returns the maximum number of read requests per second. If no rate is configured, the rate follows from the
+     * reading pause.
+     *
+     * @return the read requests per second, or 0 for no limit
+     */
+    public static double getReadRate() {
+        if (sReadRate > 0) {
+            return sReadRate;
+        }
+        return sReadingPause > 0 ? 1000.0 / sReadingPause : 0;
+    }
+
+    /**
+     * @return the sMaxInFlightReads
+     */
+    public static int getMaxInFlightReads() {
+        return sMaxInFlightReads;
+    }
+
+    /**
+     * @return the sResponseTimeout
+     */
+    public static long getResponseTimeout() {
+        return sResponseTimeout;
+    }
+
     public static int getReadRetriesLimit() {
         return sReadRetriesLimit;
     }
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.modbus.ModbusBindingProvider;
+import org.openhab.binding.modbus.internal.pooling.ModbusSlaveEndpoint;
+import org.openhab.binding.modbus.internal.pooling.ModbusTCPSlaveEndpoint;
+import org.openhab.core.library.types.DecimalType;
+
+import net.wimpi.modbus.Modbus;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Tests that slaves behind different endpoints are polled in parallel
+ *
+ * @since 1.14.0
+ */
+public class ParallelEndpointPollingTestCase extends TestCaseSupport {
+
+    /**
+     * Gateway accepting connections but never answering, so that every read times out
+     */
+    private ServerSocket silentGateway;
+    private List<Socket> silentConnections = new ArrayList<>();
+
+    @Override
+    @After
+    public void tearDown() {
+        closeSilentGateway();
+        super.tearDown();
+    }
+
+    private void startSilentGateway() throws IOException {
+        silentGateway = new ServerSocket(0, 50, localAddress());
+        Thread acceptor = new Thread("ModbusBindingTestsSilentGateway") {
+            @Override
+            public void run() {
+                try {
+                    while (true) {
+                        Socket socket = silentGateway.accept();
+                        synchronized (silentConnections) {
+                            silentConnections.add(socket);
+                        }
+                    }
+                } catch (IOException e) {
+                    // gateway closed
+                }
+            }
+        };
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    private void closeSilentGateway() {
+        try {
+            if (silentGateway != null) {
+                silentGateway.close();
+            }
+            synchronized (silentConnections) {
+                for (Socket socket : silentConnections) {
+                    socket.close();
+                }
+                silentConnections.clear();
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    @Test
+    public void testTimingOutEndpointDoesNotDelayOtherEndpoints() throws Exception {
+        spi.addRegister(new SimpleRegister(42));
+        startSilentGateway();
+
+        binding = new ModbusBinding();
+        Dictionary<String, Object> config = addSlave(newLongPollBindingConfig(), SLAVE_NAME,
+                ModbusBindingProvider.TYPE_HOLDING, null, 0, 1);
+        addSlave(config, ServerType.TCP,
+                String.format("%s:%d", localAddress().getHostAddress(), silentGateway.getLocalPort()), SLAVE2_NAME,
+                ModbusBindingProvider.TYPE_HOLDING, null, SLAVE_UNIT_ID, 0, 1);
+        binding.updated(config);
+        configureNumberItemBinding(1, SLAVE_NAME, 0);
+        configureNumberItemBinding(1, SLAVE2_NAME, 0, "Slow", null);
+
+        Thread poller = new Thread(() -> binding.execute());
+        poller.start();
+
+        // the responsive slave is updated while the read from the silent gateway is still waiting for its timeout
+        verify(eventPublisher, timeout(Modbus.DEFAULT_TIMEOUT / 2)).postUpdate("Item1", new DecimalType(42));
+        assertTrue(poller.isAlive());
+
+        closeSilentGateway();
+        poller.join(60000);
+        assertFalse(poller.isAlive());
+
+        Map<ModbusSlaveEndpoint, EndpointPollStatistics> statistics = binding.getEndpointPollStatistics();
+        assertEquals(2, statistics.size());
+        EndpointPollStatistics responsive = statistics
+                .get(new ModbusTCPSlaveEndpoint(localAddress().getHostAddress(), tcpModbusPort));
+        EndpointPollStatistics silent = statistics
+                .get(new ModbusTCPSlaveEndpoint(localAddress().getHostAddress(), silentGateway.getLocalPort()));
+        assertEquals(1, responsive.getCycles());
+        assertEquals(1, silent.getCycles());
+        assertTrue(responsive.getMaxCycleMillis() < silent.getMaxCycleMillis());
+    }
+
+    @Test
+    public void testSlavesOfEndpointArePolledInOneCycle() throws Exception {
+        spi.addRegister(new SimpleRegister(7));
+        spi.addRegister(new SimpleRegister(0));
+        spi.addRegister(new SimpleRegister(8));
+
+        binding = new ModbusBinding();
+        binding.updated(addSlave(
+                addSlave(newLongPollBindingConfig(), SLAVE_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 0, 1),
+                SLAVE2_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 2, 1));
+        configureNumberItemBinding(1, SLAVE_NAME, 0);
+        configureNumberItemBinding(1, SLAVE2_NAME, 0, "Second", null);
+        binding.execute();
+
+        waitForRequests(2);
+        verify(eventPublisher).postUpdate("Item1", new DecimalType(7));
+        verify(eventPublisher).postUpdate("SecondItem1", new DecimalType(8));
+
+        Map<ModbusSlaveEndpoint, EndpointPollStatistics> statistics = binding.getEndpointPollStatistics();
+        assertEquals(1, statistics.size());
+        EndpointPollStatistics endpointStatistics = statistics.values().iterator().next();
+        assertEquals(1, endpointStatistics.getCycles());
+        assertEquals(endpointStatistics.getLastCycleMillis(), endpointStatistics.getMaxCycleMillis());
+    }
+}
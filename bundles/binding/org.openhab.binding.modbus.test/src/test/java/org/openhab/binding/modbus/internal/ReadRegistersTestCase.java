@@ -583,10 +583,9 @@ public class ReadRegistersTestCase extends TestCaseSupport {
         binding.execute();
 
         // Give the system some time to make the expected connections & requests
-        // We expect as many requests and connections as there are slaves conifigured for the binding.
-        // Note: same registers are read many times, there is currently no optimization implemented for this use case
-        waitForConnectionsReceived(3);
-        waitForRequests(3);
+        // All slaves read the same registers of the same endpoint, the reads are merged into a single request
+        waitForConnectionsReceived(1);
+        waitForRequests(1);
 
         verify(eventPublisher, never()).postCommand(null, null);
         verify(eventPublisher, never()).sendCommand(null, null);
@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Dictionary;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.openhab.binding.modbus.ModbusBindingProvider;
+import org.openhab.binding.modbus.internal.ModbusReadRequestOptimizer.MergedRead;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ReadCoilsRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.procimg.SimpleDigitalOut;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Tests merging the read requests of slaves sharing an endpoint
+ *
+ * @since 1.14.0
+ */
+public class ReadRequestMergingTestCase extends TestCaseSupport {
+
+    private static ModbusSlave slave(String name, int id, String type, int start, int length) {
+        ModbusSlave slave = new ModbusTcpSlave(name, null);
+        slave.setId(id);
+        slave.setType(type);
+        slave.setStart(start);
+        slave.setLength(length);
+        return slave;
+    }
+
+    private void addRegisters(int... values) {
+        for (int value : values) {
+            spi.addRegister(new SimpleRegister(value));
+        }
+    }
+
+    /**
+     * Word counts of the distinct read requests received by the server. The binding polls once on its own when
+     * configured, concurrently to the explicit execute() of the tests, so the same request may be seen twice.
+     */
+    private List<Integer> requestedWordCounts() {
+        Set<Integer> wordCounts = new LinkedHashSet<>();
+        synchronized (modbustRequestCaptor.getAllReturnValues()) {
+            for (ModbusRequest request : modbustRequestCaptor.getAllReturnValues()) {
+                wordCounts.add(((ReadMultipleRegistersRequest) request).getWordCount());
+            }
+        }
+        return new ArrayList<>(wordCounts);
+    }
+
+    @Test
+    public void testPlanMergesOverlappingAndAdjacentRanges() {
+        ModbusSlave first = slave("first", 1, ModbusBindingProvider.TYPE_HOLDING, 0, 4);
+        ModbusSlave overlapping = slave("overlapping", 1, ModbusBindingProvider.TYPE_HOLDING, 2, 4);
+        ModbusSlave adjacent = slave("adjacent", 1, ModbusBindingProvider.TYPE_HOLDING, 6, 2);
+        ModbusSlave apart = slave("apart", 1, ModbusBindingProvider.TYPE_HOLDING, 10, 2);
+
+        List<MergedRead> reads = new ModbusReadRequestOptimizer(0)
+                .merge(Arrays.asList(apart, adjacent, first, overlapping));
+        assertEquals(2, reads.size());
+        assertEquals(Arrays.asList(first, overlapping, adjacent), reads.get(0).getSlaves());
+        assertEquals(0, reads.get(0).getStart());
+        assertEquals(8, reads.get(0).getLength());
+        assertEquals(Arrays.asList(apart), reads.get(1).getSlaves());
+
+        // with gap tolerance the two blocks are read at once
+        reads = new ModbusReadRequestOptimizer(2).merge(Arrays.asList(apart, adjacent, first, overlapping));
+        assertEquals(1, reads.size());
+        assertEquals(12, reads.get(0).getLength());
+    }
+
+    @Test
+    public void testPlanKeepsUnitsTypesAndLimitsApart() {
+        ModbusSlave holding = slave("holding", 1, ModbusBindingProvider.TYPE_HOLDING, 0, 100);
+        ModbusSlave holdingOtherUnit = slave("otherUnit", 2, ModbusBindingProvider.TYPE_HOLDING, 100, 10);
+        ModbusSlave input = slave("input", 1, ModbusBindingProvider.TYPE_INPUT, 100, 10);
+        ModbusSlave holdingBeyondLimit = slave("beyondLimit", 1, ModbusBindingProvider.TYPE_HOLDING, 100, 26);
+        ModbusSlave coils = slave("coils", 1, ModbusBindingProvider.TYPE_COIL, 0, 1000);
+        ModbusSlave moreCoils = slave("moreCoils", 1, ModbusBindingProvider.TYPE_COIL, 1000, 1000);
+
+        List<MergedRead> reads = new ModbusReadRequestOptimizer(0)
+                .merge(Arrays.asList(holding, holdingOtherUnit, input, holdingBeyondLimit, coils, moreCoils));
+        assertEquals(5, reads.size());
+        for (MergedRead read : reads) {
+            if (read.getSlaves().contains(coils)) {
+                assertEquals(Arrays.asList(coils, moreCoils), read.getSlaves());
+                assertEquals(ModbusReadRequestOptimizer.MAX_BITS, read.getLength());
+            } else {
+                assertEquals(1, read.getSlaves().size());
+            }
+        }
+
+        assertEquals(6, new ModbusReadRequestOptimizer(-1).merge(Arrays.asList(holding, holdingOtherUnit, input,
+                holdingBeyondLimit, coils, moreCoils)).size());
+    }
+
+    @Test
+    public void testAdjacentRegisterSlavesReadOnce() throws Exception {
+        addRegisters(10, 11, 12, 13);
+
+        binding = new ModbusBinding();
+        binding.updated(addSlave(
+                addSlave(newLongPollBindingConfig(), SLAVE_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 0, 2),
+                SLAVE2_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 2, 2));
+        configureNumberItemBinding(2, SLAVE_NAME, 0);
+        configureNumberItemBinding(2, SLAVE2_NAME, 0, "Second", null);
+        binding.execute();
+
+        verify(eventPublisher, timeout(MAX_WAIT_REQUESTS_MILLIS)).postUpdate("SecondItem2", new DecimalType(13));
+        assertEquals(Arrays.asList(4), requestedWordCounts());
+        verify(eventPublisher).postUpdate("Item1", new DecimalType(10));
+        verify(eventPublisher).postUpdate("Item2", new DecimalType(11));
+        verify(eventPublisher).postUpdate("SecondItem1", new DecimalType(12));
+        verify(eventPublisher).postUpdate("SecondItem2", new DecimalType(13));
+    }
+
+    @Test
+    public void testCoilSlavesReadOnce() throws Exception {
+        spi.addDigitalOut(new SimpleDigitalOut(true));
+        spi.addDigitalOut(new SimpleDigitalOut(false));
+        spi.addDigitalOut(new SimpleDigitalOut(false));
+        spi.addDigitalOut(new SimpleDigitalOut(true));
+
+        binding = new ModbusBinding();
+        binding.updated(
+                addSlave(addSlave(newLongPollBindingConfig(), SLAVE_NAME, ModbusBindingProvider.TYPE_COIL, null, 0, 3),
+                        SLAVE2_NAME, ModbusBindingProvider.TYPE_COIL, null, 1, 3));
+        configureSwitchItemBinding(3, SLAVE_NAME, 0);
+        configureSwitchItemBinding(3, SLAVE2_NAME, 0, "Second", null);
+        binding.execute();
+
+        verify(eventPublisher, timeout(MAX_WAIT_REQUESTS_MILLIS)).postUpdate("SecondItem3", OnOffType.ON);
+        verifyBitItems("100");
+        verifyBitItems("001", 0, "Second");
+        for (ModbusRequest request : modbustRequestCaptor.getAllReturnValues()) {
+            assertEquals(4, ((ReadCoilsRequest) request).getBitCount());
+        }
+    }
+
+    @Test
+    public void testGapTolerance() throws Exception {
+        addRegisters(10, 11, 12, 13);
+
+        binding = new ModbusBinding();
+        Dictionary<String, Object> config = addSlave(
+                addSlave(newLongPollBindingConfig(), SLAVE_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 0, 1),
+                SLAVE2_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 3, 1);
+        config.put("readmergegap", "2");
+        binding.updated(config);
+        configureNumberItemBinding(1, SLAVE_NAME, 0);
+        configureNumberItemBinding(1, SLAVE2_NAME, 0, "Second", null);
+        binding.execute();
+
+        verify(eventPublisher, timeout(MAX_WAIT_REQUESTS_MILLIS)).postUpdate("Item1", new DecimalType(10));
+        verify(eventPublisher, timeout(MAX_WAIT_REQUESTS_MILLIS)).postUpdate("SecondItem1", new DecimalType(13));
+        assertEquals(Arrays.asList(4), requestedWordCounts());
+    }
+
+    @Test
+    public void testMergingDisabled() throws Exception {
+        addRegisters(10, 11, 12, 13);
+
+        binding = new ModbusBinding();
+        Dictionary<String, Object> config = addSlave(
+                addSlave(newLongPollBindingConfig(), SLAVE_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 0, 2),
+                SLAVE2_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 2, 2);
+        config.put("readmergegap", "-1");
+        binding.updated(config);
+        configureNumberItemBinding(2, SLAVE_NAME, 0);
+        configureNumberItemBinding(2, SLAVE2_NAME, 0, "Second", null);
+        binding.execute();
+
+        verify(eventPublisher, timeout(MAX_WAIT_REQUESTS_MILLIS)).postUpdate("Item1", new DecimalType(10));
+        verify(eventPublisher, timeout(MAX_WAIT_REQUESTS_MILLIS)).postUpdate("SecondItem2", new DecimalType(13));
+        assertEquals(Arrays.asList(2), requestedWordCounts());
+    }
+
+    @Test
+    public void testRejectedMergedReadFallsBackToSeparateReads() throws Exception {
+        addRegisters(10, 11);
+
+        binding = new ModbusBinding();
+        Dictionary<String, Object> config = addSlave(
+                addSlave(newLongPollBindingConfig(), SLAVE_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 0, 2),
+                SLAVE2_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 5, 1);
+        config.put("readmergegap", "10");
+        binding.updated(config);
+        configureNumberItemBinding(2, SLAVE_NAME, 0);
+        configureNumberItemBinding(1, SLAVE2_NAME, 0, "Second", null);
+        binding.execute();
+
+        // merged read of 6 registers is rejected (illegal data address), then both slaves are read separately
+        verify(eventPublisher, timeout(MAX_WAIT_REQUESTS_MILLIS)).postUpdate("Item1", new DecimalType(10));
+        verify(eventPublisher, timeout(MAX_WAIT_REQUESTS_MILLIS)).postUpdate("Item2", new DecimalType(11));
+        assertEquals(Arrays.asList(6, 2, 1), requestedWordCounts());
+        verify(eventPublisher, never()).postUpdate(eq("SecondItem1"), any(DecimalType.class));
+    }
+}
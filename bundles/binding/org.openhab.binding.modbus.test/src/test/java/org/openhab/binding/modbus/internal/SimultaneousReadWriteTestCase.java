@@ -9,6 +9,7 @@
 package org.openhab.binding.modbus.internal;
 
 import java.util.ArrayList;
+import java.util.Dictionary;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -124,8 +125,12 @@ public class SimultaneousReadWriteTestCase extends TestCaseSupport {
     @Test
     public void testSimultaneousReadWrite() throws Exception {
         binding = new ModbusBinding();
-        binding.updated(addSlave(addSlave(newLongPollBindingConfig(), SLAVE_NAME, type, null, 0, READ_COUNT),
-                SLAVE2_NAME, type, null, 0, READ_COUNT));
+        Dictionary<String, Object> config = addSlave(
+                addSlave(newLongPollBindingConfig(), SLAVE_NAME, type, null, 0, READ_COUNT), SLAVE2_NAME, type, null,
+                0, READ_COUNT);
+        // read both slaves with their own requests, even though they read the same registers
+        config.put("readmergegap", "-1");
+        binding.updated(config);
         configureItems(SLAVE_NAME);
         configureItems(SLAVE2_NAME);
 
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.mockito.Mockito.*;
+
+import org.junit.Test;
+import org.openhab.binding.modbus.ModbusBindingProvider;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Tests updating the items of a slave through the index of read connections, and skipping unchanged data
+ *
+ * @since 1.14.0
+ */
+public class UnchangedDataTestCase extends TestCaseSupport {
+
+    @Test
+    public void testUnchangedRegistersAreOnlyPostedToAlwaysTriggeredItems() throws Exception {
+        SimpleRegister first = new SimpleRegister(5);
+        spi.addRegister(first);
+        spi.addRegister(new SimpleRegister(7));
+
+        binding = new ModbusBinding();
+        binding.updated(addSlave(newLongPollBindingConfig(), SLAVE_NAME, ModbusBindingProvider.TYPE_HOLDING, null, 0,
+                2));
+        ModbusGenericBindingProvider provider = new ModbusGenericBindingProvider();
+        binding.setEventPublisher(eventPublisher);
+        binding.addBindingProvider(provider);
+        provider.processBindingConfiguration("test.items", new NumberItem("ItemDefault"),
+                String.format("<[%s:0]", SLAVE_NAME));
+        provider.processBindingConfiguration("test.items", new NumberItem("ItemAlways"),
+                String.format("<[%s:1:trigger=*]", SLAVE_NAME));
+
+        binding.execute();
+        binding.execute();
+        binding.execute();
+
+        verify(eventPublisher).postUpdate("ItemDefault", new DecimalType(5));
+        verify(eventPublisher, atLeast(3)).postUpdate("ItemAlways", new DecimalType(7));
+
+        first.setValue(6);
+        binding.execute();
+        verify(eventPublisher).postUpdate("ItemDefault", new DecimalType(6));
+
+        // items bound after polling started are updated even though the data is unchanged
+        provider.processBindingConfiguration("test.items", new NumberItem("ItemLate"),
+                String.format("<[%s:0]", SLAVE_NAME));
+        binding.execute();
+        verify(eventPublisher).postUpdate("ItemLate", new DecimalType(6));
+
+        // no updates once the provider is gone
+        binding.removeBindingProvider(provider);
+        reset(eventPublisher);
+        first.setValue(8);
+        binding.execute();
+        verifyNoMoreInteractions(eventPublisher);
+    }
+}
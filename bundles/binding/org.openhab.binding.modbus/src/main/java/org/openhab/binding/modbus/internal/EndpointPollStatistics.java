@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+/**
+ * Cycle time metrics of polling the slaves of one endpoint. A cycle covers reading all slaves sharing the endpoint
+ * during one poll of the binding.
+ *
+ * @since 1.14.0
+ */
+public class EndpointPollStatistics {
+
+    private long cycles;
+    private long totalCycleMillis;
+    private long lastCycleMillis;
+    private long maxCycleMillis;
+
+    synchronized void cycleCompleted(long cycleMillis) {
+        cycles++;
+        totalCycleMillis += cycleMillis;
+        lastCycleMillis = cycleMillis;
+        maxCycleMillis = Math.max(maxCycleMillis, cycleMillis);
+    }
+
+    /**
+     * @return the number of completed poll cycles
+     */
+    public synchronized long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return the duration of the latest poll cycle in milliseconds
+     */
+    public synchronized long getLastCycleMillis() {
+        return lastCycleMillis;
+    }
+
+    /**
+     * @return the longest poll cycle in milliseconds
+     */
+    public synchronized long getMaxCycleMillis() {
+        return maxCycleMillis;
+    }
+
+    /**
+     * @return the mean poll cycle duration in milliseconds, or 0 if no cycle has completed yet
+     */
+    public synchronized double getAverageCycleMillis() {
+        return cycles == 0 ? 0 : (double) totalCycleMillis / cycles;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("EndpointPollStatistics[cycles=%d, last=%dms, avg=%.1fms, max=%dms]", cycles,
+                lastCycleMillis, getAverageCycleMillis(), maxCycleMillis);
+    }
+}
@@ -161,6 +161,24 @@ public class ItemIOConnection {
         return POLL_STATE_CHANGE_TRIGGER.equalsIgnoreCase(trigger);
     }
 
+    /**
+     * Whether a polled state equal to the previously polled state is never passed on, i.e. unchanged data need not
+     * be converted to a state at all
+     *
+     * @param slaveUpdateUnchanged
+     *            whether to update unchanged if this.trigger is default
+     * @return true if an unchanged state is never supported
+     */
+    public boolean ignoresUnchangedState(boolean slaveUpdateUnchanged) {
+        if (this.type.equals(IOType.COMMAND)) {
+            return true;
+        } else if (isTriggerDefault()) {
+            return !slaveUpdateUnchanged;
+        } else {
+            return isTriggerOnPolledStateChange();
+        }
+    }
+
     public String getEffectiveValueType(String defaultValueType) {
         return VALUETYPE_DEFAULT.equalsIgnoreCase(this.valueType) ? defaultValueType : this.valueType;
     }
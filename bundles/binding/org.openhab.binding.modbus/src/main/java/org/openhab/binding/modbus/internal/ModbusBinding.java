@@ -11,19 +11,26 @@ package org.openhab.binding.modbus.internal;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,6 +43,7 @@ import org.apache.commons.pool2.SwallowedExceptionListener;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 import org.openhab.binding.modbus.ModbusBindingProvider;
+import org.openhab.binding.modbus.internal.ModbusReadRequestOptimizer.MergedRead;
 import org.openhab.binding.modbus.internal.pooling.EndpointPoolConfiguration;
 import org.openhab.binding.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.openhab.binding.modbus.internal.pooling.ModbusSlaveEndpoint;
@@ -67,6 +75,11 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
 
     private static final long DEFAULT_POLL_INTERVAL = 200;
 
+    /**
+     * Merge the read requests of slaves with adjacent or overlapping ranges, but do not read unconfigured addresses
+     */
+    private static final int DEFAULT_READ_MERGE_GAP = 0;
+
     /**
      * Time to wait between connection passive+borrow, i.e. time to wait between
      * transactions
@@ -96,6 +109,15 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
     /** Stores instances of all the slaves defined in cfg file */
     private static Map<String, ModbusSlave> modbusSlaves = new ConcurrentHashMap<>();
 
+    /**
+     * Read connections of all items by slave name, rebuilt whenever the item bindings change, so that a polled slave
+     * only visits the items bound to it
+     */
+    private volatile Map<String, List<ItemReadConnection>> readConnectionIndex = Collections.emptyMap();
+
+    /** Poll cycle time metrics per endpoint */
+    private static Map<ModbusSlaveEndpoint, EndpointPollStatistics> endpointStatistics = new ConcurrentHashMap<>();
+
     private static GenericKeyedObjectPoolConfig poolConfig = new GenericKeyedObjectPoolConfig();
 
     static {
@@ -157,6 +179,17 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
     /** slaves update interval in milliseconds */
     public static long pollInterval = DEFAULT_POLL_INTERVAL;
 
+    /**
+     * number of unconfigured registers/bits that may be read to merge the read requests of two slaves, negative to
+     * disable merging
+     */
+    private static int readMergeGap = DEFAULT_READ_MERGE_GAP;
+
+    /**
+     * Polls the endpoints in parallel. Created on first use, one thread is kept per endpoint polled concurrently.
+     */
+    private ExecutorService pollExecutor;
+
     @Override
     public void activate() {
     }
@@ -164,6 +197,12 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
     @Override
     public void deactivate() {
         clearAndClose();
+        synchronized (this) {
+            if (pollExecutor != null) {
+                pollExecutor.shutdownNow();
+                pollExecutor = null;
+            }
+        }
     }
 
     @Override
@@ -218,94 +257,108 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
         }
     }
 
+    /**
+     * Posts update events to OpenHAB bus for the items bound to a slave
+     *
+     * @param slave slave that was polled
+     * @param data registers (for "holding" and "input register" type slaves) or coils (for "coil" and "discrete
+     *            input" type slaves) received from slave device in the last pollInterval, null on read error
+     * @param error read error, or null if the data was read successfully
+     * @param dataUnchanged whether the data is equal to the data read successfully in the previous poll
+     */
+    protected void internalUpdateItems(ModbusSlave slave, Object data, Exception error, boolean dataUnchanged) {
+        List<ItemReadConnection> readConnections = readConnectionIndex.get(slave.getName());
+        if (readConnections == null) {
+            return;
+        }
+        for (ItemReadConnection readConnection : readConnections) {
+            if (error != null) {
+                internalUpdateReadErrorItem(slave, readConnection);
+            } else if (dataUnchanged && readConnection.connection.getPreviouslyPolledState() != null
+                    && readConnection.connection.ignoresUnchangedState(slave.isUpdateUnchangedItems())) {
+                logger.trace("internalUpdateItems: Not updating slave {} item {} since data is unchanged.",
+                        slave.getName(), readConnection.itemName);
+            } else if (data instanceof InputRegister[]) {
+                internalUpdateItem(slave, (InputRegister[]) data, readConnection);
+            } else if (data instanceof BitVector) {
+                internalUpdateItem(slave, (BitVector) data, readConnection);
+            }
+        }
+    }
+
     /**
      * Posts update event to OpenHAB bus for "holding" and "input register" type slaves
      *
-     * @param binding ModbusBinding to get item configuration from BindingProviding
+     * @param slave slave that was polled
      * @param registers data received from slave device in the last pollInterval
-     * @param itemName item to update
+     * @param readConnection item and IO connection to update
      */
-    protected void internalUpdateItem(String slaveName, InputRegister[] registers, String itemName) {
-        for (ModbusBindingProvider provider : providers) {
-            if (!provider.providesBindingFor(itemName)) {
-                continue;
-            }
-            ModbusBindingConfig config = provider.getConfig(itemName);
-            List<ItemIOConnection> connections = config.getReadConnectionsBySlaveName(slaveName);
-            for (ItemIOConnection connection : connections) {
-                ModbusSlave slave = modbusSlaves.get(slaveName);
-                String slaveValueType = slave.getValueType();
-                double rawDataMultiplier = slave.getRawDataMultiplier();
-
-                String valueType = connection.getEffectiveValueType(slaveValueType);
-
-                /* receive data manipulation */
-                State newState = extractStateFromRegisters(registers, connection.getIndex(), valueType);
-                // Convert newState (DecimalType) to on/off kind of state if we have "boolean item" (Switch, Contact
-                // etc). In other cases (such as Number items) newStateBoolean will be UNDEF
-                State newStateBoolean = provider.getConfig(itemName).translateBoolean2State(
-                        connection.getPreviouslyPolledState(), !newState.equals(DecimalType.ZERO));
-                // If we have boolean item (newStateBoolean is not UNDEF)
-                if (!UnDefType.UNDEF.equals(newStateBoolean)) {
-                    newState = newStateBoolean;
-                } else if ((rawDataMultiplier != 1) && (config.getItemClass().isAssignableFrom(NumberItem.class))) {
-                    double tmpValue = ((DecimalType) newState).doubleValue() * rawDataMultiplier;
-                    newState = new DecimalType(String.valueOf(tmpValue));
-                }
-                boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
-                if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
-                    logger.trace(
-                            "internalUpdateItem(Register): Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                    Transformation transformation = connection.getTransformation();
-                    State transformedState = transformation == null ? newState
-                            : transformation.transformState(config.getItemAcceptedDataTypes(), newState);
-                    eventPublisher.postUpdate(itemName, transformedState);
-                    connection.setPreviouslyPolledState(newState);
-                } else {
-                    logger.trace(
-                            "internalUpdateItem(Register): Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                }
-            }
+    private void internalUpdateItem(ModbusSlave slave, InputRegister[] registers, ItemReadConnection readConnection) {
+        String slaveName = slave.getName();
+        String itemName = readConnection.itemName;
+        ModbusBindingConfig config = readConnection.config;
+        ItemIOConnection connection = readConnection.connection;
+        String slaveValueType = slave.getValueType();
+        double rawDataMultiplier = slave.getRawDataMultiplier();
+
+        String valueType = connection.getEffectiveValueType(slaveValueType);
+
+        /* receive data manipulation */
+        State newState = extractStateFromRegisters(registers, connection.getIndex(), valueType);
+        // Convert newState (DecimalType) to on/off kind of state if we have "boolean item" (Switch, Contact
+        // etc). In other cases (such as Number items) newStateBoolean will be UNDEF
+        State newStateBoolean = config.translateBoolean2State(connection.getPreviouslyPolledState(),
+                !newState.equals(DecimalType.ZERO));
+        // If we have boolean item (newStateBoolean is not UNDEF)
+        if (!UnDefType.UNDEF.equals(newStateBoolean)) {
+            newState = newStateBoolean;
+        } else if ((rawDataMultiplier != 1) && (config.getItemClass().isAssignableFrom(NumberItem.class))) {
+            double tmpValue = ((DecimalType) newState).doubleValue() * rawDataMultiplier;
+            newState = new DecimalType(String.valueOf(tmpValue));
+        }
+        boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
+        if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
+            logger.trace(
+                    "internalUpdateItem(Register): Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
+                    slaveName, itemName, newState, stateChanged, connection);
+            Transformation transformation = connection.getTransformation();
+            State transformedState = transformation == null ? newState
+                    : transformation.transformState(config.getItemAcceptedDataTypes(), newState);
+            eventPublisher.postUpdate(itemName, transformedState);
+            connection.setPreviouslyPolledState(newState);
+        } else {
+            logger.trace(
+                    "internalUpdateItem(Register): Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
+                    slaveName, itemName, newState, stateChanged, connection);
         }
     }
 
     /**
      * Posts update event to OpenHAB bus for all types of slaves when there is a read error
      *
-     * @param binding ModbusBinding to get item configuration from BindingProviding
-     * @param error
-     * @param itemName item to update
+     * @param slave slave that was polled
+     * @param readConnection item and IO connection to update
      */
-    protected void internalUpdateReadErrorItem(String slaveName, Exception error, String itemName) {
-        ModbusSlave slave = modbusSlaves.get(slaveName);
+    private void internalUpdateReadErrorItem(ModbusSlave slave, ItemReadConnection readConnection) {
         if (!slave.isPostUndefinedOnReadError()) {
             return;
         }
+        String slaveName = slave.getName();
+        String itemName = readConnection.itemName;
+        ItemIOConnection connection = readConnection.connection;
         State newState = UnDefType.UNDEF;
-        for (ModbusBindingProvider provider : providers) {
-            if (!provider.providesBindingFor(itemName)) {
-                continue;
-            }
-
-            ModbusBindingConfig config = provider.getConfig(itemName);
-            List<ItemIOConnection> connections = config.getReadConnectionsBySlaveName(slaveName);
-            for (ItemIOConnection connection : connections) {
-                boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
-                if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
-                    logger.trace(
-                            "internalUpdateReadErrorItem: Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                    // Note: no transformation with errors, always emit the UNDEFINED
-                    eventPublisher.postUpdate(itemName, newState);
-                    connection.setPreviouslyPolledState(newState);
-                } else {
-                    logger.trace(
-                            "internalUpdateReadErrorItem: Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                }
-            }
+        boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
+        if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
+            logger.trace(
+                    "internalUpdateReadErrorItem: Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
+                    slaveName, itemName, newState, stateChanged, connection);
+            // Note: no transformation with errors, always emit the UNDEFINED
+            eventPublisher.postUpdate(itemName, newState);
+            connection.setPreviouslyPolledState(newState);
+        } else {
+            logger.trace(
+                    "internalUpdateReadErrorItem: Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
+                    slaveName, itemName, newState, stateChanged, connection);
         }
     }
 
@@ -406,55 +459,100 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
     /**
      * Posts update event to OpenHAB bus for "coil" and "discrete input" type slaves
      *
-     * @param binding ModbusBinding to get item configuration from BindingProviding
-     * @param registers data received from slave device in the last pollInterval
-     * @param item item to update
+     * @param slave slave that was polled
+     * @param coils data received from slave device in the last pollInterval
+     * @param readConnection item and IO connection to update
      */
-    protected void internalUpdateItem(String slaveName, BitVector coils, String itemName) {
-        for (ModbusBindingProvider provider : providers) {
-            if (!provider.providesBindingFor(itemName)) {
-                continue;
-            }
-            ModbusBindingConfig config = provider.getConfig(itemName);
-            List<ItemIOConnection> connections = config.getReadConnectionsBySlaveName(slaveName);
-            for (ItemIOConnection connection : connections) {
-                ModbusSlave slave = modbusSlaves.get(slaveName);
+    private void internalUpdateItem(ModbusSlave slave, BitVector coils, ItemReadConnection readConnection) {
+        String slaveName = slave.getName();
+        String itemName = readConnection.itemName;
+        ModbusBindingConfig config = readConnection.config;
+        ItemIOConnection connection = readConnection.connection;
+
+        if (connection.getIndex() >= slave.getLength()) {
+            logger.warn(
+                    "Item '{}' read index '{}' is out-of-bounds. Slave '{}' has been configured "
+                            + "to read only '{}' bits. Check your configuration!",
+                    itemName, connection.getIndex(), slaveName, slave.getLength());
+            return;
+        }
 
-                if (connection.getIndex() >= slave.getLength()) {
-                    logger.warn(
-                            "Item '{}' read index '{}' is out-of-bounds. Slave '{}' has been configured "
-                                    + "to read only '{}' bits. Check your configuration!",
-                            itemName, connection.getIndex(), slaveName, slave.getLength());
-                    continue;
-                }
+        boolean state = coils.getBit(connection.getIndex());
+        State newState = config.translateBoolean2State(connection.getPreviouslyPolledState(), state);
+        // For types not taking in OpenClosedType or OnOffType (e.g. Number items)
+        // We fall back to DecimalType
+        if (newState.equals(UnDefType.UNDEF)) {
+            newState = state ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
+        }
 
-                boolean state = coils.getBit(connection.getIndex());
-                State newState = config.translateBoolean2State(connection.getPreviouslyPolledState(), state);
-                // For types not taking in OpenClosedType or OnOffType (e.g. Number items)
-                // We fall back to DecimalType
-                if (newState.equals(UnDefType.UNDEF)) {
-                    newState = state ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-                }
+        boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
+
+        if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
+            Transformation transformation = connection.getTransformation();
+            State transformedState = transformation == null ? newState
+                    : transformation.transformState(config.getItemAcceptedDataTypes(), newState);
+            logger.trace(
+                    "internalUpdateItem(BitVector): Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
+                    slaveName, itemName, newState, stateChanged, connection);
+            eventPublisher.postUpdate(itemName, transformedState);
+            connection.setPreviouslyPolledState(newState);
+        } else {
+            logger.trace(
+                    "internalUpdateItem(BitVector): Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
+                    slaveName, itemName, newState, stateChanged, connection);
+        }
+    }
 
-                boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        super.allBindingsChanged(provider);
+        rebuildReadConnectionIndex();
+    }
 
-                if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
-                    Transformation transformation = connection.getTransformation();
-                    State transformedState = transformation == null ? newState
-                            : transformation.transformState(config.getItemAcceptedDataTypes(), newState);
-                    logger.trace(
-                            "internalUpdateItem(BitVector): Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                    eventPublisher.postUpdate(itemName, transformedState);
-                    connection.setPreviouslyPolledState(newState);
-                } else {
-                    logger.trace(
-                            "internalUpdateItem(BitVector): Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                }
+    @Override
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        super.bindingChanged(provider, itemName);
+        rebuildReadConnectionIndex();
+    }
 
+    @Override
+    public void removeBindingProvider(BindingProvider provider) {
+        super.removeBindingProvider(provider);
+        rebuildReadConnectionIndex();
+    }
+
+    /**
+     * Rebuilds the index of read connections by slave name from the item configurations of all providers
+     */
+    private synchronized void rebuildReadConnectionIndex() {
+        Map<String, List<ItemReadConnection>> index = new HashMap<>();
+        for (ModbusBindingProvider provider : providers) {
+            for (String itemName : provider.getItemNames()) {
+                ModbusBindingConfig config = provider.getConfig(itemName);
+                if (config == null) {
+                    continue;
+                }
+                for (ItemIOConnection connection : config.getReadConnections()) {
+                    index.computeIfAbsent(connection.getSlaveName(), slaveName -> new ArrayList<>())
+                            .add(new ItemReadConnection(itemName, config, connection));
+                }
             }
+        }
+        readConnectionIndex = index;
+    }
 
+    /**
+     * Read connection of an item, as indexed by slave name
+     */
+    private static class ItemReadConnection {
+        private final String itemName;
+        private final ModbusBindingConfig config;
+        private final ItemIOConnection connection;
+
+        ItemReadConnection(String itemName, ModbusBindingConfig config, ItemIOConnection connection) {
+            this.itemName = itemName;
+            this.config = config;
+            this.connection = connection;
         }
     }
 
@@ -477,16 +575,74 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
 
     /**
      * updates all slaves from the modbusSlaves
+     *
+     * Slaves sharing an endpoint are read one after another, as the endpoint handles one transaction at a time
+     * anyway, and their read requests are merged where possible (see {@link ModbusReadRequestOptimizer}). Different endpoints are polled in parallel, so that a slow serial line or a timing-out tcp gateway does
+     * not delay the slaves behind other endpoints. Returns when all endpoints have been polled.
      */
     @Override
     protected void execute() {
-        Collection<ModbusSlave> slaves = new HashSet<>();
-        synchronized (slaves) {
-            slaves.addAll(modbusSlaves.values());
+        Map<ModbusSlaveEndpoint, List<ModbusSlave>> slavesByEndpoint = new LinkedHashMap<>();
+        for (ModbusSlave slave : modbusSlaves.values()) {
+            slavesByEndpoint.computeIfAbsent(slave.getEndpoint(), endpoint -> new ArrayList<>()).add(slave);
+        }
+        if (slavesByEndpoint.size() <= 1) {
+            slavesByEndpoint.forEach(this::pollEndpoint);
+            return;
+        }
+
+        ExecutorService executor = getPollExecutor();
+        List<Future<?>> polls = new ArrayList<>(slavesByEndpoint.size());
+        for (Entry<ModbusSlaveEndpoint, List<ModbusSlave>> entry : slavesByEndpoint.entrySet()) {
+            polls.add(executor.submit(() -> pollEndpoint(entry.getKey(), entry.getValue())));
+        }
+        for (Future<?> poll : polls) {
+            try {
+                poll.get();
+            } catch (InterruptedException e) {
+                logger.debug("Interrupted while waiting for the endpoints to be polled");
+                polls.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.error("Error polling modbus endpoint", e.getCause());
+            }
         }
-        for (ModbusSlave slave : slaves) {
-            slave.update(this);
+    }
+
+    private void pollEndpoint(ModbusSlaveEndpoint endpoint, List<ModbusSlave> slaves) {
+        long start = System.currentTimeMillis();
+        List<MergedRead> reads = new ModbusReadRequestOptimizer(readMergeGap).merge(slaves);
+        for (MergedRead read : reads) {
+            read.execute(this);
         }
+        long cycleMillis = System.currentTimeMillis() - start;
+        EndpointPollStatistics statistics = endpointStatistics.computeIfAbsent(endpoint,
+                key -> new EndpointPollStatistics());
+        statistics.cycleCompleted(cycleMillis);
+        logger.trace("Polled {} slave(s) of endpoint {} with {} read request(s) in {} ms ({})", slaves.size(),
+                endpoint, reads.size(), cycleMillis, statistics);
+    }
+
+    private synchronized ExecutorService getPollExecutor() {
+        if (pollExecutor == null) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            pollExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "Modbus Endpoint Poller " + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pollExecutor;
+    }
+
+    /**
+     * Returns the poll cycle time metrics of each endpoint polled since the configuration was last updated
+     *
+     * @return statistics by endpoint
+     */
+    public Map<ModbusSlaveEndpoint, EndpointPollStatistics> getEndpointPollStatistics() {
+        return Collections.unmodifiableMap(new HashMap<>(endpointStatistics));
     }
 
     /**
@@ -503,6 +659,7 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
             logger.error("Error clearing connections", e);
         }
         modbusSlaves.clear();
+        endpointStatistics.clear();
     }
 
     @Override
@@ -515,6 +672,7 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
                 logger.debug("Got null config!");
                 return;
             }
+            readMergeGap = DEFAULT_READ_MERGE_GAP;
             Enumeration<String> keys = config.keys();
             Map<String, EndpointPoolConfiguration> slavePoolConfigs = new HashMap<>();
             Map<ModbusSlaveEndpoint, EndpointPoolConfiguration> endpointPoolConfigs = new HashMap<>();
@@ -534,6 +692,10 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
                             if (StringUtils.isNotBlank((String) config.get(key))) {
                                 pollInterval = Integer.valueOf((String) config.get(key));
                             }
+                        } else if ("readmergegap".equals(key)) {
+                            if (StringUtils.isNotBlank((String) config.get(key))) {
+                                readMergeGap = Integer.parseInt(((String) config.get(key)).trim());
+                            }
                         } else if ("writemultipleregisters".equals(key)) {
                             // XXX: ugly to touch base class but kept here for backwards compat
                             // FIXME: should this be deprecated as introduced as slave specific parameter?
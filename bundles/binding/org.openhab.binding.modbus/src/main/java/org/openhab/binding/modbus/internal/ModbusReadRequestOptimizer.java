@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openhab.binding.modbus.ModbusBindingProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.ModbusException;
+import net.wimpi.modbus.ModbusSlaveException;
+import net.wimpi.modbus.procimg.InputRegister;
+import net.wimpi.modbus.util.BitVector;
+
+/**
+ * Merges the read requests of slaves sharing an endpoint. Slaves with the same unit id and type whose ranges overlap,
+ * are adjacent, or are at most the gap tolerance apart are read with a single request, as long as the merged range
+ * stays within the limits of the Modbus protocol (125 registers, 2000 coils or discrete inputs). The data read is
+ * then handed to each slave as if it had read its own range.
+ *
+ * @since 1.14.0
+ */
+public class ModbusReadRequestOptimizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModbusReadRequestOptimizer.class);
+
+    /** Maximum number of registers in a single read request (FC 3 and FC 4) */
+    public static final int MAX_REGISTERS = 125;
+
+    /** Maximum number of coils or discrete inputs in a single read request (FC 1 and FC 2) */
+    public static final int MAX_BITS = 2000;
+
+    private final int gapTolerance;
+
+    /**
+     * @param gapTolerance the number of unconfigured registers/bits allowed between two merged ranges, or a negative
+     *            value to read every slave with its own request
+     */
+    public ModbusReadRequestOptimizer(int gapTolerance) {
+        this.gapTolerance = gapTolerance;
+    }
+
+    /**
+     * Plans the read requests for slaves sharing an endpoint
+     *
+     * @param slaves slaves of a single endpoint
+     * @return the merged reads, covering every slave exactly once
+     */
+    public List<MergedRead> merge(Collection<ModbusSlave> slaves) {
+        List<MergedRead> reads = new ArrayList<>();
+        if (gapTolerance < 0) {
+            for (ModbusSlave slave : slaves) {
+                reads.add(new MergedRead(slave));
+            }
+            return reads;
+        }
+
+        Map<String, List<ModbusSlave>> slavesByUnitAndType = new LinkedHashMap<>();
+        for (ModbusSlave slave : slaves) {
+            slavesByUnitAndType.computeIfAbsent(slave.getId() + ":" + slave.getType(), key -> new ArrayList<>())
+                    .add(slave);
+        }
+        for (List<ModbusSlave> group : slavesByUnitAndType.values()) {
+            group.sort(Comparator.comparingInt(ModbusSlave::getStart));
+            int limit = maxLength(group.get(0).getType());
+            MergedRead current = null;
+            for (ModbusSlave slave : group) {
+                int end = slave.getStart() + slave.getLength();
+                if (current != null && slave.getLength() > 0 && slave.getStart() <= current.getEnd() + gapTolerance
+                        && Math.max(current.getEnd(), end) - current.getStart() <= limit) {
+                    current.add(slave);
+                } else {
+                    current = new MergedRead(slave);
+                    reads.add(current);
+                }
+            }
+        }
+        return reads;
+    }
+
+    private static int maxLength(String type) {
+        if (ModbusBindingProvider.TYPE_COIL.equals(type) || ModbusBindingProvider.TYPE_DISCRETE.equals(type)) {
+            return MAX_BITS;
+        }
+        return MAX_REGISTERS;
+    }
+
+    /**
+     * A single read request covering the ranges of one or more slaves
+     */
+    public static class MergedRead {
+
+        private final List<ModbusSlave> slaves = new ArrayList<>();
+        private final int start;
+        private int end;
+
+        MergedRead(ModbusSlave slave) {
+            slaves.add(slave);
+            start = slave.getStart();
+            end = slave.getStart() + slave.getLength();
+        }
+
+        void add(ModbusSlave slave) {
+            slaves.add(slave);
+            end = Math.max(end, slave.getStart() + slave.getLength());
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public int getLength() {
+            return end - start;
+        }
+
+        public List<ModbusSlave> getSlaves() {
+            return Collections.unmodifiableList(slaves);
+        }
+
+        /**
+         * Reads the merged range and updates the items of all slaves. If the slave answers with an exception, e.g.
+         * because the gap between two ranges contains unmapped addresses, the slaves are read one by one instead.
+         *
+         * @param binding ModbusBinding that stores providers information
+         */
+        public void execute(ModbusBinding binding) {
+            if (slaves.size() == 1) {
+                slaves.get(0).update(binding);
+                return;
+            }
+
+            Object data = null;
+            Exception error = null;
+            try {
+                data = slaves.get(0).readData(start, getLength());
+            } catch (ModbusSlaveException e) {
+                logger.debug("Merged read of {} registers/bits from {} for slaves {} was rejected, reading separately",
+                        getLength(), start, this);
+                for (ModbusSlave slave : slaves) {
+                    slave.update(binding);
+                }
+                return;
+            } catch (ModbusException e) {
+                // Logging already done in getModbusData
+                error = e;
+            } catch (ModbusConnectionException e) {
+                // Logging already done in getModbusData
+                error = e;
+            } catch (ModbusUnexpectedTransactionIdException e) {
+                // Logging already done in getModbusData
+                error = e;
+            }
+            for (ModbusSlave slave : slaves) {
+                slave.update(binding, error == null ? slice(data, slave.getStart() - start, slave.getLength()) : null,
+                        error);
+            }
+        }
+
+        private static Object slice(Object data, int offset, int length) {
+            if (data instanceof InputRegister[]) {
+                InputRegister[] registers = (InputRegister[]) data;
+                int from = Math.min(offset, registers.length);
+                return Arrays.copyOfRange(registers, from, Math.min(from + length, registers.length));
+            } else if (data instanceof BitVector) {
+                BitVector bits = (BitVector) data;
+                BitVector slice = new BitVector(length);
+                for (int index = 0; index < length && offset + index < bits.byteSize() * 8; index++) {
+                    slice.setBit(index, bits.getBit(offset + index));
+                }
+                return slice;
+            }
+            return data;
+        }
+
+        @Override
+        public String toString() {
+            List<String> names = new ArrayList<>(slaves.size());
+            for (ModbusSlave slave : slaves) {
+                names.add(slave.getName());
+            }
+            return names.toString();
+        }
+    }
+}
@@ -8,7 +8,7 @@
  */
 package org.openhab.binding.modbus.internal;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.apache.commons.pool2.KeyedObjectPool;
@@ -386,80 +386,110 @@ public abstract class ModbusSlave {
      * @param binding ModbusBindig that stores providers information
      */
     public void update(ModbusBinding binding) {
+        Object local = null;
+        Exception localReadError = null;
         try {
+            local = readData(getStart(), getLength());
+        } catch (ModbusException e) {
+            // Logging already done in getModbusData
+            localReadError = e;
+        } catch (ModbusConnectionException e) {
+            // Logging already done in getModbusData
+            localReadError = e;
+        } catch (ModbusUnexpectedTransactionIdException e) {
+            // Logging already done in getModbusData
+            localReadError = e;
+        } catch (Exception e) {
+            logger.error("ModbusSlave ({}) error getting response from slave", name, e);
+            return;
+        }
+        update(binding, local, localReadError);
+    }
 
-            Object local = null;
-            Exception localReadError = null;
-            try {
-                if (ModbusBindingProvider.TYPE_COIL.equals(getType())) {
-                    ModbusRequest request = new ReadCoilsRequest(getStart(), getLength());
-                    if (this instanceof ModbusSerialSlave) {
-                        request.setHeadless();
-                    }
-                    ReadCoilsResponse response = (ReadCoilsResponse) getModbusData(request);
-                    local = response.getCoils();
-                } else if (ModbusBindingProvider.TYPE_DISCRETE.equals(getType())) {
-                    ModbusRequest request = new ReadInputDiscretesRequest(getStart(), getLength());
-                    ReadInputDiscretesResponse response = (ReadInputDiscretesResponse) getModbusData(request);
-                    local = response.getDiscretes();
-                } else if (ModbusBindingProvider.TYPE_HOLDING.equals(getType())) {
-                    ModbusRequest request = new ReadMultipleRegistersRequest(getStart(), getLength());
-                    ReadMultipleRegistersResponse response = (ReadMultipleRegistersResponse) getModbusData(request);
-                    local = response.getRegisters();
-                } else if (ModbusBindingProvider.TYPE_INPUT.equals(getType())) {
-                    ModbusRequest request = new ReadInputRegistersRequest(getStart(), getLength());
-                    ReadInputRegistersResponse response = (ReadInputRegistersResponse) getModbusData(request);
-                    local = response.getRegisters();
-                }
-            } catch (ModbusException e) {
-                // Logging already done in getModbusData
-                localReadError = e;
-            } catch (ModbusConnectionException e) {
-                // Logging already done in getModbusData
-                localReadError = e;
-            } catch (ModbusUnexpectedTransactionIdException e) {
-                // Logging already done in getModbusData
-                localReadError = e;
-            }
-
+    /**
+     * Updates items with data read on behalf of this slave, e.g. as part of a read request merged with other slaves
+     *
+     * @param binding ModbusBindig that stores providers information
+     * @param data coils/discrete inputs (BitVector) or registers (InputRegister[]) starting from the start of this
+     *            slave, or null on read error
+     * @param error the read error, or null if the data was read successfully
+     */
+    void update(ModbusBinding binding, Object data, Exception error) {
+        try {
+            boolean dataUnchanged;
             if (storage == null) {
-                storage = local;
-                readError = localReadError;
+                dataUnchanged = false;
+                storage = data;
+                readError = error;
             } else {
                 synchronized (storage) {
-                    storage = local;
-                    readError = localReadError;
+                    dataUnchanged = readError == null && error == null && isSameData(storage, data);
+                    storage = data;
+                    readError = error;
                 }
             }
-            Collection<String> items = binding.getItemNames();
-            for (String item : items) {
-                updateItem(binding, item);
-            }
+            binding.internalUpdateItems(this, data, error, dataUnchanged);
         } catch (Exception e) {
             logger.error("ModbusSlave ({}) error getting response from slave", name, e);
         }
+    }
 
+    private static boolean isSameData(Object previous, Object current) {
+        if (previous instanceof BitVector && current instanceof BitVector) {
+            BitVector previousBits = (BitVector) previous;
+            BitVector currentBits = (BitVector) current;
+            return previousBits.size() == currentBits.size()
+                    && Arrays.equals(previousBits.getBytes(), currentBits.getBytes());
+        } else if (previous instanceof InputRegister[] && current instanceof InputRegister[]) {
+            InputRegister[] previousRegisters = (InputRegister[]) previous;
+            InputRegister[] currentRegisters = (InputRegister[]) current;
+            if (previousRegisters.length != currentRegisters.length) {
+                return false;
+            }
+            for (int i = 0; i < previousRegisters.length; i++) {
+                if (previousRegisters[i] == null || currentRegisters[i] == null
+                        || previousRegisters[i].getValue() != currentRegisters[i].getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
     /**
-     * Updates OpenHAB item with data read from slave device
-     * works only for type "coil" and "holding"
+     * Reads coils/discrete inputs/registers of the type of this slave from the device
      *
-     * @param binding ModbusBinding
-     * @param item item to update
+     * @param start address of the first coil/discrete input/register to read
+     * @param length number of coils/discrete inputs/registers to read
+     * @return BitVector for coils and discrete inputs, InputRegister[] for registers, or null with unknown type
+     * @throws ModbusConnectionException when connection cannot be established
+     * @throws ModbusException ModbusIOException on IO errors, ModbusSlaveException with protocol level exceptions
+     * @throws ModbusUnexpectedTransactionIdException when response transaction id does not match the request
      */
-    private void updateItem(ModbusBinding binding, String item) {
-        if (readError == null) {
-            if (ModbusBindingProvider.TYPE_COIL.equals(getType())
-                    || ModbusBindingProvider.TYPE_DISCRETE.equals(getType())) {
-                binding.internalUpdateItem(name, (BitVector) storage, item);
-            } else if (ModbusBindingProvider.TYPE_HOLDING.equals(getType())
-                    || ModbusBindingProvider.TYPE_INPUT.equals(getType())) {
-                binding.internalUpdateItem(name, (InputRegister[]) storage, item);
+    Object readData(int start, int length)
+            throws ModbusConnectionException, ModbusException, ModbusUnexpectedTransactionIdException {
+        if (ModbusBindingProvider.TYPE_COIL.equals(getType())) {
+            ModbusRequest request = new ReadCoilsRequest(start, length);
+            if (this instanceof ModbusSerialSlave) {
+                request.setHeadless();
             }
-        } else {
-            binding.internalUpdateReadErrorItem(name, readError, item);
+            ReadCoilsResponse response = (ReadCoilsResponse) getModbusData(request);
+            return response.getCoils();
+        } else if (ModbusBindingProvider.TYPE_DISCRETE.equals(getType())) {
+            ModbusRequest request = new ReadInputDiscretesRequest(start, length);
+            ReadInputDiscretesResponse response = (ReadInputDiscretesResponse) getModbusData(request);
+            return response.getDiscretes();
+        } else if (ModbusBindingProvider.TYPE_HOLDING.equals(getType())) {
+            ModbusRequest request = new ReadMultipleRegistersRequest(start, length);
+            ReadMultipleRegistersResponse response = (ReadMultipleRegistersResponse) getModbusData(request);
+            return response.getRegisters();
+        } else if (ModbusBindingProvider.TYPE_INPUT.equals(getType())) {
+            ModbusRequest request = new ReadInputRegistersRequest(start, length);
+            ReadInputRegistersResponse response = (ReadInputRegistersResponse) getModbusData(request);
+            return response.getRegisters();
         }
+        return null;
     }
 
     public boolean isUpdateUnchangedItems() {
@@ -104,6 +104,7 @@ public class OneWireBinding extends AbstractBinding<OneWireBindingProvider>
 
             // Connection config
             OneWireConnection.updated(pvConfig);
+            ivOneWireReaderScheduler.setNumberOfReaderThreads(OneWireConnection.getReadThreads());
         }
 
         for (OneWireBindingProvider lvProvider : providers) {
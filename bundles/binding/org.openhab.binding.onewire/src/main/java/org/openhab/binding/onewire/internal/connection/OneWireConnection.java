@@ -9,9 +9,14 @@
 package org.openhab.binding.onewire.internal.connection;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.onewire.internal.deviceproperties.AbstractOneWireDevicePropertyBindingConfig;
@@ -29,6 +34,9 @@ import org.slf4j.LoggerFactory;
 /**
  * This class establishes the connection to the 1-Wire-bus.
  *
+ * Writes use a single connection, reads borrow one of up to <code>read_threads</code> connections so that devices
+ * on different bus masters of the owserver can be read in parallel.
+ *
  * @author Dennis Riegelbauer
  * @author Chris Carman (added server connection retry logic)
  * @since 1.7.0
@@ -38,11 +46,36 @@ public class OneWireConnection {
 
     private static final Logger logger = LoggerFactory.getLogger(OneWireConnection.class);
 
+    /**
+     * owserver path which starts a temperature conversion on all sensors of all bus masters at once
+     */
+    private static final String SIMULTANEOUS_TEMPERATURE_PATH = "/simultaneous/temperature";
+
+    /**
+     * owserver path prefix which bypasses the owserver cache
+     */
+    private static final String UNCACHED_PATH = "/uncached/";
+
+    /**
+     * Time in milliseconds a simultaneous temperature conversion is used for the following temperature reads
+     */
+    private static final long SIMULTANEOUS_VALIDITY = 5000;
+
+    /**
+     * Default number of threads reading in parallel
+     */
+    public static final int DEFAULT_READ_THREADS = 3;
+
     /**
      * Connection to the owserver server
      */
     private static OwfsConnection cvOwConnection = null;
 
+    /**
+     * idle connections to the owserver used for reading, replaced when the owserver changes
+     */
+    private static volatile BlockingQueue<OwfsConnection> cvReadConnections = new LinkedBlockingQueue<OwfsConnection>();
+
     /**
      * ip of the owserver (must be set in obenHab.cfg)
      */
@@ -75,6 +108,42 @@ public class OneWireConnection {
      */
     private static int cvServerRetryInterval = 60;
 
+    /**
+     * The number of threads reading in parallel. Optional, defaults to 3.
+     */
+    private static int cvReadThreads = DEFAULT_READ_THREADS;
+
+    /**
+     * The time in seconds the device directory of the owserver is cached. Optional, defaults to 60 seconds.
+     * 0 checks every read with the owserver.
+     */
+    private static int cvDirectoryCache = 60;
+
+    /**
+     * Start a temperature conversion on all sensors at once before reading temperatures. Optional, defaults to false.
+     */
+    private static boolean cvSimultaneousTemperature = false;
+
+    /**
+     * devices found in the last directory listing
+     */
+    private static volatile Set<String> cvDirectory = Collections.emptySet();
+
+    /**
+     * time of the last directory listing
+     */
+    private static volatile long cvDirectoryTimestamp = 0;
+
+    /**
+     * time of the last simultaneous temperature conversion
+     */
+    private static long cvSimultaneousTimestamp = 0;
+
+    /**
+     * guards the simultaneous temperature conversion, so that only one thread starts it
+     */
+    private static final Object cvSimultaneousLock = new Object();
+
     /**
      * signals that the connection is established
      */
@@ -95,11 +164,11 @@ public class OneWireConnection {
     }
 
     /**
-     * Tries to connect either by IP or serial bus, depending on supplied config data.
+     * Creates a new, not yet used connection to the owserver
      *
-     * @return true if connection was established, false otherwise
+     * @return the OwfsConnection network link
      */
-    public static synchronized boolean connect() {
+    private static OwfsConnection createConnection() {
         OwfsConnectionFactory owfsConnectorFactory = new OwfsConnectionFactory(cvIp, cvPort);
         OwfsConnectionConfig owConnectionConfig = new OwfsConnectionConfig(cvIp, cvPort);
         owConnectionConfig.setTemperatureScale(cvTempScale);
@@ -107,7 +176,16 @@ public class OneWireConnection {
         owConnectionConfig.setBusReturn(OwBusReturn.ON);
         owfsConnectorFactory.setConnectionConfig(owConnectionConfig);
 
-        cvOwConnection = owfsConnectorFactory.createNewConnection();
+        return owfsConnectorFactory.createNewConnection();
+    }
+
+    /**
+     * Tries to connect either by IP or serial bus, depending on supplied config data.
+     *
+     * @return true if connection was established, false otherwise
+     */
+    public static synchronized boolean connect() {
+        cvOwConnection = createConnection();
 
         boolean connected = false;
         int attempts = 0, retriesRemaining = cvServerRetries;
@@ -156,6 +234,7 @@ public class OneWireConnection {
             return false;
         }
 
+        updateDirectory(result);
         logger.info("Connected to owserver [IP '{}' Port '{}']", cvIp, cvPort);
         cvIsEstablished = true;
         return true;
@@ -175,6 +254,10 @@ public class OneWireConnection {
         }
         cvOwConnection = null;
         cvIsEstablished = false;
+
+        closeReadConnections();
+        cvDirectoryTimestamp = 0;
+
         return connect();
     }
 
@@ -186,6 +269,8 @@ public class OneWireConnection {
         }
 
         logger.debug("OneWire configuration present. Setting up owserver connection.");
+        String lvPreviousIp = cvIp;
+        int lvPreviousPort = cvPort;
         cvIp = Objects.toString(pvConfig.get("ip"), null);
         if (StringUtils.isBlank(cvIp)) {
             logger.error("owserver IP address was configured as an empty string.");
@@ -203,6 +288,23 @@ public class OneWireConnection {
         }
         logger.debug("owserver ip:port = {}:{}", cvIp, cvPort);
 
+        if (lvPreviousIp != null && (!cvIp.equals(lvPreviousIp) || cvPort != lvPreviousPort)) {
+            logger.info("owserver changed from {}:{} to {}:{}, closing the connections", lvPreviousIp,
+                    lvPreviousPort, cvIp, cvPort);
+            if (cvOwConnection != null) {
+                try {
+                    cvOwConnection.disconnect();
+                } catch (Exception lvException) {
+                    logger.debug("Error while disconnecting from owserver: ", lvException);
+                }
+                cvOwConnection = null;
+                cvIsEstablished = false;
+            }
+            closeReadConnections();
+            cvDirectory = Collections.emptySet();
+            cvDirectoryTimestamp = 0;
+        }
+
         String lvTempScaleString = Objects.toString(pvConfig.get("tempscale"), null);
         if (StringUtils.isNotBlank(lvTempScaleString)) {
             try {
@@ -238,6 +340,29 @@ public class OneWireConnection {
         }
         logger.debug("onewire:server_retryInterval = {} seconds", cvServerRetryInterval);
 
+        String lvReadThreadsString = Objects.toString(pvConfig.get("read_threads"), null);
+        if (StringUtils.isNotBlank(lvReadThreadsString)) {
+            cvReadThreads = Integer.parseInt(lvReadThreadsString);
+        }
+        if (cvReadThreads < 1) {
+            logger.error("read_threads was configured with an invalid value: {}", cvReadThreads);
+            throw new ConfigurationException("onewire:read_threads",
+                    "read_threads was configured with an invalid value: " + cvReadThreads);
+        }
+        logger.debug("onewire:read_threads = {}", cvReadThreads);
+
+        String lvDirectoryCacheString = Objects.toString(pvConfig.get("directory_cache"), null);
+        if (StringUtils.isNotBlank(lvDirectoryCacheString)) {
+            cvDirectoryCache = Integer.parseInt(lvDirectoryCacheString);
+        }
+        logger.debug("onewire:directory_cache = {} seconds", cvDirectoryCache);
+
+        String lvSimultaneousString = Objects.toString(pvConfig.get("simultaneous_temperature"), null);
+        if (StringUtils.isNotBlank(lvSimultaneousString)) {
+            cvSimultaneousTemperature = Boolean.parseBoolean(lvSimultaneousString);
+        }
+        logger.debug("onewire:simultaneous_temperature = {}", cvSimultaneousTemperature);
+
         if (cvOwConnection == null) {
             logger.debug("Not connected to owserver yet. Trying to connect...");
             if (!connect()) {
@@ -256,77 +381,210 @@ public class OneWireConnection {
     }
 
     /**
-     * Checks if an device exists in 1-Wire network
+     * @return the number of threads reading from the owserver in parallel
+     */
+    public static int getReadThreads() {
+        return cvReadThreads;
+    }
+
+    /**
+     * Checks if an device exists in 1-Wire network. Devices found in the cached directory listing of the owserver
+     * are not checked again.
      *
+     * @param pvConnection
      * @param pvDevicePropertyPath
      * @return
      * @throws IOException
      * @throws OwfsException
      */
-    private static synchronized boolean checkIfDeviceExists(String pvDevicePropertyPath)
+    private static boolean checkIfDeviceExists(OwfsConnection pvConnection, String pvDevicePropertyPath)
             throws IOException, OwfsException {
-        String[] pvDevicePropertyPathParts = pvDevicePropertyPath.trim().split("/");
+        String[] pvDevicePropertyPathParts = StringUtils.removeStart(pvDevicePropertyPath.trim(), "/").split("/");
 
         String lvDevicePath = pvDevicePropertyPathParts[0];
         logger.debug("check if device exists '{}': ", new Object[] { lvDevicePath });
 
-        return OneWireConnection.getConnection().exists(lvDevicePath);
+        if (cvDirectoryCache > 0) {
+            if (System.currentTimeMillis() - cvDirectoryTimestamp > cvDirectoryCache * 1000L) {
+                updateDirectory(pvConnection.listDirectory("/"));
+            }
+            if (cvDirectory.contains(lvDevicePath)) {
+                return true;
+            }
+        }
+
+        return pvConnection.exists(lvDevicePath);
+    }
+
+    /**
+     * Replaces the cached directory listing of the owserver
+     *
+     * @param pvDirectory the entries of the root directory
+     */
+    private static void updateDirectory(List<String> pvDirectory) {
+        if (pvDirectory == null) {
+            return;
+        }
+        Set<String> lvDirectory = new HashSet<String>();
+        for (String lvEntry : pvDirectory) {
+            lvDirectory.add(StringUtils.removeStart(lvEntry.trim(), "/"));
+        }
+        cvDirectory = lvDirectory;
+        cvDirectoryTimestamp = System.currentTimeMillis();
+        logger.debug("owserver directory listing updated: {} entries", lvDirectory.size());
+    }
+
+    /**
+     * Starts a temperature conversion on all sensors at once, unless one was started recently. Temperatures read
+     * afterwards don't wait for the conversion of every single sensor.
+     *
+     * @param pvConnection
+     * @throws IOException
+     * @throws OwfsException
+     */
+    private static void convertTemperaturesSimultaneously(OwfsConnection pvConnection)
+            throws IOException, OwfsException {
+        synchronized (cvSimultaneousLock) {
+            long lvNow = System.currentTimeMillis();
+            if (lvNow - cvSimultaneousTimestamp > SIMULTANEOUS_VALIDITY) {
+                logger.debug("starting simultaneous temperature conversion");
+                pvConnection.write(SIMULTANEOUS_TEMPERATURE_PATH, "1");
+                cvSimultaneousTimestamp = lvNow;
+            }
+        }
+    }
+
+    /**
+     * Returns the path to read a device property from. After a simultaneous conversion temperatures are read
+     * uncached, so that the result of the conversion is returned and not a value cached by the owserver.
+     *
+     * @param pvConnection
+     * @param pvBindingConfig
+     * @return the path to read
+     * @throws IOException
+     * @throws OwfsException
+     */
+    private static String getReadPath(OwfsConnection pvConnection,
+            AbstractOneWireDevicePropertyBindingConfig pvBindingConfig) throws IOException, OwfsException {
+        String lvDevicePropertyPath = pvBindingConfig.getDevicePropertyPath();
+        if (cvSimultaneousTemperature && pvBindingConfig.getPropertyName().startsWith("temperature")
+                && !StringUtils.removeStart(lvDevicePropertyPath, "/").startsWith("uncached/")) {
+            convertTemperaturesSimultaneously(pvConnection);
+            return UNCACHED_PATH + StringUtils.removeStart(lvDevicePropertyPath, "/");
+        }
+        return lvDevicePropertyPath;
+    }
+
+    /**
+     * Takes an idle read connection or creates a new one
+     *
+     * @param pvReadConnections the idle connections to take from
+     * @return the OwfsConnection network link
+     */
+    private static OwfsConnection takeReadConnection(BlockingQueue<OwfsConnection> pvReadConnections) {
+        OwfsConnection lvConnection = pvReadConnections.poll();
+        return lvConnection != null ? lvConnection : createConnection();
     }
 
     /**
-     * Read a Value for a device property from 1-Wire network
+     * Returns a read connection to the idle connections, or closes it if there are enough idle connections or the
+     * idle connections were closed meanwhile
+     *
+     * @param pvReadConnections the idle connections the connection was taken from
+     * @param pvConnection
+     */
+    private static void releaseReadConnection(BlockingQueue<OwfsConnection> pvReadConnections,
+            OwfsConnection pvConnection) {
+        if (pvReadConnections != cvReadConnections || pvReadConnections.size() >= cvReadThreads
+                || !pvReadConnections.offer(pvConnection)) {
+            closeReadConnection(pvConnection);
+        }
+    }
+
+    /**
+     * Closes all idle read connections. Read connections in use are closed when they are released.
+     */
+    private static void closeReadConnections() {
+        BlockingQueue<OwfsConnection> lvReadConnections = cvReadConnections;
+        cvReadConnections = new LinkedBlockingQueue<OwfsConnection>();
+
+        OwfsConnection lvReadConnection;
+        while ((lvReadConnection = lvReadConnections.poll()) != null) {
+            closeReadConnection(lvReadConnection);
+        }
+    }
+
+    private static void closeReadConnection(OwfsConnection pvConnection) {
+        try {
+            pvConnection.disconnect();
+        } catch (Exception lvException) {
+            logger.debug("Error while disconnecting read connection from owserver: ", lvException);
+        }
+    }
+
+    /**
+     * Read a Value for a device property from 1-Wire network. Can be called by several threads at once, each read
+     * uses a connection of its own.
      *
      * @param pvDevicePropertyPath
      * @return device property value as String
      */
-    public static synchronized String readFromOneWire(AbstractOneWireDevicePropertyBindingConfig pvBindingConfig) {
+    public static String readFromOneWire(AbstractOneWireDevicePropertyBindingConfig pvBindingConfig) {
         String lvDevicePropertyPath = pvBindingConfig.getDevicePropertyPath();
 
-        int lvAttempt = 1;
-        while (lvAttempt <= cvRetry) {
-            try {
-                logger.debug("trying to read from '{}', read attempt={}",
-                        new Object[] { lvDevicePropertyPath, lvAttempt });
-                if (checkIfDeviceExists(lvDevicePropertyPath)) {
-                    String lvReadValue = OneWireConnection.getConnection().read(lvDevicePropertyPath);
-                    logger.debug("Read value '{}' from {}, read attempt={}",
-                            new Object[] { lvReadValue, lvDevicePropertyPath, lvAttempt });
-
-                    // Test
-                    if (pvBindingConfig.isIgnore85CPowerOnResetValues()) {
-                        double lvReadDouble = Double.parseDouble(lvReadValue);
-                        if (lvReadDouble == 85.0) {
-                            logger.debug("reading from path '{}' attempt {}. Ignoring 85C value", lvDevicePropertyPath,
-                                    lvAttempt);
+        BlockingQueue<OwfsConnection> lvReadConnections = cvReadConnections;
+        OwfsConnection lvConnection = takeReadConnection(lvReadConnections);
+        try {
+            int lvAttempt = 1;
+            while (lvAttempt <= cvRetry) {
+                try {
+                    logger.debug("trying to read from '{}', read attempt={}",
+                            new Object[] { lvDevicePropertyPath, lvAttempt });
+                    if (checkIfDeviceExists(lvConnection, lvDevicePropertyPath)) {
+                        String lvReadValue = lvConnection.read(getReadPath(lvConnection, pvBindingConfig));
+                        logger.debug("Read value '{}' from {}, read attempt={}",
+                                new Object[] { lvReadValue, lvDevicePropertyPath, lvAttempt });
+
+                        // Test
+                        if (pvBindingConfig.isIgnore85CPowerOnResetValues()) {
+                            double lvReadDouble = Double.parseDouble(lvReadValue);
+                            if (lvReadDouble == 85.0) {
+                                logger.debug("reading from path '{}' attempt {}. Ignoring 85C value",
+                                        lvDevicePropertyPath, lvAttempt);
+                            } else {
+                                return lvReadValue;
+                            }
                         } else {
                             return lvReadValue;
                         }
                     } else {
-                        return lvReadValue;
+                        logger.info("there is no device for path {}, read attempt={}",
+                                new Object[] { lvDevicePropertyPath, lvAttempt });
                     }
-                } else {
-                    logger.info("there is no device for path {}, read attempt={}",
-                            new Object[] { lvDevicePropertyPath, lvAttempt });
-                }
-            } catch (OwfsException oe) {
-                String lvLogText = "reading from path " + lvDevicePropertyPath + " attempt " + lvAttempt
-                        + " throws exception";
-                if (pvBindingConfig.isIgnoreReadErrors()) {
-                    logger.debug(lvLogText, oe);
-                } else {
-                    logger.error(lvLogText, oe);
-                    reconnect();
+                } catch (OwfsException oe) {
+                    String lvLogText = "reading from path " + lvDevicePropertyPath + " attempt " + lvAttempt
+                            + " throws exception";
+                    if (pvBindingConfig.isIgnoreReadErrors()) {
+                        logger.debug(lvLogText, oe);
+                    } else {
+                        logger.error(lvLogText, oe);
+                        closeReadConnection(lvConnection);
+                        lvConnection = createConnection();
+                    }
+                } catch (IOException ioe) {
+                    logger.error("couldn't establish network connection while read attempt {} '{}' ip:port={}:{}",
+                            lvAttempt, lvDevicePropertyPath, cvIp, cvPort, ioe);
+                    closeReadConnection(lvConnection);
+                    lvConnection = createConnection();
+                } catch (NumberFormatException lvNumberFormatException) {
+                    logger.error(
+                            "Ignoring 85C PowerOnReset values can only be used with temperature sensors! Read a value, which is not a number");
+                } finally {
+                    lvAttempt++;
                 }
-            } catch (IOException ioe) {
-                logger.error("couldn't establish network connection while read attempt {} '{}' ip:port={}:{}",
-                        lvAttempt, lvDevicePropertyPath, cvIp, cvPort, ioe);
-                reconnect();
-            } catch (NumberFormatException lvNumberFormatException) {
-                logger.error(
-                        "Ignoring 85C PowerOnReset values can only be used with temperature sensors! Read a value, which is not a number");
-            } finally {
-                lvAttempt++;
             }
+        } finally {
+            releaseReadConnection(lvReadConnections, lvConnection);
         }
 
         return null;
@@ -344,7 +602,7 @@ public class OneWireConnection {
             try {
                 logger.debug("Trying to write '{}' to '{}', write attempt={}", pvValue, pvDevicePropertyPath,
                         lvAttempt);
-                if (checkIfDeviceExists(pvDevicePropertyPath)) {
+                if (checkIfDeviceExists(OneWireConnection.getConnection(), pvDevicePropertyPath)) {
                     OneWireConnection.getConnection().write(pvDevicePropertyPath, pvValue);
                     return; // Success, exit
                 } else {
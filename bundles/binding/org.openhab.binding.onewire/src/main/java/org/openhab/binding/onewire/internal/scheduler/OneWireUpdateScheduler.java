@@ -8,10 +8,13 @@
  */
 package org.openhab.binding.onewire.internal.scheduler;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -19,6 +22,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import org.openhab.binding.onewire.internal.connection.OneWireConnection;
 import org.openhab.binding.onewire.internal.listener.OneWireDevicePropertyWantsUpdateListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +30,9 @@ import org.slf4j.LoggerFactory;
 /**
  * This is the central class that takes care of the refreshing (cyclical reading) from the 1-Wire bus.
  *
+ * An item is queued only once until a reader task has taken it, the queue is worked off by several reader tasks in
+ * parallel.
+ *
  * @author Dennis Riegelbauer
  * @since 1.7.0
  *
@@ -48,6 +55,12 @@ public class OneWireUpdateScheduler {
      */
     private final BlockingQueue<String> ivUpdateQueue = new LinkedBlockingQueue<String>();
 
+    /**
+     * items in the update queue
+     */
+    private final Set<String> ivQueuedItems = Collections
+            .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
     /**
      * map with scheduled items
      */
@@ -64,16 +77,23 @@ public class OneWireUpdateScheduler {
     private boolean ivIsRunning = false;
 
     /**
-     * this task runs in an separate Thread. It informs the Listeners, that an item wants to get updated
+     * these tasks run in separate Threads. They inform the Listeners, that an item wants to get updated
      */
-    private OneWireUpdateTask ivOneWireUpdateTask = null;
+    private final List<OneWireUpdateTask> ivOneWireUpdateTasks = new ArrayList<OneWireUpdateTask>();
+
+    /**
+     * Number of reader tasks. Defaults to the default of <code>read_threads</code>
+     */
+    private int ivNumberOfReaderThreads = OneWireConnection.DEFAULT_READ_THREADS;
+
+    private final OneWireDevicePropertyWantsUpdateListener ivWantsUpdateListener;
 
     /**
      * @param pvWantsUpdateListener
      */
     public OneWireUpdateScheduler(OneWireDevicePropertyWantsUpdateListener pvWantsUpdateListener) {
         super();
-        ivOneWireUpdateTask = new OneWireUpdateTask(ivUpdateQueue, pvWantsUpdateListener);
+        ivWantsUpdateListener = pvWantsUpdateListener;
     }
 
     /**
@@ -82,9 +102,9 @@ public class OneWireUpdateScheduler {
     public void start() {
         logger.debug("Starting auto refresh scheduler");
 
-        logger.debug("Starting reader task.");
+        logger.debug("Starting reader tasks.");
 
-        ivOneWireUpdateTask.start();
+        startReaderTasks();
 
         logger.debug("Starting schedule executor.");
         ivScheduledExecutorService = Executors.newScheduledThreadPool(cvNumberOfThreads);
@@ -100,6 +120,7 @@ public class OneWireUpdateScheduler {
 
         logger.debug("Clearing all items from the refresher queue");
         ivUpdateQueue.clear();
+        ivQueuedItems.clear();
 
         logger.debug("Terminating schedule executor.");
         ivScheduledExecutorService.shutdown();
@@ -114,17 +135,83 @@ public class OneWireUpdateScheduler {
             logger.debug("Auto refresh scheduler: interrupted while waiting for termination.");
         }
 
-        logger.debug("Stopping reader task");
-        ivOneWireUpdateTask.interrupt();
+        logger.debug("Stopping reader tasks");
+        stopReaderTasks();
         ivIsRunning = false;
     }
 
+    /**
+     * Sets the number of reader tasks working off the update queue in parallel, restarting the tasks if the number
+     * changed while the scheduler is running.
+     *
+     * @param pvNumberOfReaderThreads
+     */
+    public synchronized void setNumberOfReaderThreads(int pvNumberOfReaderThreads) {
+        if (pvNumberOfReaderThreads < 1 || pvNumberOfReaderThreads == ivNumberOfReaderThreads) {
+            return;
+        }
+        logger.debug("Changing number of reader tasks from {} to {}", ivNumberOfReaderThreads,
+                pvNumberOfReaderThreads);
+        ivNumberOfReaderThreads = pvNumberOfReaderThreads;
+        if (ivIsRunning) {
+            stopReaderTasks();
+            startReaderTasks();
+        }
+    }
+
+    /**
+     * Starts reader tasks until the configured number is running
+     */
+    private void startReaderTasks() {
+        synchronized (ivOneWireUpdateTasks) {
+            for (Iterator<OneWireUpdateTask> lvIterator = ivOneWireUpdateTasks.iterator(); lvIterator.hasNext();) {
+                if (!lvIterator.next().isAlive()) {
+                    lvIterator.remove();
+                }
+            }
+            while (ivOneWireUpdateTasks.size() < ivNumberOfReaderThreads) {
+                OneWireUpdateTask lvOneWireUpdateTask = new OneWireUpdateTask(ivUpdateQueue, ivQueuedItems,
+                        ivWantsUpdateListener);
+                ivOneWireUpdateTasks.add(lvOneWireUpdateTask);
+                lvOneWireUpdateTask.start();
+            }
+        }
+    }
+
+    /**
+     * Interrupts all reader tasks
+     */
+    private void stopReaderTasks() {
+        synchronized (ivOneWireUpdateTasks) {
+            for (OneWireUpdateTask lvOneWireUpdateTask : ivOneWireUpdateTasks) {
+                lvOneWireUpdateTask.interrupt();
+            }
+            ivOneWireUpdateTasks.clear();
+        }
+    }
+
+    /**
+     * Adds an item to the update queue, unless it is already waiting there
+     *
+     * @param pvItemName
+     * @return true if the item was added
+     */
+    private boolean enqueue(String pvItemName) {
+        if (!ivQueuedItems.add(pvItemName)) {
+            logger.debug("didn't add item {} to updateQueue; it is already there", pvItemName);
+            return false;
+        }
+        logger.debug("add item {} to updateQueue", pvItemName);
+        return ivUpdateQueue.add(pvItemName);
+    }
+
     /**
      * Clears all items from the scheduler
      */
     public synchronized void clear() {
         logger.debug("Clearing all items from auto refresh scheduler");
         ivUpdateQueue.clear();
+        ivQueuedItems.clear();
 
         // Restarting schedule executor
         if (ivScheduledExecutorService != null) {
@@ -171,7 +258,8 @@ public class OneWireUpdateScheduler {
         }
 
         logger.debug("Item '{}':  one time reading scheduled.", pvItemName);
-        return ivUpdateQueue.add(pvItemName);
+        enqueue(pvItemName);
+        return true;
     }
 
     /**
@@ -288,7 +376,7 @@ public class OneWireUpdateScheduler {
 
     /**
      * This Taks fills the ivUpdateQueue with items, which must be updated.
-     * The ivUpdateQueue is used by OneWireUpdateTask to inform the Listeners about theses items
+     * The ivUpdateQueue is used by the OneWireUpdateTasks to inform the Listeners about theses items
      * 
      * @author Dennis Riegelbauer
      * @since 1.7.0
@@ -311,26 +399,13 @@ public class OneWireUpdateScheduler {
                 } else {
                     logger.debug("Autorefresh: Adding {} item(s) with refresh time {} to reader queue.",
                             lvItemNameList.size(), ivAutoRefreshTimeInSecs);
-                    logger.debug("Update Task isAlive: {}", ivOneWireUpdateTask.isAlive());
-                    if (!ivOneWireUpdateTask.isAlive()) {
-                        logger.debug("create and start a new Update Task again...");
-
-                        OneWireUpdateTask lvNewOneWireUpdateTask = new OneWireUpdateTask(ivUpdateQueue,
-                                ivOneWireUpdateTask.getIvWantsUpdateListener());
-                        ivOneWireUpdateTask = lvNewOneWireUpdateTask;
-
-                        ivOneWireUpdateTask.start();
-                    }
+                    // create and start Update Tasks again, which died
+                    startReaderTasks();
                     synchronized (lvItemNameList) {
                         // increase performance one slower systems on startup
                         // only add items to queue which aren't already in queue
                         for (String lvItemName : lvItemNameList) {
-                            if (!ivUpdateQueue.contains(lvItemName)) {
-                                logger.debug("add item {} to updateQueue", lvItemName);
-                                ivUpdateQueue.add(lvItemName);
-                            } else {
-                                logger.debug("didn't add item {} to updateQueue; it is already there", lvItemName);
-                            }
+                            enqueue(lvItemName);
                         }
                     }
                 }
@@ -11,6 +11,7 @@
  */
 package org.openhab.binding.onewire.internal.scheduler;
 
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 
 import org.openhab.binding.onewire.internal.listener.OneWireDevicePropertyWantsUpdateListener;
@@ -31,13 +32,19 @@ public class OneWireUpdateTask extends Thread {
 
     private final BlockingQueue<String> ivUpdateQueue;
 
+    /**
+     * items in the update queue, an item is removed when it is taken from the queue
+     */
+    private final Set<String> ivQueuedItems;
+
     private OneWireDevicePropertyWantsUpdateListener ivWantsUpdateListener;
 
-    public OneWireUpdateTask(BlockingQueue<String> pvQueue,
+    public OneWireUpdateTask(BlockingQueue<String> pvQueue, Set<String> pvQueuedItems,
             OneWireDevicePropertyWantsUpdateListener pvWantsUpdateListener) {
         super("OneWireBinding/ReaderTask");
         setDaemon(true);
         this.ivUpdateQueue = pvQueue;
+        this.ivQueuedItems = pvQueuedItems;
         this.ivWantsUpdateListener = pvWantsUpdateListener;
     }
 
@@ -53,6 +60,7 @@ public class OneWireUpdateTask extends Thread {
             while (true) {
                 logger.debug("Autorefresh: Waiting for new item in update queue");
                 lvItemName = ivUpdateQueue.take();
+                ivQueuedItems.remove(lvItemName);
                 logger.debug("Autorefresh: got new item {} in update queue", lvItemName);
 
                 if (lvItemName != null) {
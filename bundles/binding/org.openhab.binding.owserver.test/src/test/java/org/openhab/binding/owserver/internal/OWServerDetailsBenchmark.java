@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.owserver.internal;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Compares a refresh cycle of the {@link OWServerDetails} index with the time it took when every item parsed the
+ * full DOM of the <code>details.xml</code> response.
+ *
+ * Usage: <code>OWServerDetailsBenchmark [sensors] [cycles]</code>
+ *
+ * @since 1.14.0
+ */
+public class OWServerDetailsBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sensors = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int cycles = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        String response = sensors(readDetails(), sensors);
+        List<String> romIds = new ArrayList<String>();
+        for (int i = 0; i < sensors; i++) {
+            romIds.add(romId(i));
+        }
+
+        // warm up
+        runDom(response, romIds, 1);
+        runIndexed(response, romIds, 1);
+
+        long start = System.nanoTime();
+        runDom(response, romIds, cycles);
+        long dom = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        runIndexed(response, romIds, cycles);
+        long indexed = System.nanoTime() - start;
+
+        System.out.println(String.format("%d sensors, %d cycles", sensors, cycles));
+        System.out.println(String.format("DOM per item:    %.2f ms per cycle", dom / 1000000.0 / cycles));
+        System.out.println(String.format("index per cycle: %.2f ms per cycle", indexed / 1000000.0 / cycles));
+    }
+
+    private static void runDom(String response, List<String> romIds, int cycles) throws Exception {
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            for (String romId : romIds) {
+                check(romId, OWServerDetailsTest.getVariableFromDom(response, romId, "Temperature"));
+            }
+        }
+    }
+
+    private static void runIndexed(String response, List<String> romIds, int cycles) throws Exception {
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            OWServerDetails index = OWServerDetails.parse(response);
+            for (String romId : romIds) {
+                check(romId, index.getVariable(romId, "Temperature"));
+            }
+        }
+    }
+
+    private static void check(String romId, String value) {
+        if (value == null) {
+            throw new IllegalStateException("no temperature of sensor " + romId);
+        }
+    }
+
+    private static String readDetails() throws Exception {
+        InputStream in = OWServerDetailsBenchmark.class.getResourceAsStream("/details.xml");
+        if (in == null) {
+            throw new IllegalStateException("details.xml not found");
+        }
+        try {
+            return new Scanner(in, "UTF-8").useDelimiter("\\A").next();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Builds a response of the given number of thermometers from the captured one.
+     */
+    private static String sensors(String details, int count) {
+        int start = details.indexOf("<owd_DS18B20");
+        int end = details.indexOf("</owd_DS18B20>") + "</owd_DS18B20>".length();
+        String sensor = details.substring(start, end);
+        StringBuilder response = new StringBuilder(details.substring(0, start));
+        for (int i = 0; i < count; i++) {
+            response.append(sensor.replace("5F00000501E6D628", romId(i))).append('\n');
+        }
+        response.append(details.substring(details.indexOf("</Devices-Detail-Response>")));
+        return response.toString();
+    }
+
+    private static String romId(int i) {
+        return String.format("%014X28", i);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.owserver.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.Scanner;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests the {@link OWServerDetails} index against a captured <code>details.xml</code> of an OW-SERVER-ENET-2.
+ *
+ * @since 1.14.0
+ */
+public class OWServerDetailsTest {
+
+    private static final String[] VARIABLES = { "ROMId", "Temperature", "Vad", "InputLevel_A", "FlipFlop_B",
+            "Counter_A", "Health", "PrimaryValue", "Name", "Unknown" };
+
+    private String details;
+
+    @Before
+    public void init() throws Exception {
+        InputStream in = getClass().getResourceAsStream("/details.xml");
+        assertNotNull("details.xml not found", in);
+        try {
+            details = new Scanner(in, "UTF-8").useDelimiter("\\A").next();
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testValues() throws Exception {
+        OWServerDetails index = OWServerDetails.parse(details);
+        assertEquals("22.8750", index.getVariable("5F00000501E6D628", "Temperature"));
+        assertEquals("2.63", index.getVariable("E500000094E13426", "Vad"));
+        assertEquals("1", index.getVariable("3D000000151B6A12", "InputLevel_A"));
+        assertEquals("57369", index.getVariable("B70000000D4A731D", "Counter_A"));
+        assertEquals("5F00000501E6D628", index.getVariable("5F00000501E6D628", "ROMId"));
+        assertNull(index.getVariable("5F00000501E6D628", "Vad"));
+        assertNull(index.getVariable("0000000000000000", "Temperature"));
+    }
+
+    @Test
+    public void testSameValuesAsDomWalk() throws Exception {
+        OWServerDetails index = OWServerDetails.parse(details);
+        for (String romId : new String[] { "5F00000501E6D628", "E500000094E13426", "3D000000151B6A12",
+                "B70000000D4A731D", "0000000000000000" }) {
+            for (String variable : VARIABLES) {
+                assertEquals(romId + " " + variable, getVariableFromDom(details, romId, variable),
+                        index.getVariable(romId, variable));
+            }
+        }
+    }
+
+    @Test(expected = Exception.class)
+    public void testMalformedResponse() throws Exception {
+        OWServerDetails.parse(details.substring(0, details.length() / 2));
+    }
+
+    /**
+     * The lookup the binding did before, parsing the full response for every item.
+     */
+    static String getVariableFromDom(String response, String romId, String name) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(response)));
+        NodeList nodeList = document.getDocumentElement().getChildNodes();
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node node = nodeList.item(i);
+            if (node.getNodeName().startsWith("owd_")) {
+                boolean romMatch = false;
+                NodeList childNodes = node.getChildNodes();
+                for (int j = 0; j < childNodes.getLength(); j++) {
+                    Node cNode = childNodes.item(j);
+                    if (cNode instanceof Element) {
+                        String content = cNode.getLastChild().getTextContent().trim();
+                        if (cNode.getNodeName().equals("ROMId") & content.equals(romId)) {
+                            romMatch = true;
+                        }
+                        if (cNode.getNodeName().equals(name) & romMatch == true) {
+                            return content;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -8,8 +8,6 @@
  */
 package org.openhab.binding.owserver.internal;
 
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -17,9 +15,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.owserver.OWServerBindingProvider;
@@ -41,12 +37,6 @@ import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 /**
  * An active binding which requests the EDS OWServer data.
@@ -109,59 +99,6 @@ public class OWServerBinding extends AbstractActiveBinding<OWServerBindingProvid
         return "OWServer Refresh Service";
     }
 
-    String getVariable(String response, String romId, String name) {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-
-        // Get the DOM Builder
-        DocumentBuilder builder = null;
-        try {
-            builder = factory.newDocumentBuilder();
-        } catch (ParserConfigurationException e) {
-            logger.error("Error parsing OWServer XML response " + e.getMessage());
-        }
-
-        // Load and Parse the XML document
-        // document contains the complete XML as a Tree.
-        Document document = null;
-        try {
-            InputSource is = new InputSource(new StringReader(response));
-            document = builder.parse(is);
-        } catch (SAXException e) {
-            logger.error("Error reading OWServer XML response " + e.getMessage());
-        } catch (IOException e) {
-            logger.error("Error reading OWServer XML response " + e.getMessage());
-        }
-
-        // Iterating through the nodes and extracting the data.
-        NodeList nodeList = document.getDocumentElement().getChildNodes();
-
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Node node = nodeList.item(i);
-            if (node.getNodeName().startsWith("owd_")) {
-                boolean romMatch = false;
-                NodeList childNodes = node.getChildNodes();
-                for (int j = 0; j < childNodes.getLength(); j++) {
-                    Node cNode = childNodes.item(j);
-
-                    // Identifying the child tag of employee encountered.
-                    if (cNode instanceof Element) {
-                        String content = cNode.getLastChild().getTextContent().trim();
-                        if (cNode.getNodeName().equals("ROMId") & content.equals(romId)) {
-                            romMatch = true;
-                        }
-
-                        String nname = cNode.getNodeName();
-                        if (nname.equals(name) & romMatch == true) {
-                            return content;
-                        }
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
-
     /**
      * @{inheritDoc
      */
@@ -198,7 +135,6 @@ public class OWServerBinding extends AbstractActiveBinding<OWServerBindingProvid
                         }
                     }
 
-                    String response = null;
                     if (needsUpdate == true) {
                         String address;
                         if (server.user == null) {
@@ -208,23 +144,28 @@ public class OWServerBinding extends AbstractActiveBinding<OWServerBindingProvid
                                     + "/details.xml";
                         }
                         logger.debug("Getting OWSERVER data from " + address);
-                        response = HttpUtil.executeUrl("GET", address, timeout);
-                        server.cache = response;
+                        String response = HttpUtil.executeUrl("GET", address, timeout);
+                        server.cache = null;
+                        server.lastUpdate = (long) 0;
 
                         if (response == null) {
-                            server.lastUpdate = (long) 0;
                             logger.error("No response received from '{}'", address);
                         } else {
-                            server.lastUpdate = System.currentTimeMillis();
+                            try {
+                                // parsed once, all items of this server are answered from the index
+                                server.cache = OWServerDetails.parse(response);
+                                server.lastUpdate = System.currentTimeMillis();
+                            } catch (XMLStreamException e) {
+                                logger.error("Error reading OWServer XML response " + e.getMessage());
+                            }
                         }
-                        serverList.put(address, server);
                     } else {
                         logger.debug("Using OWSERVER cache");
-                        response = server.cache;
                     }
+                    OWServerDetails details = server.cache;
 
-                    if (response != null) {
-                        String value = getVariable(response, provider.getRomId(itemName), provider.getName(itemName));
+                    if (details != null) {
+                        String value = details.getVariable(provider.getRomId(itemName), provider.getName(itemName));
                         if (value != null) {
                             Class<? extends Item> itemType = provider.getItemType(itemName);
                             State state = createState(itemType, value);
@@ -359,7 +300,7 @@ public class OWServerBinding extends AbstractActiveBinding<OWServerBindingProvid
         public String user;
         public String password;
         public Long lastUpdate;
-        public String cache;
+        public OWServerDetails cache;
 
         OWServerConfig() {
             lastUpdate = (long) 0;
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.owserver.internal;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The values of all devices in an EDS OW-Server <code>details.xml</code>
+ * response, indexed by ROM id and variable name.
+ *
+ * The response is read once with a streaming parser, so any number of items
+ * can be answered from a single parse.
+ *
+ * @since 1.14.0
+ */
+class OWServerDetails {
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    }
+
+    private final Map<String, Map<String, String>> devices;
+
+    private OWServerDetails(Map<String, Map<String, String>> devices) {
+        this.devices = devices;
+    }
+
+    /**
+     * Parses a <code>details.xml</code> response.
+     *
+     * Only the variables following the <code>ROMId</code> of a device are
+     * indexed, the first occurrence of a variable wins.
+     *
+     * @param response the XML returned by the OW-Server
+     * @return the index of all device values
+     * @throws XMLStreamException if the response is not well-formed
+     */
+    static OWServerDetails parse(String response) throws XMLStreamException {
+        Map<String, Map<String, String>> devices = new HashMap<String, Map<String, String>>();
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(response));
+        try {
+            int depth = 0;
+            boolean inDevice = false;
+            Map<String, String> variables = null;
+            String variable = null;
+            StringBuilder content = new StringBuilder();
+
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        if (depth == 2) {
+                            inDevice = reader.getLocalName().startsWith("owd_");
+                            variables = null;
+                        } else if (depth == 3 && inDevice) {
+                            variable = reader.getLocalName();
+                            content.setLength(0);
+                        }
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        if (variable != null) {
+                            content.append(reader.getText());
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (depth == 3 && variable != null) {
+                            String value = content.toString().trim();
+                            if ("ROMId".equals(variable)) {
+                                variables = devices.get(value);
+                                if (variables == null) {
+                                    variables = new HashMap<String, String>();
+                                    devices.put(value, variables);
+                                }
+                            }
+                            if (variables != null && !variables.containsKey(variable)) {
+                                variables.put(variable, value);
+                            }
+                            variable = null;
+                        }
+                        depth--;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new OWServerDetails(devices);
+    }
+
+    /**
+     * Returns the value of a variable of a device.
+     *
+     * @param romId the ROM id of the device
+     * @param name the name of the variable
+     * @return the value or <code>null</code> if the device or variable is unknown
+     */
+    String getVariable(String romId, String name) {
+        Map<String, String> variables = devices.get(romId);
+        return variables == null ? null : variables.get(name);
+    }
+}
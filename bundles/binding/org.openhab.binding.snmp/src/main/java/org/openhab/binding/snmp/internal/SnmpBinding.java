@@ -9,13 +9,21 @@
 package org.openhab.binding.snmp.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.apache.commons.lang.ObjectUtils;
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.snmp.SnmpBindingProvider;
 import org.openhab.core.binding.AbstractActiveBinding;
+import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.library.items.StringItem;
@@ -35,6 +43,7 @@ import org.snmp4j.CommandResponderEvent;
 import org.snmp4j.CommunityTarget;
 import org.snmp4j.PDU;
 import org.snmp4j.Snmp;
+import org.snmp4j.Target;
 import org.snmp4j.event.ResponseEvent;
 import org.snmp4j.event.ResponseListener;
 import org.snmp4j.security.Priv3DES;
@@ -76,6 +85,10 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
     private static int timeout = 1500;
     private static int retries = 0;
 
+    private static final int DEFAULT_MAX_VAR_BINDINGS = 20;
+    /** The maximum number of OIDs requested from an agent in a single GET PDU */
+    private static int maxVarBindings = DEFAULT_MAX_VAR_BINDINGS;
+
     /**
      * the interval to find new refresh candidates (defaults to 1000
      * milliseconds)
@@ -84,6 +97,13 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
 
     private Map<String, Long> lastUpdateMap = new HashMap<String, Long>();
 
+    /**
+     * The IN binding items by agent address and OID, used to dispatch received PDUs without scanning all items. The
+     * map is immutable and rebuilt on the next dispatch after the bindings have changed.
+     */
+    private volatile Map<Address, Map<OID, List<BoundItem>>> itemIndex = Collections.emptyMap();
+    private volatile boolean itemIndexDirty = true;
+
     @Override
     public void activate() {
         logger.debug("SNMP binding activated");
@@ -212,55 +232,150 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
         // address.
         ((Snmp) event.getSource()).cancel(event.getRequest(), this);
 
-        dispatchPdu(event.getPeerAddress(), event.getResponse());
+        PDU request = event.getRequest();
+        PDU response = event.getResponse();
+        if (response == null) {
+            logger.debug("SNMP: No response to PDU {}", request);
+            return;
+        }
+
+        if (response.getErrorStatus() != PDU.noError && resendAfterError(event)) {
+            return;
+        }
+
+        dispatchPdu(event.getPeerAddress(), response);
+    }
+
+    /**
+     * Retries a multi-variable request which failed as a whole because of a single variable (SNMPv1) or because the
+     * response would not fit into a single message.
+     *
+     * @return <code>true</code> if the request has been resent
+     */
+    private boolean resendAfterError(ResponseEvent event) {
+        PDU request = event.getRequest();
+        PDU response = event.getResponse();
+        if (request == null || request.getType() != PDU.GET || request.size() < 2
+                || !(event.getUserObject() instanceof Target) || snmp == null) {
+            return false;
+        }
+
+        Target target = (Target) event.getUserObject();
+        List<? extends VariableBinding> bindings = request.getVariableBindings();
+        int errorIndex = response.getErrorIndex();
+
+        if (response.getErrorStatus() == PDU.tooBig) {
+            logger.debug("SNMP: Response to PDU {} is too big, splitting the request", request);
+            int half = bindings.size() / 2;
+            sendGetPDU(target, bindings.subList(0, half));
+            sendGetPDU(target, bindings.subList(half, bindings.size()));
+            return true;
+        } else if (errorIndex > 0 && errorIndex <= bindings.size()) {
+            // SNMPv1 agents fail the whole request if a single OID is unknown, so ask again without it
+            logger.debug("SNMP: Agent '{}' reported '{}' for OID '{}', requesting the remaining OIDs again",
+                    target.getAddress(), response.getErrorStatusText(), bindings.get(errorIndex - 1).getOid());
+            List<VariableBinding> remaining = new ArrayList<VariableBinding>(bindings);
+            remaining.remove(errorIndex - 1);
+            sendGetPDU(target, remaining);
+            return true;
+        }
+        return false;
     }
 
     private void dispatchPdu(Address address, PDU pdu) {
         if (pdu != null & address != null) {
             logger.debug("Received PDU from '{}' '{}'", address, pdu);
+
+            Map<OID, List<BoundItem>> itemsByOid = getItemIndex().get(address);
+            if (itemsByOid == null) {
+                logger.trace("No item is bound to address '{}'", address);
+                return;
+            }
+
+            for (VariableBinding binding : pdu.getVariableBindings()) {
+                List<BoundItem> items = itemsByOid.get(binding.getOid());
+                if (items == null) {
+                    logger.trace("No item is bound to OID '{}'", binding.getOid());
+                    continue;
+                }
+
+                Variable variable = binding.getVariable();
+                if (variable == null || variable.isException()) {
+                    logger.debug("Agent '{}' returned no value for OID '{}': {}", address, binding.getOid(),
+                            variable);
+                    continue;
+                }
+
+                for (BoundItem item : items) {
+                    postUpdate(item.provider, item.itemName, variable);
+                }
+            }
+        }
+    }
+
+    private void postUpdate(SnmpBindingProvider provider, String itemName, Variable variable) {
+        Class<? extends Item> itemType = provider.getItemType(itemName);
+
+        // Do any transformations
+        String value = variable.toString();
+        try {
+            value = provider.doTransformation(itemName, value);
+        } catch (TransformationException e) {
+            logger.error("Transformation error with item {}: {}", itemName, e);
+        }
+
+        // Change to a state
+        State state = null;
+        if (itemType.isAssignableFrom(StringItem.class)) {
+            state = StringType.valueOf(value);
+        } else if (itemType.isAssignableFrom(NumberItem.class)) {
+            state = DecimalType.valueOf(value);
+        } else if (itemType.isAssignableFrom(SwitchItem.class)) {
+            state = OnOffType.valueOf(value);
+        }
+
+        if (state != null) {
+            eventPublisher.postUpdate(itemName, state);
+        } else {
+            logger.debug("'{}' couldn't be parsed to a State. Valid State-Types are String and Number",
+                    variable.toString());
+        }
+    }
+
+    /**
+     * Returns the IN binding items by address and OID, rebuilding the index if the bindings have changed since it
+     * has been built.
+     */
+    private Map<Address, Map<OID, List<BoundItem>>> getItemIndex() {
+        if (itemIndexDirty) {
+            // reset the flag first, so that a change during the rebuild triggers another one
+            itemIndexDirty = false;
+
+            Map<Address, Map<OID, List<BoundItem>>> index = new HashMap<Address, Map<OID, List<BoundItem>>>();
             for (SnmpBindingProvider provider : providers) {
-                for (String itemName : provider.getItemNames()) {
-                    // Check the IP address
-                    if (!provider.getAddress(itemName).equals(address)) {
+                for (String itemName : provider.getInBindingItemNames()) {
+                    Address address = provider.getAddress(itemName);
+                    if (address == null) {
                         continue;
                     }
 
-                    // Check the OID
+                    Map<OID, List<BoundItem>> itemsByOid = index.get(address);
+                    if (itemsByOid == null) {
+                        itemsByOid = new HashMap<OID, List<BoundItem>>();
+                        index.put(address, itemsByOid);
+                    }
                     OID oid = provider.getOID(itemName);
-                    Variable variable = pdu.getVariable(oid);
-                    if (variable != null) {
-                        Class<? extends Item> itemType = provider.getItemType(itemName);
-
-                        // Do any transformations
-                        String value = variable.toString();
-                        try {
-                            value = provider.doTransformation(itemName, value);
-                        } catch (TransformationException e) {
-                            logger.error("Transformation error with item {}: {}", itemName, e);
-                        }
-
-                        // Change to a state
-                        State state = null;
-                        if (itemType.isAssignableFrom(StringItem.class)) {
-                            state = StringType.valueOf(value);
-                        } else if (itemType.isAssignableFrom(NumberItem.class)) {
-                            state = DecimalType.valueOf(value);
-                        } else if (itemType.isAssignableFrom(SwitchItem.class)) {
-                            state = OnOffType.valueOf(value);
-                        }
-
-                        if (state != null) {
-                            eventPublisher.postUpdate(itemName, state);
-                        } else {
-                            logger.debug("'{}' couldn't be parsed to a State. Valid State-Types are String and Number",
-                                    variable.toString());
-                        }
-                    } else {
-                        logger.trace("PDU doesn't contain a variable with OID '{}'", oid.toString());
+                    List<BoundItem> items = itemsByOid.get(oid);
+                    if (items == null) {
+                        items = new ArrayList<BoundItem>(1);
+                        itemsByOid.put(oid, items);
                     }
+                    items.add(new BoundItem(provider, itemName));
                 }
             }
+            itemIndex = index;
         }
+        return itemIndex;
     }
 
     /**
@@ -319,6 +434,9 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
      */
     @Override
     public void execute() {
+        // collect the due OIDs per agent, so that they can be requested with as few PDUs as possible
+        Map<AgentKey, Set<OID>> dueOids = new LinkedHashMap<AgentKey, Set<OID>>();
+
         for (SnmpBindingProvider provider : providers) {
             for (String itemName : provider.getInBindingItemNames()) {
                 int refreshInterval = provider.getRefreshInterval(itemName);
@@ -339,40 +457,85 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
                 if (needsUpdate) {
                     logger.debug("Item '{}' is about to be refreshed", itemName);
 
-                    // Set up the target
-                    CommunityTarget target = new CommunityTarget();
-                    target.setCommunity(provider.getCommunity(itemName));
-                    target.setAddress(provider.getAddress(itemName));
-                    target.setRetries(retries);
-                    target.setTimeout(timeout);
-                    target.setVersion(provider.getSnmpVersion(itemName));
-
-                    // Create the PDU
-                    PDU pdu = new PDU();
-                    pdu.add(new VariableBinding(provider.getOID(itemName)));
-                    pdu.setType(PDU.GET);
-
-                    logger.debug("SNMP: Send PDU {} {}", provider.getAddress(itemName), pdu);
-
-                    if (snmp == null) {
-                        logger.error("SNMP: snmp not initialised - aborting request");
-                    } else {
-                        sendPDU(target, pdu);
+                    AgentKey agent = new AgentKey(provider.getAddress(itemName), provider.getCommunity(itemName),
+                            provider.getSnmpVersion(itemName));
+                    Set<OID> oids = dueOids.get(agent);
+                    if (oids == null) {
+                        oids = new LinkedHashSet<OID>();
+                        dueOids.put(agent, oids);
                     }
+                    oids.add(provider.getOID(itemName));
 
                     lastUpdateMap.put(itemName, System.currentTimeMillis());
                 }
             }
         }
 
+        if (dueOids.isEmpty()) {
+            return;
+        }
+        if (snmp == null) {
+            logger.error("SNMP: snmp not initialised - aborting request");
+            return;
+        }
+
+        for (Map.Entry<AgentKey, Set<OID>> entry : dueOids.entrySet()) {
+            AgentKey agent = entry.getKey();
+
+            // Set up the target
+            CommunityTarget target = new CommunityTarget();
+            target.setCommunity(agent.community);
+            target.setAddress(agent.address);
+            target.setRetries(retries);
+            target.setTimeout(timeout);
+            target.setVersion(agent.snmpVersion);
+
+            List<VariableBinding> bindings = new ArrayList<VariableBinding>(maxVarBindings);
+            for (OID oid : entry.getValue()) {
+                bindings.add(new VariableBinding(oid));
+                if (bindings.size() == maxVarBindings) {
+                    sendGetPDU(target, bindings);
+                    bindings.clear();
+                }
+            }
+            if (!bindings.isEmpty()) {
+                sendGetPDU(target, bindings);
+            }
+        }
+    }
+
+    private void sendGetPDU(Target target, List<? extends VariableBinding> bindings) {
+        // Create the PDU
+        PDU pdu = new PDU();
+        for (VariableBinding binding : bindings) {
+            pdu.add(new VariableBinding(binding.getOid()));
+        }
+        pdu.setType(PDU.GET);
+
+        logger.debug("SNMP: Send PDU {} {}", target.getAddress(), pdu);
+        sendPDU(target, pdu);
     }
 
     protected void addBindingProvider(SnmpBindingProvider bindingProvider) {
         super.addBindingProvider(bindingProvider);
+        itemIndexDirty = true;
     }
 
     protected void removeBindingProvider(SnmpBindingProvider bindingProvider) {
         super.removeBindingProvider(bindingProvider);
+        itemIndexDirty = true;
+    }
+
+    @Override
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        super.bindingChanged(provider, itemName);
+        itemIndexDirty = true;
+    }
+
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        super.allBindingsChanged(provider);
+        itemIndexDirty = true;
     }
 
     /**
@@ -429,6 +592,16 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
                         SnmpBinding.retries);
             }
 
+            String maxVarBindingsString = (String) config.get("maxvarbindings");
+            if (StringUtils.isNotBlank(maxVarBindingsString) && maxVarBindingsString.matches("\\d+")
+                    && Integer.parseInt(maxVarBindingsString) > 0) {
+                SnmpBinding.maxVarBindings = Integer.parseInt(maxVarBindingsString);
+            } else {
+                SnmpBinding.maxVarBindings = DEFAULT_MAX_VAR_BINDINGS;
+                logger.debug("Didn't find SNMP maxvarbindings or configuration is invalid -> maxvarbindings set to {}",
+                        SnmpBinding.maxVarBindings);
+            }
+
         }
 
         for (SnmpBindingProvider provider : providers) {
@@ -444,12 +617,56 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
         setProperlyConfigured(true);
     }
 
-    private void sendPDU(CommunityTarget target, PDU pdu) {
+    private void sendPDU(Target target, PDU pdu) {
         try {
-            snmp.send(pdu, target, null, this);
+            // the target is passed along to be able to resend parts of the request in onResponse()
+            snmp.send(pdu, target, target, this);
         } catch (IOException e) {
             logger.error("Error sending PDU", e);
         }
     }
 
+    /**
+     * An item bound to an OID of an agent.
+     */
+    private static class BoundItem {
+        final SnmpBindingProvider provider;
+        final String itemName;
+
+        BoundItem(SnmpBindingProvider provider, String itemName) {
+            this.provider = provider;
+            this.itemName = itemName;
+        }
+    }
+
+    /**
+     * The agent and credentials OIDs are polled with. OIDs with the same key can be requested with a single PDU.
+     */
+    private static class AgentKey {
+        final Address address;
+        final OctetString community;
+        final int snmpVersion;
+
+        AgentKey(Address address, OctetString community, int snmpVersion) {
+            this.address = address;
+            this.community = community;
+            this.snmpVersion = snmpVersion;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * ObjectUtils.hashCode(address) + ObjectUtils.hashCode(community)) + snmpVersion;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof AgentKey)) {
+                return false;
+            }
+            AgentKey other = (AgentKey) obj;
+            return ObjectUtils.equals(address, other.address) && ObjectUtils.equals(community, other.community)
+                    && snmpVersion == other.snmpVersion;
+        }
+    }
+
 }
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+/**
+ * @since 1.14.0
+ */
+public class FrameDecodersTest {
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(ASCII));
+    }
+
+    private static String string(ByteBuffer frame) {
+        byte[] content = new byte[frame.remaining()];
+        frame.get(content);
+        return new String(content, ASCII);
+    }
+
+    @Test
+    public void testParseNone() {
+        assertNull(FrameDecoders.parse(null));
+        assertNull(FrameDecoders.parse(""));
+        assertNull(FrameDecoders.parse("none"));
+    }
+
+    @Test
+    public void testParse() {
+        assertTrue(FrameDecoders.parse("delimiter:\\r\\n") instanceof FrameDecoders.DelimiterFrameDecoder);
+        assertTrue(FrameDecoders.parse("length:2") instanceof FrameDecoders.LengthFieldFrameDecoder);
+        assertTrue(FrameDecoders.parse("fixed:8") instanceof FrameDecoders.FixedLengthFrameDecoder);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseUnknownFraming() {
+        FrameDecoders.parse("xml");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidLengthField() {
+        FrameDecoders.parse("length:3");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseEmptyDelimiter() {
+        FrameDecoders.parse("delimiter:");
+    }
+
+    @Test
+    public void testDelimiter() {
+        FrameDecoder decoder = FrameDecoders.parse("delimiter:\\r\\n");
+        ByteBuffer buffer = buffer("first\r\n\r\nsecond\r\nthi");
+
+        assertEquals("first", string(decoder.decode(buffer)));
+        assertEquals("", string(decoder.decode(buffer)));
+        assertEquals("second", string(decoder.decode(buffer)));
+        assertNull(decoder.decode(buffer));
+        assertEquals("thi", string(buffer));
+    }
+
+    @Test
+    public void testDelimiterSplitAcrossReads() {
+        FrameDecoder decoder = FrameDecoders.parse("delimiter:\\r\\n");
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+
+        buffer.put("abc\r".getBytes(ASCII));
+        buffer.flip();
+        assertNull(decoder.decode(buffer));
+        buffer.compact();
+
+        buffer.put("\n".getBytes(ASCII));
+        buffer.flip();
+        assertEquals("abc", string(decoder.decode(buffer)));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testFrameIsViewOnBuffer() {
+        FrameDecoder decoder = FrameDecoders.parse("delimiter:;");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("ab;cd".getBytes(ASCII));
+        buffer.flip();
+
+        ByteBuffer frame = decoder.decode(buffer);
+        assertTrue(frame.isDirect());
+        assertEquals(0, frame.position());
+        assertEquals(2, frame.limit());
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    public void testLengthField() {
+        FrameDecoder decoder = FrameDecoders.parse("length:2");
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        buffer.putShort((short) 3).put("abc".getBytes(ASCII));
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 4).put("de".getBytes(ASCII));
+        buffer.flip();
+
+        assertEquals("abc", string(decoder.decode(buffer)));
+        assertEquals("", string(decoder.decode(buffer)));
+        assertNull(decoder.decode(buffer));
+        assertEquals(4, buffer.remaining());
+    }
+
+    @Test
+    public void testLengthFieldUnsigned() {
+        FrameDecoder decoder = FrameDecoders.parse("length:1");
+        ByteBuffer buffer = ByteBuffer.allocate(300);
+        buffer.put((byte) 200).put(new byte[200]);
+        buffer.flip();
+
+        assertEquals(200, decoder.decode(buffer).remaining());
+    }
+
+    @Test
+    public void testFixedLength() {
+        FrameDecoder decoder = FrameDecoders.parse("fixed:3");
+        ByteBuffer buffer = buffer("abcdefgh");
+
+        assertEquals("abc", string(decoder.decode(buffer)));
+        assertEquals("def", string(decoder.decode(buffer)));
+        assertNull(decoder.decode(buffer));
+        assertEquals(2, buffer.remaining());
+    }
+
+    @Test
+    public void testByteBufferPool() {
+        ByteBufferPool pool = new ByteBufferPool(64, 1);
+
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+        assertTrue(first.isDirect());
+        assertEquals(64, first.capacity());
+
+        first.put((byte) 1);
+        pool.release(first);
+        pool.release(second);
+
+        ByteBuffer reused = pool.acquire();
+        assertSame(first, reused);
+        assertEquals(0, reused.position());
+        assertNotSame(second, pool.acquire());
+    }
+
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+/**
+ * Measures the throughput of the replay of {@link SocketChannelReplayTest}, once as unframed reads and once split
+ * into frames by a {@link FrameDecoder}.
+ *
+ * Usage: <code>SocketChannelReplayBenchmark</code>
+ *
+ * @since 1.14.0
+ */
+public class SocketChannelReplayBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        // warm up
+        measure(null);
+        measure("delimiter:\\r\\n");
+
+        long unframed = measure(null);
+        long framed = measure("delimiter:\\r\\n");
+
+        SocketChannelReplayTest replay = new SocketChannelReplayTest();
+        replay.init();
+        int bytes = replay.capture.length;
+        replay.cleanup();
+        System.out.println(String.format("replayed %d bytes", bytes));
+        System.out.println(String.format("unframed: %.1f MB/s", bytes / (unframed / 1e9) / 1e6));
+        System.out.println(String.format("framed:   %.1f MB/s (%.0f frames/s)", bytes / (framed / 1e9) / 1e6,
+                SocketChannelReplayTest.FRAMES / (framed / 1e9)));
+
+        // the shared quartz scheduler used by the binding keeps the vm running
+        System.exit(0);
+    }
+
+    /**
+     * Replays the capture with the given framing and returns the time it took in ns.
+     */
+    private static long measure(String framing) throws Exception {
+        SocketChannelReplayTest replay = new SocketChannelReplayTest();
+        replay.init();
+        try {
+            long start = System.nanoTime();
+            replay.binding = replay.replay(framing);
+            return System.nanoTime() - start;
+        } finally {
+            replay.cleanup();
+        }
+    }
+}
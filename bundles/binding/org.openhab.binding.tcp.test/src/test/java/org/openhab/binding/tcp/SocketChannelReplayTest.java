@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.core.binding.BindingChangeListener;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
+
+/**
+ * Replays a captured byte stream of a line based device through {@link AbstractSocketChannelBinding} and checks
+ * that it is split into the captured frames by a {@link FrameDecoder}.
+ *
+ * The stream is written to the binding over a loopback connection in randomly sized chunks, so that frames are
+ * split across reads just like on a real network.
+ *
+ * @since 1.14.0
+ */
+public class SocketChannelReplayTest {
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+    static final int FRAMES = 20000;
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    byte[] capture;
+    private ServerSocket server;
+    ReplayBinding binding;
+
+    @Before
+    public void init() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int i = 0; i < FRAMES; i++) {
+            stream.write(String.format("SEQ=%d;T=%.1f;H=%d\r\n", i, 18 + (i % 70) / 10.0, 40 + i % 20)
+                    .getBytes(ASCII));
+        }
+        capture = stream.toByteArray();
+
+        server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        if (binding != null) {
+            binding.deactivate();
+        }
+        server.close();
+    }
+
+    @Test
+    public void testFramesMatchCapture() throws Exception {
+        binding = replay("delimiter:\\r\\n");
+
+        assertEquals(FRAMES, binding.frames.size());
+        for (int i = 0; i < FRAMES; i++) {
+            assertTrue(binding.frames.get(i).startsWith("SEQ=" + i + ";"));
+        }
+    }
+
+    /**
+     * Connects a binding configured with the given framing to the replay server, replays the capture and waits
+     * until the binding has parsed all of it.
+     */
+    ReplayBinding replay(String framing) throws Exception {
+        ReplayBinding theBinding = new ReplayBinding();
+        theBinding.activate();
+        Hashtable<String, Object> config = new Hashtable<String, Object>();
+        if (framing != null) {
+            config.put("framing", framing);
+        }
+        theBinding.updated(config);
+        theBinding.addBindingProvider(new ReplayProvider(server.getLocalPort()));
+        theBinding.setUp();
+
+        Socket socket = server.accept();
+        try {
+            OutputStream out = socket.getOutputStream();
+            Random random = new Random(42);
+            int offset = 0;
+            while (offset < capture.length) {
+                int length = Math.min(1 + random.nextInt(512), capture.length - offset);
+                out.write(capture, offset, length);
+                offset += length;
+            }
+            out.flush();
+
+            assertTrue("the capture has not been parsed completely", theBinding.awaitBytes(capture.length, TIMEOUT));
+        } finally {
+            socket.close();
+        }
+        return theBinding;
+    }
+
+    static class ReplayBinding extends AbstractSocketChannelBinding<ChannelBindingProvider> {
+
+        final List<String> frames = new ArrayList<String>();
+        private long bytes = 0;
+
+        void setUp() {
+            execute();
+        }
+
+        synchronized boolean awaitBytes(long expected, long timeout) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeout;
+            while (bytes < expected && System.currentTimeMillis() < deadline) {
+                wait(Math.max(1, deadline - System.currentTimeMillis()));
+            }
+            return bytes >= expected;
+        }
+
+        @Override
+        protected synchronized void parseBuffer(String itemName, Command aCommand, Direction theDirection,
+                ByteBuffer byteBuffer) {
+            if (frameDecoder != null) {
+                frames.add(new String(byteBuffer.array(), ASCII));
+                // account for the delimiter stripped from the frame
+                bytes += byteBuffer.limit() + 2;
+            } else {
+                bytes += byteBuffer.limit();
+            }
+            notifyAll();
+        }
+
+        @Override
+        protected void configureChannel(Channel channel) {
+        }
+
+        @Override
+        protected boolean internalReceiveChanneledCommand(String itemName, Command command, Channel sChannel,
+                String commandAsString) {
+            return false;
+        }
+
+        @Override
+        protected String getName() {
+            return "Replay";
+        }
+    }
+
+    private static class ReplayProvider implements ChannelBindingProvider {
+
+        private static final String ITEM = "Replay";
+        private static final Command COMMAND = StringType.valueOf("*");
+
+        private final int port;
+
+        ReplayProvider(int port) {
+            this.port = port;
+        }
+
+        @Override
+        public Collection<String> getItemNames() {
+            return Collections.singletonList(ITEM);
+        }
+
+        @Override
+        public List<Command> getAllCommands(String itemName) {
+            return Collections.singletonList(COMMAND);
+        }
+
+        @Override
+        public String getHost(String itemName, Command command) {
+            return InetAddress.getLoopbackAddress().getHostAddress();
+        }
+
+        @Override
+        public int getPort(String itemName, Command command) {
+            return port;
+        }
+
+        @Override
+        public String getPortAsString(String itemName, Command command) {
+            return Integer.toString(port);
+        }
+
+        @Override
+        public Direction getDirection(String itemName, Command command) {
+            return Direction.OUT;
+        }
+
+        @Override
+        public InetSocketAddress getInetSocketAddress(String itemName, Command command) {
+            return new InetSocketAddress(getHost(itemName, command), port);
+        }
+
+        @Override
+        public List<InetSocketAddress> getInetSocketAddresses(String itemName) {
+            return Collections.singletonList(getInetSocketAddress(itemName, COMMAND));
+        }
+
+        @Override
+        public Collection<String> getItemNames(String host, int port) {
+            return getItemNames();
+        }
+
+        @Override
+        public List<Command> getQualifiedCommands(String itemName, Command command) {
+            return getAllCommands(itemName);
+        }
+
+        @Override
+        public List<Class<? extends State>> getAcceptedDataTypes(String itemName, Command command) {
+            List<Class<? extends State>> types = new ArrayList<Class<? extends State>>();
+            types.add(StringType.class);
+            return types;
+        }
+
+        @Override
+        public boolean providesBindingFor(String itemName) {
+            return ITEM.equals(itemName);
+        }
+
+        @Override
+        public boolean providesBinding() {
+            // keeps the binding from starting its refresh thread, the test drives execute() itself
+            return false;
+        }
+
+        @Override
+        public void addBindingChangeListener(BindingChangeListener listener) {
+        }
+
+        @Override
+        public void removeBindingChangeListener(BindingChangeListener listener) {
+        }
+    }
+
+}
@@ -8,10 +8,6 @@
  */
 package org.openhab.binding.tcp;
 
-import static org.quartz.DateBuilder.futureDate;
-import static org.quartz.JobBuilder.newJob;
-import static org.quartz.TriggerBuilder.newTrigger;
-
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
@@ -22,10 +18,14 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.binding.AbstractActiveBinding;
@@ -35,16 +35,10 @@ import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
 import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
-import org.quartz.DateBuilder.IntervalUnit;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
-import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.impl.StdSchedulerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +48,9 @@ import org.slf4j.LoggerFactory;
  * requires a ChannelBindingProvider based binding provider. Data is pushed around using ByteBuffers with an indicator
  * for blocking/non-blocking (synchronous/asynchronous) communication
  *
+ * All channels are owned by a dedicated {@link SelectorLoop} thread. Other threads only queue data to be written or
+ * hand over tasks (registering, reconnecting channels) to that thread, so no locking is needed around the selector.
+ *
  * @author Karel Goderis
  * @since 1.1.0
  *
@@ -83,12 +80,26 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
     protected boolean useAddressMask = true;
     // refresh interval for the worker thread
     protected long refreshInterval = 250;
+    // splits the received datagrams into frames, if set
+    protected volatile FrameDecoder frameDecoder = null;
 
     protected DatagramChannel listenerChannel = null;
     protected SelectionKey listenerKey = null;
 
-    // Queue to store BufferElements that need to be written to the network
-    protected List<WriteBufferElement> writeQueue = Collections.synchronizedList(new ArrayList<WriteBufferElement>());
+    // Queue to store BufferElements that need to be written to the network, filled by any thread and drained by the
+    // selector loop
+    protected Queue<WriteBufferElement> writeQueue = new ConcurrentLinkedQueue<WriteBufferElement>();
+
+    // the I/O thread owning the selector and all channels registered with it
+    private SelectorLoop selectorLoop;
+
+    // buffers owned by the selector loop, reused for every read
+    private ByteBuffer directReadBuffer;
+    private ByteBuffer dispatchBuffer;
+
+    // interval in which the channel metrics are logged
+    private static final long METRICS_LOG_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private long lastMetricsLog = 0;
 
     // Simple datastructure to track the state of Channels
     protected ChannelTracker<Channel> channels = new ChannelTracker<Channel>();
@@ -110,19 +121,21 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         // the direction, in our out, of this channel
         public Direction direction;
         // flag to indicate if the channel is in a blocking write/read operation
-        public boolean isBlocking;
+        public volatile boolean isBlocking;
         // placeholder to store the received data as the result of a blocking write/read operation
-        public ByteBuffer buffer;
+        public volatile ByteBuffer buffer;
         // flag to indicate if the channel is reconnecting / recovering from a previous communication error
-        public boolean isReconnecting;
+        public volatile boolean isReconnecting;
         // reference to the underlying Java NIO DatagramChannel that represents this UDP/IP connection
-        public DatagramChannel channel;
+        public volatile DatagramChannel channel;
         // remote host name to use. Could be "*" when using masked addresses
         public String host;
         // remote port number to use. Could be "*" when using masked addresses
         public String port;
         // the address of the last remote host:ip that this Channel received data from
         public InetSocketAddress lastRemote;
+        // traffic counters of this channel
+        public final ChannelMetrics metrics = new ChannelMetrics();
 
         public Channel(String item, Command command, InetSocketAddress remote, Direction direction, boolean isBlocking,
                 ByteBuffer buffer, boolean isReconnecting, DatagramChannel channel) {
@@ -214,424 +227,364 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
      * @since 1.4.0
      * 
      **/
-    protected class ChannelTracker<C extends Channel> extends ArrayList<C> {
+    protected class ChannelTracker<C extends Channel> extends CopyOnWriteArrayList<C> {
 
         private static final long serialVersionUID = 1543958347565096785L;
 
         public boolean contains(String item, Command command, Direction direction, InetSocketAddress remote) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
-                        return true;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (item.equals(aChannel.item) && command.equals(aChannel.command)
+                        && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
+                    return true;
                 }
-
-                return false;
             }
+
+            return false;
         }
 
         public Channel get(String item, Command command, Direction direction, InetSocketAddress remote) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (item.equals(aChannel.item) && command.equals(aChannel.command)
+                        && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public Channel get(String item, Command command, Direction direction, String host, String port) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction)) {
-                        if (aChannel.host.equals(host) && aChannel.port.equals(port)) {
-                            return aChannel;
-                        }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (item.equals(aChannel.item) && command.equals(aChannel.command)
+                        && direction.equals(aChannel.direction)) {
+                    if (aChannel.host.equals(host) && aChannel.port.equals(port)) {
+                        return aChannel;
                     }
                 }
-
-                return null;
-
             }
+
+            return null;
         }
 
         public Channel get(DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theDatagramChannel.equals(aChannel.channel)) {
+                    return aChannel;
                 }
-                return null;
             }
+            return null;
         }
 
         public Channel getFirst(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel == null
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && aChannel.channel == null
+                        && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
+            }
 
-                Iterator<C> it2 = iterator();
-                while (it2.hasNext()) {
-                    C aChannel = it2.next();
-                    if (remoteAddress.equals(aChannel.remote)) {
-                        return aChannel;
-                    }
+            Iterator<C> it2 = iterator();
+            while (it2.hasNext()) {
+                C aChannel = it2.next();
+                if (remoteAddress.equals(aChannel.remote)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public Channel getFirst(String itemName, Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
+                        && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public Channel getFirstServed(String itemName, Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && aChannel.channel != null && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
+                        && aChannel.channel != null && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(String itemName, Direction direction, DatagramChannel theDatagramChannel,
                 DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
+                        && direction.equals(aChannel.direction)) {
+                    aChannel.channel = channel;
                 }
-
             }
         }
 
         public void replace(String itemName, Direction direction, InetSocketAddress remoteAddress,
                 DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
+                        && direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
+                    aChannel.channel = channel;
                 }
             }
 
         }
 
         public ArrayList<Channel> getAll(String itemName, Direction direction, DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
+                        && direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public ArrayList<Channel> getAll(Direction direction, InetSocketAddress remote) {
-            synchronized (this) {
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                if (useAddressMask) {
-                    Iterator<C> it = iterator();
-                    while (it.hasNext()) {
-                        C aChannel = it.next();
-                        if (direction.equals(aChannel.direction)) {
-                            if (aChannel.host.equals("*") && aChannel.port.equals(Integer.toString(remote.getPort()))) {
-                                selectedChannels.add(aChannel);
-                            } else if (aChannel.port.equals("*") && aChannel.host.equals(remote.getHostString())) {
-                                selectedChannels.add(aChannel);
-                            } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                                selectedChannels.add(aChannel);
-                            }
-                        }
-                    }
-                } else {
-                    Iterator<C> it = iterator();
-                    while (it.hasNext()) {
-                        C aChannel = it.next();
-                        if (remote.equals(aChannel.remote) && direction.equals(aChannel.direction)) {
+            if (useAddressMask) {
+                Iterator<C> it = iterator();
+                while (it.hasNext()) {
+                    C aChannel = it.next();
+                    if (direction.equals(aChannel.direction)) {
+                        if (aChannel.host.equals("*") && aChannel.port.equals(Integer.toString(remote.getPort()))) {
+                            selectedChannels.add(aChannel);
+                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remote.getHostString())) {
+                            selectedChannels.add(aChannel);
+                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
                             selectedChannels.add(aChannel);
                         }
                     }
                 }
-
-                return selectedChannels;
-            }
-        }
-
-        public void setAll(String itemName, Direction direction, DatagramChannel theDatagramChannel, boolean b) {
-            synchronized (this) {
+            } else {
                 Iterator<C> it = iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        aChannel.isBlocking = b;
+                    if (remote.equals(aChannel.remote) && direction.equals(aChannel.direction)) {
+                        selectedChannels.add(aChannel);
                     }
                 }
             }
+
+            return selectedChannels;
         }
 
-        public Channel getFirstServed(InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null) {
-                        return aChannel;
-                    }
+        public void setAll(String itemName, Direction direction, DatagramChannel theDatagramChannel, boolean b) {
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
+                        && direction.equals(aChannel.direction)) {
+                    aChannel.isBlocking = b;
                 }
+            }
+        }
 
-                return null;
+        public Channel getFirstServed(InetSocketAddress remoteAddress) {
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null) {
+                    return aChannel;
+                }
             }
+
+            return null;
         }
 
         public void replace(Direction direction, SocketChannel oldSocketChannel, DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (oldSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (oldSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.channel = channel;
                 }
             }
         }
 
         public void replace(Direction direction, InetSocketAddress remoteAddress, DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
+                        && !channel.equals(aChannel.channel)) {
+                    aChannel.channel = channel;
                 }
             }
         }
 
         public ArrayList<Channel> getAll(Direction direction, DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public void setAllBlocking(Direction direction, DatagramChannel theDatagramChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        aChannel.isBlocking = true;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.isBlocking = true;
                 }
             }
         }
 
         public Channel getFirstServed(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
+                        && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(DatagramChannel oldDatagramChannel, DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (oldDatagramChannel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (oldDatagramChannel.equals(aChannel.channel)) {
+                    aChannel.channel = channel;
                 }
-
             }
         }
 
         public void replace(InetSocketAddress remoteAddress, DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && !channel.equals(aChannel.channel)) {
+                    aChannel.channel = channel;
                 }
             }
 
         }
 
         public ArrayList<Channel> getAll(DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel)) {
-                        selectedChannels.add(aChannel);
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theDatagramChannel.equals(aChannel.channel)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public void setAllBlocking(DatagramChannel theDatagramChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel)) {
-                        aChannel.isBlocking = b;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theDatagramChannel.equals(aChannel.channel)) {
+                    aChannel.isBlocking = b;
                 }
             }
         }
 
         public void setAllReconnecting(DatagramChannel theDatagramChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel)) {
-                        aChannel.isReconnecting = b;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theDatagramChannel.equals(aChannel.channel)) {
+                    aChannel.isReconnecting = b;
                 }
             }
         }
 
         public Channel getFirstNotServed(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && (aChannel.channel == null || !aChannel.channel.isOpen())) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
+                        && (aChannel.channel == null || !aChannel.channel.isOpen())) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public ArrayList<Channel> getAll(Direction direction, DatagramChannel theDatagramChannel,
                 InetSocketAddress clientAddress) {
-            synchronized (this) {
-
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (clientAddress.equals(aChannel.remote) && theDatagramChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (clientAddress.equals(aChannel.remote) && theDatagramChannel.equals(aChannel.channel)
+                        && direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public boolean isBlocking(DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel) && aChannel.isBlocking) {
-                        return true;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theDatagramChannel.equals(aChannel.channel) && aChannel.isBlocking) {
+                    return true;
                 }
-                return false;
             }
+            return false;
         }
 
         public Channel getBlocking(DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel) && aChannel.isBlocking) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theDatagramChannel.equals(aChannel.channel) && aChannel.isBlocking) {
+                    return aChannel;
                 }
-                return null;
             }
+            return null;
         }
 
     }
@@ -648,6 +601,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         public Channel channel;
         public ByteBuffer buffer;
         public boolean isBlocking;
+        // the System.nanoTime() at which this element was queued
+        public final long queuedAt = System.nanoTime();
 
         public WriteBufferElement(Channel channel, ByteBuffer buffer, boolean isBlocking) {
             super();
@@ -687,14 +642,16 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
             logger.info("Listening for incoming data on {}", listenerChannel.getLocalAddress());
 
-            synchronized (selector) {
-                selector.wakeup();
-                try {
-                    listenerKey = listenerChannel.register(selector, listenerChannel.validOps());
-                } catch (ClosedChannelException e1) {
-                    logger.warn("An exception occurred while registering a selector: {}", e1.getMessage());
+            selectorLoop.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        listenerKey = listenerChannel.register(selector, SelectionKey.OP_READ);
+                    } catch (ClosedChannelException e1) {
+                        logger.warn("An exception occurred while registering a selector: {}", e1.getMessage());
+                    }
                 }
-            }
+            });
         } catch (Exception e3) {
             logger.warn("An exception occurred while creating the Listener Channel on port number {} ({})",
                     listenerPort, e3.getMessage());
@@ -713,6 +670,19 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         } catch (IOException e) {
             logger.warn("An exception occurred while registering the selector: {}", e.getMessage());
         }
+
+        selectorLoop = new SelectorLoop(selector, new SelectorLoop.Handler() {
+            @Override
+            public void processSelectedKey(SelectionKey selKey) {
+                AbstractDatagramChannelBinding.this.processSelectedKey(selKey);
+            }
+
+            @Override
+            public void afterSelect() {
+                updateInterestOps();
+            }
+        }, getName() + " I/O");
+        selectorLoop.start();
     }
 
     /**
@@ -721,6 +691,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
     @Override
     public void deactivate() {
 
+        selectorLoop.stop();
+
         try {
             selector.close();
         } catch (IOException e) {
@@ -865,6 +837,13 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                         refreshInterval);
             }
 
+            String framingString = (String) config.get("framing");
+            try {
+                frameDecoder = FrameDecoders.parse(framingString);
+            } catch (IllegalArgumentException e) {
+                throw new ConfigurationException("framing", e.getMessage());
+            }
+
             if (listenerPort != 0) {
                 configureListenerChannel();
             }
@@ -915,38 +894,9 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                 "The channel for {} has a connection problem. Data will queued to the new channel when it is successfully set up.",
                                 theChannel.remote);
 
-                        Scheduler scheduler = null;
-                        try {
-                            scheduler = StdSchedulerFactory.getDefaultScheduler();
-                        } catch (SchedulerException e1) {
-                            logger.warn("An exception occurred while getting the Quartz scheduler: {}",
-                                    e1.getMessage());
-                        }
-
-                        JobDataMap map = new JobDataMap();
-                        map.put("Channel", theChannel);
-                        map.put("Binding", this);
-
-                        JobDetail job = newJob(ReconnectJob.class)
-                                .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
-                                        + Long.toString(System.currentTimeMillis()), this.toString())
-                                .usingJobData(map).build();
-
-                        Trigger trigger = newTrigger()
-                                .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
-                                        + Long.toString(System.currentTimeMillis()), this.toString())
-                                .startNow().build();
-
-                        try {
-                            if (job != null && trigger != null) {
-                                if (!theChannel.isReconnecting) {
-                                    theChannel.isReconnecting = true;
-                                    scheduler.scheduleJob(job, trigger);
-                                }
-                            }
-                        } catch (SchedulerException e) {
-                            logger.warn("An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                    e.getMessage());
+                        if (!theChannel.isReconnecting) {
+                            theChannel.isReconnecting = true;
+                            scheduleReconnect(theChannel, 0);
                         }
                     }
 
@@ -1017,6 +967,20 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         }
     }
 
+    /**
+     * Parses a frame extracted from a datagram by the configured {@link FrameDecoder}. The frame is a view on a
+     * reused buffer and is only valid for the duration of the call. By default it is copied into a heap buffer of
+     * exactly its length, which is handed over to {@link #parseChanneledBuffer(Channel, ByteBuffer)}.
+     *
+     * @param theChannel the channel the frame was received on
+     * @param frame the frame
+     */
+    protected void parseChanneledFrame(Channel theChannel, ByteBuffer frame) {
+        byte[] content = new byte[frame.remaining()];
+        frame.duplicate().get(content);
+        parseChanneledBuffer(theChannel, ByteBuffer.wrap(content));
+    }
+
     /**
      * 
      * Callback that will be called when data is received on a given channel.
@@ -1041,7 +1005,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         if (isBlockingWriteRead) {
 
             if (theBuffer != null) {
-                writeQueue.add(new WriteBufferElement(theChannel, theBuffer, true));
+                queueBuffer(new WriteBufferElement(theChannel, theBuffer, true));
 
                 long currentElapsedTimeMillis = System.currentTimeMillis();
 
@@ -1054,11 +1018,11 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                 }
 
                 ByteBuffer responseBuffer = null;
-                synchronized (this) {
-                    responseBuffer = theChannel.buffer;
-                    theChannel.buffer = null;
-                    theChannel.isBlocking = false;
-                }
+                responseBuffer = theChannel.buffer;
+                theChannel.buffer = null;
+                theChannel.isBlocking = false;
+                // writes held back by the blocking operation may proceed now
+                selectorLoop.wakeup();
                 return responseBuffer;
             } else {
                 return theBuffer;
@@ -1067,7 +1031,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         } else {
 
             if (theBuffer != null) {
-                writeQueue.add(new WriteBufferElement(theChannel, theBuffer, false));
+                queueBuffer(new WriteBufferElement(theChannel, theBuffer, false));
             }
 
             return theBuffer;
@@ -1083,7 +1047,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
      */
     public static class ReconnectJob implements Job {
 
-        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @SuppressWarnings({ "rawtypes" })
         @Override
         public void execute(JobExecutionContext context) throws JobExecutionException {
             JobDataMap dataMap = context.getJobDetail().getJobDataMap();
@@ -1091,84 +1055,114 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
             AbstractDatagramChannelBinding.Channel theChannel = (AbstractDatagramChannelBinding.Channel) dataMap
                     .get("Channel");
 
-            if (theChannel.isReconnecting) {
+            theBinding.reconnect(theChannel);
+        }
+    }
+
+    /**
+     * Hands the reconnection of a channel over to the selector loop
+     *
+     * @param theChannel the channel to reconnect
+     */
+    protected void reconnect(final Channel theChannel) {
+        selectorLoop.execute(new Runnable() {
+            @Override
+            public void run() {
+                reconnectChannel(theChannel);
+            }
+        });
+    }
 
-                if (theChannel.remote != null) {
-                    if (theChannel.channel != theBinding.listenerChannel) {
+    /**
+     * Reconnects a channel on the selector loop after <code>delay</code> milliseconds
+     *
+     * @param theChannel the channel to reconnect
+     * @param delay the delay in milliseconds
+     */
+    protected void scheduleReconnect(final Channel theChannel, long delay) {
+        selectorLoop.schedule(new Runnable() {
+            @Override
+            public void run() {
+                reconnectChannel(theChannel);
+            }
+        }, delay);
+    }
 
-                        SelectionKey sKey = theChannel.channel.keyFor(theBinding.selector);
-                        if (sKey != null) {
-                            sKey.cancel();
-                        }
+    private void reconnectChannel(Channel theChannel) {
+        if (theChannel.isReconnecting) {
 
-                        try {
-                            theChannel.channel.close();
-                        } catch (IOException e) {
-                            logger.warn("An exception occurred while closing a channel: {}", e.getMessage());
-                        }
+            if (theChannel.remote != null) {
+                if (theChannel.channel != listenerChannel) {
 
-                        try {
-                            theChannel.channel = DatagramChannel.open();
-                        } catch (IOException e) {
-                            logger.warn("An exception occurred while opening a channel: {}", e.getMessage());
-                        }
+                    SelectionKey sKey = theChannel.channel.keyFor(selector);
+                    if (sKey != null) {
+                        sKey.cancel();
+                    }
 
-                        theChannel.isBlocking = false;
-                        theChannel.buffer = null;
+                    try {
+                        theChannel.channel.close();
+                    } catch (IOException e) {
+                        logger.warn("An exception occurred while closing a channel: {}", e.getMessage());
+                    }
 
-                        try {
-                            theChannel.channel.configureBlocking(false);
-                            // setKeepAlive(true);
-                        } catch (Exception e) {
-                            logger.warn("An exception occurred while configuring a channel: {}", e.getMessage());
-                        }
+                    try {
+                        theChannel.channel = DatagramChannel.open();
+                    } catch (IOException e) {
+                        logger.warn("An exception occurred while opening a channel: {}", e.getMessage());
+                    }
 
-                        synchronized (theBinding.selector) {
-                            theBinding.selector.wakeup();
-                            try {
-                                if (theChannel.channel != null) {
-                                    theChannel.channel.register(theBinding.selector, theChannel.channel.validOps());
-                                }
-                            } catch (ClosedChannelException e1) {
-                                logger.warn("An exception occurred while registering a selector: {}", e1.getMessage());
-                            }
-                        }
+                    theChannel.isBlocking = false;
+                    theChannel.buffer = null;
 
-                        try {
-                            if (theChannel.channel != null) {
+                    try {
+                        theChannel.channel.configureBlocking(false);
+                        // setKeepAlive(true);
+                    } catch (Exception e) {
+                        logger.warn("An exception occurred while configuring a channel: {}", e.getMessage());
+                    }
 
-                                if (theBinding.itemShareChannels) {
-                                    theBinding.channels.replace(theChannel.item, theChannel.direction,
-                                            theChannel.remote, theChannel.channel);
-                                }
+                    try {
+                        if (theChannel.channel != null) {
+                            theChannel.channel.register(selector, SelectionKey.OP_READ);
+                        }
+                    } catch (ClosedChannelException e1) {
+                        logger.warn("An exception occurred while registering a selector: {}", e1.getMessage());
+                    }
 
-                                if (theBinding.bindingShareChannels) {
-                                    theBinding.channels.replace(theChannel.direction, theChannel.remote,
-                                            theChannel.channel);
-                                }
+                    try {
+                        if (theChannel.channel != null) {
 
-                                if (theBinding.directionsShareChannels) {
-                                    theBinding.channels.replace(theChannel.remote, theChannel.channel);
-                                }
+                            if (itemShareChannels) {
+                                channels.replace(theChannel.item, theChannel.direction,
+                                        theChannel.remote, theChannel.channel);
+                            }
 
-                                theChannel.isBlocking = false;
-                                theBinding.channels.setAllReconnecting(theChannel.channel, false);
+                            if (bindingShareChannels) {
+                                channels.replace(theChannel.direction, theChannel.remote,
+                                        theChannel.channel);
+                            }
 
-                                theChannel.channel.connect(theChannel.remote);
-                                logger.info("Attempting to reconnect the channel for {}", theChannel.remote);
+                            if (directionsShareChannels) {
+                                channels.replace(theChannel.remote, theChannel.channel);
                             }
-                        } catch (Exception e) {
-                            logger.warn("An exception occurred while connecting a channel: {}", e.getMessage());
+
+                            theChannel.isBlocking = false;
+                            channels.setAllReconnecting(theChannel.channel, false);
+
+                            theChannel.channel.connect(theChannel.remote);
+                            logger.info("Attempting to reconnect the channel for {}", theChannel.remote);
                         }
-                    } else {
-                        logger.warn("The listener channel cannot be closed!");
+                    } catch (Exception e) {
+                        logger.warn("An exception occurred while connecting a channel: {}", e.getMessage());
                     }
                 } else {
-                    logger.debug("I cannot proceed without remote address");
+                    logger.warn("The listener channel cannot be closed!");
                 }
             } else {
-                logger.warn("Already reconnecting the channel for {}", theChannel.remote);
+                logger.debug("I cannot proceed without remote address");
             }
+        } else {
+            logger.warn("Already reconnecting the channel for {}", theChannel.remote);
         }
     }
 
@@ -1331,50 +1325,50 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                     }
                                 }
 
-                                synchronized (this) {
+                                if (!assigned || newChannel.channel == null) {
 
-                                    if (!assigned || newChannel.channel == null) {
-
-                                        DatagramChannel newDatagramChannel = null;
-                                        try {
-                                            newDatagramChannel = DatagramChannel.open();
-                                        } catch (IOException e2) {
-                                            logger.warn("An exception occurred while opening a channel: {}",
-                                                    e2.getMessage());
-                                        }
+                                    DatagramChannel newDatagramChannel = null;
+                                    try {
+                                        newDatagramChannel = DatagramChannel.open();
+                                    } catch (IOException e2) {
+                                        logger.warn("An exception occurred while opening a channel: {}",
+                                                e2.getMessage());
+                                    }
 
-                                        try {
-                                            newDatagramChannel.configureBlocking(false);
-                                            // setKeepAlive(true);
-                                        } catch (IOException e) {
-                                            logger.warn("An exception occurred while configuring a channel: {}",
-                                                    e.getMessage());
-                                        }
+                                    try {
+                                        newDatagramChannel.configureBlocking(false);
+                                        // setKeepAlive(true);
+                                    } catch (IOException e) {
+                                        logger.warn("An exception occurred while configuring a channel: {}",
+                                                e.getMessage());
+                                    }
 
-                                        synchronized (selector) {
-                                            selector.wakeup();
+                                    final DatagramChannel theDatagramChannel = newDatagramChannel;
+                                    selectorLoop.execute(new Runnable() {
+                                        @Override
+                                        public void run() {
                                             try {
-                                                newDatagramChannel.register(selector, newDatagramChannel.validOps());
+                                                theDatagramChannel.register(selector, SelectionKey.OP_READ);
                                             } catch (ClosedChannelException e1) {
                                                 logger.warn("An exception occurred while registering a selector: {}",
                                                         e1.getMessage());
                                             }
                                         }
+                                    });
 
-                                        newChannel.channel = newDatagramChannel;
-                                        logger.debug("Setting up the outbound channel {}", newChannel);
+                                    newChannel.channel = newDatagramChannel;
+                                    logger.debug("Setting up the outbound channel {}", newChannel);
 
-                                        try {
-                                            logger.info("'Connecting' the channel {} ", newChannel);
-                                            newDatagramChannel.connect(remoteAddress);
-                                        } catch (IOException e) {
-                                            logger.warn("An exception occurred while connecting a channel: {}",
-                                                    e.getMessage());
-                                        }
-                                    } else {
-                                        logger.info("There is already an active channel {} for the remote end {}",
-                                                newChannel.channel, newChannel.remote);
+                                    try {
+                                        logger.info("'Connecting' the channel {} ", newChannel);
+                                        newDatagramChannel.connect(remoteAddress);
+                                    } catch (IOException e) {
+                                        logger.warn("An exception occurred while connecting a channel: {}",
+                                                e.getMessage());
                                     }
+                                } else {
+                                    logger.info("There is already an active channel {} for the remote end {}",
+                                            newChannel.channel, newChannel.remote);
                                 }
                             }
                         }
@@ -1383,350 +1377,389 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
             }
         }
 
-        // Check on channels for which we have to process data
-        synchronized (selector) {
-            try {
-                // Wait for an event
-                selector.selectNow();
-            } catch (IOException e) {
-                logger.warn("An exception occurred while Selecting ({})", e.getMessage());
+        logMetrics();
+    }
+
+    /**
+     * Logs the traffic counters of all channels once every METRICS_LOG_INTERVAL
+     */
+    protected void logMetrics() {
+        if (logger.isDebugEnabled() && System.currentTimeMillis() - lastMetricsLog >= METRICS_LOG_INTERVAL) {
+            lastMetricsLog = System.currentTimeMillis();
+            for (Channel aChannel : channels) {
+                logger.debug("{}: {}", aChannel, aChannel.metrics);
             }
         }
+    }
+
+    /**
+     * Queues a buffer to be written by the selector loop
+     *
+     * @param theElement the buffer and the channel to write it to
+     */
+    protected void queueBuffer(WriteBufferElement theElement) {
+        theElement.channel.metrics.queued();
+        writeQueue.add(theElement);
+        selectorLoop.wakeup();
+    }
+
+    /**
+     * Adapts the interest set of all registered channels to the work that is pending: a channel is only selected for
+     * OP_WRITE if data is waiting in the write queue for it. Called on the selector loop after each select.
+     */
+    private void updateInterestOps() {
+        for (SelectionKey selKey : selector.keys()) {
+            if (!selKey.isValid()) {
+                continue;
+            }
 
-        // Get list of selection keys with pending events
-        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+            DatagramChannel theDatagramChannel = (DatagramChannel) selKey.channel();
+            int interestSet = selKey.interestOps();
 
-        // Process each key at a time
-        while (it.hasNext()) {
-            SelectionKey selKey = it.next();
-            it.remove();
+            if (hasPendingWrite(theDatagramChannel) && !channels.isBlocking(theDatagramChannel)) {
+                interestSet |= SelectionKey.OP_WRITE;
+            } else {
+                interestSet &= ~SelectionKey.OP_WRITE;
+            }
 
-            if (selKey.isValid()) {
-                DatagramChannel theDatagramChannel = (DatagramChannel) selKey.channel();
-                Channel theChannel = channels.get(theDatagramChannel);
+            if (interestSet != selKey.interestOps()) {
+                selKey.interestOps(interestSet);
+            }
+        }
+    }
 
-                if (selKey.isReadable()) {
-                    InetSocketAddress clientAddress = null;
-                    ByteBuffer readBuffer = ByteBuffer.allocate(maximumBufferSize);
-                    int numberBytesRead = 0;
-                    boolean error = false;
+    private boolean hasPendingWrite(DatagramChannel theDatagramChannel) {
+        for (WriteBufferElement anElement : writeQueue) {
+            if (theDatagramChannel.equals(anElement.channel.channel)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-                    if (selKey == listenerKey) {
-                        try {
-                            clientAddress = (InetSocketAddress) theDatagramChannel.receive(readBuffer);
-                            logger.debug("Received {} on the listener port from {}", new String(readBuffer.array()),
-                                    clientAddress);
-                            numberBytesRead = readBuffer.position();
-                        } catch (Exception e) {
-                            error = true;
-                        }
+    /**
+     * Reads the available data of a channel into a buffer which is owned by the selector loop
+     */
+    private ByteBuffer getReadBuffer() {
+        if (directReadBuffer == null || directReadBuffer.capacity() != maximumBufferSize) {
+            directReadBuffer = ByteBuffer.allocateDirect(maximumBufferSize);
+            dispatchBuffer = ByteBuffer.allocate(maximumBufferSize);
+        }
+        directReadBuffer.clear();
+        return directReadBuffer;
+    }
 
-                    } else {
+    /**
+     * Copies the data read into the direct read buffer to a heap buffer with the same layout as before: a backing
+     * array of maximumBufferSize bytes, padded with zeros. Buffers handed to the initiator of a blocking write/read
+     * operation are allocated afresh, all others reuse the same dispatch buffer, as they are parsed synchronously.
+     */
+    private ByteBuffer copyReadBuffer(ByteBuffer readBuffer, boolean forBlockingOperation) {
+        ByteBuffer theBuffer;
+        if (forBlockingOperation) {
+            theBuffer = ByteBuffer.allocate(maximumBufferSize);
+        } else {
+            theBuffer = dispatchBuffer;
+            Arrays.fill(theBuffer.array(), (byte) 0);
+            theBuffer.clear();
+        }
+        readBuffer.flip();
+        theBuffer.put(readBuffer);
+        theBuffer.flip();
+        return theBuffer;
+    }
 
-                        try {
-                            // TODO: Additional code to split readBuffer in multiple parts, in case the data send by the
-                            // remote end is not correctly fragemented. Could be handed of to implementation class if
-                            // for example, the buffer needs to be split based on a special character like line feed or
-                            // carriage return
-                            numberBytesRead = theDatagramChannel.read(readBuffer);
-                            logger.debug("Received {} bytes ({}) on the channel {}->{}",
-                                    new Object[] { numberBytesRead, new String(readBuffer.array()),
-                                            theDatagramChannel.getLocalAddress(),
-                                            theDatagramChannel.getRemoteAddress() });
-                        } catch (NotYetConnectedException e) {
-                            try {
-                                logger.warn("The channel for {} has no connection pending ({})",
-                                        theDatagramChannel.getRemoteAddress(), e.getMessage());
-                            } catch (IOException e1) {
-                                logger.warn(
-                                        "An exception occurred while getting the remote address of channel {} ({})",
-                                        theDatagramChannel, e1.getMessage());
-                            }
-                            error = true;
-                        } catch (IOException e) {
-                            // If some other I/O error occurs
-                            try {
-                                logger.warn("The channel for {} has encountered an unknown IO Exception: {}",
-                                        theDatagramChannel.getRemoteAddress(), e.getMessage());
-                            } catch (IOException e1) {
-                                logger.warn(
-                                        "An exception occurred while getting the remote address of channel {} ({})",
-                                        theDatagramChannel, e1.getMessage());
-                            }
-                            error = true;
-                        }
+    /**
+     * Processes a key selected by the selector loop
+     *
+     * @param selKey the selected key
+     */
+    private void processSelectedKey(SelectionKey selKey) {
+        if (selKey.isValid()) {
+            DatagramChannel theDatagramChannel = (DatagramChannel) selKey.channel();
+            Channel theChannel = channels.get(theDatagramChannel);
+
+            if (selKey.isReadable()) {
+                InetSocketAddress clientAddress = null;
+                ByteBuffer readBuffer = getReadBuffer();
+                int numberBytesRead = 0;
+                boolean error = false;
+
+                if (selKey == listenerKey) {
+                    try {
+                        clientAddress = (InetSocketAddress) theDatagramChannel.receive(readBuffer);
+                        numberBytesRead = readBuffer.position();
+                    } catch (Exception e) {
+                        error = true;
                     }
 
-                    if (numberBytesRead == -1) {
+                } else {
+
+                    try {
+                        // TODO: Additional code to split readBuffer in multiple parts, in case the data send by the
+                        // remote end is not correctly fragemented. Could be handed of to implementation class if
+                        // for example, the buffer needs to be split based on a special character like line feed or
+                        // carriage return
+                        numberBytesRead = theDatagramChannel.read(readBuffer);
+                    } catch (NotYetConnectedException e) {
                         try {
-                            if (selKey != listenerKey) {
-                                theDatagramChannel.close();
-                            }
-                        } catch (IOException e) {
-                            try {
-                                logger.warn("The channel for {} is closed ({})", theDatagramChannel.getRemoteAddress(),
-                                        e.getMessage());
-                            } catch (IOException e1) {
-                                logger.warn(
-                                        "An exception occurred while getting the remote address of channel {} ({})",
-                                        theDatagramChannel, e1.getMessage());
-                            }
+                            logger.warn("The channel for {} has no connection pending ({})",
+                                    theDatagramChannel.getRemoteAddress(), e.getMessage());
+                        } catch (IOException e1) {
+                            logger.warn(
+                                    "An exception occurred while getting the remote address of channel {} ({})",
+                                    theDatagramChannel, e1.getMessage());
+                        }
+                        error = true;
+                    } catch (IOException e) {
+                        // If some other I/O error occurs
+                        try {
+                            logger.warn("The channel for {} has encountered an unknown IO Exception: {}",
+                                    theDatagramChannel.getRemoteAddress(), e.getMessage());
+                        } catch (IOException e1) {
+                            logger.warn(
+                                    "An exception occurred while getting the remote address of channel {} ({})",
+                                    theDatagramChannel, e1.getMessage());
                         }
                         error = true;
                     }
+                }
 
-                    if (error) {
+                if (numberBytesRead == -1) {
+                    try {
                         if (selKey != listenerKey) {
+                            theDatagramChannel.close();
+                        }
+                    } catch (IOException e) {
+                        try {
+                            logger.warn("The channel for {} is closed ({})", theDatagramChannel.getRemoteAddress(),
+                                    e.getMessage());
+                        } catch (IOException e1) {
+                            logger.warn(
+                                    "An exception occurred while getting the remote address of channel {} ({})",
+                                    theDatagramChannel, e1.getMessage());
+                        }
+                    }
+                    error = true;
+                }
 
-                            Scheduler scheduler = null;
-                            try {
-                                scheduler = StdSchedulerFactory.getDefaultScheduler();
-                            } catch (SchedulerException e1) {
-                                logger.warn("An exception occurred while getting the Quartz scheduler: {}",
-                                        e1.getMessage());
-                            }
+                if (error) {
+                    if (selKey != listenerKey) {
+                        if (!theChannel.isReconnecting) {
+                            channels.setAllReconnecting(theDatagramChannel, true);
+                            scheduleReconnect(theChannel, reconnectInterval * 1000L);
+                        }
+                    }
 
-                            JobDataMap map = new JobDataMap();
-                            map.put("Channel", theChannel);
-                            map.put("Binding", this);
+                } else {
 
-                            JobDetail job = null;
-                            Trigger trigger = null;
+                    FrameDecoder decoder = frameDecoder;
+                    boolean isBlocking = channels.isBlocking(theDatagramChannel);
+                    readBuffer = copyReadBuffer(readBuffer, isBlocking);
 
-                            job = newJob(ReconnectJob.class)
-                                    .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
-                                            + Long.toString(System.currentTimeMillis()), this.toString())
-                                    .usingJobData(map).build();
+                    if (selKey == listenerKey) {
+                        logger.debug("Received {} on the listener port from {}", new String(readBuffer.array()),
+                                clientAddress);
+                    } else {
+                        try {
+                            logger.debug("Received {} bytes ({}) on the channel {}->{}",
+                                    new Object[] { numberBytesRead, new String(readBuffer.array()),
+                                            theDatagramChannel.getLocalAddress(),
+                                            theDatagramChannel.getRemoteAddress() });
+                        } catch (IOException e) {
+                            logger.warn(
+                                    "An exception occurred while getting the remote address of channel {} ({})",
+                                    theDatagramChannel, e.getMessage());
+                        }
+                    }
 
-                            trigger = newTrigger()
-                                    .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
-                                            + Long.toString(System.currentTimeMillis()), this.toString())
-                                    .startAt(futureDate(reconnectInterval, IntervalUnit.SECOND)).build();
+                    ArrayList<Channel> channelsToServe = new ArrayList<Channel>();
 
-                            try {
-                                if (job != null && trigger != null && selKey != listenerKey) {
-                                    if (!theChannel.isReconnecting) {
-                                        channels.setAllReconnecting(theDatagramChannel, true);
-                                        scheduler.scheduleJob(job, trigger);
-                                    }
-                                }
-                            } catch (SchedulerException e) {
-                                logger.warn(
-                                        "An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                        e.getMessage());
-                            }
+                    if (selKey == listenerKey) {
+                        channelsToServe = channels.getAll(Direction.IN, clientAddress);
+                        if (channelsToServe.size() == 0) {
+                            logger.warn("Received data {} from an undefined remote end {}. We will not process it",
+                                    new String(readBuffer.array()), clientAddress);
                         }
-
                     } else {
+                        channelsToServe = channels.getAll(theDatagramChannel);
+                    }
 
-                        ArrayList<Channel> channelsToServe = new ArrayList<Channel>();
+                    if (channelsToServe.size() > 0) {
 
-                        if (selKey == listenerKey) {
-                            channelsToServe = channels.getAll(Direction.IN, clientAddress);
-                            if (channelsToServe.size() == 0) {
-                                logger.warn("Received data {} from an undefined remote end {}. We will not process it",
-                                        new String(readBuffer.array()), clientAddress);
-                            }
-                        } else {
-                            channelsToServe = channels.getAll(theDatagramChannel);
+                        for (Channel aChannel : channelsToServe) {
+                            aChannel.metrics.received(numberBytesRead);
                         }
 
-                        if (channelsToServe.size() > 0) {
-
-                            readBuffer.flip();
+                        if (isBlocking) {
+                            // if we are in a blocking operation, we get are now finished and we have to reset the
+                            // flag. The read buffer will be returned to the instance
+                            // that initiated the write opreation - it has to parse the buffer itself
 
-                            if (channels.isBlocking(theDatagramChannel)) {
-                                // if we are in a blocking operation, we get are now finished and we have to reset the
-                                // flag. The read buffer will be returned to the instance
-                                // that initiated the write opreation - it has to parse the buffer itself
+                            // find the Channel with this DGC that is holding a Blocking flag
+                            theChannel = channels.getBlocking(theDatagramChannel);
+                            theChannel.buffer = readBuffer;
 
-                                // find the Channel with this DGC that is holding a Blocking flag
-                                theChannel = channels.getBlocking(theDatagramChannel);
-                                theChannel.buffer = readBuffer;
+                        } else if (decoder != null) {
+                            for (Channel aChannel : channelsToServe) {
+                                if (useAddressMask) {
+                                    aChannel.lastRemote = clientAddress;
+                                }
+                            }
 
-                            } else {
+                            ByteBuffer frame;
+                            while ((frame = decoder.decode(readBuffer)) != null) {
                                 for (Channel aChannel : channelsToServe) {
-                                    if (useAddressMask) {
-                                        aChannel.lastRemote = clientAddress;
-                                    }
-                                    // if not, then we parse the buffer as ususal
-                                    parseChanneledBuffer(aChannel, readBuffer);
+                                    parseChanneledFrame(aChannel, frame.duplicate());
                                 }
                             }
+
+                            if (readBuffer.hasRemaining()) {
+                                logger.debug("Discarding {} bytes at the end of the datagram which do not form a frame",
+                                        readBuffer.remaining());
+                            }
                         } else {
-                            try {
-                                if (selKey == listenerKey) {
-                                    logger.warn(
-                                            "No channel is active or defined for the data we received from {}. It will be discarded.",
-                                            clientAddress);
-                                } else {
-                                    logger.warn(
-                                            "No channel is active or defined for the data we received from {}. It will be discarded.",
-                                            theDatagramChannel.getRemoteAddress());
+                            for (Channel aChannel : channelsToServe) {
+                                if (useAddressMask) {
+                                    aChannel.lastRemote = clientAddress;
                                 }
-                            } catch (IOException e) {
+                                // if not, then we parse the buffer as ususal
+                                parseChanneledBuffer(aChannel, readBuffer);
+                            }
+                        }
+                    } else {
+                        try {
+                            if (selKey == listenerKey) {
                                 logger.warn(
-                                        "An exception occurred while getting the remote address of channel {} ({})",
-                                        theDatagramChannel, e.getMessage());
+                                        "No channel is active or defined for the data we received from {}. It will be discarded.",
+                                        clientAddress);
+                            } else {
+                                logger.warn(
+                                        "No channel is active or defined for the data we received from {}. It will be discarded.",
+                                        theDatagramChannel.getRemoteAddress());
                             }
+                        } catch (IOException e) {
+                            logger.warn(
+                                    "An exception occurred while getting the remote address of channel {} ({})",
+                                    theDatagramChannel, e.getMessage());
                         }
                     }
-                } else if (selKey.isWritable()) {
+                }
+            } else if (selKey.isWritable()) {
 
-                    WriteBufferElement theElement = null;
+                WriteBufferElement theElement = null;
 
-                    if (selKey == listenerKey) {
+                if (selKey == listenerKey) {
+                    Iterator<WriteBufferElement> iterator = writeQueue.iterator();
+                    while (iterator.hasNext()) {
+                        WriteBufferElement anElement = iterator.next();
+                        if (anElement.channel.channel.equals(listenerChannel)) {
+                            theElement = anElement;
+                            break;
+                        }
+                    }
+                }
+
+                // check if any of the Channel using the DatagramChannel is blocking the DGC in a R/W operation
+                boolean isBlocking = channels.isBlocking(theDatagramChannel);
+
+                if (isBlocking) {
+                    // if this channel is already flagged as being in a blocked write/read operation, we skip this
+                    // selKey
+                } else {
+
+                    if (selKey != listenerKey) {
                         Iterator<WriteBufferElement> iterator = writeQueue.iterator();
                         while (iterator.hasNext()) {
                             WriteBufferElement anElement = iterator.next();
-                            if (anElement.channel.channel.equals(listenerChannel)) {
+                            if (anElement.channel.channel.equals(theDatagramChannel)) {
                                 theElement = anElement;
                                 break;
                             }
                         }
                     }
 
-                    // check if any of the Channel using the DatagramChannel is blocking the DGC in a R/W operation
-                    boolean isBlocking = channels.isBlocking(theDatagramChannel);
+                    if (theElement != null && theElement.buffer != null) {
 
-                    if (isBlocking) {
-                        // if this channel is already flagged as being in a blocked write/read operation, we skip this
-                        // selKey
-                    } else {
+                        logger.debug("Picked {} from the queue", theElement);
 
-                        if (selKey != listenerKey) {
-                            Iterator<WriteBufferElement> iterator = writeQueue.iterator();
-                            while (iterator.hasNext()) {
-                                WriteBufferElement anElement = iterator.next();
-                                if (anElement.channel.channel.equals(theDatagramChannel)) {
-                                    theElement = anElement;
-                                    break;
-                                }
-                            }
+                        if (theElement.isBlocking) {
+                            theElement.channel.isBlocking = true;
                         }
 
-                        if (theElement != null && theElement.buffer != null) {
+                        boolean error = false;
 
-                            logger.debug("Picked {} from the queue", theElement);
-
-                            if (theElement.isBlocking) {
-                                theElement.channel.isBlocking = true;
-                            }
+                        theElement.buffer.rewind();
 
-                            boolean error = false;
-
-                            theElement.buffer.rewind();
-
-                            if (selKey == listenerKey) {
-                                try {
-                                    if (useAddressMask && theElement.channel.remote == null) {
-                                        if (theElement.channel.lastRemote != null) {
-                                            logger.debug(
-                                                    "Sending {} for the masked inbound channel {}:{} to the remote address {}",
-                                                    new Object[] { new String(theElement.buffer.array()),
-                                                            theElement.channel.host, theElement.channel.port,
-                                                            theElement.channel.lastRemote });
-                                            listenerChannel.send(theElement.buffer, theElement.channel.lastRemote);
-                                        } else {
-                                            logger.warn("I do not know where to send the data {}",
-                                                    new String(theElement.buffer.array()));
-                                        }
-                                    } else {
+                        if (selKey == listenerKey) {
+                            try {
+                                if (useAddressMask && theElement.channel.remote == null) {
+                                    if (theElement.channel.lastRemote != null) {
                                         logger.debug(
-                                                "Sending {} for the inbound channel {}:{} to the remote address {}",
+                                                "Sending {} for the masked inbound channel {}:{} to the remote address {}",
                                                 new Object[] { new String(theElement.buffer.array()),
                                                         theElement.channel.host, theElement.channel.port,
-                                                        theElement.channel.remote });
-                                        listenerChannel.send(theElement.buffer, theElement.channel.remote);
-                                    }
-                                } catch (IOException e) {
-                                    if (theElement.channel.lastRemote != null) {
-                                        logger.warn(
-                                                "An exception occurred while sending data to the remote end {} ({})",
-                                                theElement.channel.lastRemote, e.getMessage());
+                                                        theElement.channel.lastRemote });
+                                        listenerChannel.send(theElement.buffer, theElement.channel.lastRemote);
                                     } else {
-                                        logger.warn(
-                                                "An exception occurred while sending data to the remote end {} ({})",
-                                                theElement.channel.remote, e.getMessage());
+                                        logger.warn("I do not know where to send the data {}",
+                                                new String(theElement.buffer.array()));
                                     }
-                                }
-                            } else {
-
-                                try {
-                                    logger.debug("Sending {} for the outbound channel {}:{} to the remote address {}",
+                                } else {
+                                    logger.debug(
+                                            "Sending {} for the inbound channel {}:{} to the remote address {}",
                                             new Object[] { new String(theElement.buffer.array()),
                                                     theElement.channel.host, theElement.channel.port,
                                                     theElement.channel.remote });
-                                    theDatagramChannel.write(theElement.buffer);
-                                } catch (NotYetConnectedException e) {
-                                    logger.warn("The channel for {} has no connection pending ({})",
-                                            theElement.channel.remote, e.getMessage());
-                                    error = true;
-                                } catch (ClosedChannelException e) {
-                                    // If some other I/O error occurs
-                                    logger.warn("The channel for {} is closed ({})", theElement.channel.remote,
-                                            e.getMessage());
-                                    error = true;
-                                } catch (IOException e) {
-                                    // If some other I/O error occurs
-                                    logger.warn("The channel for {} has encountered an unknown IO Exception: {}",
+                                    listenerChannel.send(theElement.buffer, theElement.channel.remote);
+                                }
+                            } catch (IOException e) {
+                                if (theElement.channel.lastRemote != null) {
+                                    logger.warn(
+                                            "An exception occurred while sending data to the remote end {} ({})",
+                                            theElement.channel.lastRemote, e.getMessage());
+                                } else {
+                                    logger.warn(
+                                            "An exception occurred while sending data to the remote end {} ({})",
                                             theElement.channel.remote, e.getMessage());
-                                    error = true;
                                 }
                             }
+                        } else {
 
-                            if (error) {
-
-                                if (selKey != listenerKey) {
-
-                                    Scheduler scheduler = null;
-                                    try {
-                                        scheduler = StdSchedulerFactory.getDefaultScheduler();
-                                    } catch (SchedulerException e1) {
-                                        logger.warn("An exception occurred while getting the Quartz scheduler: {}",
-                                                e1.getMessage());
-                                    }
-
-                                    JobDataMap map = new JobDataMap();
-                                    map.put("Channel", theElement.channel);
-                                    map.put("Binding", this);
-
-                                    JobDetail job = null;
-                                    Trigger trigger = null;
-
-                                    job = newJob(ReconnectJob.class)
-                                            .withIdentity(
-                                                    Integer.toHexString(hashCode()) + "-Reconnect-"
-                                                            + Long.toString(System.currentTimeMillis()),
-                                                    this.toString())
-                                            .usingJobData(map).build();
+                            try {
+                                logger.debug("Sending {} for the outbound channel {}:{} to the remote address {}",
+                                        new Object[] { new String(theElement.buffer.array()),
+                                                theElement.channel.host, theElement.channel.port,
+                                                theElement.channel.remote });
+                                theDatagramChannel.write(theElement.buffer);
+                            } catch (NotYetConnectedException e) {
+                                logger.warn("The channel for {} has no connection pending ({})",
+                                        theElement.channel.remote, e.getMessage());
+                                error = true;
+                            } catch (ClosedChannelException e) {
+                                // If some other I/O error occurs
+                                logger.warn("The channel for {} is closed ({})", theElement.channel.remote,
+                                        e.getMessage());
+                                error = true;
+                            } catch (IOException e) {
+                                // If some other I/O error occurs
+                                logger.warn("The channel for {} has encountered an unknown IO Exception: {}",
+                                        theElement.channel.remote, e.getMessage());
+                                error = true;
+                            }
+                        }
 
-                                    trigger = newTrigger()
-                                            .withIdentity(
-                                                    Integer.toHexString(hashCode()) + "-Reconnect-"
-                                                            + Long.toString(System.currentTimeMillis()),
-                                                    this.toString())
-                                            .startAt(futureDate(reconnectInterval, IntervalUnit.SECOND)).build();
+                        if (error) {
 
-                                    try {
-                                        if (job != null && trigger != null && selKey != listenerKey) {
-                                            if (!theElement.channel.isReconnecting) {
-                                                channels.setAllReconnecting(theElement.channel.channel, true);
-                                                scheduler.scheduleJob(job, trigger);
-                                            }
-                                        }
-                                    } catch (SchedulerException e) {
-                                        logger.warn(
-                                                "An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                                e.getMessage());
-                                    }
-                                }
-                            } else {
-                                if (theElement != null) {
-                                    writeQueue.remove(theElement);
+                            if (selKey != listenerKey) {
+                                if (!theElement.channel.isReconnecting) {
+                                    channels.setAllReconnecting(theElement.channel.channel, true);
+                                    scheduleReconnect(theElement.channel, reconnectInterval * 1000L);
                                 }
-
                             }
+                        } else {
+                            theElement.channel.metrics.sent(theElement.buffer.position(), theElement.queuedAt);
+                            writeQueue.remove(theElement);
                         }
                     }
                 }
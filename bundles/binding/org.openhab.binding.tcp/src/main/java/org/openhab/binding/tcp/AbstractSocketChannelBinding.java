@@ -9,7 +9,6 @@
 package org.openhab.binding.tcp;
 
 import static org.quartz.CronScheduleBuilder.cronSchedule;
-import static org.quartz.DateBuilder.futureDate;
 import static org.quartz.JobBuilder.newJob;
 import static org.quartz.TriggerBuilder.newTrigger;
 
@@ -24,11 +23,17 @@ import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.binding.AbstractActiveBinding;
@@ -38,7 +43,6 @@ import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
 import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
-import org.quartz.DateBuilder.IntervalUnit;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
@@ -56,6 +60,9 @@ import org.slf4j.LoggerFactory;
  * requires a ChannelBindingProvider-based binding provider. Data is pushed around using ByteBuffers with an indicator
  * for blocking/non-blocking (synchronous/asynchronous) communication.
  *
+ * All channels are owned by a dedicated {@link SelectorLoop} thread. Other threads only queue data to be written or
+ * hand over tasks (registering, reconnecting channels) to that thread, so no locking is needed around the selector.
+ *
  * @author Karel Goderis
  * @since 1.1.0
  */
@@ -86,12 +93,32 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
     protected boolean useAddressMask = true;
     // refresh interval for the worker thread
     protected long refreshInterval = 250;
+    // splits the received data into frames, if set
+    protected volatile FrameDecoder frameDecoder = null;
 
     protected ServerSocketChannel listenerChannel = null;
     protected SelectionKey listenerKey = null;
 
-    // Queue to store BufferElements that need to be written to the network
-    protected List<WriteBufferElement> writeQueue = Collections.synchronizedList(new ArrayList<WriteBufferElement>());
+    // Queue to store BufferElements that need to be written to the network, filled by any thread and drained by the
+    // selector loop
+    protected Queue<WriteBufferElement> writeQueue = new ConcurrentLinkedQueue<WriteBufferElement>();
+
+    // the I/O thread owning the selector and all channels registered with it
+    private SelectorLoop selectorLoop;
+
+    // buffers owned by the selector loop, reused for every read
+    private ByteBuffer directReadBuffer;
+    private ByteBuffer dispatchBuffer;
+
+    // direct buffers accumulating the data received on a channel until it forms complete frames, owned by the
+    // selector loop
+    private final Map<SocketChannel, ByteBuffer> frameBuffers = new HashMap<SocketChannel, ByteBuffer>();
+    private ByteBufferPool frameBufferPool;
+    private static final int MAXIMUM_POOLED_FRAME_BUFFERS = 16;
+
+    // interval in which the channel metrics are logged
+    private static final long METRICS_LOG_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private long lastMetricsLog = 0;
 
     // Simple data structure to track the state of Channels
     protected ChannelTracker<Channel> channels = new ChannelTracker<Channel>();
@@ -113,13 +140,15 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         // the direction, in our out, of this channel
         public Direction direction;
         // flag to indicate if the channel is in a blocking write/read operation
-        public boolean isBlocking;
+        public volatile boolean isBlocking;
         // placeholder to store the received data as the result of a blocking write/read operation
-        public ByteBuffer buffer;
+        public volatile ByteBuffer buffer;
         // flag to indicate if the channel is reconnecting / recovering from a previous communication error
-        public boolean isReconnecting;
+        public volatile boolean isReconnecting;
         // reference to the underlying Java NIO SocketChannel that represents this TCP/IP connection
-        public SocketChannel channel;
+        public volatile SocketChannel channel;
+        // traffic counters of this channel
+        public final ChannelMetrics metrics = new ChannelMetrics();
         // remote host name to use. Could be "*" when using masked addresses
         public String host;
         // remote port number to use. Could be "*" when using masked addresses
@@ -215,415 +244,361 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
      * @author Karel Goderis
      * @since 1.4.0
      */
-    protected class ChannelTracker<C extends Channel> extends ArrayList<C> {
+    protected class ChannelTracker<C extends Channel> extends CopyOnWriteArrayList<C> {
 
         private static final long serialVersionUID = 1543958347565096785L;
 
         public boolean contains(String item, Command command, Direction direction, InetSocketAddress remote) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
-                        return true;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (item.equals(aChannel.item) && command.equals(aChannel.command)
+                        && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
+                    return true;
                 }
-
-                return false;
             }
+
+            return false;
         }
 
         public Channel get(String item, Command command, Direction direction, InetSocketAddress remote) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (item.equals(aChannel.item) && command.equals(aChannel.command)
+                        && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public Channel get(String item, Command command, Direction direction, String host, String port) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction)) {
-                        if (aChannel.host.equals(host) && aChannel.port.equals(port)) {
-                            return aChannel;
-                        }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (item.equals(aChannel.item) && command.equals(aChannel.command)
+                        && direction.equals(aChannel.direction)) {
+                    if (aChannel.host.equals(host) && aChannel.port.equals(port)) {
+                        return aChannel;
                     }
                 }
-
-                return null;
-
             }
+
+            return null;
         }
 
         public Channel get(SocketChannel theChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theChannel.equals(aChannel.channel)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theChannel.equals(aChannel.channel)) {
+                    return aChannel;
                 }
-                return null;
             }
+            return null;
         }
 
         public Channel getFirst(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel == null
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && aChannel.channel == null
+                        && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
+            }
 
-                Iterator<C> it2 = iterator();
-                while (it2.hasNext()) {
-                    C aChannel = it2.next();
-                    if (remoteAddress.equals(aChannel.remote)) {
-                        return aChannel;
-                    }
+            Iterator<C> it2 = iterator();
+            while (it2.hasNext()) {
+                C aChannel = it2.next();
+                if (remoteAddress.equals(aChannel.remote)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public Channel getFirst(String itemName, Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
+                        && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public Channel getFirstServed(String itemName, Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && aChannel.channel != null && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
+                        && aChannel.channel != null && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(String itemName, Direction direction, SocketChannel oldSocketChannel,
                 SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && oldSocketChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && oldSocketChannel.equals(aChannel.channel)
+                        && direction.equals(aChannel.direction)) {
+                    aChannel.channel = channel;
                 }
-
             }
         }
 
         public void replace(String itemName, Direction direction, InetSocketAddress remoteAddress,
                 SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
-                            && direction.equals(aChannel.direction) && itemName.equals(aChannel.item)
-                            && !channel.equals(aChannel.channel)) {
-                        if (aChannel.host.equals("*")
-                                && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                            aChannel.channel = channel;
-                        }
-                    } else if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
+                        && direction.equals(aChannel.direction) && itemName.equals(aChannel.item)
+                        && !channel.equals(aChannel.channel)) {
+                    if (aChannel.host.equals("*")
+                            && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
+                        aChannel.channel = channel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
+                        aChannel.channel = channel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
                         aChannel.channel = channel;
                     }
+                } else if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
+                        && direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
+                    aChannel.channel = channel;
                 }
             }
 
         }
 
         public ArrayList<Channel> getAll(String itemName, Direction direction, SocketChannel theSocketChannel) {
-            synchronized (this) {
-
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theSocketChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && theSocketChannel.equals(aChannel.channel)
+                        && direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public void setAllBlocking(String itemName, Direction direction, SocketChannel theSocketChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theSocketChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        aChannel.isBlocking = b;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (itemName.equals(aChannel.item) && theSocketChannel.equals(aChannel.channel)
+                        && direction.equals(aChannel.direction)) {
+                    aChannel.isBlocking = b;
                 }
             }
         }
 
         public Channel getFirstServed(InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(Direction direction, SocketChannel oldSocketChannel, SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (oldSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (oldSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.channel = channel;
                 }
             }
         }
 
         public void replace(Direction direction, InetSocketAddress remoteAddress, SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
-                            && remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && !channel.equals(aChannel.channel)) {
-                        if (aChannel.host.equals("*")
-                                && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                            aChannel.channel = channel;
-                        }
-                    } else if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && !channel.equals(aChannel.channel)) {
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
+                        && remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
+                        && !channel.equals(aChannel.channel)) {
+                    if (aChannel.host.equals("*")
+                            && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
+                        aChannel.channel = channel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
+                        aChannel.channel = channel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
                         aChannel.channel = channel;
                     }
+                } else if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
+                        && !channel.equals(aChannel.channel)) {
+                    aChannel.channel = channel;
                 }
             }
         }
 
         public ArrayList<Channel> getAll(Direction direction, SocketChannel theSocketChannel) {
-            synchronized (this) {
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
-                }
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                return selectedChannels;
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
+                }
             }
+
+            return selectedChannels;
         }
 
         public void setAllBlocking(Direction direction, SocketChannel theSocketChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        aChannel.isBlocking = b;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.isBlocking = b;
                 }
             }
         }
 
         public Channel getFirstServed(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
+                        && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(SocketChannel oldSocketChannel, SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (oldSocketChannel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (oldSocketChannel.equals(aChannel.channel)) {
+                    aChannel.channel = channel;
                 }
-
             }
         }
 
         public void replace(InetSocketAddress remoteAddress, SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
-                            && !channel.equals(aChannel.channel)) {
-                        if (aChannel.host.equals("*")
-                                && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                            aChannel.channel = channel;
-                        }
-                    } else if (remoteAddress.equals(aChannel.remote) && !channel.equals(aChannel.channel)) {
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
+                        && !channel.equals(aChannel.channel)) {
+                    if (aChannel.host.equals("*")
+                            && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
+                        aChannel.channel = channel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
+                        aChannel.channel = channel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
                         aChannel.channel = channel;
                     }
+                } else if (remoteAddress.equals(aChannel.remote) && !channel.equals(aChannel.channel)) {
+                    aChannel.channel = channel;
                 }
             }
 
         }
 
         public ArrayList<Channel> getAll(SocketChannel theSocketChannel) {
-            synchronized (this) {
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel)) {
-                        selectedChannels.add(aChannel);
-                    }
-                }
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                return selectedChannels;
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theSocketChannel.equals(aChannel.channel)) {
+                    selectedChannels.add(aChannel);
+                }
             }
+
+            return selectedChannels;
         }
 
         public void setAllBlocking(SocketChannel theSocketChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel)) {
-                        aChannel.isBlocking = b;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theSocketChannel.equals(aChannel.channel)) {
+                    aChannel.isBlocking = b;
                 }
             }
         }
 
         public void setAllReconnecting(SocketChannel theSocketChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel)) {
-                        aChannel.isReconnecting = b;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theSocketChannel.equals(aChannel.channel)) {
+                    aChannel.isReconnecting = b;
                 }
             }
         }
 
         public Channel getFirstNotServed(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
-                            && direction.equals(aChannel.direction)
-                            && (aChannel.channel == null || !aChannel.channel.isOpen())) {
-                        if (aChannel.host.equals("*")
-                                && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
-                            return aChannel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
-                            return aChannel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                            return aChannel;
-                        }
-                    } else if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && (aChannel.channel == null || !aChannel.channel.isOpen())) {
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
+                        && direction.equals(aChannel.direction)
+                        && (aChannel.channel == null || !aChannel.channel.isOpen())) {
+                    if (aChannel.host.equals("*")
+                            && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
+                        return aChannel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
+                        return aChannel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
                         return aChannel;
                     }
+                } else if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
+                        && (aChannel.channel == null || !aChannel.channel.isOpen())) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public boolean isBlocking(SocketChannel theSocketChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel) && aChannel.isBlocking) {
-                        return true;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theSocketChannel.equals(aChannel.channel) && aChannel.isBlocking) {
+                    return true;
                 }
-                return false;
             }
+            return false;
         }
 
         public Channel getBlocking(SocketChannel theSocketChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel) && aChannel.isBlocking) {
-                        return aChannel;
-                    }
+            Iterator<C> it = iterator();
+            while (it.hasNext()) {
+                C aChannel = it.next();
+                if (theSocketChannel.equals(aChannel.channel) && aChannel.isBlocking) {
+                    return aChannel;
                 }
-                return null;
             }
+            return null;
         }
 
     }
@@ -638,6 +613,8 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         public Channel channel;
         public ByteBuffer buffer;
         public boolean isBlocking;
+        // the System.nanoTime() at which this element was queued
+        public final long queuedAt = System.nanoTime();
 
         public WriteBufferElement(Channel channel, ByteBuffer buffer, boolean isBlocking) {
             super();
@@ -678,14 +655,16 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
             logger.info("Listening for incoming connections on {}", listenerChannel.getLocalAddress());
 
-            synchronized (selector) {
-                selector.wakeup();
-                try {
-                    listenerKey = listenerChannel.register(selector, SelectionKey.OP_ACCEPT);
-                } catch (ClosedChannelException e1) {
-                    logger.warn("An exception occurred while registering a selector: {}", e1.getMessage());
+            selectorLoop.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        listenerKey = listenerChannel.register(selector, SelectionKey.OP_ACCEPT);
+                    } catch (ClosedChannelException e1) {
+                        logger.warn("An exception occurred while registering a selector: {}", e1.getMessage());
+                    }
                 }
-            }
+            });
 
         } catch (Exception e3) {
             logger.warn("An exception occurred while creating the Listener Channel on port number {}: {}",
@@ -705,6 +684,19 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         } catch (IOException e) {
             logger.warn("An exception occurred while registering the selector: {}", e.getMessage());
         }
+
+        selectorLoop = new SelectorLoop(selector, new SelectorLoop.Handler() {
+            @Override
+            public void processSelectedKey(SelectionKey selKey) {
+                AbstractSocketChannelBinding.this.processSelectedKey(selKey);
+            }
+
+            @Override
+            public void afterSelect() {
+                updateInterestOps();
+            }
+        }, getName() + " I/O");
+        selectorLoop.start();
     }
 
     /**
@@ -713,6 +705,9 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
     @Override
     public void deactivate() {
 
+        selectorLoop.stop();
+        frameBuffers.clear();
+
         try {
             selector.close();
         } catch (IOException e) {
@@ -866,6 +861,13 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                         refreshInterval);
             }
 
+            String framingString = Objects.toString(config.get("framing"), null);
+            try {
+                frameDecoder = FrameDecoders.parse(framingString);
+            } catch (IllegalArgumentException e) {
+                throw new ConfigurationException("framing", e.getMessage());
+            }
+
             if (listenerPort != 0) {
                 configureListenerChannel();
             }
@@ -922,39 +924,9 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                         if (!theSocketChannel.isConnectionPending() || !theSocketChannel.isOpen()) {
 
-                            Scheduler scheduler = null;
-                            try {
-                                scheduler = StdSchedulerFactory.getDefaultScheduler();
-                            } catch (SchedulerException e1) {
-                                logger.warn("An exception occurred while getting the Quartz scheduler: {}",
-                                        e1.getMessage());
-                            }
-
-                            JobDataMap map = new JobDataMap();
-                            map.put("Channel", theChannel);
-                            map.put("Binding", this);
-
-                            JobDetail job = newJob(ReconnectJob.class)
-                                    .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
-                                            + Long.toString(System.currentTimeMillis()), this.toString())
-                                    .usingJobData(map).build();
-
-                            Trigger trigger = newTrigger()
-                                    .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
-                                            + Long.toString(System.currentTimeMillis()), this.toString())
-                                    .startNow().build();
-
-                            try {
-                                if (job != null && trigger != null) {
-                                    if (!theChannel.isReconnecting) {
-                                        theChannel.isReconnecting = true;
-                                        scheduler.scheduleJob(job, trigger);
-                                    }
-                                }
-                            } catch (SchedulerException e) {
-                                logger.warn(
-                                        "An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                        e.getMessage());
+                            if (!theChannel.isReconnecting) {
+                                theChannel.isReconnecting = true;
+                                scheduleReconnect(theChannel, 0);
                             }
                         }
                     }
@@ -1028,6 +1000,24 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         }
     }
 
+    /**
+     * Parses a frame extracted by the configured {@link FrameDecoder}. The frame is a view on a pooled buffer and is
+     * only valid for the duration of the call. By default it is copied into a heap buffer of exactly its length, which
+     * is handed over to {@link #parseChanneledBuffer(Channel, ByteBuffer)}.
+     *
+     * @param theChannel the channel the frame was received on
+     * @param frame the frame
+     */
+    protected void parseChanneledFrame(Channel theChannel, ByteBuffer frame) {
+        parseChanneledBuffer(theChannel, copyFrame(frame));
+    }
+
+    private static ByteBuffer copyFrame(ByteBuffer frame) {
+        byte[] content = new byte[frame.remaining()];
+        frame.duplicate().get(content);
+        return ByteBuffer.wrap(content);
+    }
+
     /**
      * Callback that will be called when data is received on a given channel.
      * This method should deal with the actual details of the protocol being implemented.
@@ -1054,7 +1044,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
             if (theBuffer != null) {
                 if (theSocketChannel.isConnected() || queueUntilConnected) {
-                    writeQueue.add(new WriteBufferElement(theChannel, theBuffer, true));
+                    queueBuffer(new WriteBufferElement(theChannel, theBuffer, true));
                 }
 
                 long currentElapsedTimeMillis = System.currentTimeMillis();
@@ -1068,11 +1058,11 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                 }
 
                 ByteBuffer responseBuffer = null;
-                synchronized (this) {
-                    responseBuffer = theChannel.buffer;
-                    theChannel.buffer = null;
-                    theChannel.isBlocking = false;
-                }
+                responseBuffer = theChannel.buffer;
+                theChannel.buffer = null;
+                theChannel.isBlocking = false;
+                // writes held back by the blocking operation may proceed now
+                selectorLoop.wakeup();
                 return responseBuffer;
             } else {
                 return theBuffer;
@@ -1082,7 +1072,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
             if (theBuffer != null) {
                 if (theSocketChannel.isConnected() || queueUntilConnected) {
-                    writeQueue.add(new WriteBufferElement(theChannel, theBuffer, false));
+                    queueBuffer(new WriteBufferElement(theChannel, theBuffer, false));
                 }
             }
 
@@ -1098,7 +1088,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
      */
     public static class ReconnectJob implements Job {
 
-        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @SuppressWarnings({ "rawtypes" })
         @Override
         public void execute(JobExecutionContext context) throws JobExecutionException {
             JobDataMap dataMap = context.getJobDetail().getJobDataMap();
@@ -1106,63 +1096,94 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
             AbstractSocketChannelBinding.Channel theChannel = (AbstractSocketChannelBinding.Channel) dataMap
                     .get("Channel");
 
-            if (theChannel.isReconnecting) {
+            theBinding.reconnect(theChannel);
+        }
+    }
 
-                if (theChannel.remote != null && !theChannel.channel.isOpen()) {
+    /**
+     * Hands the reconnection of a channel over to the selector loop
+     *
+     * @param theChannel the channel to reconnect
+     */
+    protected void reconnect(final Channel theChannel) {
+        selectorLoop.execute(new Runnable() {
+            @Override
+            public void run() {
+                reconnectChannel(theChannel);
+            }
+        });
+    }
 
-                    SelectionKey sKey = theChannel.channel.keyFor(theBinding.selector);
-                    if (sKey != null) {
-                        sKey.cancel();
-                    }
+    /**
+     * Reconnects a channel on the selector loop after <code>delay</code> milliseconds
+     *
+     * @param theChannel the channel to reconnect
+     * @param delay the delay in milliseconds
+     */
+    protected void scheduleReconnect(final Channel theChannel, long delay) {
+        selectorLoop.schedule(new Runnable() {
+            @Override
+            public void run() {
+                reconnectChannel(theChannel);
+            }
+        }, delay);
+    }
 
-                    try {
-                        theChannel.channel.close();
-                    } catch (IOException e) {
-                        logger.warn("An exception occurred while closing a channel: {}", e.getMessage());
-                    }
+    private void reconnectChannel(Channel theChannel) {
+        if (theChannel.isReconnecting) {
 
-                    try {
-                        theChannel.channel = SocketChannel.open();
-                    } catch (IOException e) {
-                        logger.warn("An exception occurred while opening a channel: {}", e.getMessage());
-                    }
+            if (theChannel.remote != null && !theChannel.channel.isOpen()) {
 
-                    theChannel.isBlocking = false;
-                    theChannel.buffer = null;
+                SelectionKey sKey = theChannel.channel.keyFor(selector);
+                if (sKey != null) {
+                    sKey.cancel();
+                }
+                releaseFrameBuffer(theChannel.channel);
 
-                    try {
-                        theChannel.channel.configureBlocking(false);
-                        // setKeepAlive(true);
-                    } catch (Exception e) {
-                        logger.warn("An exception occurred while configuring a channel: {}", e.getMessage());
-                    }
+                try {
+                    theChannel.channel.close();
+                } catch (IOException e) {
+                    logger.warn("An exception occurred while closing a channel: {}", e.getMessage());
+                }
 
-                    synchronized (theBinding.selector) {
-                        theBinding.selector.wakeup();
-                        int interestSet = SelectionKey.OP_READ | SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT;
-                        try {
-                            if (theChannel.channel != null) {
-                                theChannel.channel.register(theBinding.selector, interestSet);
-                            }
-                        } catch (ClosedChannelException e1) {
-                            logger.warn("An exception occurred while registering a selector: {}", e1.getMessage());
-                        }
+                try {
+                    theChannel.channel = SocketChannel.open();
+                } catch (IOException e) {
+                    logger.warn("An exception occurred while opening a channel: {}", e.getMessage());
+                }
+
+                theChannel.isBlocking = false;
+                theChannel.buffer = null;
+
+                try {
+                    theChannel.channel.configureBlocking(false);
+                    // setKeepAlive(true);
+                } catch (Exception e) {
+                    logger.warn("An exception occurred while configuring a channel: {}", e.getMessage());
+                }
+
+                int interestSet = SelectionKey.OP_READ | SelectionKey.OP_CONNECT;
+                try {
+                    if (theChannel.channel != null) {
+                        theChannel.channel.register(selector, interestSet);
                     }
+                } catch (ClosedChannelException e1) {
+                    logger.warn("An exception occurred while registering a selector: {}", e1.getMessage());
+                }
 
-                    try {
-                        if (theChannel.channel != null) {
-                            theChannel.channel.connect(theChannel.remote);
-                            logger.info("Attempting to reconnect the channel for {}", theChannel.remote);
-                        }
-                    } catch (Exception e) {
-                        logger.warn("An exception occurred while connecting a channel: {}", e.getMessage());
+                try {
+                    if (theChannel.channel != null) {
+                        theChannel.channel.connect(theChannel.remote);
+                        logger.info("Attempting to reconnect the channel for {}", theChannel.remote);
                     }
-                } else {
-                    logger.debug("Either the remote address was not found or the channel was not open.");
+                } catch (Exception e) {
+                    logger.warn("An exception occurred while connecting a channel: {}", e.getMessage());
                 }
             } else {
-                logger.warn("Channel for {} is not reconnecting.", theChannel.remote);
+                logger.debug("Either the remote address was not found or the channel was not open.");
             }
+        } else {
+            logger.warn("Channel for {} is not reconnecting.", theChannel.remote);
         }
     }
 
@@ -1314,50 +1335,51 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                         logger.debug("Setting up the outbound assigned channel {} ", newChannel);
                                     }
 
-                                    synchronized (this) {
+                                    if (!assigned || newChannel.channel == null) {
 
-                                        if (!assigned || newChannel.channel == null) {
+                                        SocketChannel newSocketChannel = null;
+                                        try {
+                                            newSocketChannel = SocketChannel.open();
+                                        } catch (IOException e2) {
+                                            logger.warn("An exception occurred while opening a channel: {}",
+                                                    e2.getMessage());
+                                        }
 
-                                            SocketChannel newSocketChannel = null;
-                                            try {
-                                                newSocketChannel = SocketChannel.open();
-                                            } catch (IOException e2) {
-                                                logger.warn("An exception occurred while opening a channel: {}",
-                                                        e2.getMessage());
-                                            }
+                                        try {
+                                            newSocketChannel.socket().setKeepAlive(true);
+                                            newSocketChannel.configureBlocking(false);
+                                        } catch (IOException e) {
+                                            logger.warn("An exception occurred while configuring a channel: {}",
+                                                    e.getMessage());
+                                        }
 
-                                            try {
-                                                newSocketChannel.socket().setKeepAlive(true);
-                                                newSocketChannel.configureBlocking(false);
-                                            } catch (IOException e) {
-                                                logger.warn("An exception occurred while configuring a channel: {}",
-                                                        e.getMessage());
-                                            }
+                                        newChannel.channel = newSocketChannel;
+                                        logger.debug("Setting up the outbound channel {}", newChannel);
 
-                                            synchronized (selector) {
-                                                selector.wakeup();
-                                                int interestSet = SelectionKey.OP_READ | SelectionKey.OP_WRITE
-                                                        | SelectionKey.OP_CONNECT;
+                                        final SocketChannel theSocketChannel = newSocketChannel;
+                                        final Channel theChannel = newChannel;
+                                        final InetSocketAddress theAddress = remoteAddress;
+                                        selectorLoop.execute(new Runnable() {
+                                            @Override
+                                            public void run() {
+                                                int interestSet = SelectionKey.OP_READ | SelectionKey.OP_CONNECT;
                                                 try {
-                                                    newSocketChannel.register(selector, interestSet);
+                                                    theSocketChannel.register(selector, interestSet);
                                                 } catch (ClosedChannelException e1) {
                                                     logger.warn(
                                                             "An exception occurred while registering a selector: {}",
                                                             e1.getMessage());
                                                 }
-                                            }
-
-                                            newChannel.channel = newSocketChannel;
-                                            logger.debug("Setting up the outbound channel {}", newChannel);
 
-                                            try {
-                                                logger.info("Connecting the channel {} ", newChannel);
-                                                newSocketChannel.connect(remoteAddress);
-                                            } catch (IOException e) {
-                                                logger.warn("An exception occurred while connecting a channel: {}",
-                                                        e.getMessage());
+                                                try {
+                                                    logger.info("Connecting the channel {} ", theChannel);
+                                                    theSocketChannel.connect(theAddress);
+                                                } catch (IOException e) {
+                                                    logger.warn("An exception occurred while connecting a channel: {}",
+                                                            e.getMessage());
+                                                }
                                             }
-                                        }
+                                        });
                                     }
                                 } else {
                                     logger.info("There is already an active channel {} for the remote end {}",
@@ -1370,177 +1392,359 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
             }
         }
 
-        // Check on channels for which we have to process data
-        synchronized (selector) {
-            try {
-                // Wait for an event
-                selector.selectNow();
-            } catch (IOException e) {
-                logger.warn("An exception occurred while Selecting: {}", e.getMessage());
+        logMetrics();
+    }
+
+    /**
+     * Logs the traffic counters of all channels once every METRICS_LOG_INTERVAL
+     */
+    protected void logMetrics() {
+        if (logger.isDebugEnabled() && System.currentTimeMillis() - lastMetricsLog >= METRICS_LOG_INTERVAL) {
+            lastMetricsLog = System.currentTimeMillis();
+            for (Channel aChannel : channels) {
+                logger.debug("{}: {}", aChannel, aChannel.metrics);
             }
         }
+    }
 
-        // Get list of selection keys with pending events
-        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+    /**
+     * Queues a buffer to be written by the selector loop
+     *
+     * @param theElement the buffer and the channel to write it to
+     */
+    protected void queueBuffer(WriteBufferElement theElement) {
+        theElement.channel.metrics.queued();
+        writeQueue.add(theElement);
+        selectorLoop.wakeup();
+    }
 
-        // Process each key at a time
-        while (it.hasNext()) {
-            SelectionKey selKey = it.next();
-            it.remove();
+    /**
+     * Adapts the interest set of all registered channels to the work that is pending: a channel is only selected for
+     * OP_WRITE if data is waiting in the write queue for it, and for OP_CONNECT until its connection is established.
+     * Called on the selector loop after each select.
+     */
+    private void updateInterestOps() {
+        for (SelectionKey selKey : selector.keys()) {
+            if (!selKey.isValid() || selKey == listenerKey) {
+                continue;
+            }
 
-            if (selKey.isValid()) {
-                if (selKey == listenerKey) {
-                    if (selKey.isAcceptable()) {
+            SocketChannel theSocketChannel = (SocketChannel) selKey.channel();
+            int interestSet = selKey.interestOps();
 
-                        try {
-                            SocketChannel newChannel = listenerChannel.accept();
-                            logger.info("Received connection request from {}", newChannel.getRemoteAddress());
+            if (theSocketChannel.isConnected()) {
+                interestSet &= ~SelectionKey.OP_CONNECT;
+            }
 
-                            Channel firstChannel = channels.getFirstNotServed(Direction.IN,
-                                    (InetSocketAddress) newChannel.getRemoteAddress());
+            if (hasPendingWrite(theSocketChannel) && !channels.isBlocking(theSocketChannel)) {
+                interestSet |= SelectionKey.OP_WRITE;
+            } else {
+                interestSet &= ~SelectionKey.OP_WRITE;
+            }
 
-                            if (firstChannel != null) {
+            if (interestSet != selKey.interestOps()) {
+                selKey.interestOps(interestSet);
+            }
+        }
+    }
 
-                                if (firstChannel.direction == Direction.IN) {
+    private boolean hasPendingWrite(SocketChannel theSocketChannel) {
+        for (WriteBufferElement anElement : writeQueue) {
+            if (theSocketChannel.equals(anElement.channel.channel)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-                                    if (useAddressMask
-                                            && (firstChannel.host.equals("*") || firstChannel.port.equals("*"))) {
-                                        logger.info(
-                                                "{}:{} is an allowed masked remote end. The channel will now be configured",
-                                                firstChannel.host, firstChannel.port);
-                                    } else {
-                                        logger.info("{} is an allowed remote end. The channel will now be configured",
-                                                firstChannel.remote);
-                                    }
+    /**
+     * Reads the available data of a channel into a buffer which is owned by the selector loop
+     */
+    private ByteBuffer getReadBuffer() {
+        if (directReadBuffer == null || directReadBuffer.capacity() != maximumBufferSize) {
+            directReadBuffer = ByteBuffer.allocateDirect(maximumBufferSize);
+            dispatchBuffer = ByteBuffer.allocate(maximumBufferSize);
+        }
+        directReadBuffer.clear();
+        return directReadBuffer;
+    }
 
-                                    if (firstChannel.channel == null || !firstChannel.channel.isOpen()) {
+    /**
+     * Copies the data read into the direct read buffer to a heap buffer with the same layout as before: a backing
+     * array of maximumBufferSize bytes, padded with zeros. Buffers handed to the initiator of a blocking write/read
+     * operation are allocated afresh, all others reuse the same dispatch buffer, as they are parsed synchronously.
+     */
+    private ByteBuffer copyReadBuffer(ByteBuffer readBuffer, boolean forBlockingOperation) {
+        ByteBuffer theBuffer;
+        if (forBlockingOperation) {
+            theBuffer = ByteBuffer.allocate(maximumBufferSize);
+        } else {
+            theBuffer = dispatchBuffer;
+            Arrays.fill(theBuffer.array(), (byte) 0);
+            theBuffer.clear();
+        }
+        readBuffer.flip();
+        theBuffer.put(readBuffer);
+        theBuffer.flip();
+        return theBuffer;
+    }
 
-                                        firstChannel.channel = newChannel;
-                                        firstChannel.isBlocking = false;
-                                        firstChannel.buffer = null;
+    /**
+     * Returns the buffer accumulating the data received on <code>theSocketChannel</code>
+     */
+    private ByteBuffer getFrameBuffer(SocketChannel theSocketChannel) {
+        if (frameBufferPool == null || frameBufferPool.getBufferSize() != maximumBufferSize) {
+            frameBufferPool = new ByteBufferPool(maximumBufferSize, MAXIMUM_POOLED_FRAME_BUFFERS);
+        }
 
-                                        if (itemShareChannels) {
-                                            channels.replace(firstChannel.item, firstChannel.direction,
-                                                    (InetSocketAddress) newChannel.getRemoteAddress(),
-                                                    firstChannel.channel);
-                                        }
+        ByteBuffer frameBuffer = frameBuffers.get(theSocketChannel);
+        if (frameBuffer == null || frameBuffer.capacity() != maximumBufferSize) {
+            if (frameBuffers.size() >= selector.keys().size()) {
+                releaseClosedFrameBuffers();
+            }
+            frameBuffer = frameBufferPool.acquire();
+            frameBuffers.put(theSocketChannel, frameBuffer);
+        }
+        return frameBuffer;
+    }
 
-                                        if (bindingShareChannels) {
-                                            channels.replace(firstChannel.direction,
-                                                    (InetSocketAddress) newChannel.getRemoteAddress(),
-                                                    firstChannel.channel);
-                                        }
+    private void releaseFrameBuffer(SocketChannel theSocketChannel) {
+        ByteBuffer frameBuffer = frameBuffers.remove(theSocketChannel);
+        if (frameBuffer != null && frameBufferPool != null) {
+            frameBufferPool.release(frameBuffer);
+        }
+    }
 
-                                        if (directionsShareChannels) {
-                                            channels.replace((InetSocketAddress) newChannel.getRemoteAddress(),
-                                                    firstChannel.channel);
-                                        }
+    private void releaseClosedFrameBuffers() {
+        Iterator<Map.Entry<SocketChannel, ByteBuffer>> it = frameBuffers.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<SocketChannel, ByteBuffer> entry = it.next();
+            if (!entry.getKey().isOpen()) {
+                it.remove();
+                frameBufferPool.release(entry.getValue());
+            }
+        }
+    }
 
-                                        try {
-                                            newChannel.configureBlocking(false);
-                                            // setKeepAlive(true);
-                                        } catch (IOException e) {
-                                            logger.warn("An exception occurred while configuring a channel: {}",
-                                                    e.getMessage());
-                                        }
+    /**
+     * Dispatches all complete frames accumulated in <code>frameBuffer</code> and keeps the remainder for the next
+     * read. The frames are views on <code>frameBuffer</code>, only the frames themselves are ever copied.
+     */
+    private void dispatchFrames(FrameDecoder decoder, ByteBuffer frameBuffer, SocketChannel theSocketChannel,
+            List<Channel> channelsToServe) {
+        frameBuffer.flip();
+
+        ByteBuffer frame;
+        while ((frame = decoder.decode(frameBuffer)) != null) {
+            if (channels.isBlocking(theSocketChannel)) {
+                // the first frame received is the response to the blocking write/read operation
+                Channel theChannel = channels.getBlocking(theSocketChannel);
+                theChannel.buffer = copyFrame(frame);
+                theChannel.isBlocking = false;
+            } else {
+                for (Channel aChannel : channelsToServe) {
+                    parseChanneledFrame(aChannel, frame.duplicate());
+                }
+            }
+        }
 
-                                        synchronized (selector) {
-                                            selector.wakeup();
-                                            try {
-                                                newChannel.register(selector, newChannel.validOps());
-                                            } catch (ClosedChannelException e1) {
-                                                logger.warn("An exception occurred while registering a selector: {}",
-                                                        e1.getMessage());
-                                            }
-                                        }
+        if (frameBuffer.position() == 0 && frameBuffer.limit() == frameBuffer.capacity()) {
+            logger.warn("No frame found in {} bytes received from {}. The data will be discarded.",
+                    frameBuffer.limit(), channelsToServe.get(0).remote);
+            frameBuffer.clear();
+        } else {
+            frameBuffer.compact();
+        }
+    }
 
-                                        Scheduler scheduler = null;
-                                        try {
-                                            scheduler = StdSchedulerFactory.getDefaultScheduler();
-                                        } catch (SchedulerException e1) {
-                                            logger.warn("An exception occurred while getting the Quartz scheduler: {}",
-                                                    e1.getMessage());
-                                        }
+    /**
+     * Processes a key selected by the selector loop
+     *
+     * @param selKey the selected key
+     */
+    private void processSelectedKey(SelectionKey selKey) {
+        if (selKey.isValid()) {
+            if (selKey == listenerKey) {
+                if (selKey.isAcceptable()) {
 
-                                        JobDataMap map = new JobDataMap();
-                                        map.put("Channel", firstChannel);
-                                        map.put("Binding", this);
+                    try {
+                        SocketChannel newChannel = listenerChannel.accept();
+                        logger.info("Received connection request from {}", newChannel.getRemoteAddress());
 
-                                        JobDetail job = newJob(ConfigureJob.class)
-                                                .withIdentity(
-                                                        Integer.toHexString(hashCode()) + "-Configure-"
-                                                                + Long.toString(System.currentTimeMillis()),
-                                                        this.toString())
-                                                .usingJobData(map).build();
+                        Channel firstChannel = channels.getFirstNotServed(Direction.IN,
+                                (InetSocketAddress) newChannel.getRemoteAddress());
 
-                                        Trigger trigger = newTrigger()
-                                                .withIdentity(
-                                                        Integer.toHexString(hashCode()) + "-Configure-"
-                                                                + Long.toString(System.currentTimeMillis()),
-                                                        this.toString())
-                                                .startNow().build();
+                        if (firstChannel != null) {
 
-                                        try {
-                                            if (job != null && trigger != null && selKey != listenerKey) {
-                                                scheduler.scheduleJob(job, trigger);
-                                            }
-                                        } catch (SchedulerException e) {
-                                            logger.warn(
-                                                    "An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                                    e.getMessage());
-                                        }
+                            if (firstChannel.direction == Direction.IN) {
 
-                                    } else {
-                                        logger.info(
-                                                "We previously already accepted a connection from the remote end {} for this channel. Goodbye",
-                                                firstChannel.remote);
-                                        newChannel.close();
+                                if (useAddressMask
+                                        && (firstChannel.host.equals("*") || firstChannel.port.equals("*"))) {
+                                    logger.info(
+                                            "{}:{} is an allowed masked remote end. The channel will now be configured",
+                                            firstChannel.host, firstChannel.port);
+                                } else {
+                                    logger.info("{} is an allowed remote end. The channel will now be configured",
+                                            firstChannel.remote);
+                                }
+
+                                if (firstChannel.channel == null || !firstChannel.channel.isOpen()) {
+
+                                    firstChannel.channel = newChannel;
+                                    firstChannel.isBlocking = false;
+                                    firstChannel.buffer = null;
+
+                                    if (itemShareChannels) {
+                                        channels.replace(firstChannel.item, firstChannel.direction,
+                                                (InetSocketAddress) newChannel.getRemoteAddress(),
+                                                firstChannel.channel);
                                     }
+
+                                    if (bindingShareChannels) {
+                                        channels.replace(firstChannel.direction,
+                                                (InetSocketAddress) newChannel.getRemoteAddress(),
+                                                firstChannel.channel);
+                                    }
+
+                                    if (directionsShareChannels) {
+                                        channels.replace((InetSocketAddress) newChannel.getRemoteAddress(),
+                                                firstChannel.channel);
+                                    }
+
+                                    try {
+                                        newChannel.configureBlocking(false);
+                                        // setKeepAlive(true);
+                                    } catch (IOException e) {
+                                        logger.warn("An exception occurred while configuring a channel: {}",
+                                                e.getMessage());
+                                    }
+
+                                    try {
+                                        newChannel.register(selector, SelectionKey.OP_READ);
+                                    } catch (ClosedChannelException e1) {
+                                        logger.warn("An exception occurred while registering a selector: {}",
+                                                e1.getMessage());
+                                    }
+
+                                    Scheduler scheduler = null;
+                                    try {
+                                        scheduler = StdSchedulerFactory.getDefaultScheduler();
+                                    } catch (SchedulerException e1) {
+                                        logger.warn("An exception occurred while getting the Quartz scheduler: {}",
+                                                e1.getMessage());
+                                    }
+
+                                    JobDataMap map = new JobDataMap();
+                                    map.put("Channel", firstChannel);
+                                    map.put("Binding", this);
+
+                                    JobDetail job = newJob(ConfigureJob.class)
+                                            .withIdentity(
+                                                    Integer.toHexString(hashCode()) + "-Configure-"
+                                                            + Long.toString(System.currentTimeMillis()),
+                                                    this.toString())
+                                            .usingJobData(map).build();
+
+                                    Trigger trigger = newTrigger()
+                                            .withIdentity(
+                                                    Integer.toHexString(hashCode()) + "-Configure-"
+                                                            + Long.toString(System.currentTimeMillis()),
+                                                    this.toString())
+                                            .startNow().build();
+
+                                    try {
+                                        if (job != null && trigger != null && selKey != listenerKey) {
+                                            scheduler.scheduleJob(job, trigger);
+                                        }
+                                    } catch (SchedulerException e) {
+                                        logger.warn(
+                                                "An exception occurred while scheduling a job with the Quartz Scheduler {}",
+                                                e.getMessage());
+                                    }
+
                                 } else {
                                     logger.info(
-                                            "Disconnecting the remote end {} that tries to connect an outbound only port",
-                                            newChannel.getRemoteAddress());
+                                            "We previously already accepted a connection from the remote end {} for this channel. Goodbye",
+                                            firstChannel.remote);
                                     newChannel.close();
                                 }
                             } else {
-                                logger.info("Disconnecting the unallowed remote end {}", newChannel.getRemoteAddress());
+                                logger.info(
+                                        "Disconnecting the remote end {} that tries to connect an outbound only port",
+                                        newChannel.getRemoteAddress());
                                 newChannel.close();
                             }
-
-                        } catch (IOException e) {
-                            logger.warn("An exception occurred while configuring a channel: {}", e.getMessage());
+                        } else {
+                            logger.info("Disconnecting the unallowed remote end {}", newChannel.getRemoteAddress());
+                            newChannel.close();
                         }
+
+                    } catch (IOException e) {
+                        logger.warn("An exception occurred while configuring a channel: {}", e.getMessage());
                     }
-                } else {
+                }
+            } else {
 
-                    SocketChannel theSocketChannel = (SocketChannel) selKey.channel();
-                    Channel theChannel = channels.get(theSocketChannel);
+                SocketChannel theSocketChannel = (SocketChannel) selKey.channel();
+                Channel theChannel = channels.get(theSocketChannel);
 
-                    if (selKey.isConnectable()) {
-                        channels.setAllReconnecting(theSocketChannel, false);
+                if (selKey.isConnectable()) {
+                    channels.setAllReconnecting(theSocketChannel, false);
 
-                        boolean result = false;
-                        boolean error = false;
-                        try {
-                            result = theSocketChannel.finishConnect();
-                        } catch (NoConnectionPendingException e) {
-                            // this channel is not connected and a connection operation
-                            // has not been initiated
-                            logger.warn("The channel {} has no connection pending ({})", theSocketChannel,
-                                    e.getMessage());
-                            error = true;
-                        } catch (ClosedChannelException e) {
-                            // If some other I/O error occurs
-                            logger.warn("The channel {} is closed ({})", theSocketChannel, e.getMessage());
-                            error = true;
-                        } catch (IOException e) {
-                            // If some other I/O error occurs
-                            logger.warn("The channel {} has encountered an unknown IO Exception: {}", theSocketChannel,
-                                    e.getMessage());
-                            error = true;
+                    boolean result = false;
+                    boolean error = false;
+                    try {
+                        result = theSocketChannel.finishConnect();
+                    } catch (NoConnectionPendingException e) {
+                        // this channel is not connected and a connection operation
+                        // has not been initiated
+                        logger.warn("The channel {} has no connection pending ({})", theSocketChannel,
+                                e.getMessage());
+                        error = true;
+                    } catch (ClosedChannelException e) {
+                        // If some other I/O error occurs
+                        logger.warn("The channel {} is closed ({})", theSocketChannel, e.getMessage());
+                        error = true;
+                    } catch (IOException e) {
+                        // If some other I/O error occurs
+                        logger.warn("The channel {} has encountered an unknown IO Exception: {}", theSocketChannel,
+                                e.getMessage());
+                        error = true;
+                    }
+
+                    if (error) {
+
+                        if (selKey != listenerKey) {
+                            if (!theChannel.isReconnecting) {
+                                channels.setAllReconnecting(theSocketChannel, true);
+                                scheduleReconnect(theChannel, reconnectInterval * 1000L);
+                            }
                         }
 
-                        if (error) {
+                    } else {
+                        if (result) {
+                            InetSocketAddress remote = null;
+                            try {
+                                remote = (InetSocketAddress) theSocketChannel.getRemoteAddress();
+                            } catch (IOException e) {
+                                logger.warn(
+                                        "An exception occurred while getting the remote address of channel {} ({})",
+                                        theSocketChannel, e.getMessage());
+                            }
+
+                            logger.info("The channel for {} is now connected", remote);
+
+                            if (itemShareChannels) {
+                                channels.replace(theChannel.item, theChannel.direction, remote, theChannel.channel);
+                            }
+
+                            if (bindingShareChannels) {
+                                channels.replace(theChannel.direction, remote, theChannel.channel);
+                            }
+
+                            if (directionsShareChannels) {
+                                channels.replace(remote, theChannel.channel);
+                            }
 
                             Scheduler scheduler = null;
                             try {
@@ -1554,22 +1758,19 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                             map.put("Channel", theChannel);
                             map.put("Binding", this);
 
-                            JobDetail job = newJob(ReconnectJob.class)
-                                    .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
+                            JobDetail job = newJob(ConfigureJob.class)
+                                    .withIdentity(Integer.toHexString(hashCode()) + "-Configure-"
                                             + Long.toString(System.currentTimeMillis()), this.toString())
                                     .usingJobData(map).build();
 
                             Trigger trigger = newTrigger()
-                                    .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
+                                    .withIdentity(Integer.toHexString(hashCode()) + "-Configure-"
                                             + Long.toString(System.currentTimeMillis()), this.toString())
-                                    .startAt(futureDate(reconnectInterval, IntervalUnit.SECOND)).build();
+                                    .startNow().build();
 
                             try {
                                 if (job != null && trigger != null && selKey != listenerKey) {
-                                    if (!theChannel.isReconnecting) {
-                                        channels.setAllReconnecting(theSocketChannel, true);
-                                        scheduler.scheduleJob(job, trigger);
-                                    }
+                                    scheduler.scheduleJob(job, trigger);
                                 }
                             } catch (SchedulerException e) {
                                 logger.warn(
@@ -1577,308 +1778,200 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                         e.getMessage());
                             }
 
-                        } else {
-                            if (result) {
-                                InetSocketAddress remote = null;
-                                try {
-                                    remote = (InetSocketAddress) theSocketChannel.getRemoteAddress();
-                                } catch (IOException e) {
-                                    logger.warn(
-                                            "An exception occurred while getting the remote address of channel {} ({})",
-                                            theSocketChannel, e.getMessage());
-                                }
-
-                                logger.info("The channel for {} is now connected", remote);
-
-                                if (itemShareChannels) {
-                                    channels.replace(theChannel.item, theChannel.direction, remote, theChannel.channel);
-                                }
-
-                                if (bindingShareChannels) {
-                                    channels.replace(theChannel.direction, remote, theChannel.channel);
-                                }
-
-                                if (directionsShareChannels) {
-                                    channels.replace(remote, theChannel.channel);
-                                }
-
-                                Scheduler scheduler = null;
-                                try {
-                                    scheduler = StdSchedulerFactory.getDefaultScheduler();
-                                } catch (SchedulerException e1) {
-                                    logger.warn("An exception occurred while getting the Quartz scheduler: {}",
-                                            e1.getMessage());
-                                }
-
-                                JobDataMap map = new JobDataMap();
-                                map.put("Channel", theChannel);
-                                map.put("Binding", this);
-
-                                JobDetail job = newJob(ConfigureJob.class)
-                                        .withIdentity(Integer.toHexString(hashCode()) + "-Configure-"
-                                                + Long.toString(System.currentTimeMillis()), this.toString())
-                                        .usingJobData(map).build();
-
-                                Trigger trigger = newTrigger()
-                                        .withIdentity(Integer.toHexString(hashCode()) + "-Configure-"
-                                                + Long.toString(System.currentTimeMillis()), this.toString())
-                                        .startNow().build();
-
-                                try {
-                                    if (job != null && trigger != null && selKey != listenerKey) {
-                                        scheduler.scheduleJob(job, trigger);
-                                    }
-                                } catch (SchedulerException e) {
-                                    logger.warn(
-                                            "An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                            e.getMessage());
-                                }
-
-                                job = newJob(ReconnectJob.class)
-                                        .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
-                                                + Long.toString(System.currentTimeMillis()), this.toString())
-                                        .usingJobData(map).build();
+                            job = newJob(ReconnectJob.class)
+                                    .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
+                                            + Long.toString(System.currentTimeMillis()), this.toString())
+                                    .usingJobData(map).build();
 
-                                trigger = newTrigger()
-                                        .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
-                                                + Long.toString(System.currentTimeMillis()), this.toString())
-                                        .withSchedule(cronSchedule(reconnectCron)).build();
+                            trigger = newTrigger()
+                                    .withIdentity(Integer.toHexString(hashCode()) + "-Reconnect-"
+                                            + Long.toString(System.currentTimeMillis()), this.toString())
+                                    .withSchedule(cronSchedule(reconnectCron)).build();
 
-                                try {
-                                    if (job != null && trigger != null && selKey != listenerKey) {
-                                        scheduler.scheduleJob(job, trigger);
-                                    }
-                                } catch (SchedulerException e) {
-                                    logger.warn(
-                                            "An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                            e.getMessage());
+                            try {
+                                if (job != null && trigger != null && selKey != listenerKey) {
+                                    scheduler.scheduleJob(job, trigger);
                                 }
+                            } catch (SchedulerException e) {
+                                logger.warn(
+                                        "An exception occurred while scheduling a job with the Quartz Scheduler {}",
+                                        e.getMessage());
                             }
                         }
+                    }
 
-                    } else if (selKey.isReadable()) {
+                } else if (selKey.isReadable()) {
 
-                        ByteBuffer readBuffer = ByteBuffer.allocate(maximumBufferSize);
-                        int numberBytesRead = 0;
-                        boolean error = false;
+                    FrameDecoder decoder = frameDecoder;
+                    ByteBuffer readBuffer = decoder != null ? getFrameBuffer(theSocketChannel) : getReadBuffer();
+                    int numberBytesRead = 0;
+                    boolean error = false;
 
-                        try {
-                            // TODO: Additional code to split readBuffer into multiple parts, in case the data sent by the
-                            // remote end is not correctly fragmented. Could be handed off to implementation class if,
-                            // for example, the buffer needs to be split based on a special character like line feed or
-                            // carriage return
-                            numberBytesRead = theSocketChannel.read(readBuffer);
-                        } catch (NotYetConnectedException e) {
-                            logger.warn("The channel for {} has no connection pending ({})", theChannel.remote,
-                                    e.getMessage());
-                            if (!theSocketChannel.isConnectionPending()) {
-                                error = true;
-                            }
-                        } catch (IOException e) {
-                            // If some other I/O error occurs
-                            logger.warn("The channel for {} has encountered an unknown IO Exception: {}",
-                                    theChannel.remote, e.getMessage());
+                    try {
+                        // TODO: Additional code to split readBuffer into multiple parts, in case the data sent by the
+                        // remote end is not correctly fragmented. Could be handed off to implementation class if,
+                        // for example, the buffer needs to be split based on a special character like line feed or
+                        // carriage return
+                        numberBytesRead = theSocketChannel.read(readBuffer);
+                    } catch (NotYetConnectedException e) {
+                        logger.warn("The channel for {} has no connection pending ({})", theChannel.remote,
+                                e.getMessage());
+                        if (!theSocketChannel.isConnectionPending()) {
                             error = true;
                         }
+                    } catch (IOException e) {
+                        // If some other I/O error occurs
+                        logger.warn("The channel for {} has encountered an unknown IO Exception: {}",
+                                theChannel.remote, e.getMessage());
+                        error = true;
+                    }
 
-                        if (numberBytesRead == -1) {
-                            try {
-                                theSocketChannel.close();
-                            } catch (IOException e) {
-                                logger.warn("Error occurred while closing the channel for {}: {}", theChannel.remote, e.getMessage());
-                            }
-                            error = true;
+                    if (numberBytesRead == -1) {
+                        try {
+                            theSocketChannel.close();
+                        } catch (IOException e) {
+                            logger.warn("Error occurred while closing the channel for {}: {}", theChannel.remote, e.getMessage());
                         }
+                        error = true;
+                    }
 
-                        if (error) {
-                            if (theChannel.direction == Direction.OUT) {
+                    if (error) {
+                        releaseFrameBuffer(theSocketChannel);
 
-                                Scheduler scheduler = null;
-                                try {
-                                    scheduler = StdSchedulerFactory.getDefaultScheduler();
-                                } catch (SchedulerException e1) {
-                                    logger.warn("An exception occurred while getting the Quartz scheduler: {}",
-                                            e1.getMessage());
-                                }
+                        if (theChannel.direction == Direction.OUT) {
 
-                                JobDataMap map = new JobDataMap();
-                                map.put("Channel", theChannel);
-                                map.put("Binding", this);
-
-                                JobDetail job = newJob(ReconnectJob.class).withIdentity(
-                                        Integer.toHexString(hashCode()) + "-Reconnect-"
-                                                + Long.toString(System.currentTimeMillis()),
-                                        "AbstractSocketChannelBinding").usingJobData(map).build();
-
-                                Trigger trigger = newTrigger()
-                                        .withIdentity(
-                                                Integer.toHexString(hashCode()) + "-Reconnect-"
-                                                        + Long.toString(System.currentTimeMillis()),
-                                                "AbstractSocketChannelBinding")
-                                        .startAt(futureDate(reconnectInterval, IntervalUnit.SECOND)).build();
-
-                                try {
-                                    if (job != null && trigger != null && selKey != listenerKey) {
-                                        if (!theChannel.isReconnecting) {
-                                            channels.setAllReconnecting(theSocketChannel, true);
-                                            scheduler.scheduleJob(job, trigger);
-                                        }
-                                    }
-                                } catch (SchedulerException e) {
-                                    logger.warn(
-                                            "An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                            e.getMessage());
+                            if (selKey != listenerKey) {
+                                if (!theChannel.isReconnecting) {
+                                    channels.setAllReconnecting(theSocketChannel, true);
+                                    scheduleReconnect(theChannel, reconnectInterval * 1000L);
                                 }
-
-                            } else {
-                                theChannel.channel = null;
                             }
+
                         } else {
+                            theChannel.channel = null;
+                        }
+                    } else {
 
-                            ArrayList<Channel> channelsToServe = new ArrayList<Channel>();
+                        ArrayList<Channel> channelsToServe = new ArrayList<Channel>();
 
-                            channelsToServe = channels.getAll(theSocketChannel);
+                        channelsToServe = channels.getAll(theSocketChannel);
 
-                            if (channelsToServe.size() > 0) {
+                        if (channelsToServe.size() > 0) {
 
-                                readBuffer.flip();
+                            for (Channel aChannel : channelsToServe) {
+                                aChannel.metrics.received(numberBytesRead);
+                            }
 
-                                boolean isBlocking = channels.isBlocking(theSocketChannel);
+                            boolean isBlocking = channels.isBlocking(theSocketChannel);
 
-                                if (isBlocking) {
-                                    // if we are in a blocking operation, we get are now finished and we have to reset
-                                    // the flag. The read buffer will be returned to the instance
-                                    // that initiated the write opreation - it has to parse the buffer itself
+                            if (decoder != null) {
+                                dispatchFrames(decoder, readBuffer, theSocketChannel, channelsToServe);
+                            } else if (isBlocking) {
+                                // if we are in a blocking operation, we get are now finished and we have to reset
+                                // the flag. The read buffer will be returned to the instance
+                                // that initiated the write opreation - it has to parse the buffer itself
 
-                                    theChannel = channels.getBlocking(theSocketChannel);
-                                    theChannel.buffer = readBuffer;
-                                    theChannel.isBlocking = false;
+                                theChannel = channels.getBlocking(theSocketChannel);
+                                theChannel.buffer = copyReadBuffer(readBuffer, true);
+                                theChannel.isBlocking = false;
 
-                                } else {
-                                    for (Channel aChannel : channelsToServe) {
-                                        // if not, then we parse the buffer as ususal
-                                        parseChanneledBuffer(aChannel, readBuffer);
-                                    }
-                                }
                             } else {
-                                try {
-                                    logger.warn(
-                                            "No channel is active or defined for the data we received from {}. It will be discarded.",
-                                            theSocketChannel.getRemoteAddress());
-                                } catch (IOException e) {
-                                    logger.warn(
-                                            "An exception occurred while getting the remote address of the channel {} ({})",
-                                            theSocketChannel, e.getMessage());
+                                readBuffer = copyReadBuffer(readBuffer, false);
+                                for (Channel aChannel : channelsToServe) {
+                                    // if not, then we parse the buffer as ususal
+                                    parseChanneledBuffer(aChannel, readBuffer);
                                 }
                             }
+                        } else {
+                            if (decoder != null) {
+                                readBuffer.clear();
+                            }
+
+                            try {
+                                logger.warn(
+                                        "No channel is active or defined for the data we received from {}. It will be discarded.",
+                                        theSocketChannel.getRemoteAddress());
+                            } catch (IOException e) {
+                                logger.warn(
+                                        "An exception occurred while getting the remote address of the channel {} ({})",
+                                        theSocketChannel, e.getMessage());
+                            }
                         }
+                    }
 
-                    } else if (selKey.isWritable()) {
+                } else if (selKey.isWritable()) {
 
-                        boolean isBlocking = channels.isBlocking(theSocketChannel);
+                    boolean isBlocking = channels.isBlocking(theSocketChannel);
 
-                        if (isBlocking) {
-                            // if this channel is already flagged as being in a blocked write/read operation, we skip
-                            // this selKey
-                        } else {
+                    if (isBlocking) {
+                        // if this channel is already flagged as being in a blocked write/read operation, we skip
+                        // this selKey
+                    } else {
 
-                            // pick up a QueueElement for this channel, if any
+                        // pick up a QueueElement for this channel, if any
 
-                            WriteBufferElement theElement = null;
+                        WriteBufferElement theElement = null;
 
-                            Iterator<WriteBufferElement> iterator = writeQueue.iterator();
-                            while (iterator.hasNext()) {
-                                WriteBufferElement anElement = iterator.next();
-                                if (anElement.channel.channel.equals(theSocketChannel)) {
-                                    theElement = anElement;
-                                    break;
-                                }
+                        Iterator<WriteBufferElement> iterator = writeQueue.iterator();
+                        while (iterator.hasNext()) {
+                            WriteBufferElement anElement = iterator.next();
+                            if (anElement.channel.channel.equals(theSocketChannel)) {
+                                theElement = anElement;
+                                break;
                             }
+                        }
 
-                            if (theElement != null && theElement.buffer != null) {
+                        if (theElement != null && theElement.buffer != null) {
 
-                                logger.debug("Picked {} from the queue", theElement);
+                            logger.debug("Picked {} from the queue", theElement);
 
-                                if (theElement.isBlocking) {
-                                    theElement.channel.isBlocking = true;
-                                }
+                            if (theElement.isBlocking) {
+                                theElement.channel.isBlocking = true;
+                            }
 
-                                boolean error = false;
-
-                                theElement.buffer.rewind();
-                                try {
-                                    logger.debug("Sending {} for the outbound channel {}->{}",
-                                            new Object[] { new String(theElement.buffer.array()),
-                                                    theElement.channel.channel.getLocalAddress(),
-                                                    theElement.channel.channel.getRemoteAddress() });
-                                    theSocketChannel.write(theElement.buffer);
-                                } catch (NotYetConnectedException e) {
-                                    logger.warn("The channel for {} has no connection pending ({})", theChannel.remote,
-                                            e.getMessage());
-                                    if (!theSocketChannel.isConnectionPending()) {
-                                        error = true;
-                                    }
-                                } catch (ClosedChannelException e) {
-                                    // If some other I/O error occurs
-                                    logger.warn("The channel for {} is closed ({})", theChannel.remote, e.getMessage());
-                                    error = true;
-                                } catch (IOException e) {
-                                    // If some other I/O error occurs
-                                    logger.warn("The channel for {} has encountered an unknown IO Exception: {}",
-                                            theChannel.remote, e.getMessage());
+                            boolean error = false;
+
+                            theElement.buffer.rewind();
+                            try {
+                                logger.debug("Sending {} for the outbound channel {}->{}",
+                                        new Object[] { new String(theElement.buffer.array()),
+                                                theElement.channel.channel.getLocalAddress(),
+                                                theElement.channel.channel.getRemoteAddress() });
+                                theSocketChannel.write(theElement.buffer);
+                            } catch (NotYetConnectedException e) {
+                                logger.warn("The channel for {} has no connection pending ({})", theChannel.remote,
+                                        e.getMessage());
+                                if (!theSocketChannel.isConnectionPending()) {
                                     error = true;
                                 }
+                            } catch (ClosedChannelException e) {
+                                // If some other I/O error occurs
+                                logger.warn("The channel for {} is closed ({})", theChannel.remote, e.getMessage());
+                                error = true;
+                            } catch (IOException e) {
+                                // If some other I/O error occurs
+                                logger.warn("The channel for {} has encountered an unknown IO Exception: {}",
+                                        theChannel.remote, e.getMessage());
+                                error = true;
+                            }
 
-                                if (error) {
-
-                                    if (theElement.channel.direction == Direction.OUT) {
-
-                                        Scheduler scheduler = null;
-                                        try {
-                                            scheduler = StdSchedulerFactory.getDefaultScheduler();
-                                        } catch (SchedulerException e1) {
-                                            logger.warn("An exception occurred while getting the Quartz scheduler: {}",
-                                                    e1.getMessage());
-                                        }
-
-                                        JobDataMap map = new JobDataMap();
-                                        map.put("Channel", theElement.channel);
-                                        map.put("Binding", this);
-
-                                        JobDetail job = newJob(ReconnectJob.class).withIdentity(
-                                                Integer.toHexString(hashCode()) + "-Reconnect-"
-                                                        + Long.toString(System.currentTimeMillis()),
-                                                "AbstractSocketChannelBinding").usingJobData(map).build();
+                            if (error) {
 
-                                        Trigger trigger = newTrigger()
-                                                .withIdentity(
-                                                        Integer.toHexString(hashCode()) + "-Reconnect-"
-                                                                + Long.toString(System.currentTimeMillis()),
-                                                        "AbstractSocketChannelBinding")
-                                                .startAt(futureDate(reconnectInterval, IntervalUnit.SECOND)).build();
+                                if (theElement.channel.direction == Direction.OUT) {
 
-                                        try {
-                                            if (job != null && trigger != null && selKey != listenerKey) {
-                                                if (!theElement.channel.isReconnecting) {
-                                                    channels.setAllReconnecting(theSocketChannel, true);
-                                                    scheduler.scheduleJob(job, trigger);
-                                                }
-                                            }
-                                        } catch (SchedulerException e) {
-                                            logger.warn(
-                                                    "An exception occurred while scheduling a job with the Quartz Scheduler {}",
-                                                    e.getMessage());
+                                    if (selKey != listenerKey) {
+                                        if (!theElement.channel.isReconnecting) {
+                                            channels.setAllReconnecting(theSocketChannel, true);
+                                            scheduleReconnect(theElement.channel, reconnectInterval * 1000L);
                                         }
-
-                                    } else {
-                                        theElement.channel.channel = null;
-                                    }
-                                } else {
-                                    if (theElement != null) {
-                                        writeQueue.remove(theElement);
                                     }
 
+                                } else {
+                                    theElement.channel.channel = null;
                                 }
+                            } else {
+                                theElement.channel.metrics.sent(theElement.buffer.position(), theElement.queuedAt);
+                                writeQueue.remove(theElement);
                             }
                         }
                     }
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of direct {@link ByteBuffer}s of the same capacity. Direct buffers are expensive to allocate and are not
+ * reclaimed promptly by the garbage collector, so buffers which are no longer needed are kept for reuse, up to a
+ * maximum number.
+ *
+ * @since 1.14.0
+ */
+public class ByteBufferPool {
+
+    private final int bufferSize;
+    private final int maximumPooled;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * @param bufferSize the capacity of the buffers in this pool
+     * @param maximumPooled the maximum number of unused buffers kept for reuse
+     */
+    public ByteBufferPool(int bufferSize, int maximumPooled) {
+        this.bufferSize = bufferSize;
+        this.maximumPooled = maximumPooled;
+    }
+
+    /**
+     * @return a cleared buffer, either taken from the pool or newly allocated
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used by the caller afterwards.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+
+        if (pooled.incrementAndGet() <= maximumPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the capacity of the buffers in this pool
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Traffic counters of a single channel: bytes and messages sent and received, the number of buffers currently
+ * waiting in the write queue and the time buffers spent in the queue before they were written to the network.
+ *
+ * All counters are updated without locking and can be read from any thread.
+ *
+ * @since 1.14.0
+ */
+public class ChannelMetrics {
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong messagesReceived = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong totalWriteLatency = new AtomicLong();
+    private final AtomicLong maximumWriteLatency = new AtomicLong();
+
+    /**
+     * Records the reception of <code>bytes</code> bytes.
+     */
+    public void received(int bytes) {
+        bytesReceived.addAndGet(bytes);
+        messagesReceived.incrementAndGet();
+    }
+
+    /**
+     * Records that a buffer has been added to the write queue.
+     */
+    public void queued() {
+        queueDepth.incrementAndGet();
+    }
+
+    /**
+     * Records that a buffer has been removed from the write queue without being sent.
+     */
+    public void dequeued() {
+        queueDepth.decrementAndGet();
+    }
+
+    /**
+     * Records that a queued buffer of <code>bytes</code> bytes has been written to the network.
+     *
+     * @param bytes the number of bytes written
+     * @param queuedAt the {@link System#nanoTime()} at which the buffer was queued
+     */
+    public void sent(int bytes, long queuedAt) {
+        queueDepth.decrementAndGet();
+        bytesSent.addAndGet(bytes);
+        messagesSent.incrementAndGet();
+
+        long latency = System.nanoTime() - queuedAt;
+        totalWriteLatency.addAndGet(latency);
+        long maximum = maximumWriteLatency.get();
+        while (latency > maximum && !maximumWriteLatency.compareAndSet(maximum, latency)) {
+            maximum = maximumWriteLatency.get();
+        }
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.get();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.get();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return the average time in milliseconds a buffer waited in the write queue
+     */
+    public double getAverageWriteLatency() {
+        long sent = messagesSent.get();
+        return sent == 0 ? 0 : (double) totalWriteLatency.get() / sent / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the maximum time in milliseconds a buffer waited in the write queue
+     */
+    public double getMaximumWriteLatency() {
+        return (double) maximumWriteLatency.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ChannelMetrics [received=%d bytes/%d messages, sent=%d bytes/%d messages, queueDepth=%d, writeLatency=%.1f ms avg/%.1f ms max]",
+                getBytesReceived(), getMessagesReceived(), getBytesSent(), getMessagesSent(), getQueueDepth(),
+                getAverageWriteLatency(), getMaximumWriteLatency());
+    }
+
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Splits the data received on a channel into frames, e.g. lines terminated by a delimiter. Decoders are stateless, so
+ * a single instance can be shared by all channels of a binding.
+ *
+ * @since 1.14.0
+ */
+public interface FrameDecoder {
+
+    /**
+     * Extracts the next complete frame from the received data.
+     *
+     * @param buffer the received data, ready to be read. If a frame is found, the position of the buffer is advanced
+     *            past it, otherwise the buffer is left untouched
+     * @return the content of the frame as a view on the memory of <code>buffer</code>, or <code>null</code> if
+     *         <code>buffer</code> does not hold a complete frame yet
+     */
+    ByteBuffer decode(ByteBuffer buffer);
+
+}
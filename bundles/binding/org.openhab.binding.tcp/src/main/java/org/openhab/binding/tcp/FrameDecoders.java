@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.apache.commons.lang.StringEscapeUtils;
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * The {@link FrameDecoder}s supported by the TCP and UDP bindings, and the parser for the <code>framing</code>
+ * configuration parameter:
+ *
+ * <ul>
+ * <li><code>none</code> - no framing, every read is handed over as is (default)</li>
+ * <li><code>delimiter:&lt;string&gt;</code> - frames are terminated by the given string, which may contain Java
+ * escape sequences, e.g. <code>delimiter:\r\n</code></li>
+ * <li><code>length:&lt;1|2|4&gt;</code> - frames are preceded by a big-endian length field of the given number of
+ * bytes, which holds the length of the frame content</li>
+ * <li><code>fixed:&lt;n&gt;</code> - all frames are exactly n bytes long</li>
+ * </ul>
+ *
+ * @since 1.14.0
+ */
+public final class FrameDecoders {
+
+    private static final Charset DELIMITER_CHARSET = Charset.forName("UTF-8");
+
+    private FrameDecoders() {
+    }
+
+    /**
+     * Parses the value of the <code>framing</code> configuration parameter.
+     *
+     * @param framing the framing definition
+     * @return the corresponding decoder, or <code>null</code> if no framing is requested
+     * @throws IllegalArgumentException if <code>framing</code> is not a valid framing definition
+     */
+    public static FrameDecoder parse(String framing) {
+        if (StringUtils.isBlank(framing) || "none".equalsIgnoreCase(framing.trim())) {
+            return null;
+        }
+
+        String type = StringUtils.substringBefore(framing, ":").trim().toLowerCase();
+        String argument = StringUtils.substringAfter(framing, ":");
+
+        if ("delimiter".equals(type)) {
+            String delimiter = StringEscapeUtils.unescapeJava(argument);
+            if (delimiter.isEmpty()) {
+                throw new IllegalArgumentException("The delimiter must not be empty");
+            }
+            return new DelimiterFrameDecoder(delimiter.getBytes(DELIMITER_CHARSET));
+        } else if ("length".equals(type)) {
+            return new LengthFieldFrameDecoder(parseNumber(argument));
+        } else if ("fixed".equals(type)) {
+            return new FixedLengthFrameDecoder(parseNumber(argument));
+        } else {
+            throw new IllegalArgumentException("Unknown framing '" + framing + "'");
+        }
+    }
+
+    private static int parseNumber(String argument) {
+        try {
+            return Integer.parseInt(argument.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + argument + "' is not a valid number");
+        }
+    }
+
+    /**
+     * Returns a view on the <code>length</code> bytes of <code>buffer</code> starting at <code>start</code>.
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int start, int length) {
+        ByteBuffer frame = buffer.duplicate();
+        frame.limit(start + length);
+        frame.position(start);
+        return frame.slice();
+    }
+
+    /**
+     * Frames terminated by a delimiter. The delimiter is not part of the frame.
+     */
+    public static class DelimiterFrameDecoder implements FrameDecoder {
+
+        private final byte[] delimiter;
+
+        public DelimiterFrameDecoder(byte[] delimiter) {
+            if (delimiter.length == 0) {
+                throw new IllegalArgumentException("The delimiter must not be empty");
+            }
+            this.delimiter = delimiter.clone();
+        }
+
+        @Override
+        public ByteBuffer decode(ByteBuffer buffer) {
+            int start = buffer.position();
+            int last = buffer.limit() - delimiter.length;
+            byte first = delimiter[0];
+
+            for (int i = start; i <= last; i++) {
+                if (buffer.get(i) == first && matches(buffer, i)) {
+                    ByteBuffer frame = slice(buffer, start, i - start);
+                    buffer.position(i + delimiter.length);
+                    return frame;
+                }
+            }
+            return null;
+        }
+
+        private boolean matches(ByteBuffer buffer, int index) {
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buffer.get(index + j) != delimiter[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Frames preceded by a big-endian length field. The length field is not part of the frame.
+     */
+    public static class LengthFieldFrameDecoder implements FrameDecoder {
+
+        private final int lengthFieldLength;
+
+        public LengthFieldFrameDecoder(int lengthFieldLength) {
+            if (lengthFieldLength != 1 && lengthFieldLength != 2 && lengthFieldLength != 4) {
+                throw new IllegalArgumentException("The length field must be 1, 2 or 4 bytes long");
+            }
+            this.lengthFieldLength = lengthFieldLength;
+        }
+
+        @Override
+        public ByteBuffer decode(ByteBuffer buffer) {
+            int start = buffer.position();
+            if (buffer.limit() - start < lengthFieldLength) {
+                return null;
+            }
+
+            long length;
+            switch (lengthFieldLength) {
+                case 1:
+                    length = buffer.get(start) & 0xFF;
+                    break;
+                case 2:
+                    length = buffer.getShort(start) & 0xFFFF;
+                    break;
+                default:
+                    length = buffer.getInt(start) & 0xFFFFFFFFL;
+                    break;
+            }
+
+            int contentStart = start + lengthFieldLength;
+            if (buffer.limit() - contentStart < length) {
+                return null;
+            }
+
+            ByteBuffer frame = slice(buffer, contentStart, (int) length);
+            buffer.position(contentStart + (int) length);
+            return frame;
+        }
+    }
+
+    /**
+     * Frames of a fixed length.
+     */
+    public static class FixedLengthFrameDecoder implements FrameDecoder {
+
+        private final int frameLength;
+
+        public FixedLengthFrameDecoder(int frameLength) {
+            if (frameLength < 1) {
+                throw new IllegalArgumentException("The frame length must be positive");
+            }
+            this.frameLength = frameLength;
+        }
+
+        @Override
+        public ByteBuffer decode(ByteBuffer buffer) {
+            int start = buffer.position();
+            if (buffer.limit() - start < frameLength) {
+                return null;
+            }
+
+            ByteBuffer frame = slice(buffer, start, frameLength);
+            buffer.position(start + frameLength);
+            return frame;
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A dedicated I/O thread which owns a {@link Selector} and all the channels registered with it.
+ *
+ * Other threads never touch the selector directly. Instead they hand over tasks (e.g. registering a channel or
+ * reconnecting it) through a lock-free queue, optionally delayed, and wake the selector up. The loop executes these
+ * tasks, blocks in {@link Selector#select(long)} until a channel becomes ready or the next delayed task is due, and
+ * dispatches the selected keys to its {@link Handler}.
+ *
+ * @since 1.14.0
+ */
+class SelectorLoop implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SelectorLoop.class);
+
+    /**
+     * Callback interface of the loop owner.
+     */
+    interface Handler {
+
+        /**
+         * Processes a key selected by the loop. Called on the loop thread only.
+         */
+        void processSelectedKey(SelectionKey key);
+
+        /**
+         * Called on the loop thread once per loop iteration, after all selected keys and tasks have been processed.
+         */
+        void afterSelect();
+    }
+
+    /**
+     * A task to be run by the loop at a given point in time.
+     */
+    private static class TimedTask implements Comparable<TimedTask> {
+
+        private static final AtomicLong sequencer = new AtomicLong();
+
+        final long due;
+        final long sequence = sequencer.incrementAndGet();
+        final Runnable task;
+
+        TimedTask(long due, Runnable task) {
+            this.due = due;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(TimedTask other) {
+            if (due != other.due) {
+                return due < other.due ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+
+    private final Selector selector;
+    private final Handler handler;
+    private final String name;
+
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+    private final ConcurrentLinkedQueue<TimedTask> newTimedTasks = new ConcurrentLinkedQueue<TimedTask>();
+    // only accessed by the loop thread
+    private final PriorityQueue<TimedTask> timedTasks = new PriorityQueue<TimedTask>();
+
+    private volatile boolean running = false;
+    private volatile Thread thread;
+
+    SelectorLoop(Selector selector, Handler handler, String name) {
+        this.selector = selector;
+        this.handler = handler;
+        this.name = name;
+    }
+
+    /**
+     * Starts the loop thread.
+     */
+    synchronized void start() {
+        if (thread == null) {
+            running = true;
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the loop thread and discards all pending tasks.
+     */
+    synchronized void stop() {
+        running = false;
+        Thread theThread = thread;
+        thread = null;
+        if (theThread != null) {
+            selector.wakeup();
+            if (theThread != Thread.currentThread()) {
+                try {
+                    theThread.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        tasks.clear();
+        newTimedTasks.clear();
+    }
+
+    /**
+     * @return <code>true</code> if the calling thread is the loop thread
+     */
+    boolean inLoopThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Runs <code>task</code> on the loop thread, directly if already called from it.
+     */
+    void execute(Runnable task) {
+        if (inLoopThread()) {
+            task.run();
+        } else {
+            tasks.add(task);
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Runs <code>task</code> on the loop thread after <code>delay</code> milliseconds.
+     */
+    void schedule(Runnable task, long delay) {
+        newTimedTasks.add(new TimedTask(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay), task));
+        if (!inLoopThread()) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Wakes the loop up, e.g. because data has been queued for writing.
+     */
+    void wakeup() {
+        if (!inLoopThread()) {
+            selector.wakeup();
+        }
+    }
+
+    @Override
+    public void run() {
+        logger.debug("{} started", name);
+
+        while (running) {
+            try {
+                runTasks();
+
+                long timeout = 0;
+                TimedTask next = timedTasks.peek();
+                if (next != null) {
+                    timeout = Math.max(1, TimeUnit.NANOSECONDS.toMillis(next.due - System.nanoTime()));
+                }
+                selector.select(timeout);
+                if (!running) {
+                    break;
+                }
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey selKey = it.next();
+                    it.remove();
+                    try {
+                        handler.processSelectedKey(selKey);
+                    } catch (RuntimeException e) {
+                        logger.warn("An exception occurred while processing a selected key: {}", e.getMessage(), e);
+                    }
+                }
+
+                runTasks();
+                handler.afterSelect();
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException e) {
+                logger.warn("An exception occurred while Selecting: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                logger.warn("An exception occurred in {}: {}", name, e.getMessage(), e);
+            }
+        }
+
+        timedTasks.clear();
+        logger.debug("{} stopped", name);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("An exception occurred while executing a task: {}", e.getMessage(), e);
+            }
+        }
+
+        TimedTask timedTask;
+        while ((timedTask = newTimedTasks.poll()) != null) {
+            timedTasks.add(timedTask);
+        }
+
+        long now = System.nanoTime();
+        while ((timedTask = timedTasks.peek()) != null && timedTask.due - now <= 0) {
+            timedTasks.poll();
+            try {
+                timedTask.task.run();
+            } catch (RuntimeException e) {
+                logger.warn("An exception occurred while executing a task: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.weather.internal.metadata;
+
+import static org.junit.Assert.*;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openhab.binding.weather.internal.model.ProviderName;
+import org.openhab.binding.weather.internal.model.Weather;
+
+/**
+ * Tests for the resolved provider mappings and their field accessors.
+ *
+ * @since 1.14.0
+ */
+public class MetadataHandlerTest {
+
+    @BeforeClass
+    public static void generate() throws IllegalAccessException {
+        MetadataHandler.getInstance().generate(Weather.class);
+    }
+
+    @Test
+    public void fieldAccessorWritesNestedTarget() throws IllegalAccessException {
+        Weather weather = new Weather(ProviderName.OPENWEATHERMAP);
+        new FieldAccessor("temperature.current").setValue(weather, 21.5);
+
+        assertEquals(Double.valueOf(21.5), weather.getTemperature().getCurrent());
+    }
+
+    @Test
+    public void fieldAccessorWritesWeatherTarget() throws IllegalAccessException {
+        Weather weather = new Weather(ProviderName.OPENWEATHERMAP);
+        new FieldAccessor("weather.responseCode").setValue(weather, 200);
+
+        assertEquals(Integer.valueOf(200), weather.getResponseCode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fieldAccessorRejectsUnknownTarget() {
+        new FieldAccessor("temperature.unknown");
+    }
+
+    @Test
+    public void mappedPropertiesAreResolved() throws IllegalAccessException {
+        ProviderMappingInfo mapping = MetadataHandler.getInstance()
+                .getProviderMappingInfo(ProviderName.OPENWEATHERMAP, "main.temp");
+        assertNotNull(mapping);
+        assertEquals("temperature.current", mapping.getTarget());
+
+        // the cached mapping is returned for further lookups
+        assertSame(mapping,
+                MetadataHandler.getInstance().getProviderMappingInfo(ProviderName.OPENWEATHERMAP, "main.temp"));
+
+        Weather weather = new Weather(ProviderName.OPENWEATHERMAP);
+        mapping.getAccessor().setValue(weather, 18.0);
+        assertEquals(Double.valueOf(18.0), weather.getTemperature().getCurrent());
+    }
+
+    @Test
+    public void unmappedPropertiesReturnNull() {
+        MetadataHandler handler = MetadataHandler.getInstance();
+
+        assertNull(handler.getProviderMappingInfo(ProviderName.OPENWEATHERMAP, "main.unknown"));
+        // the second lookup uses the cached result
+        assertNull(handler.getProviderMappingInfo(ProviderName.OPENWEATHERMAP, "main.unknown"));
+        assertNull(handler.getProviderMappingInfo(ProviderName.OPENWEATHERMAP, null));
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.weather.internal.provider;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * WeatherResponseCache tests with a fake clock and fake http requests.
+ *
+ * @since 1.14.0
+ */
+public class WeatherResponseCacheTest {
+    private static final String URL = "http://weather.test/current?lat=48.2&lon=16.37";
+
+    private TestCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new TestCache();
+    }
+
+    @Test
+    public void responseExpiresAfterTtl() throws Exception {
+        cache.responses.add("first");
+        cache.responses.add("second");
+
+        assertEquals("first", WeatherResponseCache.getResponse(cache.get(URL)));
+        cache.now = 59999;
+        assertEquals("first", WeatherResponseCache.getResponse(cache.get(URL)));
+        assertEquals(1, cache.fetches.get());
+
+        cache.now = 60000;
+        assertEquals("second", WeatherResponseCache.getResponse(cache.get(URL)));
+        assertEquals(2, cache.fetches.get());
+    }
+
+    @Test
+    public void concurrentRequestsShareOneFetch() throws Exception {
+        cache.responses.add("shared");
+        cache.blockFetch = new CountDownLatch(1);
+
+        final Future<?>[] first = new Future<?>[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                first[0] = cache.get(URL);
+            }
+        });
+        thread.start();
+        assertTrue(cache.fetchStarted.await(5, TimeUnit.SECONDS));
+
+        // the fetch of the first request is still running
+        Future<String> second = cache.get(URL);
+        assertFalse(second.isDone());
+
+        cache.blockFetch.countDown();
+        thread.join(5000);
+
+        assertSame(first[0], second);
+        assertEquals("shared", WeatherResponseCache.getResponse(second));
+        assertEquals(1, cache.fetches.get());
+    }
+
+    @Test
+    public void blankResponseIsNotReused() throws Exception {
+        cache.responses.add(" ");
+        cache.responses.add("valid");
+
+        assertEquals(" ", WeatherResponseCache.getResponse(cache.get(URL)));
+        assertEquals("valid", WeatherResponseCache.getResponse(cache.get(URL)));
+        assertEquals(2, cache.fetches.get());
+    }
+
+    @Test
+    public void failedResponseIsNotReused() throws Exception {
+        cache.responses.add(null);
+        cache.responses.add("valid");
+
+        try {
+            WeatherResponseCache.getResponse(cache.get(URL));
+            fail("the failed request should throw its exception");
+        } catch (IOException ex) {
+            // expected
+        }
+        assertEquals("valid", WeatherResponseCache.getResponse(cache.get(URL)));
+        assertEquals(2, cache.fetches.get());
+    }
+
+    @Test
+    public void prefetchIsShared() throws Exception {
+        cache.responses.add("forecast");
+
+        Future<String> prefetched = cache.prefetch(URL);
+        assertEquals("forecast", WeatherResponseCache.getResponse(prefetched));
+        assertSame(prefetched, cache.get(URL));
+        assertEquals(1, cache.fetches.get());
+    }
+
+    /**
+     * Returns the queued responses, a null response fails the request.
+     */
+    private static class TestCache extends WeatherResponseCache {
+        private final Queue<String> responses = new LinkedList<String>();
+        private final AtomicInteger fetches = new AtomicInteger();
+        private final CountDownLatch fetchStarted = new CountDownLatch(1);
+        private volatile CountDownLatch blockFetch;
+        private volatile long now;
+
+        @Override
+        protected String fetch(String url) throws Exception {
+            fetches.incrementAndGet();
+            fetchStarted.countDown();
+            if (blockFetch != null) {
+                blockFetch.await(5, TimeUnit.SECONDS);
+            }
+
+            String response;
+            synchronized (responses) {
+                response = responses.poll();
+            }
+            if (response == null) {
+                throw new IOException("request failed");
+            }
+            return response;
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.openhab.binding.weather.internal.common.WeatherContext;
 import org.openhab.binding.weather.internal.metadata.MetadataHandler;
 import org.openhab.binding.weather.internal.model.Weather;
 import org.openhab.binding.weather.internal.parser.CommonIdHandler;
+import org.openhab.binding.weather.internal.provider.WeatherResponseCache;
 import org.openhab.core.binding.AbstractBinding;
 import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.events.EventPublisher;
@@ -59,11 +60,12 @@ public class WeatherBinding extends AbstractBinding<WeatherBindingProvider> impl
     }
 
     /**
-     * Stops all Weather jobs.
+     * Stops all Weather jobs and removes the shared provider responses.
      */
     @Override
     public void deactivate() {
         context.getJobScheduler().stop();
+        WeatherResponseCache.shutdown();
     }
 
     /**
@@ -9,8 +9,8 @@
 package org.openhab.binding.weather.internal.common;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.weather.WeatherBindingProvider;
 import org.openhab.binding.weather.internal.model.Weather;
@@ -29,7 +29,7 @@ public class WeatherContext {
 
     private WeatherConfig config = new WeatherConfig();
     private WeatherJobScheduler jobScheduler = new WeatherJobScheduler(this);
-    private Map<String, Weather> weatherByLocationId = new HashMap<String, Weather>();
+    private Map<String, Weather> weatherByLocationId = new ConcurrentHashMap<String, Weather>();
 
     private static WeatherContext instance;
 
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.weather.internal.metadata;
+
+import java.lang.reflect.Field;
+
+import org.apache.commons.lang.reflect.FieldUtils;
+import org.openhab.binding.weather.internal.model.Weather;
+import org.openhab.binding.weather.internal.utils.PropertyResolver;
+import org.openhab.binding.weather.internal.utils.PropertyUtils;
+
+/**
+ * Writes a mapping target property of a weather object. The fields are
+ * resolved once when the metadata is generated.
+ *
+ * @since 1.14.0
+ */
+public class FieldAccessor {
+    private Field nestedField;
+    private Field field;
+
+    /**
+     * Resolves the fields of a target property like temperature.current or
+     * weather.responseCode.
+     */
+    public FieldAccessor(String target) {
+        Class<?> clazz = Weather.class;
+        if (!PropertyUtils.isWeatherProperty(target)) {
+            nestedField = getField(clazz, PropertyResolver.first(target));
+            clazz = nestedField.getType();
+        }
+        field = getField(clazz, PropertyResolver.last(target));
+    }
+
+    private static Field getField(Class<?> clazz, String name) {
+        Field field = FieldUtils.getField(clazz, name, true);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field '" + name + "' in " + clazz.getSimpleName());
+        }
+        return field;
+    }
+
+    /**
+     * Sets the value of the target property in the weather object.
+     */
+    public void setValue(Weather weather, Object value) throws IllegalAccessException {
+        Object target = nestedField == null ? weather : nestedField.get(weather);
+        field.set(target, value);
+    }
+}
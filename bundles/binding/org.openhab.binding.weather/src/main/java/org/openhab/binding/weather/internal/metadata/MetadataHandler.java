@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.weather.internal.annotation.Forecast;
@@ -42,6 +43,10 @@ public class MetadataHandler {
     private Map<ProviderName, Map<String, ProviderMappingInfo>> providerMappings = new HashMap<ProviderName, Map<String, ProviderMappingInfo>>();
     private Map<ProviderName, List<String>> forecastMappings = new HashMap<ProviderName, List<String>>();
 
+    /** Resolved mappings of the parsed properties, including the unmapped ones */
+    private Map<ProviderName, Map<String, ProviderMappingInfo>> resolvedMappings = new ConcurrentHashMap<ProviderName, Map<String, ProviderMappingInfo>>();
+    private static final ProviderMappingInfo NOT_MAPPED = new ProviderMappingInfo(null, null, null);
+
     private static MetadataHandler instance;
 
     private MetadataHandler() {
@@ -64,6 +69,7 @@ public class MetadataHandler {
         if (clazz == null) {
             return;
         }
+        resolvedMappings.clear();
 
         for (Field field : clazz.getDeclaredFields()) {
             if (field.getType().getName().startsWith(PACKAGE_TO_SCAN) && !field.isEnumConstant()) {
@@ -121,6 +127,30 @@ public class MetadataHandler {
      * Returns the MappingInfo for the specified provider and property.
      */
     public ProviderMappingInfo getProviderMappingInfo(ProviderName provider, String property) {
+        if (property == null) {
+            return null;
+        }
+
+        Map<String, ProviderMappingInfo> resolved = resolvedMappings.get(provider);
+        if (resolved == null) {
+            resolved = new ConcurrentHashMap<String, ProviderMappingInfo>();
+            resolvedMappings.put(provider, resolved);
+        }
+
+        ProviderMappingInfo provMapping = resolved.get(property);
+        if (provMapping == null) {
+            provMapping = resolveProviderMappingInfo(provider, property);
+            resolved.put(property, provMapping == null ? NOT_MAPPED : provMapping);
+        }
+
+        return provMapping == NOT_MAPPED ? null : provMapping;
+    }
+
+    /**
+     * Searches the MappingInfo, starting with the full property and removing
+     * the leading property expressions.
+     */
+    private ProviderMappingInfo resolveProviderMappingInfo(ProviderName provider, String property) {
         Map<String, ProviderMappingInfo> mapping = providerMappings.get(provider);
         if (mapping == null) {
             return null;
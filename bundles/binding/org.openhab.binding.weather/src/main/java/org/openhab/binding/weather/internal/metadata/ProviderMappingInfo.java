@@ -22,11 +22,13 @@ public class ProviderMappingInfo {
     private String source;
     private String target;
     private Converter<?> converter;
+    private FieldAccessor accessor;
 
     public ProviderMappingInfo(String source, String target, Converter<?> converter) {
         this.source = source;
         this.target = target;
         this.converter = converter;
+        this.accessor = target == null ? null : new FieldAccessor(target);
     }
 
     /**
@@ -50,6 +52,13 @@ public class ProviderMappingInfo {
         return converter;
     }
 
+    /**
+     * Returns the accessor to write the target property.
+     */
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("source", source)
@@ -19,12 +19,11 @@ import org.openhab.binding.weather.internal.model.ProviderName;
 import org.openhab.binding.weather.internal.model.Weather;
 import org.openhab.binding.weather.internal.parser.WeatherParser;
 
-import org.openhab.io.net.http.HttpUtil;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Calendar;
+import java.util.concurrent.Future;
 
 /**
  * Common base class for all weather providers. Retrieves, parses and returns
@@ -49,12 +48,21 @@ public abstract class AbstractWeatherProvider implements WeatherProvider {
     @Override
     public Weather getWeather(LocationConfig locationConfig) throws Exception {
         Weather weather = new Weather(getProviderName());
-        executeRequest(weather, prepareUrl(getWeatherUrl(), locationConfig), locationConfig);
+        WeatherResponseCache responseCache = WeatherResponseCache.getInstance();
 
+        // the forecast is fetched in parallel to the current weather
         String forecastUrl = getForecastUrl();
+        Future<String> forecastResponse = null;
+        if (forecastUrl != null) {
+            forecastUrl = prepareUrl(forecastUrl, locationConfig);
+            forecastResponse = responseCache.prefetch(forecastUrl);
+        }
+
+        String weatherUrl = prepareUrl(getWeatherUrl(), locationConfig);
+        executeRequest(weather, weatherUrl, responseCache.get(weatherUrl), locationConfig);
 
-        if ((forecastUrl != null) && !weather.hasError()) {
-            executeRequest(weather, prepareUrl(forecastUrl, locationConfig), locationConfig);
+        if ((forecastResponse != null) && !weather.hasError()) {
+            executeRequest(weather, forecastUrl, forecastResponse, locationConfig);
         }
 
         if (logger.isDebugEnabled()) {
@@ -97,13 +105,14 @@ public abstract class AbstractWeatherProvider implements WeatherProvider {
     }
 
     /**
-     * Executes the http request and parses the returned stream.
+     * Waits for the http response and parses it.
      */
-    private void executeRequest(Weather weather, String url, LocationConfig locationConfig) throws Exception {
+    private void executeRequest(Weather weather, String url, Future<String> pendingResponse,
+            LocationConfig locationConfig) throws Exception {
         try {
             logger.trace("{}[{}]: request : {}", getProviderName(), locationConfig.getLocationId(), url);
 
-            String response = StringUtils.trimToEmpty(HttpUtil.executeUrl("GET", url, 15000));
+            String response = StringUtils.trimToEmpty(WeatherResponseCache.getResponse(pendingResponse));
 
             /**
              * special handling because of identical current and forecast json structure
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.weather.internal.provider;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang.StringUtils;
+import org.openhab.io.net.http.HttpUtil;
+
+/**
+ * Shares the provider responses between all locations. The request url
+ * contains the provider, api key, coordinates, units and language, so
+ * locations with the same settings and simultaneous updates only need one
+ * http request. Failed or empty responses are not shared.
+ *
+ * @since 1.14.0
+ */
+public class WeatherResponseCache {
+    private static final long TTL = 60 * 1000;
+    private static final int TIMEOUT = 15000;
+
+    private static WeatherResponseCache instance;
+
+    private ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<String, CacheEntry>();
+    private ExecutorService executor = Executors.newCachedThreadPool(new FetchThreadFactory());
+
+    WeatherResponseCache() {
+    }
+
+    /**
+     * Returns the singleton instance of the WeatherResponseCache.
+     */
+    public static synchronized WeatherResponseCache getInstance() {
+        if (instance == null) {
+            instance = new WeatherResponseCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the response of the url, fetched in the calling thread if no
+     * valid response is available.
+     */
+    public Future<String> get(String url) {
+        return lookup(url, false);
+    }
+
+    /**
+     * Returns the response of the url, fetched in the background if no valid
+     * response is available.
+     */
+    public Future<String> prefetch(String url) {
+        return lookup(url, true);
+    }
+
+    /**
+     * Removes all responses.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Stops the background fetches and removes the singleton instance, a new
+     * one is created on the next use.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.executor.shutdownNow();
+            instance.clear();
+            instance = null;
+        }
+    }
+
+    /**
+     * Executes the http request of the url.
+     */
+    protected String fetch(String url) throws Exception {
+        return HttpUtil.executeUrl("GET", url, TIMEOUT);
+    }
+
+    /**
+     * Returns the current time in milliseconds.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Waits for the response and rethrows the fetch exception.
+     */
+    public static String getResponse(Future<String> response) throws Exception {
+        try {
+            return response.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private Future<String> lookup(String url, boolean async) {
+        while (true) {
+            long now = currentTimeMillis();
+            CacheEntry entry = entries.get(url);
+            if (entry != null && entry.isValid(now)) {
+                return entry.task;
+            }
+
+            CacheEntry newEntry = new CacheEntry(url, now);
+            boolean added = entry == null ? entries.putIfAbsent(url, newEntry) == null
+                    : entries.replace(url, entry, newEntry);
+            if (added) {
+                if (async) {
+                    executor.execute(newEntry.task);
+                } else {
+                    newEntry.task.run();
+                }
+                return newEntry.task;
+            }
+        }
+    }
+
+    /**
+     * Holds the (pending) response of an url.
+     */
+    private class CacheEntry {
+        private final long created;
+        private final FutureTask<String> task;
+        private volatile boolean failed;
+
+        public CacheEntry(final String url, long created) {
+            this.created = created;
+            this.task = new FutureTask<String>(new Callable<String>() {
+
+                @Override
+                public String call() throws Exception {
+                    String response = null;
+                    try {
+                        response = fetch(url);
+                        return response;
+                    } finally {
+                        failed = StringUtils.isBlank(response);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Returns true, if the response is pending or successfully fetched
+         * within the time to live.
+         */
+        public boolean isValid(long now) {
+            return now - created < TTL && !(task.isDone() && failed);
+        }
+    }
+
+    private static class FetchThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Weather fetch " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
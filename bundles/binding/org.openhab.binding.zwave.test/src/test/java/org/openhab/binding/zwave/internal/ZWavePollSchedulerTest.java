@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.binding.zwave.internal.ZWavePollScheduler.NodeStatistics;
+import org.openhab.binding.zwave.internal.ZWavePollScheduler.PollItem;
+
+/**
+ * @since 1.14.0
+ */
+public class ZWavePollSchedulerTest {
+
+    private static final long INTERVAL = 10000;
+
+    private static PollItem item(String name, int nodeId, boolean mainsPowered) {
+        return new PollItem(null, name, nodeId, INTERVAL, mainsPowered);
+    }
+
+    private static List<String> names(List<PollItem> polls) {
+        List<String> names = new ArrayList<String>();
+        for (PollItem poll : polls) {
+            names.add(poll.getItemName());
+        }
+        return names;
+    }
+
+    @Test
+    public void testMainsPoweredFirst() {
+        ZWavePollScheduler scheduler = new ZWavePollScheduler(0);
+        scheduler.setItems(Arrays.asList(item("battery", 2, false), item("mains", 3, true)));
+
+        assertEquals(Arrays.asList("mains"), names(scheduler.nextPolls(1000, 1)));
+        assertEquals(Arrays.asList("battery"), names(scheduler.nextPolls(1000, 1)));
+        assertTrue(scheduler.nextPolls(1000, 1).isEmpty());
+    }
+
+    @Test
+    public void testPolledOncePerInterval() {
+        ZWavePollScheduler scheduler = new ZWavePollScheduler(0);
+        scheduler.setItems(Arrays.asList(item("a", 2, true)));
+
+        assertEquals(1, scheduler.nextPolls(1000, 5).size());
+        scheduler.pollCompleted(2, true, 1100);
+        assertTrue(scheduler.nextPolls(1000 + INTERVAL - 1, 5).isEmpty());
+        assertEquals(1, scheduler.nextPolls(1000 + INTERVAL, 5).size());
+        scheduler.pollCompleted(2, true, 1000 + INTERVAL + 100);
+
+        NodeStatistics statistics = scheduler.getStatistics().get(2);
+        assertEquals(2, statistics.getPolls());
+        assertEquals(INTERVAL, statistics.getAchievedInterval());
+    }
+
+    @Test
+    public void testReportDefersPoll() {
+        ZWavePollScheduler scheduler = new ZWavePollScheduler(0);
+        scheduler.setItems(Arrays.asList(item("a", 2, true)));
+        assertEquals(1, scheduler.nextPolls(1000, 1).size());
+        scheduler.pollCompleted(2, true, 1100);
+
+        scheduler.itemUpdated("a", 5000);
+        assertTrue(scheduler.nextPolls(1000 + INTERVAL, 1).isEmpty());
+        assertEquals(1, scheduler.nextPolls(5000 + INTERVAL, 1).size());
+        assertEquals(1, scheduler.getStatistics().get(2).getReports());
+    }
+
+    @Test
+    public void testRoundTripAndFailures() {
+        ZWavePollScheduler scheduler = new ZWavePollScheduler(0);
+        scheduler.setItems(Arrays.asList(item("a", 2, true), item("b", 3, true)));
+
+        long now = 1000;
+        scheduler.nextPolls(now, 2);
+        scheduler.pollCompleted(2, true, now + 300);
+        scheduler.pollCompleted(3, false, now + 300);
+
+        NodeStatistics answering = scheduler.getStatistics().get(2);
+        NodeStatistics failing = scheduler.getStatistics().get(3);
+        assertTrue(answering.getRoundTripTime() > ZWavePollScheduler.DEFAULT_RTT);
+        assertEquals(0.0, answering.getFailureRate(), 0.0);
+        assertEquals(1, failing.getFailures());
+        assertTrue(failing.getFailureRate() > 0);
+
+        // the reliable node is polled first, the failing one is backed off
+        now += INTERVAL;
+        assertEquals(Arrays.asList("a"), names(scheduler.nextPolls(now, 2)));
+        assertEquals(Arrays.asList("a", "b"), names(scheduler.nextPolls(now + INTERVAL, 2)));
+    }
+
+    @Test
+    public void testUnansweredPollExpires() {
+        ZWavePollScheduler scheduler = new ZWavePollScheduler(0);
+        scheduler.setItems(Arrays.asList(item("a", 2, true)));
+
+        scheduler.nextPolls(1000, 1);
+        scheduler.nextPolls(1000 + ZWavePollScheduler.POLL_TIMEOUT + 1, 1);
+        assertEquals(1, scheduler.getStatistics().get(2).getFailures());
+    }
+
+    @Test
+    public void testAirtimeBudget() {
+        // room for three polls of the default round trip time per minute
+        ZWavePollScheduler scheduler = new ZWavePollScheduler(3 * ZWavePollScheduler.DEFAULT_RTT);
+        List<PollItem> items = new ArrayList<PollItem>();
+        for (int i = 0; i < 10; i++) {
+            items.add(item("item" + i, 10 + i, true));
+        }
+        scheduler.setItems(items);
+
+        assertEquals(3, scheduler.nextPolls(1000, 10).size());
+        assertTrue(scheduler.nextPolls(1000, 10).isEmpty());
+        assertEquals(1, scheduler.nextPolls(1000 + ZWavePollScheduler.BUDGET_PERIOD / 3, 10).size());
+    }
+
+    @Test
+    public void testSkippedPollIsNotCounted() {
+        ZWavePollScheduler scheduler = new ZWavePollScheduler(0);
+        scheduler.setItems(Arrays.asList(item("a", 2, true)));
+
+        PollItem poll = scheduler.nextPolls(1000, 1).get(0);
+        scheduler.pollSkipped(poll);
+        scheduler.pollCompleted(2, false, 2000);
+
+        NodeStatistics statistics = scheduler.getStatistics().get(2);
+        assertEquals(0, statistics.getPolls());
+        assertEquals(0, statistics.getFailures());
+    }
+
+    @Test
+    public void testScheduleKeptOnRebuild() {
+        ZWavePollScheduler scheduler = new ZWavePollScheduler(0);
+        scheduler.setItems(Arrays.asList(item("a", 2, true)));
+        scheduler.nextPolls(1000, 1);
+
+        scheduler.setItems(Arrays.asList(item("a", 2, true), item("b", 2, true)));
+        assertEquals(Arrays.asList("b"), names(scheduler.nextPolls(2000, 5)));
+    }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.config;
+
+import java.util.List;
+
+/**
+ * Compares the startup time of the simulated network of {@link ZWaveProductCatalogTest} with the time it took when
+ * every lookup reloaded the product database.
+ *
+ * Usage: <code>ZWaveProductCatalogBenchmark</code>
+ *
+ * @since 1.14.0
+ */
+public class ZWaveProductCatalogBenchmark {
+
+    public static void main(String[] args) {
+        ZWaveProductCatalogTest network = new ZWaveProductCatalogTest();
+        network.init();
+        List<int[]> nodes = network.nodes;
+        String version = ZWaveProductCatalogTest.VERSION;
+
+        // the previous behaviour: every lookup parsed the database and the product file again
+        long start = System.nanoTime();
+        for (int[] node : nodes) {
+            ZWaveProductCatalog.load().getProductFile(node[0], node[1], node[2], version);
+        }
+        long reloading = System.nanoTime() - start;
+
+        // the catalog: the database is parsed once and every product file once
+        start = System.nanoTime();
+        ZWaveProductCatalog catalog = ZWaveProductCatalog.load();
+        for (int[] node : nodes) {
+            catalog.getProductFile(node[0], node[1], node[2], version);
+        }
+        long cached = System.nanoTime() - start;
+
+        System.out.println(String.format("startup of %d nodes", nodes.size()));
+        System.out.println(String.format("reloading: %.1f ms", reloading / 1000000.0));
+        System.out.println(String.format("catalog:   %.1f ms", cached / 1000000.0));
+    }
+}
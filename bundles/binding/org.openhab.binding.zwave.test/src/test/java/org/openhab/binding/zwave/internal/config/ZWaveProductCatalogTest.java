@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.config;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the lookups of the {@link ZWaveProductCatalog} against the product database shipped with the binding.
+ *
+ * @since 1.14.0
+ */
+public class ZWaveProductCatalogTest {
+
+    static final int NETWORK_SIZE = 120;
+    static final String VERSION = "1.0";
+
+    List<int[]> nodes;
+
+    /**
+     * Builds a network of {@link #NETWORK_SIZE} nodes from the product references in the database, cycling through
+     * them if the database holds fewer products.
+     */
+    @Before
+    public void init() {
+        List<int[]> references = new ArrayList<int[]>();
+        for (ZWaveDbManufacturer manufacturer : ZWaveProductCatalog.getInstance().getManufacturers()) {
+            if (manufacturer.Product == null) {
+                continue;
+            }
+            for (ZWaveDbProduct product : manufacturer.Product) {
+                for (ZWaveDbProductReference reference : product.Reference) {
+                    references.add(new int[] { manufacturer.Id, reference.Type, reference.Id });
+                }
+            }
+        }
+        assertFalse("the product database is empty", references.isEmpty());
+
+        nodes = new ArrayList<int[]>();
+        for (int i = 0; i < NETWORK_SIZE; i++) {
+            nodes.add(references.get(i * 7 % references.size()));
+        }
+    }
+
+    @Test
+    public void testSingleton() {
+        assertSame(ZWaveProductCatalog.getInstance(), ZWaveProductCatalog.getInstance());
+    }
+
+    @Test
+    public void testLookupsMatchLinearSearch() {
+        ZWaveProductCatalog catalog = ZWaveProductCatalog.getInstance();
+        for (int[] node : nodes) {
+            ZWaveDbManufacturer expectedManufacturer = null;
+            for (ZWaveDbManufacturer manufacturer : catalog.getManufacturers()) {
+                if (manufacturer.Id == node[0]) {
+                    expectedManufacturer = manufacturer;
+                    break;
+                }
+            }
+            ZWaveDbProduct expectedProduct = null;
+            search: for (ZWaveDbProduct product : expectedManufacturer.Product) {
+                for (ZWaveDbProductReference reference : product.Reference) {
+                    if (reference.Type == node[1] && reference.Id == node[2]) {
+                        expectedProduct = product;
+                        break search;
+                    }
+                }
+            }
+
+            assertSame(expectedManufacturer, catalog.getManufacturer(node[0]));
+            assertSame(expectedProduct, catalog.getProduct(node[0], node[1], node[2]));
+        }
+    }
+
+    @Test
+    public void testUnknownProduct() {
+        ZWaveProductDatabase database = new ZWaveProductDatabase();
+        assertFalse(database.FindManufacturer(0xFFFF));
+        assertFalse(database.FindProduct(0xFFFF, 0, 0, VERSION));
+        assertNull(ZWaveProductCatalog.getInstance().getProductFile(0xFFFF, 0, 0, VERSION));
+    }
+
+    @Test
+    public void testProductFileIsCached() {
+        ZWaveProductCatalog catalog = ZWaveProductCatalog.getInstance();
+        for (int[] node : nodes) {
+            ZWaveDbProductFile productFile = catalog.getProductFile(node[0], node[1], node[2], VERSION);
+            assertSame(productFile, catalog.getProductFile(node[0], node[1], node[2], VERSION));
+        }
+    }
+
+    @Test
+    public void testDatabaseSelection() {
+        int[] node = nodes.get(0);
+        ZWaveProductDatabase database = new ZWaveProductDatabase();
+
+        assertTrue(database.FindProduct(node[0], node[1], node[2], VERSION));
+        assertEquals(Integer.valueOf(node[0]), database.getManufacturerId());
+        assertEquals(ZWaveProductCatalog.getInstance().getProduct(node[0], node[1], node[2]).Model,
+                database.getProductModel());
+    }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.protocol;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.binding.zwave.internal.protocol.event.ZWaveEvent;
+import org.openhab.binding.zwave.internal.protocol.event.ZWaveInitializationCompletedEvent;
+import org.openhab.binding.zwave.internal.protocol.event.ZWaveNodeInfoEvent;
+
+/**
+ * @since 1.14.0
+ */
+public class ZWaveEventListenerRegistryTest {
+
+    private static class RecordingListener implements ZWaveEventListener {
+        final List<ZWaveEvent> events = new ArrayList<ZWaveEvent>();
+
+        @Override
+        public void ZWaveIncomingEvent(ZWaveEvent event) {
+            events.add(event);
+        }
+    }
+
+    private static class FilteredListener extends RecordingListener implements ZWaveFilteredEventListener {
+        @Override
+        public Class<? extends ZWaveEvent> getEventType() {
+            return ZWaveNodeInfoEvent.class;
+        }
+
+        @Override
+        public int getEventNodeId() {
+            return 3;
+        }
+    }
+
+    @Test
+    public void testDispatchByTypeAndNode() {
+        ZWaveEventListenerRegistry registry = new ZWaveEventListenerRegistry();
+        RecordingListener all = new RecordingListener();
+        RecordingListener nodeInfo = new RecordingListener();
+        RecordingListener node2 = new RecordingListener();
+        registry.add(all);
+        registry.add(nodeInfo, ZWaveNodeInfoEvent.class, ZWaveEventListenerRegistry.ANY_NODE);
+        registry.add(node2, ZWaveEvent.class, 2);
+
+        ZWaveEvent info2 = new ZWaveNodeInfoEvent(2);
+        ZWaveEvent info3 = new ZWaveNodeInfoEvent(3);
+        ZWaveEvent completed3 = new ZWaveInitializationCompletedEvent(3);
+        registry.dispatch(info2);
+        registry.dispatch(info3);
+        registry.dispatch(completed3);
+
+        assertEquals(3, all.events.size());
+        assertEquals(2, nodeInfo.events.size());
+        assertEquals(1, node2.events.size());
+        assertSame(info2, node2.events.get(0));
+    }
+
+    @Test
+    public void testFilteredListener() {
+        ZWaveEventListenerRegistry registry = new ZWaveEventListenerRegistry();
+        FilteredListener listener = new FilteredListener();
+        registry.add(listener);
+
+        registry.dispatch(new ZWaveNodeInfoEvent(2));
+        registry.dispatch(new ZWaveInitializationCompletedEvent(3));
+        registry.dispatch(new ZWaveNodeInfoEvent(3));
+
+        assertEquals(1, listener.events.size());
+        assertEquals(3, listener.events.get(0).getNodeId());
+    }
+
+    @Test
+    public void testRegistrationOrder() {
+        ZWaveEventListenerRegistry registry = new ZWaveEventListenerRegistry();
+        final List<String> order = new ArrayList<String>();
+        registry.add(new ZWaveEventListener() {
+            @Override
+            public void ZWaveIncomingEvent(ZWaveEvent event) {
+                order.add("node");
+            }
+        }, ZWaveEvent.class, 4);
+        registry.add(new ZWaveEventListener() {
+            @Override
+            public void ZWaveIncomingEvent(ZWaveEvent event) {
+                order.add("any");
+            }
+        });
+
+        registry.dispatch(new ZWaveNodeInfoEvent(4));
+        assertEquals("[node, any]", order.toString());
+    }
+
+    @Test
+    public void testRemoveDuringDispatch() {
+        final ZWaveEventListenerRegistry registry = new ZWaveEventListenerRegistry();
+        final RecordingListener second = new RecordingListener();
+        registry.add(new ZWaveEventListener() {
+            @Override
+            public void ZWaveIncomingEvent(ZWaveEvent event) {
+                registry.remove(this);
+                registry.remove(second);
+            }
+        });
+        registry.add(second);
+
+        // the event is still delivered to the listeners registered when the dispatch started
+        registry.dispatch(new ZWaveNodeInfoEvent(1));
+        assertEquals(1, second.events.size());
+
+        registry.dispatch(new ZWaveNodeInfoEvent(1));
+        assertEquals(1, second.events.size());
+        assertTrue(registry.getListeners().isEmpty());
+    }
+
+    @Test
+    public void testStatistics() {
+        ZWaveEventListenerRegistry registry = new ZWaveEventListenerRegistry();
+        registry.add(new RecordingListener());
+        registry.add(new RecordingListener());
+
+        registry.dispatch(new ZWaveNodeInfoEvent(1));
+        registry.dispatch(new ZWaveNodeInfoEvent(2));
+
+        ZWaveEventListenerRegistry.DispatchStatistics statistics = registry.getStatistics()
+                .get(ZWaveNodeInfoEvent.class);
+        assertEquals(2, statistics.getEvents());
+        assertEquals(4, statistics.getDeliveries());
+    }
+
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.protocol.initialization;
+
+import static org.junit.Assert.*;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.zwave.internal.protocol.ZWaveNode;
+
+/**
+ * @since 1.14.0
+ */
+public class ZWaveNodeSerializerTest {
+
+    private static final String USERDATA_PROPERTY = "smarthome.userdata";
+    private static final int HOME_ID = 0x12345678;
+
+    private File userData;
+    private File folder;
+
+    @Before
+    public void init() throws IOException {
+        userData = File.createTempFile("zwave", "");
+        userData.delete();
+        userData.mkdirs();
+        folder = new File(userData, "zwave");
+        System.setProperty(USERDATA_PROPERTY, userData.getPath());
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(USERDATA_PROPERTY);
+        ZWaveNodeSerializer.setXmlExport(false);
+        for (File file : folder.listFiles()) {
+            file.delete();
+        }
+        folder.delete();
+        userData.delete();
+    }
+
+    private static ZWaveNode createNode(int nodeId) {
+        ZWaveNode node = new ZWaveNode(HOME_ID, nodeId, null);
+        node.setNodeStage(ZWaveNodeInitStage.DONE);
+        node.setName("node " + nodeId);
+        return node;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ZWaveNodeSerializer serializer = new ZWaveNodeSerializer();
+        serializer.SerializeNode(createNode(5));
+        serializer.flush();
+
+        File file = new File(folder, "node5.bin");
+        assertTrue(file.exists());
+        assertFalse(new File(folder, "node5.xml").exists());
+
+        ZWaveNode node = new ZWaveNodeSerializer().DeserializeNode(5);
+        assertNotNull(node);
+        assertEquals(5, node.getNodeId());
+        assertEquals(Integer.valueOf(HOME_ID), node.getHomeId());
+        assertEquals("node 5", node.getName());
+    }
+
+    @Test
+    public void testWriteIsDelayed() {
+        ZWaveNodeSerializer serializer = new ZWaveNodeSerializer();
+        serializer.SerializeNode(createNode(6));
+
+        assertFalse(new File(folder, "node6.bin").exists());
+        // a pending node is written before it is read
+        assertEquals("node 6", serializer.DeserializeNode(6).getName());
+        assertTrue(new File(folder, "node6.bin").exists());
+    }
+
+    @Test
+    public void testNodeIsMarshalledWhenSerialized() {
+        ZWaveNodeSerializer serializer = new ZWaveNodeSerializer();
+        ZWaveNode node = createNode(11);
+        serializer.SerializeNode(node);
+
+        // changes after the serialization are not written by the pending write
+        node.setName("changed");
+        serializer.flush();
+
+        assertEquals("node 11", serializer.DeserializeNode(11).getName());
+    }
+
+    @Test
+    public void testIncompleteNodeIsNotSerialized() {
+        ZWaveNodeSerializer serializer = new ZWaveNodeSerializer();
+        ZWaveNode node = new ZWaveNode(HOME_ID, 7, null);
+        node.setNodeStage(ZWaveNodeInitStage.PROTOINFO);
+        serializer.SerializeNode(node);
+        serializer.flush();
+
+        assertFalse(new File(folder, "node7.bin").exists());
+    }
+
+    @Test
+    public void testXmlExportAndImport() {
+        ZWaveNodeSerializer.setXmlExport(true);
+        ZWaveNodeSerializer serializer = new ZWaveNodeSerializer();
+        serializer.SerializeNode(createNode(8));
+        serializer.flush();
+
+        File xmlFile = new File(folder, "node8.xml");
+        assertTrue(xmlFile.exists());
+
+        // without a cache file the node is read from the XML file of previous versions
+        assertTrue(new File(folder, "node8.bin").delete());
+        assertEquals("node 8", serializer.DeserializeNode(8).getName());
+
+        // and converted to the node cache
+        serializer.flush();
+        assertTrue(new File(folder, "node8.bin").exists());
+    }
+
+    @Test
+    public void testOtherCacheVersionIsIgnored() throws IOException {
+        ZWaveNodeSerializer serializer = new ZWaveNodeSerializer();
+        serializer.SerializeNode(createNode(9));
+        serializer.flush();
+
+        File file = new File(folder, "node9.bin");
+        DataInputStream input = new DataInputStream(new FileInputStream(file));
+        int magic = input.readInt();
+        input.close();
+
+        DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+        output.writeInt(magic);
+        output.writeShort(Short.MAX_VALUE);
+        output.close();
+
+        assertNull(serializer.DeserializeNode(9));
+    }
+
+    @Test
+    public void testDeleteNode() {
+        ZWaveNodeSerializer serializer = new ZWaveNodeSerializer();
+        serializer.SerializeNode(createNode(10));
+        serializer.flush();
+
+        assertTrue(serializer.DeleteNode(10));
+        assertFalse(new File(folder, "node10.bin").exists());
+        assertNull(serializer.DeserializeNode(10));
+    }
+
+}
@@ -10,8 +10,8 @@ package org.openhab.binding.zwave.internal;
 
 import java.util.ArrayList;
 import java.util.Dictionary;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.zwave.ZWaveBindingConfig;
@@ -21,12 +21,15 @@ import org.openhab.binding.zwave.internal.converter.ZWaveConverterHandler;
 import org.openhab.binding.zwave.internal.protocol.SerialInterfaceException;
 import org.openhab.binding.zwave.internal.protocol.ZWaveController;
 import org.openhab.binding.zwave.internal.protocol.ZWaveEventListener;
+import org.openhab.binding.zwave.internal.protocol.SerialMessage.SerialMessagePriority;
 import org.openhab.binding.zwave.internal.protocol.ZWaveNode;
 import org.openhab.binding.zwave.internal.protocol.commandclass.ZWaveSecurityCommandClass;
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveCommandClassValueEvent;
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveEvent;
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveInitializationCompletedEvent;
+import org.openhab.binding.zwave.internal.protocol.event.ZWaveTransactionCompletedEvent;
 import org.openhab.binding.zwave.internal.protocol.initialization.ZWaveNodeInitStage;
+import org.openhab.binding.zwave.internal.protocol.initialization.ZWaveNodeSerializer;
 import org.openhab.core.binding.AbstractActiveBinding;
 import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.types.Command;
@@ -66,8 +69,7 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
     private volatile ZWaveController zController;
     private volatile ZWaveConverterHandler converterHandler;
 
-    private Iterator<ZWavePollItem> pollingIterator = null;
-    private List<ZWavePollItem> pollingList = new ArrayList<ZWavePollItem>();
+    private final ZWavePollScheduler pollScheduler = new ZWavePollScheduler(0);
 
     // Configuration Service
     ZWaveConfiguration zConfigurationService;
@@ -102,29 +104,32 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
             networkMonitor.execute();
         }
 
-        // If we're not currently in a poll cycle, restart the polling table
-        if (pollingIterator == null) {
-            pollingIterator = pollingList.iterator();
+        if (zController == null || converterHandler == null) {
+            return;
         }
 
-        // Loop through the polling list. We only allow a certain number of messages
-        // into the send queue at a time to avoid congestion within the system.
-        // Basically, we don't want the polling to slow down 'important' stuff.
-        // The queue ensures all nodes get a chance - if we always started at the top
-        // then the last items might never get polled.
-        while (pollingIterator.hasNext()) {
-            if (zController.getSendQueueLength() >= pollingQueue) {
-                logger.trace("Polling queue full!");
-                break;
-            }
-            ZWavePollItem poll = pollingIterator.next();
-            converterHandler.executeRefresh(poll.provider, poll.item, false);
+        // We only allow a certain number of messages into the send queue at a time to
+        // avoid congestion within the system. Basically, we don't want the polling to
+        // slow down 'important' stuff. The scheduler picks the due items that are most
+        // worth polling and keeps within the airtime budget.
+        int slots = pollingQueue - zController.getSendQueueLength();
+        if (slots <= 0) {
+            logger.trace("Polling queue full!");
         }
-        if (pollingIterator.hasNext() == false) {
-            pollingIterator = null;
+        for (ZWavePollScheduler.PollItem poll : pollScheduler.nextPolls(System.currentTimeMillis(), slots)) {
+            if (!converterHandler.executeRefresh(poll.getProvider(), poll.getItemName(), false)) {
+                pollScheduler.pollSkipped(poll);
+            }
         }
     }
 
+    /**
+     * @return the polling statistics per node
+     */
+    public Map<Integer, ZWavePollScheduler.NodeStatistics> getPollStatistics() {
+        return pollScheduler.getStatistics();
+    }
+
     /**
      * Called, if a single binding has changed. The given item could have been
      * added or removed. We refresh the binding in case it's in the done stage.
@@ -171,9 +176,10 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
      */
     private void rebuildPollingTable() {
         // Rebuild the polling table
-        pollingList.clear();
+        List<ZWavePollScheduler.PollItem> pollingList = new ArrayList<ZWavePollScheduler.PollItem>();
 
         if (converterHandler == null) {
+            pollScheduler.setItems(pollingList);
             logger.debug("ConverterHandler not initialised. Polling disabled.");
 
             return;
@@ -200,16 +206,15 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
                         converterHandler.getRefreshInterval(eachProvider, name));
 
                 // If this binding is configured to poll - add it to the list
-                if (converterHandler.getRefreshInterval(eachProvider, name) > 0) {
-                    ZWavePollItem item = new ZWavePollItem();
-                    item.item = name;
-                    item.provider = eachProvider;
-                    pollingList.add(item);
+                Integer interval = converterHandler.getRefreshInterval(eachProvider, name);
+                if (interval != null && interval > 0) {
+                    pollingList.add(new ZWavePollScheduler.PollItem(eachProvider, name, cfg.getNodeId(),
+                            interval * 1000L, node.isListening()));
                     logger.trace("Polling list added {}", name);
                 }
             }
         }
-        pollingIterator = null;
+        pollScheduler.setItems(pollingList);
     }
 
     /**
@@ -365,6 +370,15 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
                 logger.error("Error parsing 'pollingQueue'. This must be a single number time in milliseconds.");
             }
         }
+        if (StringUtils.isNotBlank((String) config.get("pollingAirtime"))) {
+            try {
+                pollScheduler.setAirtimeBudget(Long.parseLong((String) config.get("pollingAirtime")));
+                logger.info("Update config, pollingAirtime = {}", config.get("pollingAirtime"));
+            } catch (NumberFormatException e) {
+                pollScheduler.setAirtimeBudget(0);
+                logger.error("Error parsing 'pollingAirtime'. This must be a single number time in milliseconds.");
+            }
+        }
         if (StringUtils.isNotBlank((String) config.get("aliveCheckPeriod"))) {
             try {
                 aliveCheckPeriod = Integer.parseInt((String) config.get("aliveCheckPeriod"));
@@ -410,6 +424,11 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
                 logger.error("Error parsing 'masterController'. This must be boolean.");
             }
         }
+        if (StringUtils.isNotBlank((String) config.get("xmlExport"))) {
+            boolean xmlExport = Boolean.parseBoolean((String) config.get("xmlExport"));
+            logger.info("Update config, xmlExport = {}", xmlExport);
+            ZWaveNodeSerializer.setXmlExport(xmlExport);
+        }
         if (StringUtils.isNotBlank((String) config.get("networkKey"))) {
             String keyString = (String) config.get("networkKey");
             // All errors will be caught and logged by
@@ -454,6 +473,15 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
 
         logger.debug("ZwaveIncomingEvent");
 
+        // track the round trip time and the failures of polls
+        if (event instanceof ZWaveTransactionCompletedEvent) {
+            ZWaveTransactionCompletedEvent completedEvent = (ZWaveTransactionCompletedEvent) event;
+            if (completedEvent.getCompletedMessage().getPriority() == SerialMessagePriority.Poll) {
+                pollScheduler.pollCompleted(event.getNodeId(), completedEvent.getState(), System.currentTimeMillis());
+            }
+            return;
+        }
+
         // handle command class value events.
         if (event instanceof ZWaveCommandClassValueEvent) {
             handleZWaveCommandClassValueEvent((ZWaveCommandClassValueEvent) event);
@@ -482,7 +510,10 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
                     continue;
                 }
 
-                converterHandler.handleEvent(provider, itemName, event);
+                if (converterHandler.handleEvent(provider, itemName, event)) {
+                    // the item is up to date, there is no need to poll it for a while
+                    pollScheduler.itemUpdated(itemName, System.currentTimeMillis());
+                }
                 handled = true;
             }
         }
@@ -493,9 +524,4 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
                             event.getValue() });
         }
     }
-
-    class ZWavePollItem {
-        ZWaveBindingProvider provider;
-        String item;
-    }
 }
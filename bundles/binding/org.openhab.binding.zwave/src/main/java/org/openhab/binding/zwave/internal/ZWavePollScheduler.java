@@ -0,0 +1,442 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openhab.binding.zwave.ZWaveBindingProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which items are polled next. Replaces the round-robin walk through the polling list with a scheduler that
+ * <ul>
+ * <li>polls an item only when its refresh interval has passed since it was last polled or updated by a report,</li>
+ * <li>polls mains powered nodes before battery powered nodes, and reliable nodes before unreliable ones,</li>
+ * <li>backs off nodes that repeatedly fail to answer a poll,</li>
+ * <li>spends no more than a configured budget of airtime per minute on polls.</li>
+ * </ul>
+ * The airtime of a poll is estimated from the round trip time of the node, measured from the moment the poll was
+ * handed to the controller until its transaction completed. The measured round trip times, failure rates and the
+ * poll intervals actually achieved are kept per node in {@link NodeStatistics}.
+ *
+ * @since 1.14.0
+ */
+public class ZWavePollScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ZWavePollScheduler.class);
+
+    /** The airtime budget is measured over this period */
+    static final long BUDGET_PERIOD = 60000;
+
+    /** The round trip time assumed for a node until it has answered its first poll */
+    static final long DEFAULT_RTT = 100;
+
+    /** A poll that has not completed after this time is counted as failed */
+    static final long POLL_TIMEOUT = 30000;
+
+    /** The maximum number of times the refresh interval of a failing node is doubled */
+    static final int MAX_BACKOFF = 3;
+
+    /** Weight of a new sample in the moving averages */
+    private static final double SMOOTHING = 0.2;
+
+    private static final long STATISTICS_LOG_INTERVAL = 300000;
+
+    private final Map<String, PollItem> items = new LinkedHashMap<String, PollItem>();
+    private final Map<Integer, NodeStatistics> nodes = new HashMap<Integer, NodeStatistics>();
+
+    private long airtimeBudget;
+    private double airtimeAvailable;
+    private long lastRefill = -1;
+    private long lastStatisticsLog = System.currentTimeMillis();
+
+    /**
+     * @param airtimeBudget the estimated airtime in milliseconds that may be spent on polls per minute, or 0 to poll
+     *            without limit
+     */
+    public ZWavePollScheduler(long airtimeBudget) {
+        setAirtimeBudget(airtimeBudget);
+    }
+
+    /**
+     * Sets the estimated airtime in milliseconds that may be spent on polls per minute.
+     *
+     * @param airtimeBudget the budget, or 0 to poll without limit
+     */
+    public synchronized void setAirtimeBudget(long airtimeBudget) {
+        this.airtimeBudget = Math.max(0, airtimeBudget);
+        this.airtimeAvailable = this.airtimeBudget;
+    }
+
+    /**
+     * Replaces the items to poll. Items that were already scheduled keep their schedule.
+     *
+     * @param pollItems the items with polling enabled
+     */
+    public synchronized void setItems(Collection<PollItem> pollItems) {
+        Map<String, PollItem> previous = new HashMap<String, PollItem>(items);
+        items.clear();
+        for (PollItem item : pollItems) {
+            PollItem scheduled = previous.get(item.itemName);
+            if (scheduled != null && scheduled.nodeId == item.nodeId) {
+                item.nextPoll = scheduled.nextPoll;
+                item.lastPoll = scheduled.lastPoll;
+            }
+            items.put(item.itemName, item);
+        }
+    }
+
+    /**
+     * @return the items to poll, in the order they were added
+     */
+    public synchronized List<PollItem> getItems() {
+        return new ArrayList<PollItem>(items.values());
+    }
+
+    /**
+     * Returns the items that are due, best candidates first, limited by the number of free slots in the send queue
+     * and by the airtime budget. The items returned are considered polled and are rescheduled.
+     *
+     * @param now the current time in milliseconds
+     * @param slots the number of polls that may be queued
+     * @return the items to poll now
+     */
+    public synchronized List<PollItem> nextPolls(long now, int slots) {
+        refillAirtime(now);
+        expirePolls(now);
+        logStatistics(now);
+
+        if (slots <= 0 || items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<PollItem> due = new ArrayList<PollItem>();
+        for (PollItem item : items.values()) {
+            // a node that failed to answer is polled less often until it answers again
+            if (item.nextPoll + item.interval * (getNode(item.nodeId).getBackoff() - 1) <= now) {
+                due.add(item);
+            }
+        }
+        if (due.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Collections.sort(due, new PollOrder(now));
+
+        List<PollItem> polls = new ArrayList<PollItem>(Math.min(slots, due.size()));
+        for (PollItem item : due) {
+            if (polls.size() >= slots) {
+                break;
+            }
+            NodeStatistics node = getNode(item.nodeId);
+            long airtime = node.getRoundTripTime();
+            if (airtimeBudget > 0 && airtime > airtimeAvailable) {
+                logger.trace("NODE {}: Poll of {} deferred, airtime budget exhausted", item.nodeId, item.itemName);
+                break;
+            }
+            airtimeAvailable -= airtime;
+
+            if (item.lastPoll > 0) {
+                node.recordInterval(now - item.lastPoll);
+            }
+            node.pollSent(now);
+            item.lastPoll = now;
+            item.nextPoll = now + item.interval;
+            polls.add(item);
+        }
+        return polls;
+    }
+
+    /**
+     * Tells the scheduler that the poll of an item was not sent, e.g. because the node was not ready, so the item
+     * does not count as polled.
+     *
+     * @param item the item returned by {@link #nextPolls(long, int)}
+     */
+    public synchronized void pollSkipped(PollItem item) {
+        NodeStatistics node = getNode(item.nodeId);
+        if (airtimeBudget > 0) {
+            airtimeAvailable = Math.min(airtimeBudget, airtimeAvailable + node.getRoundTripTime());
+        }
+        node.pollSkipped(item.lastPoll);
+    }
+
+    /**
+     * Tells the scheduler that an item has been updated by the node, so the next poll can wait for a full refresh
+     * interval.
+     *
+     * @param itemName the name of the updated item
+     * @param now the current time in milliseconds
+     */
+    public synchronized void itemUpdated(String itemName, long now) {
+        PollItem item = items.get(itemName);
+        if (item == null) {
+            return;
+        }
+        long nextPoll = now + item.interval;
+        if (nextPoll > item.nextPoll) {
+            item.nextPoll = nextPoll;
+            NodeStatistics node = getNode(item.nodeId);
+            if (node.pendingSince == 0) {
+                // not the answer to a poll
+                node.reports++;
+            }
+        }
+    }
+
+    /**
+     * Records the completion of a poll transaction of a node.
+     *
+     * @param nodeId the node
+     * @param success true if the node answered
+     * @param now the current time in milliseconds
+     */
+    public synchronized void pollCompleted(int nodeId, boolean success, long now) {
+        getNode(nodeId).pollCompleted(success, now);
+    }
+
+    /**
+     * @return the polling statistics per node
+     */
+    public synchronized Map<Integer, NodeStatistics> getStatistics() {
+        Map<Integer, NodeStatistics> statistics = new HashMap<Integer, NodeStatistics>();
+        for (Map.Entry<Integer, NodeStatistics> entry : nodes.entrySet()) {
+            statistics.put(entry.getKey(), entry.getValue().copy());
+        }
+        return statistics;
+    }
+
+    private NodeStatistics getNode(int nodeId) {
+        NodeStatistics node = nodes.get(nodeId);
+        if (node == null) {
+            node = new NodeStatistics();
+            nodes.put(nodeId, node);
+        }
+        return node;
+    }
+
+    private void refillAirtime(long now) {
+        if (lastRefill >= 0 && airtimeBudget > 0) {
+            airtimeAvailable = Math.min(airtimeBudget,
+                    airtimeAvailable + (double) (now - lastRefill) * airtimeBudget / BUDGET_PERIOD);
+        }
+        lastRefill = now;
+    }
+
+    private void expirePolls(long now) {
+        for (Map.Entry<Integer, NodeStatistics> entry : nodes.entrySet()) {
+            NodeStatistics node = entry.getValue();
+            if (node.pendingSince > 0 && now - node.pendingSince > POLL_TIMEOUT) {
+                logger.debug("NODE {}: Poll not completed after {}ms", entry.getKey(), now - node.pendingSince);
+                node.pollCompleted(false, now);
+            }
+        }
+    }
+
+    private void logStatistics(long now) {
+        if (!logger.isDebugEnabled() || now - lastStatisticsLog < STATISTICS_LOG_INTERVAL) {
+            return;
+        }
+        lastStatisticsLog = now;
+
+        for (Map.Entry<Integer, NodeStatistics> entry : nodes.entrySet()) {
+            logger.debug("NODE {}: Polling {}", entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Orders the due items: mains powered nodes first, then nodes with fewer failed polls, then the items that are
+     * most overdue relative to their refresh interval.
+     */
+    private class PollOrder implements Comparator<PollItem> {
+        private final long now;
+
+        PollOrder(long now) {
+            this.now = now;
+        }
+
+        @Override
+        public int compare(PollItem first, PollItem second) {
+            if (first.mainsPowered != second.mainsPowered) {
+                return first.mainsPowered ? -1 : 1;
+            }
+            int result = Double.compare(getNode(first.nodeId).failureRate, getNode(second.nodeId).failureRate);
+            if (result != 0) {
+                return result;
+            }
+            return Double.compare(overdue(second), overdue(first));
+        }
+
+        private double overdue(PollItem item) {
+            return (double) (now - item.nextPoll) / item.interval;
+        }
+    }
+
+    /**
+     * An item with polling enabled.
+     */
+    public static class PollItem {
+        final ZWaveBindingProvider provider;
+        final String itemName;
+        final int nodeId;
+        final long interval;
+        final boolean mainsPowered;
+
+        long nextPoll;
+        long lastPoll;
+
+        /**
+         * @param provider the provider of the item binding
+         * @param itemName the name of the item
+         * @param nodeId the node the item is bound to
+         * @param interval the refresh interval in milliseconds
+         * @param mainsPowered true if the node is always listening
+         */
+        public PollItem(ZWaveBindingProvider provider, String itemName, int nodeId, long interval,
+                boolean mainsPowered) {
+            this.provider = provider;
+            this.itemName = itemName;
+            this.nodeId = nodeId;
+            this.interval = Math.max(1, interval);
+            this.mainsPowered = mainsPowered;
+        }
+
+        public ZWaveBindingProvider getProvider() {
+            return provider;
+        }
+
+        public String getItemName() {
+            return itemName;
+        }
+
+        public int getNodeId() {
+            return nodeId;
+        }
+    }
+
+    /**
+     * The polling statistics of a node.
+     */
+    public static class NodeStatistics {
+        private long polls;
+        private long failures;
+        private long reports;
+        private int consecutiveFailures;
+        private double roundTripTime = DEFAULT_RTT;
+        private double failureRate;
+        private double interval;
+        private long pendingSince;
+
+        void pollSent(long now) {
+            polls++;
+            if (pendingSince == 0) {
+                pendingSince = now;
+            }
+        }
+
+        void pollSkipped(long sent) {
+            polls--;
+            if (pendingSince == sent) {
+                pendingSince = 0;
+            }
+        }
+
+        void pollCompleted(boolean success, long now) {
+            if (pendingSince == 0) {
+                // not a poll of the scheduler, e.g. a refresh after a binding change
+                return;
+            }
+            if (success) {
+                roundTripTime += SMOOTHING * ((now - pendingSince) - roundTripTime);
+                consecutiveFailures = 0;
+            } else {
+                failures++;
+                consecutiveFailures++;
+            }
+            failureRate += SMOOTHING * ((success ? 0 : 1) - failureRate);
+            pendingSince = 0;
+        }
+
+        void recordInterval(long achieved) {
+            interval = interval == 0 ? achieved : interval + SMOOTHING * (achieved - interval);
+        }
+
+        long getBackoff() {
+            return 1L << Math.min(consecutiveFailures, MAX_BACKOFF);
+        }
+
+        NodeStatistics copy() {
+            NodeStatistics copy = new NodeStatistics();
+            copy.polls = polls;
+            copy.failures = failures;
+            copy.reports = reports;
+            copy.consecutiveFailures = consecutiveFailures;
+            copy.roundTripTime = roundTripTime;
+            copy.failureRate = failureRate;
+            copy.interval = interval;
+            copy.pendingSince = pendingSince;
+            return copy;
+        }
+
+        /**
+         * @return the number of polls sent to the node
+         */
+        public long getPolls() {
+            return polls;
+        }
+
+        /**
+         * @return the number of polls the node did not answer
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return the number of polls saved because the node reported a value on its own
+         */
+        public long getReports() {
+            return reports;
+        }
+
+        /**
+         * @return the moving average of the round trip time of a poll in milliseconds
+         */
+        public long getRoundTripTime() {
+            return Math.round(roundTripTime);
+        }
+
+        /**
+         * @return the moving average of the share of failed polls, between 0 and 1
+         */
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        /**
+         * @return the moving average of the time between two polls of an item of the node in milliseconds, or 0 if
+         *         no item has been polled twice yet
+         */
+        public long getAchievedInterval() {
+            return Math.round(interval);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d polls, %d failed (rate %.2f), %d saved by reports, rtt %dms, interval %dms",
+                    polls, failures, failureRate, reports, getRoundTripTime(), getAchievedInterval());
+        }
+    }
+}
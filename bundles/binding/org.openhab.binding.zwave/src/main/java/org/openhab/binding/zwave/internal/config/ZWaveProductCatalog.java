@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang.ObjectUtils;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+import com.thoughtworks.xstream.io.xml.StaxDriver;
+
+/**
+ * The in-memory catalog of the XML product database. The manufacturer list is parsed once, on first use, and indexed
+ * by manufacturer ID and product reference. Product files are parsed when they are first requested and kept for the
+ * lifetime of the catalog.
+ *
+ * The catalog is shared by all {@link ZWaveProductDatabase} instances, which hold the selection state of a lookup.
+ * The database objects returned by the catalog are shared as well and must not be modified.
+ *
+ * @since 1.14.0
+ */
+public final class ZWaveProductCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveProductCatalog.class);
+
+    private static final String DATABASE_FOLDER = "database/";
+
+    private static final ZWaveDbProductFile NO_PRODUCT_FILE = new ZWaveDbProductFile();
+
+    private static volatile ZWaveProductCatalog instance;
+
+    private final List<ZWaveDbManufacturer> manufacturers;
+    private final Map<Integer, ZWaveDbManufacturer> manufacturersById = new HashMap<Integer, ZWaveDbManufacturer>();
+    private final Map<ProductKey, ZWaveDbProduct> productsByReference = new HashMap<ProductKey, ZWaveDbProduct>();
+
+    /** the product files by product reference and version, with {@link #NO_PRODUCT_FILE} for products without one */
+    private final ConcurrentMap<ProductKey, ZWaveDbProductFile> productFilesByVersion;
+    /** the parsed product files by file name, as several versions and products may share a file */
+    private final ConcurrentMap<String, ZWaveDbProductFile> productFilesByName;
+
+    private ZWaveProductCatalog(List<ZWaveDbManufacturer> manufacturers) {
+        this.manufacturers = manufacturers == null ? Collections.<ZWaveDbManufacturer> emptyList()
+                : Collections.unmodifiableList(manufacturers);
+        this.productFilesByVersion = new ConcurrentHashMap<ProductKey, ZWaveDbProductFile>();
+        this.productFilesByName = new ConcurrentHashMap<String, ZWaveDbProductFile>();
+
+        for (ZWaveDbManufacturer manufacturer : this.manufacturers) {
+            // the first manufacturer with an ID wins, as it did with the linear search
+            if (manufacturer.Id == null || manufacturersById.containsKey(manufacturer.Id)) {
+                continue;
+            }
+            manufacturersById.put(manufacturer.Id, manufacturer);
+
+            if (manufacturer.Product == null) {
+                continue;
+            }
+            for (ZWaveDbProduct product : manufacturer.Product) {
+                if (product.Reference == null) {
+                    continue;
+                }
+                for (ZWaveDbProductReference reference : product.Reference) {
+                    if (reference.Type == null || reference.Id == null) {
+                        continue;
+                    }
+                    ProductKey key = new ProductKey(manufacturer.Id, reference.Type, reference.Id, null);
+                    if (!productsByReference.containsKey(key)) {
+                        productsByReference.put(key, product);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the catalog, loading the product database on first use.
+     *
+     * @return the shared catalog
+     */
+    public static ZWaveProductCatalog getInstance() {
+        ZWaveProductCatalog catalog = instance;
+        if (catalog == null) {
+            synchronized (ZWaveProductCatalog.class) {
+                catalog = instance;
+                if (catalog == null) {
+                    catalog = load();
+                    instance = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Parses the product database into a new catalog.
+     */
+    static ZWaveProductCatalog load() {
+        long start = System.currentTimeMillis();
+
+        URL entry = getEntry(DATABASE_FOLDER + "products.xml");
+        if (entry == null) {
+            logger.error("Unable to load ZWave product database!");
+            return new ZWaveProductCatalog(null);
+        }
+
+        XStream xstream = new XStream(new StaxDriver());
+        xstream.alias("Manufacturers", ZWaveDbRoot.class);
+        xstream.alias("Manufacturer", ZWaveDbManufacturer.class);
+        xstream.alias("Product", ZWaveDbProduct.class);
+        xstream.alias("Reference", ZWaveDbProductReference.class);
+
+        xstream.processAnnotations(ZWaveDbRoot.class);
+
+        ZWaveDbRoot database = null;
+        try {
+            InputStream x = entry.openStream();
+            try {
+                database = (ZWaveDbRoot) xstream.fromXML(x);
+            } finally {
+                x.close();
+            }
+        } catch (IOException e) {
+            logger.error("Unable to load ZWave product database : {}", e.toString());
+        }
+
+        ZWaveProductCatalog catalog = new ZWaveProductCatalog(database == null ? null : database.Manufacturer);
+        logger.debug("Loaded ZWave product database with {} manufacturers and {} product references in {}ms",
+                catalog.manufacturers.size(), catalog.productsByReference.size(),
+                System.currentTimeMillis() - start);
+        return catalog;
+    }
+
+    private static URL getEntry(String path) {
+        Bundle bundle = FrameworkUtil.getBundle(ZWaveProductCatalog.class);
+        if (bundle == null) {
+            // not running in a framework, e.g. in a plain unit test
+            return ZWaveProductCatalog.class.getClassLoader().getResource(path);
+        }
+        return bundle.getEntry(path);
+    }
+
+    /**
+     * @return all manufacturers in the order of the database
+     */
+    public List<ZWaveDbManufacturer> getManufacturers() {
+        return manufacturers;
+    }
+
+    /**
+     * @param manufacturerId the manufacturer ID
+     * @return the manufacturer, or null if it is not in the database
+     */
+    public ZWaveDbManufacturer getManufacturer(int manufacturerId) {
+        return manufacturersById.get(manufacturerId);
+    }
+
+    /**
+     * @param manufacturerId the manufacturer ID
+     * @param productType the product type
+     * @param productId the product ID
+     * @return the product, or null if it is not in the database
+     */
+    public ZWaveDbProduct getProduct(int manufacturerId, int productType, int productId) {
+        return productsByReference.get(new ProductKey(manufacturerId, productType, productId, null));
+    }
+
+    /**
+     * Returns the product file of a product. The file is parsed on the first request and cached afterwards.
+     *
+     * @param manufacturerId the manufacturer ID
+     * @param productType the product type
+     * @param productId the product ID
+     * @param version the application version of the device
+     * @return the product file, or null if the product is unknown or has no product file for this version
+     */
+    public ZWaveDbProductFile getProductFile(int manufacturerId, int productType, int productId, String version) {
+        ProductKey key = new ProductKey(manufacturerId, productType, productId, version);
+        ZWaveDbProductFile productFile = productFilesByVersion.get(key);
+        if (productFile == null) {
+            productFile = loadProductFile(key);
+            productFilesByVersion.putIfAbsent(key, productFile);
+        }
+        return productFile == NO_PRODUCT_FILE ? null : productFile;
+    }
+
+    private ZWaveDbProductFile loadProductFile(ProductKey key) {
+        ZWaveDbProduct product = getProduct(key.manufacturerId, key.productType, key.productId);
+        if (product == null) {
+            return NO_PRODUCT_FILE;
+        }
+
+        String cfgFile = product.getConfigFile(key.version);
+        if (cfgFile == null || cfgFile.isEmpty()) {
+            return NO_PRODUCT_FILE;
+        }
+
+        ZWaveDbProductFile productFile = productFilesByName.get(cfgFile);
+        if (productFile == null) {
+            productFile = parseProductFile(cfgFile);
+            productFilesByName.putIfAbsent(cfgFile, productFile);
+        }
+        return productFile;
+    }
+
+    private ZWaveDbProductFile parseProductFile(String cfgFile) {
+        URL entry = getEntry(DATABASE_FOLDER + cfgFile);
+        if (entry == null) {
+            logger.error("Unable to load ZWave product file: '{}'", cfgFile);
+            return NO_PRODUCT_FILE;
+        }
+
+        XStream xstream = new XStream(new StaxDriver());
+        xstream.alias("Product", ZWaveDbProductFile.class);
+        xstream.alias("Configuration", ZWaveDbProductFile.ZWaveDbConfiguration.class);
+        xstream.alias("Parameter", ZWaveDbConfigurationParameter.class);
+        xstream.alias("Item", ZWaveDbConfigurationListItem.class);
+        xstream.alias("Associations", ZWaveDbProductFile.ZWaveDbAssociation.class);
+        xstream.alias("Group", ZWaveDbAssociationGroup.class);
+        xstream.alias("CommandClass", ZWaveDbProductFile.ZWaveDbCommandClassList.class);
+        xstream.alias("Class", ZWaveDbCommandClass.class);
+
+        xstream.processAnnotations(ZWaveDbProductFile.class);
+
+        try {
+            InputStream x = entry.openStream();
+            try {
+                ZWaveDbProductFile productFile = (ZWaveDbProductFile) xstream.fromXML(x);
+                return productFile == null ? NO_PRODUCT_FILE : productFile;
+            } finally {
+                x.close();
+            }
+        } catch (IOException e) {
+            logger.error("Unable to load ZWave product file '{}' : {}", cfgFile, e.toString());
+            return NO_PRODUCT_FILE;
+        }
+    }
+
+    private class ZWaveDbRoot {
+        @XStreamImplicit
+        List<ZWaveDbManufacturer> Manufacturer;
+    }
+
+    /**
+     * Identifies a product by manufacturer and product reference, and optionally by the version of the device.
+     */
+    private static class ProductKey {
+        final int manufacturerId;
+        final int productType;
+        final int productId;
+        final String version;
+
+        ProductKey(int manufacturerId, int productType, int productId, String version) {
+            this.manufacturerId = manufacturerId;
+            this.productType = productType;
+            this.productId = productId;
+            this.version = version;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = manufacturerId;
+            result = 31 * result + productType;
+            result = 31 * result + productId;
+            return 31 * result + ObjectUtils.hashCode(version);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ProductKey)) {
+                return false;
+            }
+            ProductKey other = (ProductKey) obj;
+            return manufacturerId == other.manufacturerId && productType == other.productType
+                    && productId == other.productId && ObjectUtils.equals(version, other.version);
+        }
+    }
+}
@@ -8,43 +8,34 @@
  */
 package org.openhab.binding.zwave.internal.config;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
 import java.util.Collections;
 import java.util.List;
 
-import org.osgi.framework.FrameworkUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.annotations.XStreamImplicit;
-import com.thoughtworks.xstream.io.xml.StaxDriver;
-
 /**
  * Implements the top level functions for the XML product database This class
  * includes helper functions to manipulate the database and facilitate access to
  * the database.
  *
+ * The database itself is loaded once into the shared {@link ZWaveProductCatalog},
+ * so instances of this class are cheap and only hold the current selection.
+ *
  * @author Chris Jackson
  * @since 1.4.0
  *
  */
 public class ZWaveProductDatabase {
-    private static final Logger logger = LoggerFactory.getLogger(ZWaveProductDatabase.class);
-
-    ZWaveDbRoot database = null;
+    ZWaveProductCatalog database = ZWaveProductCatalog.getInstance();
     Languages language = Languages.ENGLISH;
 
     ZWaveDbManufacturer selManufacturer = null;
     ZWaveDbProduct selProduct = null;
+    int selProductType;
+    int selProductId;
 
     ZWaveDbProductFile productFile = null;
     String productVersion;
 
     public ZWaveProductDatabase() {
-        loadDatabase();
     }
 
     /**
@@ -55,7 +46,6 @@ public class ZWaveProductDatabase {
      */
     public ZWaveProductDatabase(Languages Language) {
         language = Language;
-        loadDatabase();
     }
 
     /**
@@ -66,35 +56,6 @@ public class ZWaveProductDatabase {
      */
     public ZWaveProductDatabase(String Language) {
         language = Languages.fromString(Language);
-        loadDatabase();
-    }
-
-    private void loadDatabase() {
-        URL entry = FrameworkUtil.getBundle(ZWaveProductDatabase.class).getEntry("database/products.xml");
-        if (entry == null) {
-            database = null;
-            logger.error("Unable to load ZWave product database!");
-            return;
-        }
-
-        XStream xstream = new XStream(new StaxDriver());
-        xstream.alias("Manufacturers", ZWaveDbRoot.class);
-        xstream.alias("Manufacturer", ZWaveDbManufacturer.class);
-        xstream.alias("Product", ZWaveDbProduct.class);
-        xstream.alias("Reference", ZWaveDbProductReference.class);
-
-        xstream.processAnnotations(ZWaveDbRoot.class);
-
-        try {
-            // this.Manufacturer = (ZWaveDbManufacturer)
-            InputStream x = entry.openStream();
-            database = (ZWaveDbRoot) xstream.fromXML(x);
-            if (database == null) {
-                return;
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
     }
 
     /**
@@ -114,46 +75,12 @@ public class ZWaveProductDatabase {
             return null;
         }
 
-        String cfgFile = selProduct.getConfigFile(productVersion);
-        if (cfgFile == null || cfgFile.isEmpty()) {
-            return null;
-        }
-
-        URL entry = FrameworkUtil.getBundle(ZWaveProductDatabase.class).getEntry("database/" + cfgFile);
-        if (entry == null) {
-            database = null;
-            logger.error("Unable to load ZWave product file: '{}'", cfgFile);
-            return null;
-        }
-
-        XStream xstream = new XStream(new StaxDriver());
-        xstream.alias("Product", ZWaveDbProductFile.class);
-        xstream.alias("Configuration", ZWaveDbProductFile.ZWaveDbConfiguration.class);
-        xstream.alias("Parameter", ZWaveDbConfigurationParameter.class);
-        xstream.alias("Item", ZWaveDbConfigurationListItem.class);
-        xstream.alias("Associations", ZWaveDbProductFile.ZWaveDbAssociation.class);
-        xstream.alias("Group", ZWaveDbAssociationGroup.class);
-        xstream.alias("CommandClass", ZWaveDbProductFile.ZWaveDbCommandClassList.class);
-        xstream.alias("Class", ZWaveDbCommandClass.class);
-
-        xstream.processAnnotations(ZWaveDbProductFile.class);
-
-        try {
-            // this.Manufacturer = (ZWaveDbManufacturer)
-            InputStream x = entry.openStream();
-            productFile = (ZWaveDbProductFile) xstream.fromXML(x);
-        } catch (IOException e) {
-            logger.error("Unable to load ZWave product file '{}' : {}", cfgFile, e.toString());
-        }
-
+        productFile = database.getProductFile(selManufacturer.Id, selProductType, selProductId, productVersion);
         return productFile;
     }
 
     public List<ZWaveDbManufacturer> GetManufacturers() {
-        if (database == null || database.Manufacturer == null) {
-            return Collections.emptyList();
-        }
-        return database.Manufacturer;
+        return database.getManufacturers();
     }
 
     public List<ZWaveDbProduct> GetProducts() {
@@ -171,21 +98,11 @@ public class ZWaveProductDatabase {
      * @return true if the manufacturer was found
      */
     public boolean FindManufacturer(int manufacturerId) {
-        if (database == null || database.Manufacturer == null) {
-            return false;
-        }
-
-        selManufacturer = null;
         selProduct = null;
         productFile = null;
 
-        for (ZWaveDbManufacturer manufacturer : database.Manufacturer) {
-            if (manufacturer.Id == manufacturerId) {
-                selManufacturer = manufacturer;
-                return true;
-            }
-        }
-        return false;
+        selManufacturer = database.getManufacturer(manufacturerId);
+        return selManufacturer != null;
     }
 
     /**
@@ -223,15 +140,16 @@ public class ZWaveProductDatabase {
         }
         productVersion = version;
 
-        for (ZWaveDbProduct product : selManufacturer.Product) {
-            for (ZWaveDbProductReference reference : product.Reference) {
-                if (reference.Type == productType && reference.Id == productId) {
-                    selProduct = product;
-                    return true;
-                }
-            }
+        ZWaveDbProduct product = database.getProduct(selManufacturer.Id, productType, productId);
+        if (product == null) {
+            return false;
         }
-        return false;
+
+        selProduct = product;
+        selProductType = productType;
+        selProductId = productId;
+        productFile = null;
+        return true;
     }
 
     /**
@@ -374,11 +292,6 @@ public class ZWaveProductDatabase {
         return productFile.getAssociations();
     }
 
-    private class ZWaveDbRoot {
-        @XStreamImplicit
-        List<ZWaveDbManufacturer> Manufacturer;
-    }
-
     /**
      * Helper function to find the label associated with the specified database
      * language If no language is defined, or if the label cant be found in the
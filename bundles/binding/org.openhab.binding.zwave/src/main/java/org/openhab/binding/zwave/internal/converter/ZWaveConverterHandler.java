@@ -178,9 +178,10 @@ public class ZWaveConverterHandler {
      *            the name of the item to poll.
      * @param forceRefresh
      *            indicates that a polling refresh should be forced.
+     * @return true if a poll message was queued for the item
      */
     @SuppressWarnings("unchecked")
-    public void executeRefresh(ZWaveBindingProvider provider, String itemName, boolean forceRefresh) {
+    public boolean executeRefresh(ZWaveBindingProvider provider, String itemName, boolean forceRefresh) {
         ZWaveBindingConfig bindingConfiguration = provider.getZwaveBindingConfig(itemName);
         ZWaveCommandClass commandClass;
         String commandClassName = bindingConfiguration.getArguments().get("command");
@@ -188,14 +189,14 @@ public class ZWaveConverterHandler {
         // this binding is configured not to poll.
         if (!forceRefresh && bindingConfiguration.getRefreshInterval() != null
                 && 0 == bindingConfiguration.getRefreshInterval()) {
-            return;
+            return false;
         }
 
         ZWaveNode node = this.controller.getNode(bindingConfiguration.getNodeId());
 
         // ignore nodes that are not initialized.
         if (node == null) {
-            return;
+            return false;
         }
 
         if (commandClassName != null) {
@@ -204,12 +205,12 @@ public class ZWaveConverterHandler {
             if (commandClassName.equalsIgnoreCase("info")) {
                 infoConverter.executeRefresh(provider.getItem(itemName), node, bindingConfiguration.getEndpoint(),
                         bindingConfiguration.getArguments());
-                return;
+                return false;
             }
 
             // ignore nodes that are not initialized or dead.
             if (node.getNodeState() != ZWaveNodeState.ALIVE || node.isInitializationComplete() == false) {
-                return;
+                return false;
             }
 
             commandClass = node.resolveCommandClass(CommandClass.getCommandClass(commandClassName),
@@ -218,7 +219,7 @@ public class ZWaveConverterHandler {
             if (commandClass == null) {
                 logger.warn("No command class found for item = {}, command class name = {}, ignoring execute refresh.",
                         itemName, commandClassName);
-                return;
+                return false;
             }
         } else {
             commandClass = resolveConverter(provider.getItem(itemName), node, bindingConfiguration.getEndpoint());
@@ -226,7 +227,7 @@ public class ZWaveConverterHandler {
 
         if (commandClass == null) {
             logger.warn("No converter found for item = {}, ignoring execute refresh.", itemName);
-            return;
+            return false;
         }
 
         ZWaveCommandClassConverter<ZWaveCommandClass> converter = (ZWaveCommandClassConverter<ZWaveCommandClass>) getConverter(
@@ -234,7 +235,7 @@ public class ZWaveConverterHandler {
 
         if (converter == null) {
             logger.warn("No converter found for item = {}, ignoring execute refresh.", itemName);
-            return;
+            return false;
         }
 
         if (bindingConfiguration.getRefreshInterval() == null) {
@@ -242,7 +243,7 @@ public class ZWaveConverterHandler {
 
             // this binding is configured not to poll.
             if (!forceRefresh && 0 == bindingConfiguration.getRefreshInterval()) {
-                return;
+                return false;
             }
         }
 
@@ -251,7 +252,7 @@ public class ZWaveConverterHandler {
                 && (bindingConfiguration.getLastRefreshed().getTime()
                         + (bindingConfiguration.getRefreshInterval() * 1000) > Calendar.getInstance()
                                 .getTimeInMillis())) {
-            return;
+            return false;
         }
 
         bindingConfiguration.setLastRefreshed(Calendar.getInstance().getTime());
@@ -261,7 +262,7 @@ public class ZWaveConverterHandler {
         if (serialMessage == null) {
             logger.warn("NODE {}: Generating message failed for command class = {}", node.getNodeId(),
                     commandClass.getCommandClass().getLabel());
-            return;
+            return false;
         }
 
         // This is a poll - treat it as a low priority!
@@ -269,6 +270,7 @@ public class ZWaveConverterHandler {
 
         // Queue the message
         this.controller.sendData(serialMessage);
+        return true;
     }
 
     /**
@@ -350,8 +352,9 @@ public class ZWaveConverterHandler {
      *            the name of the item that will receive the event.
      * @param event
      *            the received {@link ZWaveCommandClassValueEvent}.
+     * @return true if the event was converted for the item
      */
-    public void handleEvent(ZWaveBindingProvider provider, String itemName, ZWaveCommandClassValueEvent event) {
+    public boolean handleEvent(ZWaveBindingProvider provider, String itemName, ZWaveCommandClassValueEvent event) {
         ZWaveBindingConfig bindingConfiguration = provider.getZwaveBindingConfig(itemName);
         Item item = provider.getItem(itemName);
         String commandClassName = bindingConfiguration.getArguments().get("command");
@@ -361,7 +364,7 @@ public class ZWaveConverterHandler {
                 event.getCommandClass().getLabel(), commandClassName);
 
         if (item == null) {
-            return;
+            return false;
         }
 
         // check whether this item is bound to the right command class.
@@ -369,7 +372,7 @@ public class ZWaveConverterHandler {
         if (commandClassName != null
                 && !commandClassName.equalsIgnoreCase(event.getCommandClass().getLabel().toLowerCase())
                 && !(respondToBasic && event.getCommandClass() == CommandClass.BASIC)) {
-            return;
+            return false;
         }
 
         ZWaveCommandClassConverter<?> converter = this.getConverter(event.getCommandClass());
@@ -377,10 +380,11 @@ public class ZWaveConverterHandler {
         if (converter == null) {
             logger.warn("No converter found for command class = {}, ignoring event.",
                     event.getCommandClass().toString());
-            return;
+            return false;
         }
 
         converter.handleEvent(event, item, bindingConfiguration.getArguments());
+        return true;
     }
 
     /**
@@ -9,9 +9,9 @@
 package org.openhab.binding.zwave.internal.protocol;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.TooManyListenersException;
@@ -97,7 +97,7 @@ public class ZWaveController {
     private static final int TRANSMIT_OPTION_EXPLORE = 0x20;
 
     private final ConcurrentHashMap<Integer, ZWaveNode> zwaveNodes = new ConcurrentHashMap<Integer, ZWaveNode>();
-    private final ArrayList<ZWaveEventListener> zwaveEventListeners = new ArrayList<ZWaveEventListener>();
+    private final ZWaveEventListenerRegistry zwaveEventListeners = new ZWaveEventListenerRegistry();
     private final PriorityBlockingQueue<SerialMessage> sendQueue = new PriorityBlockingQueue<SerialMessage>(
             INITIAL_TX_QUEUE_SIZE, new SerialMessage.SerialMessageComparator(this));
     private final PriorityBlockingQueue<SerialMessage> recvQueue = new PriorityBlockingQueue<SerialMessage>(
@@ -380,8 +380,7 @@ public class ZWaveController {
         disconnect();
 
         // clear nodes collection and send queue
-        ArrayList<ZWaveEventListener> copy = new ArrayList<ZWaveEventListener>(this.zwaveEventListeners);
-        for (Object listener : copy.toArray()) {
+        for (ZWaveEventListener listener : this.zwaveEventListeners.getListeners()) {
             if (!(listener instanceof ZWaveNode)) {
                 continue;
             }
@@ -393,6 +392,9 @@ public class ZWaveController {
         this.sendQueue.clear();
         this.recvQueue.clear();
 
+        // write the nodes which are still waiting for the node cache writer
+        new ZWaveNodeSerializer().flush();
+
         logger.info("Stopped Z-Wave controller");
     }
 
@@ -666,10 +668,7 @@ public class ZWaveController {
      */
     public void notifyEventListeners(ZWaveEvent event) {
         logger.debug("NODE {}: Notifying event listeners: {}", event.getNodeId(), event.getClass().getSimpleName());
-        ArrayList<ZWaveEventListener> copy = new ArrayList<ZWaveEventListener>(this.zwaveEventListeners);
-        for (ZWaveEventListener listener : copy) {
-            listener.ZWaveIncomingEvent(event);
-        }
+        this.zwaveEventListeners.dispatch(event);
 
         // We also need to handle the inclusion internally within the controller
         if (event instanceof ZWaveInclusionEvent) {
@@ -1014,24 +1013,44 @@ public class ZWaveController {
 
     /**
      * Add a listener for Z-Wave events to this controller.
+     * A {@link ZWaveFilteredEventListener} only receives the events it asks for,
+     * any other listener receives all events.
      *
      * @param eventListener the event listener to add.
      */
     public void addEventListener(ZWaveEventListener eventListener) {
-        synchronized (this.zwaveEventListeners) {
-            this.zwaveEventListeners.add(eventListener);
-        }
+        this.zwaveEventListeners.add(eventListener);
     }
 
     /**
-     * Remove a listener for Z-Wave events to this controller.
+     * Add a listener for Z-Wave events of a specific type to this controller.
+     *
+     * @param eventListener the event listener to add.
+     * @param eventType the type of the events to receive, including its subclasses.
+     * @param nodeId the node of the events to receive, or {@link ZWaveEventListenerRegistry#ANY_NODE}.
+     */
+    public void addEventListener(ZWaveEventListener eventListener, Class<? extends ZWaveEvent> eventType,
+            int nodeId) {
+        this.zwaveEventListeners.add(eventListener, eventType, nodeId);
+    }
+
+    /**
+     * Remove a listener for Z-Wave events from this controller.
+     * All registrations of the listener are removed.
      *
      * @param eventListener the event listener to remove.
      */
     public void removeEventListener(ZWaveEventListener eventListener) {
-        synchronized (this.zwaveEventListeners) {
-            this.zwaveEventListeners.remove(eventListener);
-        }
+        this.zwaveEventListeners.remove(eventListener);
+    }
+
+    /**
+     * Returns the time it took to dispatch the events to the event listeners.
+     *
+     * @return the dispatch statistics by event class.
+     */
+    public Map<Class<?>, ZWaveEventListenerRegistry.DispatchStatistics> getEventDispatchStatistics() {
+        return this.zwaveEventListeners.getStatistics();
     }
 
     /**
@@ -0,0 +1,288 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.protocol;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.binding.zwave.internal.protocol.event.ZWaveEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The registry of the {@link ZWaveEventListener}s of a controller.
+ *
+ * Each listener is registered for an event type and optionally for a node. The
+ * registrations are copied on write, and the listeners of an event class and
+ * node are looked up once and cached until the registrations change, so an
+ * event is only delivered to the listeners interested in it and dispatching
+ * doesn't allocate or lock. Listeners receive the events in the order they
+ * were registered.
+ *
+ * The registry also measures the time it takes to dispatch each event type.
+ *
+ * @since 1.14.0
+ */
+public class ZWaveEventListenerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveEventListenerRegistry.class);
+
+    /** Registers a listener for the events of all nodes */
+    public static final int ANY_NODE = -1;
+
+    /** The interval (in milliseconds) in which the dispatch statistics are logged */
+    private static final long STATISTICS_LOG_INTERVAL = 300000;
+
+    private volatile Registrations registrations = new Registrations(Collections.<Registration> emptyList());
+
+    private final ConcurrentMap<Class<?>, DispatchStatistics> statistics = new ConcurrentHashMap<Class<?>, DispatchStatistics>();
+    private volatile long lastStatisticsLog = System.currentTimeMillis();
+
+    /**
+     * Registers a listener for all events, or for the events given by the listener
+     * if it is a {@link ZWaveFilteredEventListener}.
+     *
+     * @param listener the listener to add
+     */
+    public void add(ZWaveEventListener listener) {
+        if (listener instanceof ZWaveFilteredEventListener) {
+            ZWaveFilteredEventListener filteredListener = (ZWaveFilteredEventListener) listener;
+            add(listener, filteredListener.getEventType(), filteredListener.getEventNodeId());
+        } else {
+            add(listener, ZWaveEvent.class, ANY_NODE);
+        }
+    }
+
+    /**
+     * Registers a listener for the events of a type.
+     *
+     * @param listener the listener to add
+     * @param eventType the type of the events, including its subclasses
+     * @param nodeId the node of the events, or {@link #ANY_NODE}
+     */
+    public synchronized void add(ZWaveEventListener listener, Class<? extends ZWaveEvent> eventType, int nodeId) {
+        List<Registration> copy = new ArrayList<Registration>(registrations.list);
+        copy.add(new Registration(listener, eventType, nodeId));
+        registrations = new Registrations(copy);
+    }
+
+    /**
+     * Removes all registrations of a listener.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void remove(ZWaveEventListener listener) {
+        List<Registration> copy = new ArrayList<Registration>(registrations.list);
+        boolean removed = false;
+        for (int i = copy.size() - 1; i >= 0; i--) {
+            if (copy.get(i).listener == listener) {
+                copy.remove(i);
+                removed = true;
+            }
+        }
+        if (removed) {
+            registrations = new Registrations(copy);
+        }
+    }
+
+    /**
+     * @return the registered listeners, in the order of their first registration
+     */
+    public List<ZWaveEventListener> getListeners() {
+        Set<ZWaveEventListener> listeners = new LinkedHashSet<ZWaveEventListener>();
+        for (Registration registration : registrations.list) {
+            listeners.add(registration.listener);
+        }
+        return new ArrayList<ZWaveEventListener>(listeners);
+    }
+
+    /**
+     * Delivers an event to all listeners registered for it.
+     *
+     * @param event the event to deliver
+     */
+    public void dispatch(ZWaveEvent event) {
+        long start = System.nanoTime();
+
+        List<Registration> targets = registrations.getTargets(event.getClass()).forNode(event.getNodeId());
+        for (Registration registration : targets) {
+            registration.listener.ZWaveIncomingEvent(event);
+        }
+
+        long duration = System.nanoTime() - start;
+        logger.trace("NODE {}: Dispatched {} to {} listeners in {}us", event.getNodeId(),
+                event.getClass().getSimpleName(), targets.size(), TimeUnit.NANOSECONDS.toMicros(duration));
+        getStatistics(event.getClass()).record(duration, targets.size());
+        logStatistics();
+    }
+
+    /**
+     * @return the dispatch statistics by event class
+     */
+    public Map<Class<?>, DispatchStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private DispatchStatistics getStatistics(Class<?> eventClass) {
+        DispatchStatistics eventStatistics = statistics.get(eventClass);
+        if (eventStatistics == null) {
+            statistics.putIfAbsent(eventClass, new DispatchStatistics());
+            eventStatistics = statistics.get(eventClass);
+        }
+        return eventStatistics;
+    }
+
+    private void logStatistics() {
+        long now = System.currentTimeMillis();
+        if (!logger.isDebugEnabled() || now - lastStatisticsLog < STATISTICS_LOG_INTERVAL) {
+            return;
+        }
+        lastStatisticsLog = now;
+
+        for (Map.Entry<Class<?>, DispatchStatistics> entry : statistics.entrySet()) {
+            logger.debug("Event dispatch {}: {}", entry.getKey().getSimpleName(), entry.getValue());
+        }
+    }
+
+    /**
+     * The dispatch time of an event type.
+     */
+    public static class DispatchStatistics {
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLong deliveries = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maximumNanos = new AtomicLong();
+
+        void record(long nanos, int listeners) {
+            events.incrementAndGet();
+            deliveries.addAndGet(listeners);
+            totalNanos.addAndGet(nanos);
+
+            long maximum = maximumNanos.get();
+            while (nanos > maximum && !maximumNanos.compareAndSet(maximum, nanos)) {
+                maximum = maximumNanos.get();
+            }
+        }
+
+        /**
+         * @return the number of dispatched events
+         */
+        public long getEvents() {
+            return events.get();
+        }
+
+        /**
+         * @return the number of times an event has been delivered to a listener
+         */
+        public long getDeliveries() {
+            return deliveries.get();
+        }
+
+        /**
+         * @return the average dispatch time in microseconds
+         */
+        public long getAverageMicros() {
+            long count = events.get();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.get() / count);
+        }
+
+        /**
+         * @return the longest dispatch time in microseconds
+         */
+        public long getMaximumMicros() {
+            return TimeUnit.NANOSECONDS.toMicros(maximumNanos.get());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d events, %d deliveries, average %dus, maximum %dus", getEvents(),
+                    getDeliveries(), getAverageMicros(), getMaximumMicros());
+        }
+    }
+
+    private static class Registration {
+        final ZWaveEventListener listener;
+        final Class<? extends ZWaveEvent> eventType;
+        final int nodeId;
+
+        Registration(ZWaveEventListener listener, Class<? extends ZWaveEvent> eventType, int nodeId) {
+            this.listener = listener;
+            this.eventType = eventType;
+            this.nodeId = nodeId;
+        }
+    }
+
+    /**
+     * An immutable list of registrations, with the listeners of each event class
+     * looked up on demand.
+     */
+    private static class Registrations {
+        final List<Registration> list;
+        final ConcurrentMap<Class<?>, Targets> targets = new ConcurrentHashMap<Class<?>, Targets>();
+
+        Registrations(List<Registration> list) {
+            this.list = list;
+        }
+
+        Targets getTargets(Class<?> eventClass) {
+            Targets eventTargets = targets.get(eventClass);
+            if (eventTargets == null) {
+                eventTargets = new Targets(list, eventClass);
+                targets.putIfAbsent(eventClass, eventTargets);
+            }
+            return eventTargets;
+        }
+    }
+
+    /**
+     * The registrations for one event class, by node.
+     */
+    private static class Targets {
+        final List<Registration> anyNode = new ArrayList<Registration>();
+        final Map<Integer, List<Registration>> byNode = new HashMap<Integer, List<Registration>>();
+
+        Targets(List<Registration> registrations, Class<?> eventClass) {
+            List<Registration> matching = new ArrayList<Registration>();
+            for (Registration registration : registrations) {
+                if (registration.eventType.isAssignableFrom(eventClass)) {
+                    matching.add(registration);
+                    if (registration.nodeId == ANY_NODE) {
+                        anyNode.add(registration);
+                    } else {
+                        byNode.put(registration.nodeId, null);
+                    }
+                }
+            }
+
+            for (Integer nodeId : byNode.keySet()) {
+                List<Registration> nodeTargets = new ArrayList<Registration>();
+                for (Registration registration : matching) {
+                    if (registration.nodeId == ANY_NODE || registration.nodeId == nodeId) {
+                        nodeTargets.add(registration);
+                    }
+                }
+                byNode.put(nodeId, nodeTargets);
+            }
+        }
+
+        List<Registration> forNode(int nodeId) {
+            List<Registration> nodeTargets = byNode.get(nodeId);
+            return nodeTargets != null ? nodeTargets : anyNode;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.protocol;
+
+import org.openhab.binding.zwave.internal.protocol.event.ZWaveEvent;
+
+/**
+ * A {@link ZWaveEventListener} which is only interested in events of one type,
+ * and optionally of one node. When it is added with
+ * {@link ZWaveController#addEventListener(ZWaveEventListener)} the controller
+ * only delivers these events to it.
+ *
+ * @since 1.14.0
+ */
+public interface ZWaveFilteredEventListener extends ZWaveEventListener {
+
+    /**
+     * @return the type of the events to receive, including its subclasses
+     */
+    Class<? extends ZWaveEvent> getEventType();
+
+    /**
+     * @return the node of the events to receive, or {@link ZWaveEventListenerRegistry#ANY_NODE}
+     */
+    int getEventNodeId();
+}
@@ -20,7 +20,7 @@ import org.openhab.binding.zwave.internal.protocol.SerialMessage.SerialMessageCl
 import org.openhab.binding.zwave.internal.protocol.SerialMessage.SerialMessageType;
 import org.openhab.binding.zwave.internal.protocol.ZWaveController;
 import org.openhab.binding.zwave.internal.protocol.ZWaveEndpoint;
-import org.openhab.binding.zwave.internal.protocol.ZWaveEventListener;
+import org.openhab.binding.zwave.internal.protocol.ZWaveFilteredEventListener;
 import org.openhab.binding.zwave.internal.protocol.ZWaveNode;
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveEvent;
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveTransactionCompletedEvent;
@@ -39,7 +39,7 @@ import com.thoughtworks.xstream.annotations.XStreamOmitField;
  */
 @XStreamAlias("securityCommandClassWithInit")
 public class ZWaveSecurityCommandClassWithInitialization extends ZWaveSecurityCommandClass
-        implements ZWaveCommandClassInitialization, ZWaveEventListener {
+        implements ZWaveCommandClassInitialization, ZWaveFilteredEventListener {
     private static final Logger logger = LoggerFactory.getLogger(ZWaveSecurityCommandClassWithInitialization.class);
 
     /**
@@ -446,6 +446,16 @@ public class ZWaveSecurityCommandClassWithInitialization extends ZWaveSecurityCo
         } // end if wasThisNodeJustIncluded
     }
 
+    @Override
+    public Class<? extends ZWaveEvent> getEventType() {
+        return ZWaveTransactionCompletedEvent.class;
+    }
+
+    @Override
+    public int getEventNodeId() {
+        return getNode().getNodeId();
+    }
+
     @Override
     public void ZWaveIncomingEvent(ZWaveEvent event) {
         if (event instanceof ZWaveTransactionCompletedEvent && event.getNodeId() == getNode().getNodeId()) {
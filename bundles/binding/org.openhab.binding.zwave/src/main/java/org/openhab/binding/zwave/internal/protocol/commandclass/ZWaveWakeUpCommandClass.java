@@ -23,7 +23,8 @@ import org.openhab.binding.zwave.internal.protocol.SerialMessage.SerialMessagePr
 import org.openhab.binding.zwave.internal.protocol.SerialMessage.SerialMessageType;
 import org.openhab.binding.zwave.internal.protocol.ZWaveController;
 import org.openhab.binding.zwave.internal.protocol.ZWaveEndpoint;
-import org.openhab.binding.zwave.internal.protocol.ZWaveEventListener;
+import org.openhab.binding.zwave.internal.protocol.ZWaveEventListenerRegistry;
+import org.openhab.binding.zwave.internal.protocol.ZWaveFilteredEventListener;
 import org.openhab.binding.zwave.internal.protocol.ZWaveNode;
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveEvent;
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveTransactionCompletedEvent;
@@ -43,7 +44,7 @@ import com.thoughtworks.xstream.annotations.XStreamOmitField;
  */
 @XStreamAlias("WakeUpCommandClass")
 public class ZWaveWakeUpCommandClass extends ZWaveCommandClass
-        implements ZWaveCommandClassInitialization, ZWaveEventListener {
+        implements ZWaveCommandClassInitialization, ZWaveFilteredEventListener {
 
     @XStreamOmitField
     private static final Logger logger = LoggerFactory.getLogger(ZWaveWakeUpCommandClass.class);
@@ -375,6 +376,24 @@ public class ZWaveWakeUpCommandClass extends ZWaveCommandClass
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<? extends ZWaveEvent> getEventType() {
+        return ZWaveTransactionCompletedEvent.class;
+    }
+
+    /**
+     * The messages are matched by their destination, which is checked when
+     * the event is handled, so the events of all nodes are received.
+     * {@inheritDoc}
+     */
+    @Override
+    public int getEventNodeId() {
+        return ZWaveEventListenerRegistry.ANY_NODE;
+    }
+
     /**
      * Event handler for incoming Z-Wave events. We monitor Z-Wave events for completed
      * transactions. Once a transaction is completed for the WAKE_UP_NO_MORE_INFORMATION
@@ -8,14 +8,27 @@
  */
 package org.openhab.binding.zwave.internal.protocol.initialization;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.openhab.binding.zwave.internal.protocol.ZWaveDeviceClass;
 import org.openhab.binding.zwave.internal.protocol.ZWaveEndpoint;
@@ -27,11 +40,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
 import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
 import com.thoughtworks.xstream.io.xml.StaxDriver;
 
 /**
- * ZWaveNodeSerializer class. Serializes nodes to XML and back again.
+ * ZWaveNodeSerializer class. Serializes nodes to a binary node cache and back again.
+ *
+ * Each node is stored in its own <code>node&lt;N&gt;.bin</code> file, which holds a versioned header followed by the
+ * node in XStream's binary token format. Nodes are only read when they are requested. A node is marshalled on the
+ * thread which serializes it, so the node isn't read while it is modified, and the files are written in the
+ * background: a node which is serialized several times within {@link #WRITE_DELAY} milliseconds is only written once.
+ * The XML files of previous versions are still read if there is no valid cache file, and they are still written if
+ * the XML export is enabled, e.g. for diagnostics.
+ *
+ * The XStream configuration and the pending writes are shared by all instances of this class.
  *
  * @author Jan-Willem Spuij
  * @since 1.4.0
@@ -39,7 +62,31 @@ import com.thoughtworks.xstream.io.xml.StaxDriver;
 public class ZWaveNodeSerializer {
 
     private static final Logger logger = LoggerFactory.getLogger(ZWaveNodeSerializer.class);
-    private final XStream stream = new XStream(new StaxDriver());
+
+    /** "ZWNC", marks the start of a node cache file */
+    private static final int CACHE_MAGIC = 0x5A574E43;
+    /** The version of the cache file format. Files of other versions are ignored. */
+    private static final short CACHE_VERSION = 1;
+
+    /** The time (in milliseconds) a node write is delayed to collect further changes of the node */
+    private static final long WRITE_DELAY = 2000;
+
+    private static final XStream stream = createStream();
+    private static final BinaryStreamDriver binaryDriver = new BinaryStreamDriver();
+
+    private static final Map<Integer, PendingWrite> pendingWrites = new ConcurrentHashMap<Integer, PendingWrite>();
+    private static final ScheduledExecutorService writer = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ZWave node cache writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private static volatile boolean xmlExport = false;
+
     private String folderName = "etc/zwave";
 
     /**
@@ -47,8 +94,6 @@ public class ZWaveNodeSerializer {
      * class.
      */
     public ZWaveNodeSerializer() {
-        logger.trace("Initializing ZWaveNodeSerializer.");
-
         // Change the folder for OH2
         // ConfigConstants.getUserDataFolder();
         final String USERDATA_DIR_PROG_ARGUMENT = "smarthome.userdata";
@@ -64,6 +109,12 @@ public class ZWaveNodeSerializer {
             logger.debug("Creating directory {}", folderName);
             folder.mkdirs();
         }
+    }
+
+    private static XStream createStream() {
+        logger.trace("Initializing ZWaveNodeSerializer.");
+
+        XStream stream = new XStream(new StaxDriver());
         stream.processAnnotations(ZWaveNode.class);
         stream.processAnnotations(ZWaveEndpoint.class);
         stream.processAnnotations(ZWaveDeviceClass.class);
@@ -82,81 +133,253 @@ public class ZWaveNodeSerializer {
             }
         }
         stream.processAnnotations(MeterScale.class);
+
         logger.trace("Initialized ZWaveNodeSerializer.");
+        return stream;
+    }
+
+    /**
+     * Enables or disables writing the XML files of previous versions in addition to the node cache.
+     *
+     * @param export true to write the XML files
+     */
+    public static void setXmlExport(boolean export) {
+        xmlExport = export;
     }
 
     /**
-     * Serializes an XML tree of a {@link ZWaveNode}
+     * Serializes a {@link ZWaveNode}. The node is written in the background,
+     * after a short delay.
      *
      * @param node
      *            the node to serialize
      */
     public void SerializeNode(ZWaveNode node) {
-        synchronized (stream) {
-            // Don't serialise if the stage is not at least finished static
-            // If we do serialise when we haven't completed the static stages
-            // then when the binding starts it will have incomplete information!
-            if (node.getNodeInitializationStage().isStaticComplete() == false) {
-                logger.debug("NODE {}: Serialise aborted as static stages not complete", node.getNodeId());
-                return;
+        // Don't serialise if the stage is not at least finished static
+        // If we do serialise when we haven't completed the static stages
+        // then when the binding starts it will have incomplete information!
+        if (node.getNodeInitializationStage().isStaticComplete() == false) {
+            logger.debug("NODE {}: Serialise aborted as static stages not complete", node.getNodeId());
+            return;
+        }
+
+        scheduleWrite(node);
+    }
+
+    private void scheduleWrite(ZWaveNode node) {
+        final int nodeId = node.getNodeId();
+        PendingWrite write = marshalNode(node);
+        if (write == null) {
+            return;
+        }
+
+        if (pendingWrites.put(nodeId, write) != null) {
+            // a write is already scheduled, and will write the latest state of the node
+            logger.trace("NODE {}: Serialize already pending", nodeId);
+            return;
+        }
+
+        writer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                PendingWrite pendingWrite = pendingWrites.remove(nodeId);
+                if (pendingWrite != null) {
+                    writeNode(pendingWrite);
+                }
             }
+        }, WRITE_DELAY, TimeUnit.MILLISECONDS);
+    }
 
-            File file = new File(this.folderName, String.format("node%d.xml", node.getNodeId()));
-            BufferedWriter writer = null;
+    /**
+     * Writes all nodes with pending writes immediately.
+     */
+    public void flush() {
+        List<Integer> nodeIds = new ArrayList<Integer>(pendingWrites.keySet());
+        for (Integer nodeId : nodeIds) {
+            PendingWrite write = pendingWrites.remove(nodeId);
+            if (write != null) {
+                writeNode(write);
+            }
+        }
+    }
 
-            logger.debug("NODE {}: Serializing to file {}", node.getNodeId(), file.getPath());
+    /**
+     * Marshals a {@link ZWaveNode} to the content of its cache file and, if the XML export is enabled, of its XML
+     * file.
+     *
+     * @param node
+     *            the node to marshal
+     * @return the files to write, or null in case the node couldn't be marshalled.
+     */
+    private PendingWrite marshalNode(ZWaveNode node) {
+        try {
+            ByteArrayOutputStream cache = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(cache);
+            output.writeInt(CACHE_MAGIC);
+            output.writeShort(CACHE_VERSION);
+            stream.marshal(node, binaryDriver.createWriter(output));
+            output.flush();
+
+            byte[] xml = null;
+            if (xmlExport) {
+                ByteArrayOutputStream export = new ByteArrayOutputStream();
+                Writer xmlWriter = new OutputStreamWriter(export, "UTF-8");
+                stream.marshal(node, new PrettyPrintWriter(xmlWriter));
+                xmlWriter.flush();
+                xml = export.toByteArray();
+            }
+
+            return new PendingWrite(node.getNodeId(), this.folderName, cache.toByteArray(), xml);
+        } catch (IOException e) {
+            logger.error("NODE {}: Error serializing node: {}", node.getNodeId(), e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("NODE {}: Error serializing node: {}", node.getNodeId(), e.toString());
+        }
+        return null;
+    }
+
+    private static void writeNode(PendingWrite write) {
+        synchronized (stream) {
+            File file = getCacheFile(write.folderName, write.nodeId);
+            File tempFile = new File(write.folderName, file.getName() + ".tmp");
+
+            logger.debug("NODE {}: Serializing to file {}", write.nodeId, file.getPath());
 
             try {
-                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
-                stream.marshal(node, new PrettyPrintWriter(writer));
-                writer.flush();
+                writeFile(tempFile, write.cache);
+
+                // replace the previous file only once the new one is complete
+                if (!tempFile.renameTo(file) && (!file.delete() || !tempFile.renameTo(file))) {
+                    logger.error("NODE {}: Error serializing to file: unable to rename {}", write.nodeId,
+                            tempFile.getPath());
+                }
             } catch (IOException e) {
-                logger.error("NODE {}: Error serializing to file: {}", node.getNodeId(), e.getMessage());
-            } finally {
-                if (writer != null) {
-                    try {
-                        writer.close();
-                    } catch (IOException e) {
-                    }
+                logger.error("NODE {}: Error serializing to file: {}", write.nodeId, e.getMessage());
+                tempFile.delete();
+            }
+
+            if (write.xml != null) {
+                File xmlFile = getXmlFile(write.folderName, write.nodeId);
+                logger.debug("NODE {}: Exporting to file {}", write.nodeId, xmlFile.getPath());
+
+                try {
+                    writeFile(xmlFile, write.xml);
+                } catch (IOException e) {
+                    logger.error("NODE {}: Error exporting to file: {}", write.nodeId, e.getMessage());
                 }
             }
         }
     }
 
+    private static void writeFile(File file, byte[] content) throws IOException {
+        OutputStream output = new FileOutputStream(file);
+        try {
+            output.write(content);
+        } finally {
+            output.close();
+        }
+    }
+
     /**
-     * Deserializes an XML tree of a {@link ZWaveNode}
+     * Deserializes a {@link ZWaveNode} from the node cache, or from the XML file
+     * of previous versions if there is no valid cache file.
      *
      * @param nodeId
      *            the number of the node to deserialize
      * @return returns the Node or null in case Serialization failed.
      */
     public ZWaveNode DeserializeNode(int nodeId) {
+        // a node which is about to be written is more recent than the file
+        PendingWrite pendingWrite = pendingWrites.remove(nodeId);
+        if (pendingWrite != null) {
+            writeNode(pendingWrite);
+        }
+
         synchronized (stream) {
-            File file = new File(this.folderName, String.format("node%d.xml", nodeId));
-            BufferedReader reader = null;
+            ZWaveNode node = readNode(nodeId);
+            if (node != null) {
+                return node;
+            }
 
-            logger.debug("NODE {}: Serializing from file {}", nodeId, file.getPath());
+            node = importNode(nodeId);
+            if (node != null) {
+                // convert the XML file to the node cache
+                scheduleWrite(node);
+            }
+            return node;
+        }
+    }
+
+    private ZWaveNode readNode(int nodeId) {
+        File file = getCacheFile(this.folderName, nodeId);
+        DataInputStream input = null;
+
+        logger.debug("NODE {}: Serializing from file {}", nodeId, file.getPath());
+
+        if (!file.exists()) {
+            logger.debug("NODE {}: Error serializing from file: file does not exist.", nodeId);
+            return null;
+        }
 
-            if (!file.exists()) {
-                logger.debug("NODE {}: Error serializing from file: file does not exist.", nodeId);
+        try {
+            input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (input.readInt() != CACHE_MAGIC) {
+                logger.warn("NODE {}: Error serializing from file: {} is not a node cache file.", nodeId,
+                        file.getPath());
                 return null;
             }
-
-            try {
-                reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
-                return (ZWaveNode) stream.fromXML(reader);
-            } catch (IOException e) {
-                logger.error("NODE {}: Error serializing from file: {}", nodeId, e.getMessage());
-            } finally {
-                if (reader != null) {
-                    try {
-                        reader.close();
-                    } catch (IOException e) {
-                    }
+            short version = input.readShort();
+            if (version != CACHE_VERSION) {
+                logger.info("NODE {}: Ignoring file {} of cache version {}.", nodeId, file.getPath(), version);
+                return null;
+            }
+            return (ZWaveNode) stream.unmarshal(binaryDriver.createReader(input));
+        } catch (IOException e) {
+            logger.error("NODE {}: Error serializing from file: {}", nodeId, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("NODE {}: Error serializing from file: {}", nodeId, e.toString());
+        } finally {
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (IOException e) {
                 }
             }
+        }
+        return null;
+    }
+
+    /**
+     * Deserializes an XML tree of a {@link ZWaveNode}
+     *
+     * @param nodeId
+     *            the number of the node to deserialize
+     * @return returns the Node or null in case Serialization failed.
+     */
+    private ZWaveNode importNode(int nodeId) {
+        File file = getXmlFile(this.folderName, nodeId);
+        BufferedReader reader = null;
+
+        if (!file.exists()) {
             return null;
         }
+
+        logger.debug("NODE {}: Importing from file {}", nodeId, file.getPath());
+
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            return (ZWaveNode) stream.fromXML(reader);
+        } catch (IOException e) {
+            logger.error("NODE {}: Error importing from file: {}", nodeId, e.getMessage());
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                }
+            }
+        }
+        return null;
     }
 
     /**
@@ -166,10 +389,36 @@ public class ZWaveNodeSerializer {
      * @return true if the file was deleted
      */
     public boolean DeleteNode(int nodeId) {
+        pendingWrites.remove(nodeId);
+
         synchronized (stream) {
-            File file = new File(this.folderName, String.format("node%d.xml", nodeId));
+            boolean deleted = getCacheFile(this.folderName, nodeId).delete();
+            return getXmlFile(this.folderName, nodeId).delete() || deleted;
+        }
+    }
+
+    private static File getCacheFile(String folderName, int nodeId) {
+        return new File(folderName, String.format("node%d.bin", nodeId));
+    }
+
+    private static File getXmlFile(String folderName, int nodeId) {
+        return new File(folderName, String.format("node%d.xml", nodeId));
+    }
+
+    /**
+     * The marshalled files of a node, waiting to be written.
+     */
+    private static class PendingWrite {
+        final int nodeId;
+        final String folderName;
+        final byte[] cache;
+        final byte[] xml;
 
-            return file.delete();
+        PendingWrite(int nodeId, String folderName, byte[] cache, byte[] xml) {
+            this.nodeId = nodeId;
+            this.folderName = folderName;
+            this.cache = cache;
+            this.xml = xml;
         }
     }
 }
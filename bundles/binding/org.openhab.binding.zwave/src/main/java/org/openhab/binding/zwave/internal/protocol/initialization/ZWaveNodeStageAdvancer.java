@@ -26,6 +26,7 @@ import org.openhab.binding.zwave.internal.protocol.ZWaveController;
 import org.openhab.binding.zwave.internal.protocol.ZWaveDeviceClass.Specific;
 import org.openhab.binding.zwave.internal.protocol.ZWaveEndpoint;
 import org.openhab.binding.zwave.internal.protocol.ZWaveEventListener;
+import org.openhab.binding.zwave.internal.protocol.ZWaveEventListenerRegistry;
 import org.openhab.binding.zwave.internal.protocol.ZWaveNode;
 import org.openhab.binding.zwave.internal.protocol.commandclass.ZWaveAssociationCommandClass;
 import org.openhab.binding.zwave.internal.protocol.commandclass.ZWaveCommandClass;
@@ -185,7 +186,11 @@ public class ZWaveNodeStageAdvancer implements ZWaveEventListener {
         wakeupCount = 0;
 
         // Set an event callback so we get notification of events
-        controller.addEventListener(this);
+        // Completed transactions of all nodes are needed to end the WAIT stage
+        controller.addEventListener(this, ZWaveTransactionCompletedEvent.class, ZWaveEventListenerRegistry.ANY_NODE);
+        controller.addEventListener(this, ZWaveWakeUpCommandClass.ZWaveWakeUpEvent.class, node.getNodeId());
+        controller.addEventListener(this, ZWaveNodeStatusEvent.class, node.getNodeId());
+        controller.addEventListener(this, ZWaveNodeInfoEvent.class, node.getNodeId());
 
         // Get things moving...
         advanceNodeStage(null);
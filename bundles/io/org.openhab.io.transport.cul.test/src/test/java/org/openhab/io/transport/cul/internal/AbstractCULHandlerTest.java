@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2019 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.cul.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.cul.CULMode;
+
+public class AbstractCULHandlerTest {
+
+    private static final String FS20_ON = "F12340111";
+    private static final String FS20_OFF = "F12340100";
+    private static final String CREDIT_REPORT_REQUEST = "X\r\n";
+
+    private TestCULHandler sut;
+
+    @Before
+    public void setUp() throws Exception {
+        sut = new TestCULHandler();
+        sut.open();
+    }
+
+    @After
+    public void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    public void send_followedByCreditReportRequest() throws Exception {
+        sut.send(FS20_ON);
+
+        assertEquals(FS20_ON + "\r\n", sut.nextWritten());
+        assertEquals(CREDIT_REPORT_REQUEST, sut.nextWritten());
+    }
+
+    @Test
+    public void send_queuedCommandsShareCreditReportRequest() throws Exception {
+        sut.send(FS20_ON);
+        assertEquals(FS20_ON + "\r\n", sut.nextWritten());
+        assertEquals(CREDIT_REPORT_REQUEST, sut.nextWritten());
+
+        // the credit report is still outstanding, so these stay queued
+        sut.send(FS20_OFF);
+        sut.send(FS20_ON);
+        sut.processNextLine("21  900");
+
+        assertEquals(FS20_OFF + "\r\n", sut.nextWritten());
+        assertEquals(FS20_ON + "\r\n", sut.nextWritten());
+        assertEquals(CREDIT_REPORT_REQUEST, sut.nextWritten());
+        assertNull(sut.written.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void send_unrelatedDataDoesNotEndWaitForResponse() throws Exception {
+        sut.sendWithoutCheck("V");
+        assertEquals("V\r\n", sut.nextWritten());
+
+        sut.sendWithoutCheck(FS20_ON);
+        sut.processNextLine("F12340111");
+        assertNull(sut.written.poll(200, TimeUnit.MILLISECONDS));
+
+        sut.processNextLine("V 1.67 CUL868");
+        assertEquals(FS20_ON + "\r\n", sut.nextWritten());
+    }
+
+    @Test
+    public void send_continuesAfterResponseTimeout() throws Exception {
+        sut.sendWithoutCheck("X");
+        assertEquals(CREDIT_REPORT_REQUEST, sut.nextWritten());
+        long start = System.currentTimeMillis();
+
+        sut.sendWithoutCheck(FS20_ON);
+
+        assertEquals(FS20_ON + "\r\n", sut.written.poll(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 1900);
+    }
+
+    @Test
+    public void send_heldBackUntilCreditRegained() throws Exception {
+        sut.processNextLine("21  24");
+        assertEquals(24, sut.getCredit10ms());
+        long start = System.currentTimeMillis();
+
+        sut.sendWithoutCheck(FS20_ON);
+
+        assertEquals(FS20_ON + "\r\n", sut.written.poll(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 900);
+        // the airtime of the command is deducted again
+        assertTrue(sut.getCredit10ms() < 25);
+    }
+
+    @Test
+    public void send_burstLimitedByCreditOfLastReport() throws Exception {
+        sut.processNextLine("21  60");
+
+        sut.sendWithoutCheck(FS20_ON);
+        sut.sendWithoutCheck(FS20_OFF);
+        sut.sendWithoutCheck(FS20_ON);
+
+        // the credit of the report suffices for two commands only
+        assertEquals(FS20_ON + "\r\n", sut.nextWritten());
+        assertEquals(FS20_OFF + "\r\n", sut.nextWritten());
+        assertNull(sut.written.poll(500, TimeUnit.MILLISECONDS));
+        assertEquals(10, sut.getCredit10ms());
+
+        // a new credit report releases the held back command
+        sut.processNextLine("21  100");
+        assertEquals(FS20_ON + "\r\n", sut.nextWritten());
+    }
+
+    @Test
+    public void processNextLine_creditReportMustMatchWholeLine() throws Exception {
+        sut.processNextLine("21  100");
+        sut.processNextLine("21  50 extra");
+
+        assertEquals(100, sut.getCredit10ms());
+    }
+
+    @Test
+    public void getCredit10ms_noReport() throws Exception {
+        assertEquals(0, sut.getCredit10ms());
+    }
+
+    private static class TestCULHandler extends AbstractCULHandler<CULConfig> {
+
+        private final BlockingQueue<String> written = new LinkedBlockingQueue<String>();
+
+        TestCULHandler() {
+            super(new CULConfig("test", "dummy", CULMode.values()[0]) {
+            });
+        }
+
+        @Override
+        protected void openHardware() {
+        }
+
+        @Override
+        protected void closeHardware() {
+        }
+
+        @Override
+        protected void write(String command) {
+            written.add(command);
+        }
+
+        String nextWritten() throws InterruptedException {
+            String command = written.poll(1, TimeUnit.SECONDS);
+            assertNotNull("no command written", command);
+            return command;
+        }
+    }
+}
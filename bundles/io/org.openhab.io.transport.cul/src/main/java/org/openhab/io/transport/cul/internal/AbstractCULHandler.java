@@ -10,10 +10,15 @@ package org.openhab.io.transport.cul.internal;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
 
 import org.openhab.io.transport.cul.CULCommunicationException;
 import org.openhab.io.transport.cul.CULDeviceException;
@@ -32,67 +37,148 @@ public abstract class AbstractCULHandler<T extends CULConfig> implements CULHand
 
     private final static Logger log = LoggerFactory.getLogger(AbstractCULHandler.class);
 
+    private static final String CREDIT_REPORT_REQUEST = "X\r\n";
+    private static final Pattern CREDIT_REPORT = Pattern.compile("^\\d+\\s+\\d+$");
+    private static final Pattern VERSION_REPORT = Pattern.compile("^V ");
+
+    /**
+     * Time to wait for culfw to answer a command
+     */
+    private static final long RESPONSE_TIMEOUT_MS = 2000;
+
+    /**
+     * culfw regains one credit10ms per second up to {@link #MAX_CREDIT_10MS},
+     * which limits the transmit time to 1% (36 seconds per hour).
+     */
+    private static final long CREDIT_REGAIN_INTERVAL_MS = 1000;
+    private static final int MAX_CREDIT_10MS = 900;
+
+    /**
+     * Estimated credit a radio command uses up, enough for a FS20 or
+     * InterTechno command including its repetitions. A radio command is held
+     * back until this credit is available.
+     */
+    private static final int RADIO_COMMAND_CREDIT_10MS = 25;
+
     /**
      * Thread which sends all queued commands to the CUL.
-     * The Thread waits on a CUL response before sending a new
-     * command to prevent race conditions. 
+     * The Thread blocks until a command is queued. Radio commands are held
+     * back while the transmit credit of the CUL is too low, and after
+     * writing a command which culfw answers the Thread waits for the answer
+     * (or the response timeout) before sending the next command.
      *
      * @author Till Klocke
      * @since 1.4.0
      *
      */
-    private class SendThread extends Thread implements CULListener {
+    private class SendThread extends Thread {
 
         private final Logger logger = LoggerFactory.getLogger(SendThread.class);
-        
-        private Boolean waitOnCULResponse = false;
 
         @Override
         public void run() {
-            int waitTimeout = 0;
-            
             while (!isInterrupted()) {
-                if (!waitOnCULResponse) {
-                    String command = sendQueue.poll();
-                    if (command != null) {
-                        if (!command.endsWith("\r\n")) {
-                            command = command + "\r\n";
-                        }
-                        try {
-                            logger.trace("Writing message: {}", command);
-                            
-                            writeMessage(command);
-                            waitOnCULResponse = true;
-                            waitTimeout = 0;
-                        } catch (CULCommunicationException e) {
-                            logger.warn("Error while writing command to CUL", e);
-                        }
-                    }
-                }
                 try {
-                    Thread.sleep(10);
+                    String command = sendQueue.take();
+                    if (isRadioCommand(command)) {
+                        awaitCredit();
+                    }
+                    Pattern expectedResponse = getExpectedResponse(command.trim());
+                    if (!command.endsWith("\r\n")) {
+                        command = command + "\r\n";
+                    }
+                    lock.lock();
+                    try {
+                        pendingResponse = expectedResponse;
+                    } finally {
+                        lock.unlock();
+                    }
+                    logger.trace("Writing message: {}", command);
+                    writeMessage(command);
+                    if (expectedResponse != null) {
+                        awaitResponse(command);
+                    }
+                } catch (CULCommunicationException e) {
+                    logger.warn("Error while writing command to CUL", e);
                 } catch (InterruptedException e) {
-                    logger.debug("Error while sleeping in SendThread", e);
+                    logger.debug("SendThread interrupted, stopping");
+                    break;
                 }
+            }
+        }
 
-                waitTimeout += 1;
-                if (waitOnCULResponse && waitTimeout > 200) {
-                    logger.trace("Reset wait on CUL response due to timeout");;
-                    waitOnCULResponse = false;
+        /**
+         * Waits until the CUL has regained enough credit to send a radio
+         * command, and deducts the estimated airtime of the command from the
+         * credit, so the commands sent before the next credit report don't
+         * exceed it. Without a credit report the command is sent right away.
+         */
+        private void awaitCredit() throws InterruptedException {
+            lock.lock();
+            try {
+                if (creditTimestamp == 0) {
+                    return;
+                }
+                int credit = estimateCredit10ms();
+                while (credit < RADIO_COMMAND_CREDIT_10MS) {
+                    long waitMillis = (RADIO_COMMAND_CREDIT_10MS - credit) * CREDIT_REGAIN_INTERVAL_MS;
+                    logger.debug("Only {} credit10ms left, holding back radio command for {} ms", credit,
+                            waitMillis);
+                    creditUpdated.await(waitMillis, TimeUnit.MILLISECONDS);
+                    credit = estimateCredit10ms();
                 }
+
+                long now = System.currentTimeMillis();
+                credit10ms = credit - RADIO_COMMAND_CREDIT_10MS;
+                // keep the part of the second which is already regained
+                creditTimestamp = now - (now - creditTimestamp) % CREDIT_REGAIN_INTERVAL_MS;
+            } finally {
+                lock.unlock();
             }
         }
 
-        @Override
-        public void dataReceived(String data) {
-            logger.trace("CUL response received: {}", data);
-            waitOnCULResponse = false;
+        /**
+         * Waits until the expected response arrived, an error was reported or
+         * the response timeout passed.
+         */
+        private void awaitResponse(String command) throws InterruptedException {
+            lock.lock();
+            try {
+                long nanos = TimeUnit.MILLISECONDS.toNanos(RESPONSE_TIMEOUT_MS);
+                while (pendingResponse != null && nanos > 0) {
+                    nanos = responseArrived.awaitNanos(nanos);
+                }
+                if (pendingResponse != null) {
+                    logger.debug("No response from CUL to {} within {} ms", command.trim(), RESPONSE_TIMEOUT_MS);
+                    pendingResponse = null;
+                }
+            } finally {
+                lock.unlock();
+            }
         }
 
-        @Override
-        public void error(Exception e) {
+        private void dataReceived(String data) {
+            lock.lock();
+            try {
+                if (pendingResponse != null && pendingResponse.matcher(data).find()) {
+                    logger.trace("CUL response received: {}", data);
+                    pendingResponse = null;
+                    responseArrived.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void error(Exception e) {
             logger.trace("CUL error received: {}", e);
-            waitOnCULResponse = false;
+            lock.lock();
+            try {
+                pendingResponse = null;
+                responseArrived.signalAll();
+            } finally {
+                lock.unlock();
+            }
         }
     }
 
@@ -132,9 +218,23 @@ public abstract class AbstractCULHandler<T extends CULConfig> implements CULHand
 
     protected List<CULListener> listeners = new ArrayList<CULListener>();
 
-    protected Queue<String> sendQueue = new ConcurrentLinkedQueue<String>();
+    protected BlockingDeque<String> sendQueue = new LinkedBlockingDeque<String>();
     protected int credit10ms = 0;
 
+    /**
+     * Time of the last credit report, 0 if none was received yet
+     */
+    private long creditTimestamp = 0;
+
+    /**
+     * Guards the credit and the response the {@link SendThread} is waiting
+     * for
+     */
+    private final Lock lock = new ReentrantLock();
+    private final Condition responseArrived = lock.newCondition();
+    private final Condition creditUpdated = lock.newCondition();
+    private Pattern pendingResponse = null;
+
     protected AbstractCULHandler(T config) {
         this.config = config;
     }
@@ -155,22 +255,20 @@ public abstract class AbstractCULHandler<T extends CULConfig> implements CULHand
 
     @Override
     public boolean hasListeners() {
-        return (listeners.size() == 1 && listeners.get(0) != sendThread || listeners.size() > 1);
+        return !listeners.isEmpty();
     }
 
     @Override
     public void open() throws CULDeviceException {
         openHardware();
-        
-        registerListener(sendThread);
+
         sendThread.start();
     }
 
     @Override
     public void close() {
         sendThread.interrupt();
-        unregisterListener(sendThread);
-        
+
         closeHardware();
     }
 
@@ -191,8 +289,10 @@ public abstract class AbstractCULHandler<T extends CULConfig> implements CULHand
     @Override
     public void send(String command) {
         if (isMessageAllowed(command)) {
-            sendQueue.add(command);
-            requestCreditReport();
+            synchronized (sendQueue) {
+                sendQueue.add(command);
+                requestCreditReport();
+            }
         }
     }
 
@@ -224,12 +324,14 @@ public abstract class AbstractCULHandler<T extends CULConfig> implements CULHand
      * @param data
      */
     protected void notifyDataReceived(String data) {
+        sendThread.dataReceived(data);
         for (final CULListener listener : listeners) {
             receiveExecutor.execute(new NotifyDataReceivedRunner(listener, data));
         }
     }
 
     protected void notifyError(Exception e) {
+        sendThread.error(e);
         for (CULListener listener : listeners) {
             listener.error(e);
         }
@@ -250,7 +352,7 @@ public abstract class AbstractCULHandler<T extends CULConfig> implements CULHand
             log.warn(
                     "(LOVF) Limit Overflow: Last message lost. You are using more than 1% transmitting time. Reduce the number of rf messages");
             return;
-        } else if (data.matches("^\\d+\\s+\\d+")) {
+        } else if (CREDIT_REPORT.matcher(data).matches()) {
             processCreditReport(data);
         }
         notifyDataReceived(data);
@@ -264,32 +366,82 @@ public abstract class AbstractCULHandler<T extends CULConfig> implements CULHand
     private void processCreditReport(String data) {
         // Credit report received
         String[] report = data.split(" ");
-        credit10ms = Integer.parseInt(report[report.length - 1]);
+        lock.lock();
+        try {
+            credit10ms = Integer.parseInt(report[report.length - 1]);
+            creditTimestamp = System.currentTimeMillis();
+            creditUpdated.signalAll();
+        } finally {
+            lock.unlock();
+        }
         log.debug("credit10ms = {}", credit10ms);
     }
 
     /**
-     * get the remaining send time on channel as seen at the last send/receive
-     * event.
+     * get the remaining send time on channel as seen at the last credit
+     * report, minus the estimated airtime of the radio commands sent since
+     * then, plus the credit regained since then.
      *
      * @return remaining send time in 10ms units
      */
     @Override
     public int getCredit10ms() {
-        return credit10ms;
+        lock.lock();
+        try {
+            return estimateCredit10ms();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int estimateCredit10ms() {
+        if (creditTimestamp == 0) {
+            return credit10ms;
+        }
+        long regained = (System.currentTimeMillis() - creditTimestamp) / CREDIT_REGAIN_INTERVAL_MS;
+        return (int) Math.max(credit10ms, Math.min(MAX_CREDIT_10MS, credit10ms + regained));
     }
 
     /**
-     * write out request for a credit report directly to CUL
+     * Queue a request for a credit report. A request which is still queued
+     * is moved to the end of the queue, so commands queued together are
+     * followed by a single credit report.
      */
     private void requestCreditReport() {
         /* this requests a report which provides credit10ms */
         log.debug("Requesting credit report");
-        try {
-            sendWithoutCheck("X\r\n");
-        } catch (CULCommunicationException e) {
-            log.warn("Error requesting credit report from CUL", e);
+        sendQueue.remove(CREDIT_REPORT_REQUEST);
+        sendQueue.add(CREDIT_REPORT_REQUEST);
+    }
+
+    /**
+     * Checks if the command makes the CUL transmit on the radio channel and
+     * thus uses up transmit credit.
+     *
+     * @param command
+     *            The command to check
+     * @return true for FS20, InterTechno, MAX! and generic send commands
+     */
+    private boolean isRadioCommand(String command) {
+        return command.startsWith("F") || command.startsWith("G") || command.startsWith("is")
+                || command.startsWith("Zs");
+    }
+
+    /**
+     * Get the answer culfw gives to a command.
+     *
+     * @param command
+     *            The command without line ending
+     * @return a pattern matching the start of the answer, or null if culfw
+     *         doesn't answer the command
+     */
+    private Pattern getExpectedResponse(String command) {
+        if ("X".equals(command)) {
+            return CREDIT_REPORT;
+        } else if ("V".equals(command)) {
+            return VERSION_REPORT;
         }
+        return null;
     }
 
     /**
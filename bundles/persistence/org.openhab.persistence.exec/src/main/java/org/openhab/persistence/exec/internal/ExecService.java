@@ -12,9 +12,11 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.Calendar;
 import java.util.Formatter;
+import java.util.StringTokenizer;
 
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.PersistenceService;
+import org.openhab.io.net.exec.ExecUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +31,9 @@ public class ExecService implements PersistenceService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExecService.class);
 
+    /** the time to wait for a command executed by a persistent shell worker (60 seconds) */
+    private static final int WORKER_TIMEOUT = 60000;
+
     /**
      * @{inheritDoc
      */
@@ -49,6 +54,11 @@ public class ExecService implements PersistenceService {
             execCmd = formatAlias(alias, item.getState().toString(), Calendar.getInstance().getTime(), item.getName());
             logger.debug("Executing command [" + execCmd + "]");
 
+            if (ExecUtil.isWorkerModeEnabled()) {
+                storeWithWorker(item, execCmd);
+                return;
+            }
+
             Process process = Runtime.getRuntime().exec(execCmd);
             String line = null;
             String output = "";
@@ -89,6 +99,26 @@ public class ExecService implements PersistenceService {
         }
     }
 
+    /**
+     * Executes <code>execCmd</code> on one of the persistent shell workers of
+     * {@link ExecUtil}. The command is split into its arguments the same way
+     * {@link Runtime#exec(String)} does.
+     */
+    private void storeWithWorker(Item item, String execCmd) {
+        StringTokenizer tokenizer = new StringTokenizer(execCmd);
+        String[] cmdArray = new String[tokenizer.countTokens()];
+        for (int i = 0; tokenizer.hasMoreTokens(); i++) {
+            cmdArray[i] = tokenizer.nextToken();
+        }
+
+        String output = ExecUtil.executeCommandAndWaitResponse(cmdArray, WORKER_TIMEOUT);
+        logger.debug("Stored item '{}' as '{}' using Exec at {}.",
+                new String[] { item.getName(), item.getState().toString(), (new java.util.Date()).toString() });
+        if (output != null && output.length() > 0) {
+            logger.debug("Output from exec command is: " + output);
+        }
+    }
+
     /**
      * @{inheritDoc
      */